@@ -0,0 +1,127 @@
+package org.envyw.dadmarketplace.decode;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.envyw.dadmarketplace.entity.MarketListing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 마켓 페이지 하나(RECORDS 개 레코드)를 MarketListing 으로 바꾸는 비용을 레코드 단위로 잰다.
+ * gc 프로파일러(build.gradle 의 jmh 설정)의 gc.alloc.rate.norm 이 레코드당 할당 바이트다.
+ * <ul>
+ *     <li>objectMaps: 예전 ExternalApiService 처럼 Map/ArrayList 로 읽은 뒤 Map 에서 필요한 값을 바로 꺼낸다.</li>
+ *     <li>jsonTree: 페이지를 JsonNode 트리로 읽은 뒤 레코드 트리를 다시 파서로 훑어 바꾼다.</li>
+ *     <li>streaming: {@link DarkerDBPageFormat} 과 {@link MarketListing#fromDarkerDB(JsonParser)} 로 바로 읽는다.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MarketPageDecodeBenchmark {
+
+    private static final int RECORDS = 1000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DarkerDBPageFormat pageFormat = new DarkerDBPageFormat("/body", "/pagination/cursor");
+
+    private byte[] page;
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder("{\"body\":[");
+        for (int i = 0; i < RECORDS; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"id\":").append(i)
+                    .append(",\"item_id\":\"ArcaneHood_").append(1000 + i % 50).append('"')
+                    .append(",\"item\":\"Arcane Hood\",\"rarity\":\"Rare\",\"price\":").append(100 + i)
+                    .append(",\"quantity\":1,\"price_per_unit\":").append(100 + i)
+                    .append(",\"has_sold\":false,\"created_at\":\"2025-06-01T12:00:00+00:00\"")
+                    .append(",\"expires_at\":\"2025-06-04T12:00:00+00:00\"")
+                    .append(",\"seller_id\":\"seller-").append(i).append('"')
+                    .append(",\"primary_attributes\":[{\"name\":\"MagicalPower\",\"value\":3}]")
+                    .append(",\"secondary_attributes\":[{\"name\":\"MoveSpeed\",\"value\":5},")
+                    .append("{\"name\":\"Armor\",\"value\":12}]}");
+        }
+        builder.append("],\"pagination\":{\"count\":").append(RECORDS).append(",\"cursor\":\"next\"}}");
+        page = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void objectMaps(Blackhole blackhole) throws IOException {
+        Map<String, Object> root = objectMapper.readValue(page, new TypeReference<>() {
+        });
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> records = (List<Map<String, Object>>) root.get("body");
+        for (Map<String, Object> record : records) {
+            blackhole.consume(fromMap(record));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void jsonTree(Blackhole blackhole) throws IOException {
+        for (JsonNode record : objectMapper.readTree(page).get("body")) {
+            try (JsonParser parser = record.traverse(objectMapper)) {
+                parser.nextToken();
+                blackhole.consume(MarketListing.fromDarkerDB(parser));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void streaming(Blackhole blackhole) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(page)) {
+            blackhole.consume(pageFormat.summarize(parser));
+        }
+        pageFormat.records(() -> objectMapper.createParser(page), MarketListing::fromDarkerDB)
+                .subscribe(blackhole::consume);
+    }
+
+    // objectMaps 기준선. 이 페이지의 값 타입만 다루며 트리나 파서를 다시 만들지 않는다.
+    private static MarketListing fromMap(Map<String, Object> record) {
+        if (!(record.get("id") instanceof Number id) || record.get("item_id") == null) {
+            return null;
+        }
+
+        return MarketListing.builder()
+                .listingId(id.longValue())
+                .itemId(record.get("item_id").toString())
+                .itemName((String) record.get("item"))
+                .rarity((String) record.get("rarity"))
+                .price(record.get("price") instanceof Number price ? price.intValue() : null)
+                .quantity(record.get("quantity") instanceof Number quantity ? quantity.intValue() : null)
+                .pricePerUnit(record.get("price_per_unit") instanceof Number perUnit ? perUnit.doubleValue() : null)
+                .hasSold((Boolean) record.get("has_sold"))
+                .listedAt(timestampOrNull(record.get("created_at")))
+                .expiresAt(timestampOrNull(record.get("expires_at")))
+                .build();
+    }
+
+    private static LocalDateTime timestampOrNull(Object value) {
+        return value == null ? null
+                : OffsetDateTime.parse(value.toString()).withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+}
@@ -0,0 +1,74 @@
+package org.envyw.dadmarketplace.index;
+
+import org.envyw.dadmarketplace.dto.AttributeDto;
+import org.envyw.dadmarketplace.dto.EquipmentDto;
+import org.envyw.dadmarketplace.dto.response.KeywordSuggestionResDto;
+import org.envyw.dadmarketplace.service.SearchKeywordService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한글 자모·초성 색인을 실제 장비·속성 수만큼의 한글 이름으로 잰다. 저장소에는 아직 한글 이름이 없으므로
+ * 두 단어짜리 이름을 고정 시드로 만들어 쓴다. 같은 항목 수의 영문 접두어 자동완성(asciiSuggest)을 기준으로 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HangulKeywordIndexBenchmark {
+
+    private static final int LIMIT = 10;
+    private static final String[] WORDS = {"비전", "두건", "아밍", "소드", "판금", "투구", "가죽", "장갑", "행동", "속도",
+            "마법", "저항", "물리", "피해", "쇠사슬", "갑옷", "전투", "도끼", "사냥꾼", "망토", "롱보우", "방패"};
+
+    @Param({"ㅂ", "ㅂㅈ", "비", "빚", "비저", "비전", "비전ㄷ", "비전 두", "ㅈㅌ", "투"})
+    private String query;
+
+    private HangulKeywordIndex hangulKeywordIndex;
+    private KeywordSuggestIndex keywordSuggestIndex;
+    private String asciiQuery;
+
+    @Setup
+    public void setUp() {
+        SearchKeywordService searchKeywordService = new SearchKeywordService();
+        List<EquipmentDto> equipments = searchKeywordService.getEquipments().block().body();
+        List<AttributeDto> attributes = searchKeywordService.getAttributes().block().body();
+
+        Random random = new Random(42);
+        List<HangulKeywordIndex.Entry> entries = new ArrayList<>(equipments.size() + attributes.size());
+        for (EquipmentDto equipment : equipments) {
+            entries.add(new HangulKeywordIndex.Entry(KeywordSuggestIndex.Type.EQUIPMENT, equipment.id(), name(random)));
+        }
+        for (AttributeDto attribute : attributes) {
+            entries.add(new HangulKeywordIndex.Entry(KeywordSuggestIndex.Type.ATTRIBUTE, attribute.id(), name(random)));
+        }
+
+        hangulKeywordIndex = new HangulKeywordIndex(entries);
+        keywordSuggestIndex = new KeywordSuggestIndex(equipments, attributes);
+        asciiQuery = "arcane hoo".substring(0, Math.min(query.length() * 2, 10));
+    }
+
+    @Benchmark
+    public List<KeywordSuggestionResDto> hangulSuggest() {
+        return hangulKeywordIndex.suggest(query, null, LIMIT);
+    }
+
+    @Benchmark
+    public List<KeywordSuggestionResDto> asciiSuggest() {
+        return keywordSuggestIndex.suggest(asciiQuery, null, LIMIT);
+    }
+
+    private static String name(Random random) {
+        return WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+    }
+}
@@ -0,0 +1,103 @@
+package org.envyw.dadmarketplace.index;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.envyw.dadmarketplace.entity.MarketListing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 아이템·등급에 listings 개 목록이 있을 때 가격 통계 조회 비용을 잰다.
+ * 비교 기준(boxed*)은 행을 Map 목록으로 들고 매번 걸러 정렬하는 방식이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ItemPriceIndexBenchmark {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    @Param({"1000", "100000"})
+    private int listings;
+
+    private ItemPriceIndex itemPriceIndex;
+    private List<Map<String, Object>> rows;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<MarketListing> batch = new ArrayList<>(listings);
+        rows = new ArrayList<>(listings);
+
+        for (int i = 0; i < listings; i++) {
+            int price = 50 + random.nextInt(10_000);
+            batch.add(MarketListing.builder()
+                    .listingId((long) i)
+                    .itemId("Sword")
+                    .rarity("Rare")
+                    .price(price)
+                    .quantity(1)
+                    .hasSold(false)
+                    .build());
+
+            Map<String, Object> row = new HashMap<>();
+            row.put("item_id", "Sword");
+            row.put("rarity", "Rare");
+            row.put("price", price);
+            rows.add(row);
+        }
+
+        itemPriceIndex = new ItemPriceIndex(new SimpleMeterRegistry());
+        itemPriceIndex.apply(batch, NOW);
+    }
+
+    @Benchmark
+    public int median() {
+        return itemPriceIndex.column("Sword", "Rare").median();
+    }
+
+    @Benchmark
+    public int p90() {
+        return itemPriceIndex.column("Sword", "Rare").percentile(0.9);
+    }
+
+    @Benchmark
+    public int countInRange() {
+        return itemPriceIndex.column("Sword", "Rare").countInRange(1_000, 5_000);
+    }
+
+    @Benchmark
+    public int boxedMedian() {
+        List<Integer> prices = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            if ("Sword".equals(row.get("item_id")) && "Rare".equals(row.get("rarity"))) {
+                prices.add((Integer) row.get("price"));
+            }
+        }
+        prices.sort(Comparator.naturalOrder());
+        return prices.get((prices.size() - 1) / 2);
+    }
+
+    @Benchmark
+    public long boxedCountInRange() {
+        return rows.stream()
+                .filter(row -> "Sword".equals(row.get("item_id")) && "Rare".equals(row.get("rarity")))
+                .mapToInt(row -> (Integer) row.get("price"))
+                .filter(price -> price >= 1_000 && price <= 5_000)
+                .count();
+    }
+}
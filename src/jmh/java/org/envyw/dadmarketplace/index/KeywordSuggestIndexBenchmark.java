@@ -0,0 +1,70 @@
+package org.envyw.dadmarketplace.index;
+
+import org.envyw.dadmarketplace.dto.AttributeDto;
+import org.envyw.dadmarketplace.dto.EquipmentDto;
+import org.envyw.dadmarketplace.dto.response.KeywordSuggestionResDto;
+import org.envyw.dadmarketplace.service.SearchKeywordService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실제 equipments.json, attributes.json 으로 만든 자동완성 색인을 1~10글자 질의로 잰다.
+ * 비교 기준(clientSideFilter)은 전체 장비 목록을 매번 훑으며 소문자 변환 후 startsWith 로 거르는 방식이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KeywordSuggestIndexBenchmark {
+
+    private static final int LIMIT = 10;
+
+    @Param({"a", "ar", "arc", "arca", "arcan", "arcane", "arcane ", "arcane h", "arcane ho", "arcane hoo"})
+    private String query;
+
+    private KeywordSuggestIndex keywordSuggestIndex;
+    private List<EquipmentDto> equipments;
+
+    @Setup
+    public void setUp() {
+        SearchKeywordService searchKeywordService = new SearchKeywordService();
+        equipments = searchKeywordService.getEquipments().block().body();
+        List<AttributeDto> attributes = searchKeywordService.getAttributes().block().body();
+        keywordSuggestIndex = new KeywordSuggestIndex(equipments, attributes);
+    }
+
+    @Benchmark
+    public List<KeywordSuggestionResDto> suggest() {
+        return keywordSuggestIndex.suggest(query, null, LIMIT);
+    }
+
+    @Benchmark
+    public List<KeywordSuggestionResDto> suggestEquipment() {
+        return keywordSuggestIndex.suggest(query, KeywordSuggestIndex.Type.EQUIPMENT, LIMIT);
+    }
+
+    @Benchmark
+    public List<EquipmentDto> clientSideFilter() {
+        String normalized = query.toLowerCase(Locale.ROOT);
+        List<EquipmentDto> matches = new ArrayList<>();
+        for (EquipmentDto equipment : equipments) {
+            if (equipment.name().toLowerCase(Locale.ROOT).startsWith(normalized)) {
+                matches.add(equipment);
+                if (matches.size() == LIMIT) {
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+}
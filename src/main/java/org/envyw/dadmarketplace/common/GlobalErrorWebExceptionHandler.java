@@ -1,6 +1,7 @@
 package org.envyw.dadmarketplace.common;
 
 import lombok.extern.slf4j.Slf4j;
+import org.envyw.dadmarketplace.service.exception.BatchRejectedException;
 import org.springframework.boot.web.reactive.error.ErrorWebExceptionHandler;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
@@ -39,6 +40,12 @@ public class GlobalErrorWebExceptionHandler implements ErrorWebExceptionHandler
     }
 
     private HttpStatus determineHttpStatus(Throwable ex) {
+        // 배치 요청 검증 실패만 400/429 로 알리고, 나머지 오류의 응답 코드는 그대로 둔다.
+        if (ex instanceof BatchRejectedException batchRejectedException) {
+            HttpStatus status = HttpStatus.resolve(batchRejectedException.getStatusCode().value());
+            return status != null ? status : HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+
         return HttpStatus.INTERNAL_SERVER_ERROR;
     }
 }
@@ -0,0 +1,48 @@
+package org.envyw.dadmarketplace.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 클라이언트(로그인 사용자 또는 IP) 단위 요청 제한 설정. 요청 경로와 가장 길게 일치하는 route 의 한도를 적용하며,
+ * 어떤 route 에도 해당하지 않는 요청은 제한하지 않는다.
+ * trustedProxies 는 X-Forwarded-For 를 믿을 리버스 프록시·로드 밸런서의 IP 또는 CIDR 이다. 직접 연결한 주소가 여기에
+ * 해당할 때만 X-Forwarded-For 를 오른쪽부터 따라가 신뢰하지 않는 첫 주소를 클라이언트 IP 로 보며, 비워 두면 헤더를 무시한다.
+ * 아무 연결이나 헤더로 IP 를 바꿀 수 없도록 server.forward-headers-strategy 는 none 으로 두고 여기서만 해석한다.
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record ClientRateLimitProperties(
+        Boolean enabled,
+        Long maximumClients,
+        List<Route> routes,
+        List<String> trustedProxies
+) {
+
+    public ClientRateLimitProperties {
+        enabled = enabled != null ? enabled : true;
+        maximumClients = maximumClients != null ? maximumClients : 100_000L;
+        routes = routes != null ? List.copyOf(routes) : List.of();
+        trustedProxies = trustedProxies != null
+                ? trustedProxies.stream().map(String::trim).filter(proxy -> !proxy.isEmpty()).toList() : List.of();
+    }
+
+    /**
+     * period 동안 requests 회를 평균 속도로 허용하고, 순간적으로는 burst 회까지 몰아서 허용한다.
+     */
+    public record Route(
+            String pathPrefix,
+            Integer requests,
+            Duration period,
+            Integer burst
+    ) {
+
+        public Route {
+            pathPrefix = pathPrefix != null ? "/" + pathPrefix.replaceAll("^/+|/+$", "") : "/";
+            requests = requests != null ? requests : 60;
+            period = period != null ? period : Duration.ofMinutes(1);
+            burst = burst != null ? burst : requests;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package org.envyw.dadmarketplace.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.external-api")
+public record ExternalApiProperties(
+        String darkerdbBaseUrl,
+        DataSize maxBufferedSize,
+        Cache cache,
+        List<Route> routes,
+        UpstreamRateLimit upstreamRateLimit,
+        ConnectionPool connectionPool,
+        DiskCache diskCache,
+        Hedge hedge,
+        Prefetch prefetch,
+        Batch batch,
+        Export export
+) {
+
+    public ExternalApiProperties {
+        maxBufferedSize = maxBufferedSize != null ? maxBufferedSize : DataSize.ofMegabytes(4);
+        cache = cache != null ? cache : new Cache(null, null, null, null);
+        routes = routes != null ? List.copyOf(routes) : List.of();
+        upstreamRateLimit = upstreamRateLimit != null ? upstreamRateLimit
+                : new UpstreamRateLimit(null, null, null, null, null);
+        connectionPool = connectionPool != null ? connectionPool
+                : new ConnectionPool(null, null, null, null, null, null, null, null);
+        diskCache = diskCache != null ? diskCache : new DiskCache(null, null, null, null);
+        hedge = hedge != null ? hedge : new Hedge(null, null, null, null, null, null, null, null);
+        prefetch = prefetch != null ? prefetch : new Prefetch(null, null, null, null, null, null, null, null);
+        batch = batch != null ? batch : new Batch(null, null);
+        export = export != null ? export : new Export(null, null, null, null, null);
+    }
+
+    /**
+     * 프록시 응답 캐시 설정. maximumWeight 는 캐시된 응답 본문 크기 합계 상한이다.
+     * staleWhileRevalidate / staleIfError 는 TTL 만료 후 오래된 응답을 내려줄 수 있는 추가 기간이다.
+     */
+    public record Cache(
+            DataSize maximumWeight,
+            Duration defaultTtl,
+            Duration staleWhileRevalidate,
+            Duration staleIfError
+    ) {
+
+        public Cache {
+            maximumWeight = maximumWeight != null ? maximumWeight : DataSize.ofMegabytes(64);
+            defaultTtl = defaultTtl != null ? defaultTtl : Duration.ZERO;
+            staleWhileRevalidate = staleWhileRevalidate != null ? staleWhileRevalidate : Duration.ZERO;
+            staleIfError = staleIfError != null ? staleIfError : Duration.ZERO;
+        }
+    }
+
+    /**
+     * 경로 prefix 단위 정책. prefix 는 DarkerDB 기준 경로(예: "market")이며 segment 단위로 가장 깊게 일치한 route 가
+     * 우선하고, segment "*" 는 아무 segment 하나와 일치한다. 빈 prefix 는 기본 정책을 바꾼다.
+     * 지정하지 않은 값은 상위 route 또는 기본값을 따른다.
+     * allowed 가 false 면 업스트림으로 보내지 않고 거절하며, stream 이 true 이면 캐시 없이 업스트림 본문을 그대로 흘려보낸다.
+     * rateLimitClass 는 업스트림 토큰 버킷 lane(interactive / background)이다.
+     */
+    public record Route(
+            String prefix,
+            Duration ttl,
+            Duration staleWhileRevalidate,
+            Duration staleIfError,
+            Boolean stream,
+            Boolean allowed,
+            Duration timeout,
+            String rateLimitClass
+    ) {
+
+        public Route {
+            prefix = prefix != null ? prefix.replaceAll("^/+|/+$", "") : "";
+        }
+    }
+
+    /**
+     * 업스트림 요청 토큰 버킷 설정. permitsPerSecond 가 0 이면 제한하지 않는다.
+     * burst 는 버킷 크기, backgroundReserve 는 백그라운드 갱신이 건드리지 못하고 사용자 요청에 남겨 두는 토큰 수다.
+     * 토큰을 기다리는 요청은 lane 별로 queueCapacity 까지, 최대 maxWait 동안만 대기한다.
+     * backgroundReserve 가 burst 이상이면 백그라운드 lane 이 영영 토큰을 얻지 못하므로 시작 시점에 거절한다.
+     */
+    public record UpstreamRateLimit(
+            Double permitsPerSecond,
+            Integer burst,
+            Integer backgroundReserve,
+            Integer queueCapacity,
+            Duration maxWait
+    ) {
+
+        public UpstreamRateLimit {
+            permitsPerSecond = permitsPerSecond != null ? permitsPerSecond : 0d;
+            burst = burst != null ? burst : Math.max(1, (int) Math.ceil(permitsPerSecond));
+            backgroundReserve = backgroundReserve != null ? backgroundReserve : 0;
+            queueCapacity = queueCapacity != null ? queueCapacity : 0;
+            maxWait = maxWait != null ? maxWait : Duration.ZERO;
+
+            if (burst < 1) {
+                throw new IllegalArgumentException("upstream-rate-limit.burst 는 1 이상이어야 합니다: " + burst);
+            }
+            if (backgroundReserve < 0 || backgroundReserve >= burst) {
+                throw new IllegalArgumentException("upstream-rate-limit.background-reserve 는 0 이상 burst("
+                        + burst + ") 미만이어야 합니다: " + backgroundReserve);
+            }
+        }
+
+        public boolean isEnabled() {
+            return permitsPerSecond > 0;
+        }
+    }
+
+    /**
+     * DarkerDB 전용 커넥션 풀 설정. pendingAcquireMaxCount 를 넘는 대기 요청은 즉시 실패한다.
+     * http2 가 true 이면 ALPN 으로 h2 를 협상하고, 커넥션 하나에 maxConcurrentStreams 개까지 요청을 다중화한다.
+     */
+    public record ConnectionPool(
+            Integer maxConnections,
+            Integer pendingAcquireMaxCount,
+            Duration pendingAcquireTimeout,
+            Duration maxIdleTime,
+            Duration maxLifeTime,
+            Duration evictInBackground,
+            Boolean http2,
+            Integer maxConcurrentStreams
+    ) {
+
+        public ConnectionPool {
+            maxConnections = maxConnections != null ? maxConnections : 50;
+            pendingAcquireMaxCount = pendingAcquireMaxCount != null ? pendingAcquireMaxCount : maxConnections * 4;
+            pendingAcquireTimeout = pendingAcquireTimeout != null ? pendingAcquireTimeout : Duration.ofSeconds(5);
+            maxIdleTime = maxIdleTime != null ? maxIdleTime : Duration.ofSeconds(30);
+            maxLifeTime = maxLifeTime != null ? maxLifeTime : Duration.ofMinutes(5);
+            evictInBackground = evictInBackground != null ? evictInBackground : Duration.ofSeconds(30);
+            http2 = http2 != null ? http2 : false;
+            maxConcurrentStreams = maxConcurrentStreams != null ? maxConcurrentStreams : 100;
+        }
+    }
+
+    /**
+     * 재시작 후에도 유지되는 2차 디스크 캐시 설정. directory 아래에 segmentSize 크기의 세그먼트 파일을 만들고,
+     * 전체가 maxSize 를 넘으면 가장 오래된 세그먼트부터 압축(compaction)한다.
+     */
+    public record DiskCache(
+            Boolean enabled,
+            String directory,
+            DataSize segmentSize,
+            DataSize maxSize
+    ) {
+
+        public DiskCache {
+            enabled = enabled != null ? enabled : false;
+            directory = directory != null ? directory : "/app/logs/proxy-cache";
+            segmentSize = segmentSize != null ? segmentSize : DataSize.ofMegabytes(32);
+            maxSize = maxSize != null ? maxSize : DataSize.ofMegabytes(256);
+        }
+    }
+
+    /**
+     * 헤지 요청 설정. 첫 요청이 최근 지연 시간의 percentile 만큼 지나도 응답하지 않으면 같은 GET 을 한 번 더 보낸다.
+     * 지연은 [minDelay, maxDelay] 로 제한하며 표본이 minSamples 보다 적으면 maxDelay 를 쓴다.
+     * 헤지 예산은 요청마다 budgetRatio 만큼 쌓이고 헤지 한 번에 1 씩 쓰며, 최대 budgetBurst 까지만 모아 둔다.
+     */
+    public record Hedge(
+            Boolean enabled,
+            Double percentile,
+            Duration minDelay,
+            Duration maxDelay,
+            Integer windowSize,
+            Integer minSamples,
+            Double budgetRatio,
+            Integer budgetBurst
+    ) {
+
+        public Hedge {
+            enabled = enabled != null ? enabled : false;
+            percentile = percentile != null ? percentile : 0.95;
+            minDelay = minDelay != null ? minDelay : Duration.ofMillis(20);
+            maxDelay = maxDelay != null ? maxDelay : Duration.ofSeconds(1);
+            windowSize = windowSize != null ? windowSize : 512;
+            minSamples = minSamples != null ? minSamples : 50;
+            budgetRatio = budgetRatio != null ? budgetRatio : 0.05;
+            budgetBurst = budgetBurst != null ? budgetBurst : 10;
+        }
+    }
+
+    /**
+     * 인기 키 선제 갱신 설정. 요청마다 키별 점수를 1 올리고 halfLife 마다 절반으로 감쇠시키며,
+     * interval 마다 점수가 minScore 이상인 상위 topK 중 TTL 이 lead 이내로 남은 항목을 백그라운드에서 갱신한다.
+     * 동시에 갱신하는 요청은 maxConcurrency 개, 점수를 추적하는 키는 maxTrackedKeys 개로 제한한다.
+     */
+    public record Prefetch(
+            Boolean enabled,
+            Integer topK,
+            Duration halfLife,
+            Duration interval,
+            Duration lead,
+            Double minScore,
+            Integer maxConcurrency,
+            Long maxTrackedKeys
+    ) {
+
+        public Prefetch {
+            enabled = enabled != null ? enabled : false;
+            topK = topK != null ? topK : 20;
+            halfLife = halfLife != null ? halfLife : Duration.ofMinutes(5);
+            interval = interval != null ? interval : Duration.ofSeconds(1);
+            lead = lead != null ? lead : Duration.ofSeconds(3);
+            minScore = minScore != null ? minScore : 2.0;
+            maxConcurrency = maxConcurrency != null ? maxConcurrency : 4;
+            maxTrackedKeys = maxTrackedKeys != null ? maxTrackedKeys : 10_000L;
+        }
+    }
+
+    /**
+     * 배치 프록시 설정. 한 번에 받는 하위 요청은 maxRequests 개, 동시에 처리하는 하위 요청은 concurrency 개로 제한한다.
+     */
+    public record Batch(
+            Integer maxRequests,
+            Integer concurrency
+    ) {
+
+        public Batch {
+            maxRequests = maxRequests != null ? maxRequests : 50;
+            concurrency = concurrency != null ? concurrency : 8;
+        }
+    }
+
+    /**
+     * 페이지 내보내기 설정. recordsPointer / cursorPointer 는 업스트림 페이지 JSON 에서 레코드 배열과 다음 커서를 가리키는
+     * JSON Pointer 이고, 다음 페이지는 cursorParam 쿼리 파라미터로 요청한다.
+     * prefetchPages 는 클라이언트보다 미리 받아 둘 페이지 수, maxPages 는 한 번의 내보내기에서 따라갈 최대 페이지 수다.
+     */
+    public record Export(
+            String recordsPointer,
+            String cursorPointer,
+            String cursorParam,
+            Integer prefetchPages,
+            Integer maxPages
+    ) {
+
+        public Export {
+            recordsPointer = recordsPointer != null ? recordsPointer : "/body";
+            cursorPointer = cursorPointer != null ? cursorPointer : "/pagination/cursor";
+            cursorParam = cursorParam != null ? cursorParam : "cursor";
+            prefetchPages = prefetchPages != null ? prefetchPages : 2;
+            maxPages = maxPages != null ? maxPages : 1000;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.envyw.dadmarketplace.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * DarkerDB 마켓 목록을 market_listings 테이블로 주기적으로 옮기는 설정. path / query 는 내보내기와 같은 DarkerDB 경로이며,
+ * 바뀐 행만 batchSize 개씩 묶어 한 문장으로 쓰고 동시에 실행 중인 문장은 maxInFlight 개로 제한한다.
+ * maxTrackedListings 는 변경 여부 비교를 위해 기억하는 목록 수 상한이다.
+ */
+@ConfigurationProperties(prefix = "app.market-ingest")
+public record MarketIngestProperties(
+        Boolean enabled,
+        String path,
+        String query,
+        Duration interval,
+        Integer batchSize,
+        Integer maxInFlight,
+        Long maxTrackedListings
+) {
+
+    public MarketIngestProperties {
+        enabled = enabled != null ? enabled : false;
+        path = path != null ? path : "market";
+        interval = interval != null ? interval : Duration.ofMinutes(1);
+        batchSize = batchSize != null ? batchSize : 500;
+        maxInFlight = maxInFlight != null ? maxInFlight : 4;
+        maxTrackedListings = maxTrackedListings != null ? maxTrackedListings : 200_000L;
+    }
+}
@@ -0,0 +1,34 @@
+package org.envyw.dadmarketplace.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 아이템 가격 이력 설정. 원본 관측값은 rawRetention, 1분/1시간 집계는 각각 minuteRetention / hourRetention 동안만 보관하고
+ * 1일 집계는 지우지 않는다. 보관 기간이 지난 행은 pruneInterval 마다 정리한다.
+ * 범위 조회는 points 개 이상을 채우는 가장 거친 해상도를 고르며, points 는 maxPoints 를 넘을 수 없다.
+ */
+@ConfigurationProperties(prefix = "app.price-history")
+public record PriceHistoryProperties(
+        Boolean enabled,
+        Duration rawRetention,
+        Duration minuteRetention,
+        Duration hourRetention,
+        Duration pruneInterval,
+        Integer defaultPoints,
+        Integer maxPoints,
+        Long maxTrackedListings
+) {
+
+    public PriceHistoryProperties {
+        enabled = enabled != null ? enabled : false;
+        rawRetention = rawRetention != null ? rawRetention : Duration.ofHours(48);
+        minuteRetention = minuteRetention != null ? minuteRetention : Duration.ofDays(14);
+        hourRetention = hourRetention != null ? hourRetention : Duration.ofDays(400);
+        pruneInterval = pruneInterval != null ? pruneInterval : Duration.ofMinutes(10);
+        defaultPoints = defaultPoints != null ? defaultPoints : 200;
+        maxPoints = maxPoints != null ? maxPoints : 2000;
+        maxTrackedListings = maxTrackedListings != null ? maxTrackedListings : 200_000L;
+    }
+}
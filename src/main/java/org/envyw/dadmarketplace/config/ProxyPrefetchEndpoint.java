@@ -0,0 +1,25 @@
+package org.envyw.dadmarketplace.config;
+
+import lombok.RequiredArgsConstructor;
+import org.envyw.dadmarketplace.service.ProxyPrefetchService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * /actuator/prefetch - 접근 빈도 상위 키와 선제 갱신 적중률.
+ */
+@Component
+@Endpoint(id = "prefetch")
+@RequiredArgsConstructor
+public class ProxyPrefetchEndpoint {
+
+    private final ProxyPrefetchService proxyPrefetchService;
+
+    @ReadOperation
+    public Map<String, Object> prefetch() {
+        return proxyPrefetchService.snapshot();
+    }
+}
@@ -0,0 +1,20 @@
+package org.envyw.dadmarketplace.config;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.common.circuitbreaker.configuration.CircuitBreakerConfigCustomizer;
+import org.envyw.dadmarketplace.proxy.UpstreamGuard;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ResilienceConfig {
+
+    // 임계값은 resilience4j.circuitbreaker.instances.darkerdb 설정을 따르고, 실패 판정 기준만 코드로 지정한다.
+    @Bean
+    public CircuitBreakerConfigCustomizer darkerdbCircuitBreakerCustomizer() {
+        return CircuitBreakerConfigCustomizer.of(UpstreamGuard.INSTANCE, builder -> builder
+                .recordException(UpstreamGuard::isUpstreamFailure)
+                .ignoreException(UpstreamGuard::isDecodeLimit)
+                .ignoreExceptions(BulkheadFullException.class));
+    }
+}
@@ -4,6 +4,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.envyw.dadmarketplace.common.CustomOAuth2LoginSuccessHandler;
 import org.envyw.dadmarketplace.security.jwt.JwtAuthenticationWebFilter;
+import org.envyw.dadmarketplace.security.ratelimit.ClientRateLimitWebFilter;
+import org.envyw.dadmarketplace.security.ratelimit.ClientRateLimiter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
@@ -30,6 +32,7 @@ public class SecurityConfig {
     private final CustomOAuth2LoginSuccessHandler authenticationSuccessHandler;
     private final JwtAuthenticationWebFilter jwtAuthenticationWebFilter;
     private final ReactiveJwtDecoder reactiveJwtDecoder;
+    private final ClientRateLimiter clientRateLimiter;
 
 
     @Bean
@@ -37,10 +40,11 @@ public class SecurityConfig {
         return http
                 .authorizeExchange(exchanges -> exchanges
                         .pathMatchers("/", "/api/auth/**", "/oauth2/**", "/api/search-keyword/**",
-                                "/api/darkerdb/**", "/favicon.ico", "/login/oauth2/code/discord",
+                                "/api/darkerdb/**", "/api/market/**", "/favicon.ico", "/login/oauth2/code/discord",
                                 "/debug/**").permitAll()
                         .anyExchange().authenticated())
                 .addFilterBefore(jwtAuthenticationWebFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .addFilterAfter(new ClientRateLimitWebFilter(clientRateLimiter), SecurityWebFiltersOrder.AUTHENTICATION)
                 .oauth2Login(oauth2 -> oauth2
                         .authenticationSuccessHandler(authenticationSuccessHandler))
                 .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.jwtDecoder(reactiveJwtDecoder)))
@@ -1,32 +1,64 @@
 package org.envyw.dadmarketplace.config;
 
 import io.netty.channel.ChannelOption;
-import io.netty.handler.timeout.ReadTimeoutHandler;
-import io.netty.handler.timeout.WriteTimeoutHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.envyw.dadmarketplace.proxy.RoutePolicyTable;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.time.Duration;
-import java.util.concurrent.TimeUnit;
 
 @Configuration
+@Slf4j
 public class WebClientConfig {
 
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider darkerdbConnectionProvider(ExternalApiProperties externalApiProperties) {
+        ExternalApiProperties.ConnectionPool pool = externalApiProperties.connectionPool();
+
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("darkerdb")
+                .maxConnections(pool.maxConnections())
+                .pendingAcquireMaxCount(pool.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.pendingAcquireTimeout())
+                .maxIdleTime(pool.maxIdleTime())
+                .maxLifeTime(pool.maxLifeTime())
+                .evictInBackground(pool.evictInBackground())
+                .metrics(true);
+
+        if (pool.http2()) {
+            builder.allocationStrategy(Http2AllocationStrategy.builder()
+                    .maxConnections(pool.maxConnections())
+                    .maxConcurrentStreams(pool.maxConcurrentStreams())
+                    .minConnections(1)
+                    .build());
+        }
+
+        log.info("DarkerDB 커넥션 풀 초기화: {}", pool);
+        return builder.build();
+    }
+
     @Bean
-    public WebClient webClient() {
-        HttpClient httpClient = HttpClient.create()
+    public WebClient webClient(ExternalApiProperties externalApiProperties,
+                               ConnectionProvider darkerdbConnectionProvider, RoutePolicyTable routePolicyTable) {
+        // 읽기/쓰기 타임아웃 핸들러는 풀에 반납된 유휴 커넥션까지 닫아 버리므로 요청 단위 responseTimeout 만 사용한다.
+        // 실제 제한은 요청마다 route timeout 으로 걸고, 여기서는 가장 긴 route timeout 을 안전망으로만 둔다.
+        HttpClient httpClient = HttpClient.create(darkerdbConnectionProvider)
+                .protocol(externalApiProperties.connectionPool().http2()
+                        ? new HttpProtocol[]{HttpProtocol.H2, HttpProtocol.HTTP11}
+                        : new HttpProtocol[]{HttpProtocol.HTTP11})
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10000)
-                .responseTimeout(Duration.ofSeconds(10))
-                .doOnConnected(conn ->
-                        conn.addHandlerLast(new ReadTimeoutHandler(10, TimeUnit.SECONDS))
-                                .addHandlerLast(new WriteTimeoutHandler(10, TimeUnit.SECONDS)));
+                .responseTimeout(routePolicyTable.maxTimeout());
 
         ExchangeStrategies strategies = ExchangeStrategies.builder()
-                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024 * 1024))
+                .codecs(configurer -> configurer.defaultCodecs()
+                        .maxInMemorySize((int) externalApiProperties.maxBufferedSize().toBytes()))
                 .build();
 
         return WebClient.builder()
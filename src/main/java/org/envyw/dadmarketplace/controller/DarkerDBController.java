@@ -1,37 +1,80 @@
 package org.envyw.dadmarketplace.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.envyw.dadmarketplace.dto.request.DarkerDBBatchReqDto;
+import org.envyw.dadmarketplace.dto.response.DarkerDBBatchItemResDto;
+import org.envyw.dadmarketplace.security.ratelimit.ClientRateLimitWebFilter;
+import org.envyw.dadmarketplace.service.DarkerDBBatchService;
+import org.envyw.dadmarketplace.service.DarkerDBExportService;
 import org.envyw.dadmarketplace.service.ExternalApiService;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.PathContainer;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 @RestController
 @RequestMapping("/api/darkerdb")
 @RequiredArgsConstructor
 @Slf4j
 public class DarkerDBController {
 
+    private static final int PROXY_BASE_PATH_ELEMENTS = PathContainer.parsePath("/api/darkerdb").elements().size();
+    private static final int EXPORT_BASE_PATH_ELEMENTS =
+            PathContainer.parsePath("/api/darkerdb/export").elements().size();
+
     private final ExternalApiService externalApiService;
+    private final DarkerDBBatchService darkerDBBatchService;
+    private final DarkerDBExportService darkerDBExportService;
 
     @GetMapping("/**")
-    public Mono<ResponseEntity<Object>> proxyGetRequest(ServerHttpRequest request) {
-        String requestPath = request.getPath().value();
-        String proxyBasePath = "/api/darkerdb";
-
-        String targetPath = requestPath.substring(proxyBasePath.length());
-        if (targetPath.startsWith("/")) {
-            targetPath = targetPath.substring(1);
-        }
-
+    public Mono<Void> proxyGetRequest(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        // 인코딩된 원래 경로를 그대로 넘기고, 슬래시 정리와 정책 해석은 ExternalApiService 에서 한 번만 한다.
+        String targetPath = request.getPath().pathWithinApplication().subPath(PROXY_BASE_PATH_ELEMENTS).value();
         String queryString = request.getURI().getQuery();
 
         log.info("프록시 요청 수신: path={}, queryString={}", targetPath, queryString);
 
-        return externalApiService.proxyGetRequest(targetPath, queryString);
+        return externalApiService.proxyGetRequest(targetPath, queryString, request.getHeaders())
+                .flatMap(proxyResponse -> proxyResponse.writeTo(exchange));
+    }
+
+    @GetMapping(value = "/export/**", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<JsonNode> exportAsNdjson(ServerHttpRequest request) {
+        return darkerDBExportService.export(exportPath(request), request.getURI().getRawQuery());
+    }
+
+    @GetMapping(value = "/export/**", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<JsonNode>> exportAsEventStream(ServerHttpRequest request) {
+        AtomicLong sequence = new AtomicLong();
+
+        return darkerDBExportService.export(exportPath(request), request.getURI().getRawQuery())
+                .map(item -> ServerSentEvent.builder(item)
+                        .id(String.valueOf(sequence.getAndIncrement()))
+                        .build());
+    }
+
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<DarkerDBBatchItemResDto> batch(@RequestBody DarkerDBBatchReqDto darkerDBBatchReqDto,
+                                               ServerWebExchange exchange) {
+        // 요청 제한 필터는 배치 요청 자체만 1 건으로 센다. 나머지 하위 요청 수만큼은 본문을 읽은 여기서 청구한다.
+        return darkerDBBatchService.execute(darkerDBBatchReqDto,
+                size -> ClientRateLimitWebFilter.tryAcquireAdditional(exchange, size - 1));
+    }
+
+    private static String exportPath(ServerHttpRequest request) {
+        return request.getPath().pathWithinApplication().subPath(EXPORT_BASE_PATH_ELEMENTS).value();
     }
 }
@@ -0,0 +1,50 @@
+package org.envyw.dadmarketplace.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.envyw.dadmarketplace.dto.response.MarketListingResDto;
+import org.envyw.dadmarketplace.dto.response.PriceHistoryResDto;
+import org.envyw.dadmarketplace.dto.response.PriceStatsResDto;
+import org.envyw.dadmarketplace.service.MarketListingService;
+import org.envyw.dadmarketplace.service.PriceHistoryService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/market")
+@RequiredArgsConstructor
+public class MarketController {
+
+    private final MarketListingService marketListingService;
+    private final PriceHistoryService priceHistoryService;
+
+    @GetMapping("/listings")
+    public Flux<MarketListingResDto> getListings(@RequestParam(required = false) String itemId,
+                                                 @RequestParam(defaultValue = "50") int limit) {
+        return marketListingService.getRecentListings(itemId, limit);
+    }
+
+    @GetMapping("/price-stats")
+    public Mono<PriceStatsResDto> getPriceStats(@RequestParam String itemId,
+                                                @RequestParam(required = false) String rarity,
+                                                @RequestParam(required = false) Integer min,
+                                                @RequestParam(required = false) Integer max) {
+        return Mono.fromSupplier(() -> marketListingService.getPriceStats(itemId, rarity, min, max));
+    }
+
+    @GetMapping("/price-history")
+    public Mono<PriceHistoryResDto> getPriceHistory(
+            @RequestParam String itemId,
+            @RequestParam int rarityId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer points) {
+        return priceHistoryService.getHistory(itemId, rarityId, from, to, points);
+    }
+}
@@ -1,35 +1,80 @@
 package org.envyw.dadmarketplace.controller;
 
 import lombok.RequiredArgsConstructor;
-import org.envyw.dadmarketplace.dto.AttributeDto;
-import org.envyw.dadmarketplace.dto.EquipmentDto;
-import org.envyw.dadmarketplace.dto.RarityDto;
+import org.envyw.dadmarketplace.dto.response.KeywordSuggestionResDto;
 import org.envyw.dadmarketplace.dto.response.SearchKeywordResDto;
+import org.envyw.dadmarketplace.service.SearchKeywordPayloadService;
 import org.envyw.dadmarketplace.service.SearchKeywordService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
 
+import java.nio.ByteBuffer;
+import java.time.Duration;
+
 @RestController
 @RequestMapping("/api/search-keyword")
 @RequiredArgsConstructor
 public class SearchKeywordController {
 
+    // 주소에 버전이 없어 배포로 키워드가 바뀔 수 있으므로 max-age 는 하루로 두고, 만료 뒤에는 ETag 로 304 재검증한다.
+    private static final CacheControl KEYWORD_CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(1))
+            .cachePublic()
+            .immutable();
+
+    private final SearchKeywordPayloadService searchKeywordPayloadService;
     private final SearchKeywordService searchKeywordService;
 
     @GetMapping("/attributes")
-    public Mono<SearchKeywordResDto<AttributeDto>> getAttributeKeyword() {
-        return searchKeywordService.getAttributes();
+    public ResponseEntity<ByteBuffer> getAttributeKeyword() {
+        return toResponse(searchKeywordPayloadService.attributes());
     }
 
     @GetMapping("/rarities")
-    public Mono<SearchKeywordResDto<RarityDto>> getRarityKeyword() {
-        return searchKeywordService.getRarities();
+    public ResponseEntity<ByteBuffer> getRarityKeyword() {
+        return toResponse(searchKeywordPayloadService.rarities());
     }
 
     @GetMapping("/equipments")
-    public Mono<SearchKeywordResDto<EquipmentDto>> getEquipmentKeyword() {
-        return searchKeywordService.getEquipments();
+    public ResponseEntity<ByteBuffer> getEquipmentKeyword() {
+        return toResponse(searchKeywordPayloadService.equipments());
+    }
+
+    @GetMapping("/suggest")
+    public Mono<ResponseEntity<SearchKeywordResDto<KeywordSuggestionResDto>>> suggestKeyword(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Integer limit) {
+        return searchKeywordService.suggest(q, type, limit)
+                .map(suggestions -> ResponseEntity.ok()
+                        .cacheControl(KEYWORD_CACHE_CONTROL)
+                        .body(suggestions));
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<SearchKeywordResDto<KeywordSuggestionResDto>>> searchKeyword(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Integer limit) {
+        return searchKeywordService.search(q, type, limit)
+                .map(results -> ResponseEntity.ok()
+                        .cacheControl(KEYWORD_CACHE_CONTROL)
+                        .body(results));
+    }
+
+    // If-None-Match 가 ETag 와 같으면 ResponseEntityResultHandler 가 본문 없이 304 로 끝낸다.
+    // 본문은 인코딩된 버퍼를 그대로 감싸 쓰므로 요청마다 직렬화하거나 복사하지 않는다.
+    private static ResponseEntity<ByteBuffer> toResponse(SearchKeywordPayloadService.Payload payload) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(payload.size())
+                .eTag(payload.etag())
+                .cacheControl(KEYWORD_CACHE_CONTROL)
+                .body(payload.body());
     }
 }
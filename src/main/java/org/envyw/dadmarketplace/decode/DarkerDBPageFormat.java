@@ -0,0 +1,182 @@
+package org.envyw.dadmarketplace.decode;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * 레코드 배열과 다음 페이지 커서의 위치(JSON Pointer)로 DarkerDB 페이지를 스트리밍 파서로 읽는다.
+ * 두 위치로 가는 경로가 아닌 하위 트리는 토큰만 건너뛰며, 루트가 배열이면 루트를 레코드 배열로 본다.
+ * 포인터는 객체 필드 이름으로만 이루어져야 한다.
+ */
+public final class DarkerDBPageFormat {
+
+    private enum Target { RECORDS, CURSOR }
+
+    private final String[] recordsPath;
+    private final String[] cursorPath;
+
+    public DarkerDBPageFormat(String recordsPointer, String cursorPointer) {
+        this.recordsPath = segments(recordsPointer);
+        this.cursorPath = segments(cursorPointer);
+    }
+
+    /**
+     * 페이지 전체를 한 번 훑어 레코드 수와 다음 커서를 구한다. 레코드는 디코딩하지 않고 건너뛴다.
+     * 레코드 배열이 없으면 recordCount 는 -1 이다.
+     */
+    public Summary summarize(JsonParser parser) throws IOException {
+        int recordCount = -1;
+        String nextCursor = null;
+
+        Target target;
+        while ((target = advance(parser)) != null) {
+            if (target == Target.RECORDS) {
+                recordCount = 0;
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    parser.skipChildren();
+                    recordCount++;
+                }
+            } else {
+                String value = parser.getValueAsString();
+                nextCursor = value != null && !value.isEmpty() ? value : null;
+            }
+        }
+
+        return new Summary(recordCount, nextCursor);
+    }
+
+    /**
+     * 레코드 배열의 원소를 하나씩 디코딩해 내보낸다. 구독자가 요청한 만큼만 파서를 진행시키며,
+     * 디코더가 null 을 돌려준 레코드는 건너뛴다. 파서는 끝나거나 취소되면 닫으며,
+     * 읽기 오류는 UncheckedIOException 으로 알린다.
+     */
+    public <T> Flux<T> records(Callable<JsonParser> parserFactory, DarkerDBRecordDecoder<T> decoder) {
+        return Flux.generate(
+                () -> {
+                    JsonParser parser = parserFactory.call();
+                    try {
+                        Target target;
+                        while ((target = advance(parser)) != null && target != Target.RECORDS) {
+                            // 커서는 summarize 에서 이미 읽었다.
+                        }
+                    } catch (IOException e) {
+                        closeQuietly(parser);
+                        throw new UncheckedIOException(e);
+                    }
+                    return parser;
+                },
+                (parser, sink) -> {
+                    try {
+                        if (parser.currentToken() == null) {
+                            sink.complete();
+                            return parser;
+                        }
+
+                        JsonToken token;
+                        while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+                            T record = decoder.decode(parser);
+                            if (record != null) {
+                                sink.next(record);
+                                return parser;
+                            }
+                        }
+                        sink.complete();
+                    } catch (IOException e) {
+                        sink.error(new UncheckedIOException(e));
+                    }
+                    return parser;
+                },
+                DarkerDBPageFormat::closeQuietly);
+    }
+
+    // 다음 관심 위치(레코드 배열의 START_ARRAY 또는 커서 값)까지 나아간다. 문서가 끝나면 null 이다.
+    private Target advance(JsonParser parser) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            if (token == JsonToken.FIELD_NAME || token.isStructEnd()) {
+                continue;
+            }
+
+            JsonStreamContext context = token.isStructStart()
+                    ? parser.getParsingContext().getParent() : parser.getParsingContext();
+            if (context.inRoot()) {
+                if (token == JsonToken.START_ARRAY) {
+                    return Target.RECORDS;
+                }
+                continue;
+            }
+            if (!context.inObject()) {
+                parser.skipChildren();
+                continue;
+            }
+
+            if (token == JsonToken.START_ARRAY && matches(context, recordsPath, false)) {
+                return Target.RECORDS;
+            }
+            if (token.isScalarValue() && matches(context, cursorPath, false)) {
+                return Target.CURSOR;
+            }
+            if (token == JsonToken.START_OBJECT
+                    && (matches(context, recordsPath, true) || matches(context, cursorPath, true))) {
+                continue;
+            }
+            parser.skipChildren();
+        }
+
+        return null;
+    }
+
+    // context 는 값을 담고 있는 객체이며, 값까지의 경로가 path 와 같은지(prefix 면 path 의 앞부분인지) 본다.
+    private static boolean matches(JsonStreamContext context, String[] path, boolean prefix) {
+        int depth = 0;
+        for (JsonStreamContext current = context; !current.inRoot(); current = current.getParent()) {
+            depth++;
+        }
+        if (prefix ? depth >= path.length : depth != path.length) {
+            return false;
+        }
+
+        JsonStreamContext current = context;
+        for (int i = depth - 1; i >= 0; i--) {
+            if (!path[i].equals(current.getCurrentName())) {
+                return false;
+            }
+            current = current.getParent();
+        }
+
+        return true;
+    }
+
+    private static String[] segments(String pointer) {
+        List<String> segments = new ArrayList<>();
+        for (JsonPointer current = JsonPointer.compile(pointer); !current.matches(); current = current.tail()) {
+            segments.add(current.getMatchingProperty());
+        }
+
+        return segments.toArray(String[]::new);
+    }
+
+    private static void closeQuietly(JsonParser parser) {
+        try {
+            parser.close();
+        } catch (IOException ignored) {
+            // 메모리 위 바이트 배열을 읽는 파서라 닫기 실패는 무시한다.
+        }
+    }
+
+    public record Summary(int recordCount, String nextCursor) {
+
+        public boolean hasRecords() {
+            return recordCount >= 0;
+        }
+    }
+}
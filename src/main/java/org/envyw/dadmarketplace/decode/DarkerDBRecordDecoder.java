@@ -0,0 +1,19 @@
+package org.envyw.dadmarketplace.decode;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * DarkerDB 페이지의 레코드 하나를 스트리밍 파서에서 바로 읽어 타입으로 만든다.
+ * 파서는 레코드 값의 첫 토큰(보통 START_OBJECT)에 놓여 있으며, 디코더는 그 값을 끝까지 소비해야 한다.
+ * 쓰지 않는 필드는 트리를 만들지 않고 {@link JsonParser#skipChildren()} 으로 건너뛴다.
+ */
+@FunctionalInterface
+public interface DarkerDBRecordDecoder<T> {
+
+    /**
+     * 레코드를 읽는다. 쓸 수 없는 레코드면 null 을 돌려주며, 그 레코드는 스트림에서 빠진다.
+     */
+    T decode(JsonParser parser) throws IOException;
+}
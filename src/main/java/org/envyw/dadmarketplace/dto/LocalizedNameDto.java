@@ -0,0 +1,7 @@
+package org.envyw.dadmarketplace.dto;
+
+public record LocalizedNameDto(
+        String id,
+        String name
+) {
+}
@@ -0,0 +1,18 @@
+package org.envyw.dadmarketplace.dto.request;
+
+import java.util.List;
+
+public record DarkerDBBatchReqDto(
+        List<Item> requests
+) {
+
+    /**
+     * id 는 클라이언트가 응답 줄을 요청과 맞춰 보기 위한 값으로, 그대로 돌려준다.
+     */
+    public record Item(
+            String id,
+            String path,
+            String query
+    ) {
+    }
+}
@@ -0,0 +1,16 @@
+package org.envyw.dadmarketplace.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 배치 응답 NDJSON 의 한 줄. body 는 JSON 응답이면 원문 그대로(RawValue), 아니면 문자열이다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DarkerDBBatchItemResDto(
+        int index,
+        String id,
+        String path,
+        int status,
+        Object body
+) {
+}
@@ -0,0 +1,8 @@
+package org.envyw.dadmarketplace.dto.response;
+
+public record KeywordSuggestionResDto(
+        String type,
+        String id,
+        String label
+) {
+}
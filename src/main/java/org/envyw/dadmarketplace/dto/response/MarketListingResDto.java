@@ -0,0 +1,25 @@
+package org.envyw.dadmarketplace.dto.response;
+
+import org.envyw.dadmarketplace.entity.MarketListing;
+
+import java.time.LocalDateTime;
+
+public record MarketListingResDto(
+        Long listingId,
+        String itemId,
+        String itemName,
+        String rarity,
+        Integer price,
+        Integer quantity,
+        Double pricePerUnit,
+        Boolean hasSold,
+        LocalDateTime listedAt,
+        LocalDateTime expiresAt
+) {
+
+    public static MarketListingResDto from(MarketListing listing) {
+        return new MarketListingResDto(listing.getListingId(), listing.getItemId(), listing.getItemName(),
+                listing.getRarity(), listing.getPrice(), listing.getQuantity(), listing.getPricePerUnit(),
+                listing.getHasSold(), listing.getListedAt(), listing.getExpiresAt());
+    }
+}
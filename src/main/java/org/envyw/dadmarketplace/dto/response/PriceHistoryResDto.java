@@ -0,0 +1,21 @@
+package org.envyw.dadmarketplace.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record PriceHistoryResDto(
+        String itemId,
+        int rarityId,
+        String resolution,
+        List<Point> points
+) {
+
+    public record Point(
+            LocalDateTime time,
+            double min,
+            double max,
+            double avg,
+            long count
+    ) {
+    }
+}
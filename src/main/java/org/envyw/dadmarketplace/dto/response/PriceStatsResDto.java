@@ -0,0 +1,17 @@
+package org.envyw.dadmarketplace.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PriceStatsResDto(
+        String itemId,
+        String rarity,
+        int count,
+        Integer min,
+        Integer p10,
+        Integer median,
+        Integer p90,
+        Integer max,
+        Integer countInRange
+) {
+}
@@ -0,0 +1,141 @@
+package org.envyw.dadmarketplace.entity;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("market_listings")
+public class MarketListing {
+
+    @Id
+    @Column("listing_id")
+    private Long listingId;
+
+    @Column("item_id")
+    private String itemId;
+
+    @Column("item_name")
+    private String itemName;
+
+    @Column("rarity")
+    private String rarity;
+
+    @Column("price")
+    private Integer price;
+
+    @Column("quantity")
+    private Integer quantity;
+
+    @Column("price_per_unit")
+    private Double pricePerUnit;
+
+    @Column("has_sold")
+    private Boolean hasSold;
+
+    @Column("listed_at")
+    private LocalDateTime listedAt;
+
+    @Column("expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column("ingested_at")
+    private LocalDateTime ingestedAt;
+
+    /**
+     * DarkerDB 마켓 레코드를 스트리밍 파서에서 바로 읽는다. 파서는 레코드의 첫 토큰에 있어야 하며,
+     * 쓰는 필드만 값을 꺼내고 나머지는 트리를 만들지 않고 건너뛴다. id 나 item_id 가 없으면 저장할 수 없으므로 null 을 돌려준다.
+     */
+    public static MarketListing fromDarkerDB(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+
+        MarketListingBuilder builder = MarketListing.builder();
+        boolean hasId = false;
+        boolean hasItemId = false;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL || !token.isScalarValue()) {
+                parser.skipChildren();
+                continue;
+            }
+
+            switch (field) {
+                case "id" -> {
+                    if (token == JsonToken.VALUE_NUMBER_INT
+                            && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+                        builder.listingId(parser.getLongValue());
+                        hasId = true;
+                    }
+                }
+                case "item_id" -> {
+                    builder.itemId(parser.getValueAsString());
+                    hasItemId = true;
+                }
+                case "item" -> builder.itemName(parser.getValueAsString());
+                case "rarity" -> builder.rarity(parser.getValueAsString());
+                case "price" -> builder.price(parser.getValueAsInt());
+                case "quantity" -> builder.quantity(parser.getValueAsInt());
+                case "price_per_unit" -> builder.pricePerUnit(parser.getValueAsDouble());
+                case "has_sold" -> builder.hasSold(parser.getValueAsBoolean());
+                case "created_at" -> builder.listedAt(parseTimestamp(parser.getValueAsString()));
+                case "expires_at" -> builder.expiresAt(parseTimestamp(parser.getValueAsString()));
+                default -> {
+                    // 쓰지 않는 필드
+                }
+            }
+        }
+
+        return hasId && hasItemId ? builder.build() : null;
+    }
+
+    /**
+     * 수집 시각을 제외한 내용의 64비트 해시. 이전 수집과 비교해 바뀐 행만 쓰는 데 쓴다.
+     */
+    public long contentHash() {
+        long hash = 1;
+        for (Object value : new Object[]{itemId, itemName, rarity, price, quantity, pricePerUnit, hasSold,
+                listedAt, expiresAt}) {
+            hash = 1_000_003L * hash + Objects.hashCode(value);
+        }
+
+        return hash;
+    }
+
+    // DarkerDB 는 ISO-8601 시각을 주며, 오프셋이 있으면 UTC 로 맞추고 없으면 그대로 쓴다.
+    private static LocalDateTime parseTimestamp(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+
+        try {
+            return OffsetDateTime.parse(value).withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.parse(value.replace(' ', 'T'));
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+}
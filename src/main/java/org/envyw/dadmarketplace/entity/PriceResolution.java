@@ -0,0 +1,42 @@
+package org.envyw.dadmarketplace.entity;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 가격 이력 해상도. RAW 는 집계하지 않은 관측값이고 나머지는 bucketSeconds 단위로 집계한 price_rollups 행이다.
+ */
+public enum PriceResolution {
+    RAW("raw", 0),
+    MINUTE("1m", 60),
+    HOUR("1h", 3_600),
+    DAY("1d", 86_400);
+
+    private final String label;
+    private final int bucketSeconds;
+
+    PriceResolution(String label, int bucketSeconds) {
+        this.label = label;
+        this.bucketSeconds = bucketSeconds;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public int bucketSeconds() {
+        return bucketSeconds;
+    }
+
+    /**
+     * UTC 기준으로 시각이 속한 구간의 시작 시각을 돌려준다.
+     */
+    public LocalDateTime bucketStart(LocalDateTime time) {
+        if (bucketSeconds == 0) {
+            return time;
+        }
+
+        long epochSecond = time.toEpochSecond(ZoneOffset.UTC);
+        return LocalDateTime.ofEpochSecond(epochSecond - Math.floorMod(epochSecond, bucketSeconds), 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,311 @@
+package org.envyw.dadmarketplace.index;
+
+import org.envyw.dadmarketplace.dto.response.KeywordSuggestionResDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 한글 이름의 자모·초성 검색 색인. 이름을 자모열(겹모음·겹받침까지 나눈 호환 자모)과 초성열 두 가지 키로 풀고,
+ * 각 키의 모든 접미사를 정렬한 int 배열(접미사 배열)에 담아 접두어와 중간 일치를 모두 이진 탐색 한 번으로 찾는다.
+ * 조합 중인 글자("빚", "비저")도 자모열로 풀면 완성된 이름("비전")의 자모열 접두어가 되므로 입력 도중에도 맞는다.
+ * 질의가 자음만으로 이루어지면 초성 키를, 아니면 자모 키를 쓴다. 공백은 키와 질의 모두에서 뺀다.
+ */
+public final class HangulKeywordIndex {
+
+    private static final int SYLLABLE_BASE = 0xAC00;
+    private static final int SYLLABLE_LAST = 0xD7A3;
+    private static final int JUNG_COUNT = 21;
+    private static final int JONG_COUNT = 28;
+
+    private static final char[] CHO = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ".toCharArray();
+    private static final String[] JUNG = {"ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ",
+            "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"};
+    private static final String[] JONG = {"", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ",
+            "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+
+    // 호환 자모 ㄱ(U+3131)~ㅣ(U+3163) 의 자모열. 겹자모는 홑자모로 나눈다.
+    private static final String[] COMPATIBILITY_JAMO = decompositionTable();
+
+    private final KeywordSuggestionResDto[] suggestions;
+    private final KeywordSuggestIndex.Type[] types;
+    private final SuffixArray jamo;
+    private final SuffixArray chosung;
+
+    public HangulKeywordIndex(List<Entry> entries) {
+        int size = entries.size();
+        this.suggestions = new KeywordSuggestionResDto[size];
+        this.types = new KeywordSuggestIndex.Type[size];
+
+        char[][] jamoKeys = new char[size][];
+        char[][] chosungKeys = new char[size][];
+        for (int i = 0; i < size; i++) {
+            Entry entry = entries.get(i);
+            suggestions[i] = new KeywordSuggestionResDto(entry.type().label(), entry.id(), entry.name());
+            types[i] = entry.type();
+            jamoKeys[i] = jamoKey(entry.name()).toCharArray();
+            chosungKeys[i] = chosungKey(entry.name()).toCharArray();
+        }
+
+        this.jamo = SuffixArray.of(jamoKeys);
+        this.chosung = SuffixArray.of(chosungKeys);
+    }
+
+    public int size() {
+        return suggestions.length;
+    }
+
+    public int suffixCount() {
+        return jamo.entries.length + chosung.entries.length;
+    }
+
+    public static boolean containsHangul(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (isSyllable(text.charAt(i)) || isCompatibilityJamo(text.charAt(i))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 이름 맨 앞부터 맞는 항목을 먼저, 중간에서 맞는 항목을 그다음에 최대 limit 개 돌려준다.
+     * type 이 null 이면 모든 종류를 찾는다.
+     */
+    public List<KeywordSuggestionResDto> suggest(String query, KeywordSuggestIndex.Type type, int limit) {
+        boolean consonantsOnly = isConsonantsOnly(query);
+        char[] key = (consonantsOnly ? chosungKey(query) : jamoKey(query)).toCharArray();
+        if (key.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        SuffixArray suffixes = consonantsOnly ? chosung : jamo;
+        int from = suffixes.lowerBound(key);
+        int to = suffixes.upperBound(key, from);
+
+        List<KeywordSuggestionResDto> results = new ArrayList<>(Math.min(limit, to - from));
+        collect(suffixes, from, to, true, type, limit, results);
+        if (results.size() < limit) {
+            collect(suffixes, from, to, false, type, limit, results);
+        }
+
+        return results;
+    }
+
+    /**
+     * 자모 키. 완성형 음절과 호환 자모는 홑자모열로 풀고, 나머지 글자는 소문자로 두며 공백은 뺀다.
+     */
+    static String jamoKey(String text) {
+        StringBuilder key = new StringBuilder(text.length() * 3);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isSyllable(c)) {
+                int index = c - SYLLABLE_BASE;
+                key.append(CHO[index / (JUNG_COUNT * JONG_COUNT)])
+                        .append(JUNG[index % (JUNG_COUNT * JONG_COUNT) / JONG_COUNT])
+                        .append(JONG[index % JONG_COUNT]);
+            } else if (isCompatibilityJamo(c)) {
+                key.append(COMPATIBILITY_JAMO[c - 'ㄱ']);
+            } else if (!Character.isWhitespace(c)) {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+
+        return key.toString();
+    }
+
+    /**
+     * 초성 키. 완성형 음절은 초성만 남기고, 호환 자음과 한글이 아닌 글자(소문자)는 그대로 두며 모음과 공백은 뺀다.
+     */
+    static String chosungKey(String text) {
+        StringBuilder key = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isSyllable(c)) {
+                key.append(CHO[(c - SYLLABLE_BASE) / (JUNG_COUNT * JONG_COUNT)]);
+            } else if (isCompatibilityJamo(c)) {
+                if (c <= 'ㅎ') {
+                    key.append(COMPATIBILITY_JAMO[c - 'ㄱ']);
+                }
+            } else if (!Character.isWhitespace(c)) {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+
+        return key.toString();
+    }
+
+    private void collect(SuffixArray suffixes, int from, int to, boolean leading, KeywordSuggestIndex.Type type,
+                         int limit, List<KeywordSuggestionResDto> results) {
+        for (int i = from; i < to && results.size() < limit; i++) {
+            if ((suffixes.offsets[i] == 0) != leading) {
+                continue;
+            }
+
+            int entry = suffixes.entries[i];
+            if (type != null && types[entry] != type) {
+                continue;
+            }
+
+            KeywordSuggestionResDto suggestion = suggestions[entry];
+            if (!containsSame(results, suggestion)) {
+                results.add(suggestion);
+            }
+        }
+    }
+
+    private static boolean containsSame(List<KeywordSuggestionResDto> results, KeywordSuggestionResDto suggestion) {
+        for (KeywordSuggestionResDto result : results) {
+            if (result == suggestion) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isConsonantsOnly(String query) {
+        boolean hasConsonant = false;
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c >= 'ㄱ' && c <= 'ㅎ') {
+                hasConsonant = true;
+            } else if (!Character.isWhitespace(c)) {
+                return false;
+            }
+        }
+
+        return hasConsonant;
+    }
+
+    private static boolean isSyllable(char c) {
+        return c >= SYLLABLE_BASE && c <= SYLLABLE_LAST;
+    }
+
+    private static boolean isCompatibilityJamo(char c) {
+        return c >= 'ㄱ' && c <= 'ㅣ';
+    }
+
+    private static String[] decompositionTable() {
+        String[] table = new String['ㅣ' - 'ㄱ' + 1];
+        for (char c = 'ㄱ'; c <= 'ㅣ'; c++) {
+            table[c - 'ㄱ'] = String.valueOf(c);
+        }
+
+        String[][] compounds = {{"ㄳ", "ㄱㅅ"}, {"ㄵ", "ㄴㅈ"}, {"ㄶ", "ㄴㅎ"}, {"ㄺ", "ㄹㄱ"}, {"ㄻ", "ㄹㅁ"}, {"ㄼ", "ㄹㅂ"},
+                {"ㄽ", "ㄹㅅ"}, {"ㄾ", "ㄹㅌ"}, {"ㄿ", "ㄹㅍ"}, {"ㅀ", "ㄹㅎ"}, {"ㅄ", "ㅂㅅ"}, {"ㅘ", "ㅗㅏ"}, {"ㅙ", "ㅗㅐ"},
+                {"ㅚ", "ㅗㅣ"}, {"ㅝ", "ㅜㅓ"}, {"ㅞ", "ㅜㅔ"}, {"ㅟ", "ㅜㅣ"}, {"ㅢ", "ㅡㅣ"}};
+        for (String[] compound : compounds) {
+            table[compound[0].charAt(0) - 'ㄱ'] = compound[1];
+        }
+
+        return table;
+    }
+
+    /**
+     * 색인할 한글 이름. id 는 장비 또는 속성 id 이다.
+     */
+    public record Entry(KeywordSuggestIndex.Type type, String id, String name) {
+    }
+
+    /**
+     * 모든 키의 모든 접미사를 사전순으로 정렬해 (항목, 시작 위치) 두 int 배열로 들고 있는다.
+     */
+    private static final class SuffixArray {
+
+        private final char[][] keys;
+        private final int[] entries;
+        private final int[] offsets;
+
+        private SuffixArray(char[][] keys, int[] entries, int[] offsets) {
+            this.keys = keys;
+            this.entries = entries;
+            this.offsets = offsets;
+        }
+
+        private static SuffixArray of(char[][] keys) {
+            int total = 0;
+            for (char[] key : keys) {
+                total += key.length;
+            }
+
+            long[] suffixes = new long[total];
+            int n = 0;
+            for (int entry = 0; entry < keys.length; entry++) {
+                for (int offset = 0; offset < keys[entry].length; offset++) {
+                    suffixes[n++] = ((long) entry << 32) | offset;
+                }
+            }
+
+            Long[] boxed = Arrays.stream(suffixes).boxed().toArray(Long[]::new);
+            Arrays.sort(boxed, (left, right) -> compareSuffixes(keys, left, right));
+
+            int[] entries = new int[total];
+            int[] offsets = new int[total];
+            for (int i = 0; i < total; i++) {
+                entries[i] = (int) (boxed[i] >>> 32);
+                offsets[i] = (int) (long) boxed[i];
+            }
+
+            return new SuffixArray(keys, entries, offsets);
+        }
+
+        // 접미사가 query 로 시작하는 첫 위치.
+        private int lowerBound(char[] query) {
+            int low = 0;
+            int high = entries.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(mid, query) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            return low;
+        }
+
+        // from 부터 접미사가 query 로 시작하는 구간의 끝(배타).
+        private int upperBound(char[] query, int from) {
+            int low = from;
+            int high = entries.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(mid, query) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            return low;
+        }
+
+        // i 번째 접미사가 query 로 시작하면 0, 아니면 사전순 비교 결과.
+        private int compare(int i, char[] query) {
+            char[] key = keys[entries[i]];
+            int offset = offsets[i];
+            for (int j = 0; j < query.length; j++) {
+                if (offset + j == key.length) {
+                    return -1;
+                }
+                if (key[offset + j] != query[j]) {
+                    return key[offset + j] - query[j];
+                }
+            }
+
+            return 0;
+        }
+
+        private static int compareSuffixes(char[][] keys, long left, long right) {
+            char[] leftKey = keys[(int) (left >>> 32)];
+            char[] rightKey = keys[(int) (right >>> 32)];
+            int result = Arrays.compare(leftKey, (int) left, leftKey.length, rightKey, (int) right, rightKey.length);
+
+            return result != 0 ? result : Long.compare(left, right);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package org.envyw.dadmarketplace.index;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.envyw.dadmarketplace.entity.MarketListing;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 판매 중인 마켓 목록의 단가를 아이템·등급별 {@link PriceColumn} 으로 들고 있는 메모리 인덱스.
+ * 쓰기(수집 묶음 반영, 만료 정리, 전체 수집 대조)는 한 번에 하나만 하며 바뀐 키의 컬럼만 병합해 새로 만든다.
+ * 읽기는 현재 컬럼 참조를 가져가므로 잠금 없이 일관된 스냅숏을 본다.
+ * 만료 시각이 없는 목록은 시간으로는 빼지 않고, 끝까지 받은 수집에서 더 이상 보이지 않을 때 {@link #retainSeen} 으로 뺀다.
+ */
+@Component
+@Slf4j
+public class ItemPriceIndex {
+
+    // 만료 시각을 모르는 목록. evictExpired 로는 빠지지 않고 retainSeen 으로만 빠진다.
+    private static final long NO_EXPIRY = Long.MAX_VALUE;
+
+    private final Map<PriceKey, PriceColumn> columns = new ConcurrentHashMap<>();
+    // 등급을 지정하지 않은 조회가 전체 키를 훑지 않도록 아이템별로 컬럼 키를 모아 둔다.
+    private final Map<String, Set<PriceKey>> keysByItem = new ConcurrentHashMap<>();
+    private final Map<Long, Listed> listings = new HashMap<>();
+
+    public ItemPriceIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("market.price.index.keys", columns, Map::size)
+                .description("가격 인덱스의 아이템·등급 키 수")
+                .register(meterRegistry);
+        Gauge.builder("market.price.index.listings", this, ItemPriceIndex::listingCount)
+                .description("가격 인덱스에 들어 있는 판매 중 목록 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 수집한 목록 묶음을 반영한다. 팔렸거나 만료됐거나 가격이 없는 목록은 인덱스에서 뺀다.
+     */
+    public synchronized void apply(List<MarketListing> batch, LocalDateTime now) {
+        Map<PriceKey, Delta> deltas = new HashMap<>();
+        long nowEpochSecond = now.toEpochSecond(ZoneOffset.UTC);
+
+        for (MarketListing listing : batch) {
+            Listed previous = listings.remove(listing.getListingId());
+            if (previous != null) {
+                deltas.computeIfAbsent(previous.key(), ignored -> new Delta()).removed.add(previous.price());
+            }
+
+            Listed current = toListed(listing);
+            if (current == null || Boolean.TRUE.equals(listing.getHasSold())
+                    || current.expiresAtEpochSecond() <= nowEpochSecond) {
+                continue;
+            }
+
+            listings.put(listing.getListingId(), current);
+            deltas.computeIfAbsent(current.key(), ignored -> new Delta()).added.add(current.price());
+        }
+
+        publish(deltas);
+    }
+
+    /**
+     * 만료 시각이 지난 목록을 뺀다. 뺀 목록 수를 돌려준다.
+     */
+    public synchronized int evictExpired(LocalDateTime now) {
+        Map<PriceKey, Delta> deltas = new HashMap<>();
+        long nowEpochSecond = now.toEpochSecond(ZoneOffset.UTC);
+        int evicted = 0;
+
+        Iterator<Listed> iterator = listings.values().iterator();
+        while (iterator.hasNext()) {
+            Listed listed = iterator.next();
+            if (listed.expiresAtEpochSecond() <= nowEpochSecond) {
+                iterator.remove();
+                deltas.computeIfAbsent(listed.key(), ignored -> new Delta()).removed.add(listed.price());
+                evicted++;
+            }
+        }
+
+        publish(deltas);
+        if (evicted > 0) {
+            log.debug("가격 인덱스 만료 목록 정리: {}", evicted);
+        }
+        return evicted;
+    }
+
+    /**
+     * 끝까지 받은 전체 수집 한 번에서 보이지 않은 목록(취소 등으로 업스트림에서 사라진 목록)을 뺀다. 뺀 목록 id 를 돌려준다.
+     * 잘린 수집에서 부르면 뒤 페이지의 목록까지 빠지므로, 호출자는 수집이 끝까지 됐을 때만 불러야 한다.
+     */
+    public synchronized List<Long> retainSeen(Set<Long> seenListingIds) {
+        Map<PriceKey, Delta> deltas = new HashMap<>();
+        List<Long> removed = new ArrayList<>();
+
+        Iterator<Map.Entry<Long, Listed>> iterator = listings.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Listed> entry = iterator.next();
+            if (!seenListingIds.contains(entry.getKey())) {
+                iterator.remove();
+                deltas.computeIfAbsent(entry.getValue().key(), ignored -> new Delta()).removed
+                        .add(entry.getValue().price());
+                removed.add(entry.getKey());
+            }
+        }
+
+        publish(deltas);
+        if (!removed.isEmpty()) {
+            log.debug("가격 인덱스에서 사라진 목록 정리: {}", removed.size());
+        }
+        return removed;
+    }
+
+    public PriceColumn column(String itemId, String rarity) {
+        return columns.getOrDefault(new PriceKey(itemId, rarity), PriceColumn.EMPTY);
+    }
+
+    /**
+     * 아이템의 모든 등급(등급이 없는 목록 포함) 컬럼을 합친 컬럼. 등급마다 현재 컬럼 참조를 읽어 병합하므로
+     * 그 사이에 반영된 묶음은 일부 등급에만 보일 수 있다.
+     */
+    public PriceColumn columnForItem(String itemId) {
+        PriceColumn merged = PriceColumn.EMPTY;
+        for (PriceKey key : keysByItem.getOrDefault(itemId, Set.of())) {
+            merged = merged.plus(columns.getOrDefault(key, PriceColumn.EMPTY));
+        }
+
+        return merged;
+    }
+
+    public synchronized int listingCount() {
+        return listings.size();
+    }
+
+    private void publish(Map<PriceKey, Delta> deltas) {
+        deltas.forEach((key, delta) -> {
+            PriceColumn merged = columns.getOrDefault(key, PriceColumn.EMPTY)
+                    .merge(delta.removed.toSortedArray(), delta.added.toSortedArray());
+            if (merged.isEmpty()) {
+                columns.remove(key);
+                keysByItem.computeIfPresent(key.itemId(), (itemId, keys) -> {
+                    keys.remove(key);
+                    return keys.isEmpty() ? null : keys;
+                });
+            } else {
+                columns.put(key, merged);
+                keysByItem.computeIfAbsent(key.itemId(), itemId -> ConcurrentHashMap.newKeySet()).add(key);
+            }
+        });
+    }
+
+    // 단가는 price_per_unit 을 반올림해 쓰고, 없으면 price 를 수량으로 나눈다.
+    private static Listed toListed(MarketListing listing) {
+        if (listing.getItemId() == null) {
+            return null;
+        }
+
+        int price;
+        if (listing.getPricePerUnit() != null) {
+            price = (int) Math.round(listing.getPricePerUnit());
+        } else if (listing.getPrice() != null) {
+            int quantity = listing.getQuantity() != null && listing.getQuantity() > 1 ? listing.getQuantity() : 1;
+            price = listing.getPrice() / quantity;
+        } else {
+            return null;
+        }
+
+        long expiresAt = listing.getExpiresAt() != null
+                ? listing.getExpiresAt().toEpochSecond(ZoneOffset.UTC) : NO_EXPIRY;
+        return new Listed(new PriceKey(listing.getItemId(), listing.getRarity()), price, expiresAt);
+    }
+
+    record PriceKey(String itemId, String rarity) {
+    }
+
+    private record Listed(PriceKey key, int price, long expiresAtEpochSecond) {
+    }
+
+    private static final class Delta {
+        private final IntList removed = new IntList();
+        private final IntList added = new IntList();
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private int[] toSortedArray() {
+            int[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
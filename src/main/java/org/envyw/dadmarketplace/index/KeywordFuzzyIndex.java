@@ -0,0 +1,265 @@
+package org.envyw.dadmarketplace.index;
+
+import org.envyw.dadmarketplace.dto.AttributeDto;
+import org.envyw.dadmarketplace.dto.EquipmentDto;
+import org.envyw.dadmarketplace.dto.response.KeywordSuggestionResDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 오타를 허용하는 장비·속성 이름 검색 색인. 이름의 3-gram 역색인으로 후보를 좁힌 뒤, 이름의 각 단어 시작부터의
+ * 접두어와 질의의 편집 거리(인접 문자 자리바꿈 포함)를 허용 거리 안에서만 계산해 가까운 순으로 돌려준다.
+ * 삽입·삭제·치환은 3-gram 을 최대 세 개, 인접 문자 자리바꿈은 네 개까지 깨뜨리므로 허용 거리 k 안의 후보는
+ * 질의 3-gram 중 (개수 - 4k) 개 이상을 공유한다.
+ */
+public final class KeywordFuzzyIndex {
+
+    private static final int GRAM = 3;
+
+    // 편집 한 번이 깨뜨릴 수 있는 3-gram 최대 수. 자리바꿈 ab→ba 는 두 글자에 걸친 3-gram 네 개를 바꾼다.
+    private static final int GRAMS_PER_EDIT = GRAM + 1;
+
+    private static final Comparator<Match> RANKING = Comparator.comparingInt(Match::distance)
+            .thenComparing(Comparator.comparingInt(Match::sharedGrams).reversed())
+            .thenComparing(Match::leading, Comparator.reverseOrder())
+            .thenComparingInt(Match::nameLength)
+            .thenComparingInt(Match::entry);
+
+    private final KeywordSuggestionResDto[] suggestions;
+    private final KeywordSuggestIndex.Type[] types;
+    private final String[] names;
+    private final int[][] wordStarts;
+    private final long[] grams;
+    private final int[][] postings;
+
+    public KeywordFuzzyIndex(List<EquipmentDto> equipments, List<AttributeDto> attributes) {
+        int size = equipments.size() + attributes.size();
+        this.suggestions = new KeywordSuggestionResDto[size];
+        this.types = new KeywordSuggestIndex.Type[size];
+        this.names = new String[size];
+        this.wordStarts = new int[size][];
+
+        int entry = 0;
+        for (EquipmentDto equipment : equipments) {
+            add(entry++, KeywordSuggestIndex.Type.EQUIPMENT, equipment.id(), equipment.name());
+        }
+        for (AttributeDto attribute : attributes) {
+            add(entry++, KeywordSuggestIndex.Type.ATTRIBUTE, attribute.id(), attribute.display());
+        }
+
+        Map<Long, List<Integer>> inverted = new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            for (long gram : distinctGrams(names[i])) {
+                inverted.computeIfAbsent(gram, ignored -> new ArrayList<>()).add(i);
+            }
+        }
+
+        this.grams = new long[inverted.size()];
+        this.postings = new int[inverted.size()][];
+        int g = 0;
+        for (Map.Entry<Long, List<Integer>> posting : inverted.entrySet()) {
+            grams[g] = posting.getKey();
+            postings[g] = posting.getValue().stream().mapToInt(Integer::intValue).toArray();
+            g++;
+        }
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public int gramCount() {
+        return grams.length;
+    }
+
+    /**
+     * 색인이 차지하는 힙 크기 어림값(바이트). 객체 헤더 16바이트, 참조 4바이트(압축 포인터)로 계산하며
+     * 결과 항목 인스턴스는 자동완성 색인과 같은 내용이라 제외한다.
+     */
+    public long estimatedBytes() {
+        long bytes = 3L * (16 + 4L * names.length);
+        for (int i = 0; i < names.length; i++) {
+            bytes += 24 + 16 + names[i].length();
+            bytes += 16 + 4L * wordStarts[i].length;
+        }
+        bytes += 16 + 8L * grams.length;
+        bytes += 16 + 4L * postings.length;
+        for (int[] posting : postings) {
+            bytes += 16 + 4L * posting.length;
+        }
+
+        return bytes;
+    }
+
+    /**
+     * 질의와 허용 거리 안에 있는 이름을 가까운 순으로 최대 limit 개 돌려준다. 허용 거리는 질의 길이에 따라 0~3 이다.
+     * type 이 null 이면 모든 종류를 찾는다.
+     */
+    public List<KeywordSuggestionResDto> search(String query, KeywordSuggestIndex.Type type, int limit) {
+        String normalized = query.strip().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        int maxDistance = maxDistance(normalized.length());
+        long[] queryGrams = distinctGrams(normalized);
+        int minShared = queryGrams.length - GRAMS_PER_EDIT * maxDistance;
+
+        int[] shared = new int[names.length];
+        for (long gram : queryGrams) {
+            int g = Arrays.binarySearch(grams, gram);
+            if (g >= 0) {
+                for (int entry : postings[g]) {
+                    shared[entry]++;
+                }
+            }
+        }
+
+        EditDistance editDistance = new EditDistance(normalized, maxDistance);
+        List<Match> matches = new ArrayList<>();
+        for (int entry = 0; entry < names.length; entry++) {
+            if ((type != null && types[entry] != type) || (minShared > 0 && shared[entry] < minShared)) {
+                continue;
+            }
+
+            int best = maxDistance + 1;
+            boolean leading = false;
+            for (int start : wordStarts[entry]) {
+                int distance = editDistance.toPrefixOf(names[entry], start);
+                if (distance < best) {
+                    best = distance;
+                    leading = start == 0;
+                }
+            }
+            if (best <= maxDistance) {
+                matches.add(new Match(entry, best, shared[entry], leading, names[entry].length()));
+            }
+        }
+
+        matches.sort(RANKING);
+        List<KeywordSuggestionResDto> results = new ArrayList<>(Math.min(limit, matches.size()));
+        for (int i = 0; i < matches.size() && i < limit; i++) {
+            results.add(suggestions[matches.get(i).entry()]);
+        }
+
+        return results;
+    }
+
+    // 짧은 질의는 조금만 틀려도 엉뚱한 이름이 많이 걸리므로 길이에 따라 허용 거리를 늘린다.
+    static int maxDistance(int queryLength) {
+        if (queryLength < 4) {
+            return 0;
+        }
+        if (queryLength < 8) {
+            return 1;
+        }
+
+        return queryLength < 12 ? 2 : 3;
+    }
+
+    private void add(int entry, KeywordSuggestIndex.Type type, String id, String label) {
+        suggestions[entry] = new KeywordSuggestionResDto(type.label(), id, label);
+        types[entry] = type;
+        names[entry] = label.strip().toLowerCase(Locale.ROOT);
+
+        String name = names[entry];
+        int[] starts = new int[name.length()];
+        int count = 0;
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != ' ' && (i == 0 || name.charAt(i - 1) == ' ')) {
+                starts[count++] = i;
+            }
+        }
+        wordStarts[entry] = Arrays.copyOf(starts, Math.max(count, 1));
+    }
+
+    private static long[] distinctGrams(String text) {
+        if (text.length() < GRAM) {
+            return new long[0];
+        }
+
+        long[] result = new long[text.length() - GRAM + 1];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(result);
+
+        int distinct = 0;
+        for (int i = 0; i < result.length; i++) {
+            if (i == 0 || result[i] != result[i - 1]) {
+                result[distinct++] = result[i];
+            }
+        }
+
+        return Arrays.copyOf(result, distinct);
+    }
+
+    private record Match(int entry, int distance, int sharedGrams, boolean leading, int nameLength) {
+    }
+
+    /**
+     * 질의 하나에 대해 재사용하는 편집 거리 계산기. 이름의 start 부터 시작하는 가장 가까운 접두어와의
+     * 거리(optimal string alignment)를 구하며, 모든 칸이 허용 거리를 넘으면 바로 멈춘다.
+     */
+    private static final class EditDistance {
+
+        private final String query;
+        private final int maxDistance;
+        private int[] previous;
+        private int[] current;
+        private int[] beforePrevious;
+
+        private EditDistance(String query, int maxDistance) {
+            this.query = query;
+            this.maxDistance = maxDistance;
+            this.previous = new int[query.length() + 1];
+            this.current = new int[query.length() + 1];
+            this.beforePrevious = new int[query.length() + 1];
+        }
+
+        // 이름 쪽 문자를 한 열씩 늘려 가며, 질의 전체를 소비한 칸(마지막 행)의 최솟값을 답으로 삼는다.
+        private int toPrefixOf(String name, int start) {
+            int m = query.length();
+            for (int i = 0; i <= m; i++) {
+                previous[i] = i;
+            }
+            int best = previous[m];
+
+            int end = Math.min(name.length(), start + m + maxDistance);
+            for (int j = start; j < end; j++) {
+                char nameChar = name.charAt(j);
+                current[0] = j - start + 1;
+                int columnMin = current[0];
+
+                for (int i = 1; i <= m; i++) {
+                    char queryChar = query.charAt(i - 1);
+                    int cost = queryChar == nameChar ? 0 : 1;
+                    int value = Math.min(Math.min(previous[i] + 1, current[i - 1] + 1), previous[i - 1] + cost);
+                    if (i > 1 && j > start && queryChar == name.charAt(j - 1) && query.charAt(i - 2) == nameChar) {
+                        value = Math.min(value, beforePrevious[i - 2] + 1);
+                    }
+                    current[i] = value;
+                    columnMin = Math.min(columnMin, value);
+                }
+
+                best = Math.min(best, current[m]);
+                if (columnMin > maxDistance) {
+                    break;
+                }
+
+                int[] recycled = beforePrevious;
+                beforePrevious = previous;
+                previous = current;
+                current = recycled;
+            }
+
+            return best;
+        }
+    }
+}
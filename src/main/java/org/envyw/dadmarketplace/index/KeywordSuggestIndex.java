@@ -0,0 +1,203 @@
+package org.envyw.dadmarketplace.index;
+
+import org.envyw.dadmarketplace.dto.AttributeDto;
+import org.envyw.dadmarketplace.dto.EquipmentDto;
+import org.envyw.dadmarketplace.dto.response.KeywordSuggestionResDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 장비 이름과 속성 표시 이름의 접두어 자동완성 색인. 소문자로 바꾼 키를 정렬한 배열 두 개로 이루어진다.
+ * 이름 맨 앞에서 맞는 키(primary)를 먼저, 둘째 단어부터 맞는 키(secondary)를 그다음에 돌려주며 각각은 사전순이다.
+ * 조회는 이진 탐색 뒤 연속 구간을 훑을 뿐이고, 질의 문자열을 새로 만들지 않고 한 글자씩 소문자로 비교하므로
+ * 결과 목록 말고는 할당하지 않는다. 결과 항목은 색인을 만들 때 미리 만들어 둔 인스턴스를 그대로 쓴다.
+ */
+public final class KeywordSuggestIndex {
+
+    public enum Type {
+        EQUIPMENT("equipment"),
+        ATTRIBUTE("attribute");
+
+        private final String label;
+
+        Type(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+
+        /**
+         * 라벨로 찾는다. 없는 라벨이면 null 이다.
+         */
+        public static Type fromLabel(String label) {
+            for (Type type : values()) {
+                if (type.label.equalsIgnoreCase(label)) {
+                    return type;
+                }
+            }
+
+            return null;
+        }
+    }
+
+    private final KeywordSuggestionResDto[] suggestions;
+    private final Type[] types;
+    private final SortedKeys primary;
+    private final SortedKeys secondary;
+
+    public KeywordSuggestIndex(List<EquipmentDto> equipments, List<AttributeDto> attributes) {
+        int size = equipments.size() + attributes.size();
+        this.suggestions = new KeywordSuggestionResDto[size];
+        this.types = new Type[size];
+
+        List<Key> primaryKeys = new ArrayList<>(size);
+        List<Key> secondaryKeys = new ArrayList<>();
+        int entry = 0;
+        for (EquipmentDto equipment : equipments) {
+            add(entry++, Type.EQUIPMENT, equipment.id(), equipment.name(), primaryKeys, secondaryKeys);
+        }
+        for (AttributeDto attribute : attributes) {
+            add(entry++, Type.ATTRIBUTE, attribute.id(), attribute.display(), primaryKeys, secondaryKeys);
+        }
+
+        this.primary = SortedKeys.of(primaryKeys);
+        this.secondary = SortedKeys.of(secondaryKeys);
+    }
+
+    public int size() {
+        return suggestions.length;
+    }
+
+    /**
+     * query 로 시작하는 이름을 최대 limit 개 돌려준다. 대소문자와 앞쪽 공백은 무시한다. type 이 null 이면 모든 종류를 찾는다.
+     */
+    public List<KeywordSuggestionResDto> suggest(String query, Type type, int limit) {
+        int start = 0;
+        while (start < query.length() && Character.isWhitespace(query.charAt(start))) {
+            start++;
+        }
+        if (start == query.length() || limit <= 0) {
+            return List.of();
+        }
+
+        List<KeywordSuggestionResDto> results = collect(primary, query, start, type, limit, null);
+        if (results == null || results.size() < limit) {
+            results = collect(secondary, query, start, type, limit, results);
+        }
+
+        return results != null ? results : List.of();
+    }
+
+    private List<KeywordSuggestionResDto> collect(SortedKeys keys, String query, int start, Type type, int limit,
+                                                  List<KeywordSuggestionResDto> results) {
+        for (int i = keys.lowerBound(query, start);
+             i < keys.keys.length && compare(keys.keys[i], query, start) == 0; i++) {
+            int entry = keys.entries[i];
+            if (type != null && types[entry] != type) {
+                continue;
+            }
+
+            KeywordSuggestionResDto suggestion = suggestions[entry];
+            if (results == null) {
+                results = new ArrayList<>(limit);
+            } else if (containsSame(results, suggestion)) {
+                continue;
+            }
+            results.add(suggestion);
+            if (results.size() == limit) {
+                break;
+            }
+        }
+
+        return results;
+    }
+
+    private void add(int entry, Type type, String id, String label, List<Key> primaryKeys, List<Key> secondaryKeys) {
+        suggestions[entry] = new KeywordSuggestionResDto(type.label(), id, label);
+        types[entry] = type;
+
+        String normalized = label.trim().toLowerCase(Locale.ROOT);
+        primaryKeys.add(new Key(normalized, entry));
+        for (int i = 1; i < normalized.length(); i++) {
+            if (normalized.charAt(i - 1) == ' ' && normalized.charAt(i) != ' ') {
+                secondaryKeys.add(new Key(normalized.substring(i), entry));
+            }
+        }
+    }
+
+    // key 가 query[start..] 로 시작하면 0, 아니면 사전순 비교 결과. key 는 이미 소문자다.
+    private static int compare(String key, String query, int start) {
+        int length = query.length() - start;
+        for (int i = 0; i < length; i++) {
+            if (i == key.length()) {
+                return -1;
+            }
+            char expected = Character.toLowerCase(query.charAt(start + i));
+            if (key.charAt(i) != expected) {
+                return key.charAt(i) - expected;
+            }
+        }
+
+        return 0;
+    }
+
+    private static boolean containsSame(List<KeywordSuggestionResDto> results, KeywordSuggestionResDto suggestion) {
+        for (KeywordSuggestionResDto result : results) {
+            if (result == suggestion) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private record Key(String text, int entry) {
+    }
+
+    private static final class SortedKeys {
+
+        private final String[] keys;
+        private final int[] entries;
+
+        private SortedKeys(String[] keys, int[] entries) {
+            this.keys = keys;
+            this.entries = entries;
+        }
+
+        private static SortedKeys of(List<Key> unsorted) {
+            Key[] sorted = unsorted.toArray(Key[]::new);
+            Arrays.sort(sorted, Comparator.comparing(Key::text).thenComparingInt(Key::entry));
+
+            String[] keys = new String[sorted.length];
+            int[] entries = new int[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                keys[i] = sorted[i].text();
+                entries[i] = sorted[i].entry();
+            }
+
+            return new SortedKeys(keys, entries);
+        }
+
+        // query[start..] 를 접두어로 가진 첫 키의 위치. 없으면 그보다 큰 첫 키의 위치다.
+        private int lowerBound(String query, int start) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(keys[mid], query, start) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            return low;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.envyw.dadmarketplace.index;
+
+import java.util.Arrays;
+
+/**
+ * 한 아이템·등급의 현재 가격을 오름차순 int 배열 하나로 들고 있는 불변 컬럼. 백분위는 O(1), 범위 개수는 이진 탐색 두 번으로
+ * O(log n) 에 답하며 박싱하지 않는다. 갱신은 기존 배열과 바뀐 가격을 병합해 새 컬럼을 만든다.
+ */
+public final class PriceColumn {
+
+    static final PriceColumn EMPTY = new PriceColumn(new int[0]);
+
+    private final int[] sorted;
+
+    private PriceColumn(int[] sorted) {
+        this.sorted = sorted;
+    }
+
+    static PriceColumn of(int[] prices) {
+        int[] sorted = prices.clone();
+        Arrays.sort(sorted);
+        return new PriceColumn(sorted);
+    }
+
+    public int size() {
+        return sorted.length;
+    }
+
+    public boolean isEmpty() {
+        return sorted.length == 0;
+    }
+
+    /**
+     * nearest-rank 백분위. p 는 0~1 이며 비어 있으면 IllegalStateException 을 던진다.
+     */
+    public int percentile(double p) {
+        if (sorted.length == 0) {
+            throw new IllegalStateException("빈 가격 컬럼의 백분위는 구할 수 없습니다");
+        }
+
+        int rank = (int) Math.ceil(Math.min(1.0, Math.max(0.0, p)) * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    public int median() {
+        return percentile(0.5);
+    }
+
+    public int min() {
+        return percentile(0);
+    }
+
+    public int max() {
+        return percentile(1);
+    }
+
+    /**
+     * min 이상 max 이하인 가격 수.
+     */
+    public int countInRange(int min, int max) {
+        if (min > max) {
+            return 0;
+        }
+
+        return upperBound(max) - lowerBound(min);
+    }
+
+    // 두 컬럼의 가격을 모두 담은 컬럼. 선형 병합이라 다시 정렬하지 않는다.
+    PriceColumn plus(PriceColumn other) {
+        return isEmpty() ? other : merge(EMPTY.sorted, other.sorted);
+    }
+
+    // 기존 가격에서 removed 를 (중복 포함) 하나씩 빼고 added 를 합친다. 두 배열 모두 오름차순이어야 한다.
+    PriceColumn merge(int[] removed, int[] added) {
+        if (removed.length == 0 && added.length == 0) {
+            return this;
+        }
+
+        // removed 중 컬럼에 없는 값이 있어도 넘치지 않도록 넉넉히 잡고 끝에서 잘라낸다.
+        int[] merged = new int[sorted.length + added.length];
+        int size = 0;
+        int r = 0;
+        int a = 0;
+
+        for (int price : sorted) {
+            while (r < removed.length && removed[r] < price) {
+                r++;
+            }
+            if (r < removed.length && removed[r] == price) {
+                r++;
+                continue;
+            }
+            while (a < added.length && added[a] <= price) {
+                merged[size++] = added[a++];
+            }
+            merged[size++] = price;
+        }
+        while (a < added.length) {
+            merged[size++] = added[a++];
+        }
+
+        return new PriceColumn(size == merged.length ? merged : Arrays.copyOf(merged, size));
+    }
+
+    private int lowerBound(int value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    private int upperBound(int value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+}
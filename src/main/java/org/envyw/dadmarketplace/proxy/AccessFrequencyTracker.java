@@ -0,0 +1,154 @@
+package org.envyw.dadmarketplace.proxy;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.envyw.dadmarketplace.config.ExternalApiProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 정규화된 프록시 키별 접근 빈도를 지수 감쇠 점수로 추적한다. 점수는 접근마다 1 씩 오르고 halfLife 마다 절반이 된다.
+ * 선제 갱신한 키가 다음 갱신 전에 실제로 조회됐는지도 함께 세어 갱신 적중률을 낸다.
+ */
+@Component
+public class AccessFrequencyTracker {
+
+    private final Cache<ProxyCacheKey, DecayingCounter> counters;
+    private final double halfLifeNanos;
+    private final Ticker ticker;
+
+    private final Counter refreshHitCounter;
+    private final Counter refreshWastedCounter;
+
+    @Autowired
+    public AccessFrequencyTracker(ExternalApiProperties properties, MeterRegistry meterRegistry) {
+        this(properties.prefetch(), meterRegistry, Ticker.systemTicker());
+    }
+
+    public AccessFrequencyTracker(ExternalApiProperties.Prefetch settings, MeterRegistry meterRegistry,
+                                  Ticker ticker) {
+        this.halfLifeNanos = settings.halfLife().toNanos();
+        this.ticker = ticker;
+        // 반감기의 10배(점수 1/1024)가 지나도록 접근이 없으면 더 추적할 의미가 없다.
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(settings.maxTrackedKeys())
+                .expireAfterAccess(settings.halfLife().multipliedBy(10))
+                .ticker(ticker)
+                .build();
+
+        this.refreshHitCounter = Counter.builder("darkerdb.proxy.prefetch.refreshes")
+                .description("선제 갱신 후 다음 갱신 전에 조회된 횟수")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.refreshWastedCounter = Counter.builder("darkerdb.proxy.prefetch.refreshes")
+                .description("선제 갱신 후 조회 없이 다시 갱신된 횟수")
+                .tag("result", "wasted")
+                .register(meterRegistry);
+        Gauge.builder("darkerdb.proxy.prefetch.tracked", counters, Cache::estimatedSize)
+                .description("접근 빈도를 추적 중인 키 수")
+                .register(meterRegistry);
+    }
+
+    public void record(ProxyCacheKey key) {
+        DecayingCounter counter = counters.get(key, ignored -> new DecayingCounter());
+        if (counter.increment(ticker.read(), halfLifeNanos)) {
+            refreshHitCounter.increment();
+        }
+    }
+
+    public void markRefreshed(ProxyCacheKey key) {
+        DecayingCounter counter = counters.getIfPresent(key);
+        if (counter != null && counter.markRefreshed()) {
+            refreshWastedCounter.increment();
+        }
+    }
+
+    /**
+     * 점수가 minScore 이상인 키를 점수 내림차순으로 최대 limit 개 돌려준다.
+     */
+    public List<HotKey> topK(int limit, double minScore) {
+        long now = ticker.read();
+        PriorityQueue<HotKey> heap = new PriorityQueue<>(Comparator.comparingDouble(HotKey::score));
+
+        counters.asMap().forEach((key, counter) -> {
+            double score = counter.scoreAt(now, halfLifeNanos);
+            if (score < minScore) {
+                return;
+            }
+
+            if (heap.size() < limit) {
+                heap.add(new HotKey(key, score));
+            } else if (heap.peek().score() < score) {
+                heap.poll();
+                heap.add(new HotKey(key, score));
+            }
+        });
+
+        List<HotKey> hotKeys = new ArrayList<>(heap);
+        hotKeys.sort(Comparator.comparingDouble(HotKey::score).reversed());
+        return hotKeys;
+    }
+
+    public long trackedKeys() {
+        return counters.estimatedSize();
+    }
+
+    public double refreshHits() {
+        return refreshHitCounter.count();
+    }
+
+    public double refreshWasted() {
+        return refreshWastedCounter.count();
+    }
+
+    public record HotKey(
+            ProxyCacheKey key,
+            double score
+    ) {
+    }
+
+    private static final class DecayingCounter {
+
+        private double score;
+        private long updatedAt;
+        private boolean refreshPending;
+
+        // 선제 갱신 이후 첫 접근이면 true 를 돌려준다.
+        synchronized boolean increment(long now, double halfLifeNanos) {
+            score = decayed(now, halfLifeNanos) + 1;
+            updatedAt = now;
+
+            boolean refreshHit = refreshPending;
+            refreshPending = false;
+            return refreshHit;
+        }
+
+        // 이전 갱신이 한 번도 조회되지 않았으면 true 를 돌려준다.
+        synchronized boolean markRefreshed() {
+            boolean wasted = refreshPending;
+            refreshPending = true;
+            return wasted;
+        }
+
+        synchronized double scoreAt(long now, double halfLifeNanos) {
+            return decayed(now, halfLifeNanos);
+        }
+
+        private double decayed(long now, double halfLifeNanos) {
+            if (score == 0) {
+                return 0;
+            }
+
+            return score * Math.pow(0.5, (now - updatedAt) / halfLifeNanos);
+        }
+    }
+}
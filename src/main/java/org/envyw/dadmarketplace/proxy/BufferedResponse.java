@@ -0,0 +1,52 @@
+package org.envyw.dadmarketplace.proxy;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+/**
+ * 본문 전체를 바이트 배열로 보관하는 업스트림 응답. 캐시와 요청 병합에서 여러 번 재사용된다.
+ * 압축 가능한 본문은 gzip 으로 보관하며, 클라이언트별 인코딩 협상은 {@link ProxyResponse#writeTo} 에서 한다.
+ */
+public record BufferedResponse(
+        HttpStatusCode status,
+        HttpHeaders headers,
+        byte[] body
+) {
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    public static BufferedResponse from(ResponseEntity<byte[]> entity) {
+        byte[] body = entity.getBody() != null ? entity.getBody() : EMPTY_BODY;
+        HttpHeaders headers = ProxyResponse.forwardedHeaders(entity.getHeaders());
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+
+        if (entity.getStatusCode().is2xxSuccessful()) {
+            if (headers.getETag() == null) {
+                headers.setETag(computeEtag(body));
+            }
+
+            // 업스트림이 압축하지 않은 본문은 저장 시점에 한 번만 압축해 두고 캐시 히트마다 재압축하지 않는다.
+            if (GzipCodec.isCompressible(headers, body)) {
+                body = GzipCodec.compress(body);
+                headers.set(HttpHeaders.CONTENT_ENCODING, GzipCodec.GZIP);
+            }
+        }
+
+        return new BufferedResponse(entity.getStatusCode(), headers, body);
+    }
+
+    // 업스트림이 ETag 를 주지 않으면 본문 해시로 강한 ETag 를 만든다.
+    static String computeEtag(byte[] body) {
+        return "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+    }
+
+    public int weight() {
+        return body.length + 64 * headers.size() + 128;
+    }
+
+    public ProxyResponse toProxyResponse() {
+        return ProxyResponse.buffered(status, headers, body);
+    }
+}
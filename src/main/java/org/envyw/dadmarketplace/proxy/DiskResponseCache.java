@@ -0,0 +1,519 @@
+package org.envyw.dadmarketplace.proxy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.envyw.dadmarketplace.config.ExternalApiProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 재시작 후에도 남는 2차 응답 캐시. 고정 크기 세그먼트 파일을 mmap 해 레코드를 뒤에 이어 쓰기만 하고,
+ * 메모리에는 정규화된 요청 키 → 레코드 위치 인덱스만 둔다. 기동 시 세그먼트를 순서대로 스캔해 인덱스를 복구하며,
+ * 세그먼트 수가 한도를 넘으면 가장 오래된 세그먼트의 살아 있는 레코드만 활성 세그먼트로 옮기고 파일을 지운다.
+ *
+ * <pre>
+ * record  = magic(int) length(int) payload(length) crc32c(payload, int)
+ * payload = storedAt(long) expiresAt(long) key(str) status(int) headerCount(int) (name(str) value(str))* body(bytes)
+ * str/bytes = length(int) + UTF-8 bytes
+ * </pre>
+ * magic 은 나머지를 모두 쓴 뒤 마지막에 기록하므로, 쓰는 도중 프로세스가 죽어도 잘린 레코드는 스캔에서 제외된다.
+ * 세그먼트 생성·force·압축·삭제 같은 블로킹 파일 I/O 가 요청 스레드(Netty 이벤트 루프)를 막지 않도록
+ * 쓰기는 전용 단일 스레드 writer 에 넘기고 기다리지 않는다. 밀린 쓰기가 MAX_PENDING_WRITES 를 넘으면 새 쓰기는 버린다.
+ */
+@Component
+@Slf4j
+public class DiskResponseCache {
+
+    private static final int MAGIC = 0xDADCAC11;
+    private static final int RECORD_OVERHEAD = Integer.BYTES * 3;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+    private static final int MAX_PENDING_WRITES = 1024;
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final Clock clock;
+    private final Scheduler writer;
+    private final boolean ownsWriter;
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final NavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter droppedWrites;
+
+    private volatile boolean enabled;
+    private Segment active;
+
+    @Autowired
+    public DiskResponseCache(ExternalApiProperties properties, MeterRegistry meterRegistry) {
+        this(properties.diskCache(), meterRegistry, Clock.systemUTC(),
+                Schedulers.newSingle("proxy-disk-cache", true), true);
+    }
+
+    // 쓰기를 호출한 스레드에서 바로 끝낸다. 테스트처럼 쓰기 직후 결과를 확인해야 할 때 쓴다.
+    public DiskResponseCache(ExternalApiProperties.DiskCache settings, MeterRegistry meterRegistry, Clock clock) {
+        this(settings, meterRegistry, clock, Schedulers.immediate(), false);
+    }
+
+    public DiskResponseCache(ExternalApiProperties.DiskCache settings, MeterRegistry meterRegistry, Clock clock,
+                             Scheduler writer) {
+        this(settings, meterRegistry, clock, writer, false);
+    }
+
+    private DiskResponseCache(ExternalApiProperties.DiskCache settings, MeterRegistry meterRegistry, Clock clock,
+                              Scheduler writer, boolean ownsWriter) {
+        this.writer = writer;
+        this.ownsWriter = ownsWriter;
+        this.directory = Path.of(settings.directory());
+        this.segmentSize = (int) Math.min(Integer.MAX_VALUE, settings.segmentSize().toBytes());
+        this.maxSegments = (int) Math.max(2, settings.maxSize().toBytes() / segmentSize);
+        this.clock = clock;
+        this.enabled = settings.enabled();
+
+        this.hitCounter = Counter.builder("darkerdb.proxy.disk-cache.requests")
+                .description("디스크 캐시에서 찾은 요청 수")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("darkerdb.proxy.disk-cache.requests")
+                .description("디스크 캐시에 없던 요청 수")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.droppedWrites = Counter.builder("darkerdb.proxy.disk-cache.dropped-writes")
+                .description("쓰기 대기열이 가득 차 디스크 캐시에 쓰지 못한 응답 수")
+                .register(meterRegistry);
+        Gauge.builder("darkerdb.proxy.disk-cache.entries", index, Map::size)
+                .description("디스크 캐시 인덱스 항목 수")
+                .register(meterRegistry);
+        Gauge.builder("darkerdb.proxy.disk-cache.segments", segments, Map::size)
+                .description("디스크 캐시 세그먼트 파일 수")
+                .register(meterRegistry);
+
+        if (enabled) {
+            load();
+        }
+    }
+
+    public DiskEntry lookup(ProxyCacheKey key) {
+        if (!enabled) {
+            return null;
+        }
+
+        String fingerprint = key.toString();
+        Location location = index.get(fingerprint);
+        long now = clock.millis();
+
+        if (location == null || location.expiresAt() <= now) {
+            if (location != null) {
+                index.remove(fingerprint, location);
+            }
+            missCounter.increment();
+            return null;
+        }
+
+        hitCounter.increment();
+        return new DiskEntry(decode(location), Duration.ofMillis(Math.max(0, now - location.storedAt())));
+    }
+
+    /**
+     * 응답을 writer 에 넘기고 바로 돌아온다. 보존 기간은 지금 시각부터 센다.
+     */
+    public void put(ProxyCacheKey key, BufferedResponse response, Duration retention) {
+        if (!enabled || !retention.isPositive()) {
+            return;
+        }
+
+        long storedAt = clock.millis();
+        if (pendingWrites.incrementAndGet() > MAX_PENDING_WRITES) {
+            pendingWrites.decrementAndGet();
+            droppedWrites.increment();
+            return;
+        }
+
+        try {
+            writer.schedule(() -> {
+                try {
+                    write(key.toString(), response, storedAt, storedAt + retention.toMillis());
+                } finally {
+                    pendingWrites.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingWrites.decrementAndGet();
+            log.debug("디스크 캐시 writer 가 종료되어 쓰지 않음: {}", key);
+        }
+    }
+
+    private void write(String fingerprint, BufferedResponse response, long storedAt, long expiresAt) {
+        byte[] payload = encode(fingerprint, response, storedAt, expiresAt);
+        if (RECORD_OVERHEAD + payload.length > segmentSize) {
+            log.debug("디스크 캐시 세그먼트보다 큰 응답은 저장하지 않음: {} ({} bytes)", fingerprint, payload.length);
+            return;
+        }
+
+        synchronized (this) {
+            if (!enabled) {
+                return;
+            }
+
+            try {
+                ensureCapacity(RECORD_OVERHEAD + payload.length);
+                index.put(fingerprint, append(payload, storedAt, expiresAt));
+            } catch (IOException e) {
+                disable("디스크 캐시 쓰기 실패", e);
+            }
+        }
+    }
+
+    /**
+     * 인덱스는 바로 비우고 세그먼트 파일 정리는 writer 에서 앞선 쓰기들 뒤에 한다.
+     */
+    public void invalidateAll() {
+        if (!enabled) {
+            return;
+        }
+
+        index.clear();
+        try {
+            writer.schedule(this::resetSegments);
+        } catch (RejectedExecutionException e) {
+            log.debug("디스크 캐시 writer 가 종료되어 세그먼트를 정리하지 않음");
+        }
+    }
+
+    private synchronized void resetSegments() {
+        if (!enabled) {
+            return;
+        }
+
+        index.clear();
+        for (Segment segment : segments.values()) {
+            deleteQuietly(segment.path());
+        }
+        segments.clear();
+        active = null;
+
+        try {
+            roll();
+        } catch (IOException e) {
+            disable("디스크 캐시 초기화 실패", e);
+        }
+    }
+
+    @PreDestroy
+    public void flush() {
+        if (ownsWriter) {
+            writer.disposeGracefully()
+                    .timeout(SHUTDOWN_TIMEOUT)
+                    .onErrorResume(throwable -> {
+                        log.warn("디스크 캐시 writer 종료 대기 시간 초과, 남은 쓰기는 버림");
+                        writer.dispose();
+                        return Mono.empty();
+                    })
+                    .block();
+        }
+
+        synchronized (this) {
+            if (enabled && active != null) {
+                active.buffer().force();
+            }
+        }
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    private void load() {
+        try {
+            Files.createDirectories(directory);
+
+            List<Long> ids;
+            try (Stream<Path> files = Files.list(directory)) {
+                ids = files.map(path -> path.getFileName().toString())
+                        .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                        .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                                name.length() - SEGMENT_SUFFIX.length())))
+                        .sorted()
+                        .toList();
+            }
+
+            long now = clock.millis();
+            for (long id : ids) {
+                Segment segment = Segment.open(segmentPath(id), id, segmentSize);
+                scan(segment, now);
+                segments.put(id, segment);
+            }
+
+            if (segments.isEmpty()) {
+                roll();
+            } else {
+                active = segments.lastEntry().getValue();
+            }
+
+            log.info("디스크 캐시 로드 완료: directory={}, segments={}, entries={}",
+                    directory, segments.size(), index.size());
+        } catch (IOException | RuntimeException e) {
+            disable("디스크 캐시 로드 실패, 메모리 캐시만 사용", e);
+        }
+    }
+
+    private void scan(Segment segment, long now) {
+        ByteBuffer buffer = segment.buffer();
+        int position = 0;
+
+        while (position + RECORD_OVERHEAD <= segmentSize && buffer.getInt(position) == MAGIC) {
+            int length = buffer.getInt(position + Integer.BYTES);
+            if (length <= 0 || position + RECORD_OVERHEAD + length > segmentSize
+                    || crc(buffer, position + Integer.BYTES * 2, length)
+                    != buffer.getInt(position + Integer.BYTES * 2 + length)) {
+                log.warn("손상된 디스크 캐시 레코드 이후를 무시: {} offset={}", segment.path(), position);
+                break;
+            }
+
+            int payloadStart = position + Integer.BYTES * 2;
+            long storedAt = buffer.getLong(payloadStart);
+            long expiresAt = buffer.getLong(payloadStart + Long.BYTES);
+            String fingerprint = readString(buffer.slice(payloadStart + Long.BYTES * 2, length - Long.BYTES * 2));
+
+            if (expiresAt > now) {
+                index.put(fingerprint, new Location(segment, position, length, storedAt, expiresAt));
+            } else {
+                index.remove(fingerprint);
+            }
+
+            position += RECORD_OVERHEAD + length;
+        }
+
+        segment.writePosition(position);
+    }
+
+    // 호출 전 lock 을 잡고 있어야 한다.
+    private void ensureCapacity(int recordSize) throws IOException {
+        if (active != null && active.writePosition() + recordSize <= segmentSize) {
+            return;
+        }
+
+        roll();
+        while (segments.size() > maxSegments) {
+            compact(segments.firstEntry().getValue(), recordSize);
+        }
+    }
+
+    // 가장 오래된 세그먼트의 살아 있는 레코드를 활성 세그먼트로 옮긴다.
+    // 곧 쓸 레코드 자리(reserved)는 남겨 두고, 그 밖에 자리가 모자라면 남은 레코드는 버린다.
+    private void compact(Segment oldest, int reserved) {
+        long now = clock.millis();
+        int moved = 0;
+        int dropped = 0;
+
+        List<Map.Entry<String, Location>> live = new ArrayList<>();
+        for (Map.Entry<String, Location> entry : index.entrySet()) {
+            if (entry.getValue().segment() == oldest) {
+                live.add(entry);
+            }
+        }
+
+        for (Map.Entry<String, Location> entry : live) {
+            Location location = entry.getValue();
+            int recordSize = RECORD_OVERHEAD + location.length();
+
+            if (location.expiresAt() <= now || active.writePosition() + recordSize + reserved > segmentSize) {
+                index.remove(entry.getKey(), location);
+                dropped++;
+                continue;
+            }
+
+            byte[] payload = new byte[location.length()];
+            oldest.buffer().get(location.offset() + Integer.BYTES * 2, payload);
+            index.replace(entry.getKey(), location, append(payload, location.storedAt(), location.expiresAt()));
+            moved++;
+        }
+
+        segments.remove(oldest.id());
+        deleteQuietly(oldest.path());
+        log.info("디스크 캐시 세그먼트 압축: {} moved={}, dropped={}", oldest.path().getFileName(), moved, dropped);
+    }
+
+    private Location append(byte[] payload, long storedAt, long expiresAt) {
+        MappedByteBuffer buffer = active.buffer();
+        int offset = active.writePosition();
+
+        buffer.put(offset + Integer.BYTES * 2, payload);
+        buffer.putInt(offset + Integer.BYTES * 2 + payload.length, crc(ByteBuffer.wrap(payload), 0, payload.length));
+        buffer.putInt(offset + Integer.BYTES, payload.length);
+        buffer.putInt(offset, MAGIC);
+        active.writePosition(offset + RECORD_OVERHEAD + payload.length);
+
+        return new Location(active, offset, payload.length, storedAt, expiresAt);
+    }
+
+    private void roll() throws IOException {
+        long id = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+        if (active != null) {
+            active.buffer().force();
+        }
+
+        active = Segment.open(segmentPath(id), id, segmentSize);
+        segments.put(id, active);
+    }
+
+    private void disable(String message, Exception e) {
+        log.error("{}: {}", message, directory, e);
+        enabled = false;
+        index.clear();
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(SEGMENT_PREFIX + String.format("%010d", id) + SEGMENT_SUFFIX);
+    }
+
+    private static byte[] encode(String fingerprint, BufferedResponse response, long storedAt, long expiresAt) {
+        byte[] key = fingerprint.getBytes(StandardCharsets.UTF_8);
+        List<byte[]> headerBytes = new ArrayList<>();
+        response.headers().forEach((name, values) -> values.forEach(value -> {
+            headerBytes.add(name.getBytes(StandardCharsets.UTF_8));
+            headerBytes.add(value.getBytes(StandardCharsets.UTF_8));
+        }));
+
+        int size = Long.BYTES * 2 + Integer.BYTES + key.length + Integer.BYTES * 2
+                + Integer.BYTES + response.body().length;
+        for (byte[] bytes : headerBytes) {
+            size += Integer.BYTES + bytes.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size)
+                .putLong(storedAt)
+                .putLong(expiresAt)
+                .putInt(key.length).put(key)
+                .putInt(response.status().value())
+                .putInt(headerBytes.size() / 2);
+        for (byte[] bytes : headerBytes) {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+        buffer.putInt(response.body().length).put(response.body());
+
+        return buffer.array();
+    }
+
+    private static BufferedResponse decode(Location location) {
+        ByteBuffer buffer = location.segment().buffer()
+                .slice(location.offset() + Integer.BYTES * 2, location.length());
+        buffer.position(Long.BYTES * 2);
+        readString(buffer);
+
+        HttpStatusCode status = HttpStatusCode.valueOf(buffer.getInt());
+        HttpHeaders headers = new HttpHeaders();
+        int headerCount = buffer.getInt();
+        for (int i = 0; i < headerCount; i++) {
+            headers.add(readString(buffer), readString(buffer));
+        }
+
+        byte[] body = new byte[buffer.getInt()];
+        buffer.get(body);
+
+        return new BufferedResponse(status, headers, body);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int crc(ByteBuffer buffer, int offset, int length) {
+        CRC32C crc32c = new CRC32C();
+        crc32c.update(buffer.slice(offset, length));
+        return (int) crc32c.getValue();
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("디스크 캐시 세그먼트 삭제 실패: {}", path, e);
+        }
+    }
+
+    /**
+     * age 는 디스크에 기록된 이후 경과한 벽시계 시간이다.
+     */
+    public record DiskEntry(BufferedResponse response, Duration age) {
+    }
+
+    private record Location(Segment segment, int offset, int length, long storedAt, long expiresAt) {
+    }
+
+    private static final class Segment {
+
+        private final long id;
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+
+        private Segment(long id, Path path, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.buffer = buffer;
+        }
+
+        static Segment open(Path path, long id, int size) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return new Segment(id, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            }
+        }
+
+        long id() {
+            return id;
+        }
+
+        Path path() {
+            return path;
+        }
+
+        MappedByteBuffer buffer() {
+            return buffer;
+        }
+
+        int writePosition() {
+            return writePosition;
+        }
+
+        void writePosition(int writePosition) {
+            this.writePosition = writePosition;
+        }
+    }
+}
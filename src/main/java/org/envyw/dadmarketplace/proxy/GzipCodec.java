@@ -0,0 +1,102 @@
+package org.envyw.dadmarketplace.proxy;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 프록시 본문의 gzip 압축/해제와 Accept-Encoding 협상을 담당한다.
+ */
+final class GzipCodec {
+
+    static final String GZIP = "gzip";
+
+    // 이보다 작은 본문은 gzip 헤더 오버헤드 때문에 압축 이득이 거의 없다.
+    static final int MIN_COMPRESSIBLE_SIZE = 1024;
+
+    private static final String GZIP_ETAG_SUFFIX = "-gzip";
+
+    private GzipCodec() {
+    }
+
+    static boolean isGzip(HttpHeaders headers) {
+        return GZIP.equalsIgnoreCase(headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    static boolean isCompressible(HttpHeaders headers, byte[] body) {
+        if (body.length < MIN_COMPRESSIBLE_SIZE || headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            return false;
+        }
+
+        MediaType contentType = headers.getContentType();
+        return contentType != null
+                && ("text".equals(contentType.getType())
+                || "json".equals(contentType.getSubtype())
+                || "json".equals(contentType.getSubtypeSuffix()));
+    }
+
+    static boolean acceptsGzip(HttpHeaders requestHeaders) {
+        for (String value : requestHeaders.getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String token : value.split(",")) {
+                String[] parts = token.trim().split(";");
+                String coding = parts[0].trim();
+                if ((GZIP.equalsIgnoreCase(coding) || "*".equals(coding)) && !isRejected(parts)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 같은 리소스의 gzip 표현은 다른 엔티티이므로 ETag 를 구분한다. 약한 ETag 도 따옴표 안에만 접미사를 붙인다.
+     */
+    static String gzipEtag(String etag) {
+        if (etag == null || !etag.endsWith("\"") || etag.endsWith(GZIP_ETAG_SUFFIX + "\"")) {
+            return etag;
+        }
+
+        return etag.substring(0, etag.length() - 1) + GZIP_ETAG_SUFFIX + "\"";
+    }
+
+    static byte[] compress(byte[] body) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return output.toByteArray();
+    }
+
+    static byte[] decompress(byte[] body) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isRejected(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) <= 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,67 @@
+package org.envyw.dadmarketplace.proxy;
+
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * 프록시 요청 식별 키. 경로의 앞뒤/중복 슬래시를 제거하고 쿼리 파라미터를 이름순으로 정렬해
+ * 같은 의미의 요청이 같은 키를 갖도록 정규화한다. 같은 이름의 파라미터는 원래 순서를 유지한다.
+ */
+public record ProxyCacheKey(
+        String path,
+        String query
+) {
+
+    private static final Comparator<String> PARAM_NAME_ORDER = Comparator.comparing(ProxyCacheKey::paramName);
+
+    public static ProxyCacheKey of(String path, String queryParams) {
+        return new ProxyCacheKey(normalizePath(path), normalizeQuery(queryParams));
+    }
+
+    private static String normalizePath(String path) {
+        if (path == null) {
+            return "";
+        }
+
+        StringBuilder normalized = new StringBuilder(path.length());
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '/' && (normalized.isEmpty() || normalized.charAt(normalized.length() - 1) == '/')) {
+                continue;
+            }
+            normalized.append(c);
+        }
+
+        int length = normalized.length();
+        if (length > 0 && normalized.charAt(length - 1) == '/') {
+            normalized.setLength(length - 1);
+        }
+
+        return normalized.toString();
+    }
+
+    private static String normalizeQuery(String queryParams) {
+        if (!StringUtils.hasText(queryParams)) {
+            return "";
+        }
+
+        String[] params = Arrays.stream(queryParams.trim().split("&"))
+                .filter(StringUtils::hasText)
+                .toArray(String[]::new);
+        Arrays.sort(params, PARAM_NAME_ORDER);
+
+        return String.join("&", params);
+    }
+
+    private static String paramName(String param) {
+        int separator = param.indexOf('=');
+        return separator < 0 ? param : param.substring(0, separator);
+    }
+
+    @Override
+    public String toString() {
+        return query.isEmpty() ? path : path + "?" + query;
+    }
+}
@@ -0,0 +1,67 @@
+package org.envyw.dadmarketplace.proxy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 동일한 키로 진행 중인 업스트림 요청을 하나로 합친다. 먼저 도착한 요청이 업스트림 Mono 를 만들고,
+ * 완료 전까지 도착한 요청은 같은 결과를 공유한다.
+ */
+@Component
+public class ProxyRequestCoalescer {
+
+    private final Map<ProxyCacheKey, Mono<?>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaderCounter;
+    private final Counter coalescedCounter;
+
+    public ProxyRequestCoalescer(MeterRegistry meterRegistry) {
+        this.leaderCounter = Counter.builder("darkerdb.proxy.coalescing.requests")
+                .description("업스트림으로 실제 전송된 요청 수")
+                .tag("role", "leader")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("darkerdb.proxy.coalescing.requests")
+                .description("진행 중인 동일 요청에 합쳐진 요청 수")
+                .tag("role", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("darkerdb.proxy.coalescing.in-flight", inFlight, Map::size)
+                .description("진행 중인 업스트림 요청 키 수")
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(ProxyCacheKey key, Supplier<Mono<T>> upstream) {
+        return Mono.defer(() -> {
+            boolean[] leader = {false};
+
+            Mono<T> shared = (Mono<T>) inFlight.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                return upstream.get()
+                        .doFinally(signal -> inFlight.remove(k))
+                        .cache();
+            });
+
+            if (leader[0]) {
+                leaderCounter.increment();
+            } else {
+                coalescedCounter.increment();
+            }
+
+            return shared;
+        });
+    }
+
+    public long coalescedCount() {
+        return (long) coalescedCounter.count();
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,190 @@
+package org.envyw.dadmarketplace.proxy;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 클라이언트에게 그대로 전달할 프록시 응답. 본문은 디코딩하지 않은 DataBuffer 스트림이다.
+ * replayable 은 본문이 메모리에 있어 다시 구독하거나 버려도 되는지를 나타낸다.
+ * gzip 으로 보관된 replayable 응답은 클라이언트의 Accept-Encoding 에 따라 그대로 보내거나 풀어서 보낸다.
+ */
+public record ProxyResponse(
+        HttpStatusCode status,
+        HttpHeaders headers,
+        Flux<DataBuffer> body,
+        boolean replayable
+) {
+
+    private static final List<String> FORWARDED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.CONTENT_LANGUAGE,
+            HttpHeaders.CONTENT_ENCODING,
+            HttpHeaders.VARY,
+            HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.EXPIRES,
+            HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED
+    );
+
+    private static final List<String> NOT_MODIFIED_HEADERS = List.of(
+            HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.EXPIRES,
+            HttpHeaders.ETAG,
+            HttpHeaders.VARY,
+            HttpHeaders.AGE
+    );
+
+    public static ProxyResponse buffered(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.putAll(headers);
+        responseHeaders.setContentLength(body.length);
+
+        return new ProxyResponse(status, responseHeaders,
+                Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body))), true);
+    }
+
+    public static ProxyResponse streaming(HttpStatusCode status, HttpHeaders headers, Flux<DataBuffer> body) {
+        return new ProxyResponse(status, headers, body, false);
+    }
+
+    public static ProxyResponse error(HttpStatusCode status, Map<String, ?> body, ObjectMapper objectMapper) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        return buffered(status, headers, toJson(body, objectMapper));
+    }
+
+    public static HttpHeaders forwardedHeaders(HttpHeaders upstreamHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+
+        for (String name : FORWARDED_HEADERS) {
+            List<String> values = upstreamHeaders.get(name);
+            if (values != null && !values.isEmpty()) {
+                headers.put(name, values);
+            }
+        }
+
+        return headers;
+    }
+
+    public Mono<Void> writeTo(ServerWebExchange exchange) {
+        if (replayable && GzipCodec.isGzip(headers)) {
+            if (GzipCodec.acceptsGzip(exchange.getRequest().getHeaders())) {
+                return gzipVariant().write(exchange);
+            }
+
+            return decompressed().flatMap(identity -> identity.write(exchange));
+        }
+
+        return write(exchange);
+    }
+
+    /**
+     * 본문을 최대 maxBytes 까지 모아 압축을 푼 바이트로 돌려준다. 한도를 넘으면 DataBufferLimitException 으로 끝난다.
+     */
+    public Mono<byte[]> readBody(int maxBytes) {
+        return DataBufferUtils.join(body, maxBytes)
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return GzipCodec.isGzip(headers) ? GzipCodec.decompress(bytes) : bytes;
+                })
+                .defaultIfEmpty(new byte[0]);
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+
+        if (replayable && status.is2xxSuccessful() && isNotModified(exchange)) {
+            for (String name : NOT_MODIFIED_HEADERS) {
+                List<String> values = headers.get(name);
+                if (values != null && !values.isEmpty()) {
+                    response.getHeaders().put(name, values);
+                }
+            }
+
+            return response.setComplete();
+        }
+
+        response.setStatusCode(status);
+        response.getHeaders().putAll(headers);
+
+        return response.writeWith(body);
+    }
+
+    private ProxyResponse gzipVariant() {
+        HttpHeaders variantHeaders = variantHeaders();
+        String etag = headers.getETag();
+        if (etag != null) {
+            variantHeaders.setETag(GzipCodec.gzipEtag(etag));
+        }
+
+        return new ProxyResponse(status, variantHeaders, body, true);
+    }
+
+    private Mono<ProxyResponse> decompressed() {
+        return DataBufferUtils.join(body)
+                .map(buffer -> {
+                    byte[] compressed = new byte[buffer.readableByteCount()];
+                    buffer.read(compressed);
+                    DataBufferUtils.release(buffer);
+                    return GzipCodec.decompress(compressed);
+                })
+                .map(identity -> {
+                    HttpHeaders variantHeaders = variantHeaders();
+                    variantHeaders.remove(HttpHeaders.CONTENT_ENCODING);
+                    return buffered(status, variantHeaders, identity);
+                });
+    }
+
+    private HttpHeaders variantHeaders() {
+        HttpHeaders variantHeaders = new HttpHeaders();
+        variantHeaders.putAll(headers);
+
+        List<String> vary = variantHeaders.getVary();
+        if (vary.stream().noneMatch(HttpHeaders.ACCEPT_ENCODING::equalsIgnoreCase)) {
+            List<String> merged = new ArrayList<>(vary);
+            merged.add(HttpHeaders.ACCEPT_ENCODING);
+            variantHeaders.setVary(merged);
+        }
+
+        return variantHeaders;
+    }
+
+    private boolean isNotModified(ServerWebExchange exchange) {
+        String etag = headers.getETag();
+        long lastModified = headers.getLastModified();
+
+        if (lastModified >= 0) {
+            return exchange.checkNotModified(etag, Instant.ofEpochMilli(lastModified));
+        }
+
+        return etag != null && exchange.checkNotModified(etag);
+    }
+
+    private static byte[] toJson(Map<String, ?> body, ObjectMapper objectMapper) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            return String.valueOf(body).getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package org.envyw.dadmarketplace.proxy;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.envyw.dadmarketplace.config.ExternalApiProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * DarkerDB 프록시 응답 캐시. Caffeine(W-TinyLFU)으로 본문 크기 기준 용량을 제한하고,
+ * {@link RoutePolicyTable} 로 정한 경로별 TTL 과 stale-while-revalidate / stale-if-error 기간을 항목마다 적용한다.
+ * 메모리에서 밀려나거나 재시작으로 사라진 항목은 {@link DiskResponseCache} 에서 찾아 다시 올린다.
+ */
+@Component
+@Slf4j
+public class ProxyResponseCache {
+
+    private final Cache<ProxyCacheKey, StoredResponse> cache;
+    private final RoutePolicyTable routePolicyTable;
+    private final Ticker ticker;
+    private final DiskResponseCache diskCache;
+
+    @Autowired
+    public ProxyResponseCache(ExternalApiProperties properties, MeterRegistry meterRegistry,
+                              DiskResponseCache diskCache, RoutePolicyTable routePolicyTable) {
+        this(properties, meterRegistry, Ticker.systemTicker(), diskCache, routePolicyTable);
+    }
+
+    public ProxyResponseCache(ExternalApiProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        this(properties, meterRegistry, ticker,
+                new DiskResponseCache(properties.diskCache(), meterRegistry, Clock.systemUTC()),
+                new RoutePolicyTable(properties));
+    }
+
+    public ProxyResponseCache(ExternalApiProperties properties, MeterRegistry meterRegistry, Ticker ticker,
+                              DiskResponseCache diskCache, RoutePolicyTable routePolicyTable) {
+        ExternalApiProperties.Cache cacheProperties = properties.cache();
+
+        this.routePolicyTable = routePolicyTable;
+        this.ticker = ticker;
+        this.diskCache = diskCache;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(cacheProperties.maximumWeight().toBytes())
+                .weigher((ProxyCacheKey key, StoredResponse value) -> value.response().weight())
+                .ticker(ticker)
+                .expireAfter(new RetentionExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "darkerdb-proxy");
+        log.info("프록시 응답 캐시 초기화: maximumWeight={}", cacheProperties.maximumWeight());
+    }
+
+    public Entry lookup(ProxyCacheKey key) {
+        StoredResponse stored = cache.getIfPresent(key);
+        if (stored == null) {
+            stored = promoteFromDisk(key);
+        }
+        if (stored == null) {
+            return null;
+        }
+
+        return new Entry(stored.response(), stored.policy(), Duration.ofNanos(ticker.read() - stored.storedAt()));
+    }
+
+    // 캐시 통계와 디스크 계층을 건드리지 않고 메모리에 있는 항목만 확인한다.
+    public Entry peek(ProxyCacheKey key) {
+        StoredResponse stored = cache.policy().getIfPresentQuietly(key);
+        if (stored == null) {
+            return null;
+        }
+
+        return new Entry(stored.response(), stored.policy(), Duration.ofNanos(ticker.read() - stored.storedAt()));
+    }
+
+    public void put(ProxyCacheKey key, BufferedResponse response) {
+        if (response == null || !response.status().is2xxSuccessful()) {
+            return;
+        }
+
+        CachePolicy policy = policyFor(key);
+        if (!policy.isCacheable()) {
+            return;
+        }
+
+        cache.put(key, new StoredResponse(response, policy, ticker.read()));
+        diskCache.put(key, response, policy.retention());
+    }
+
+    public Duration ttlFor(ProxyCacheKey key) {
+        return policyFor(key).ttl();
+    }
+
+    public CachePolicy policyFor(ProxyCacheKey key) {
+        return routePolicyTable.resolve(key.path()).cache();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        diskCache.invalidateAll();
+    }
+
+    // 디스크에 기록된 이후 경과 시간을 그대로 이어받아야 재시작 후에도 fresh / stale 판단이 달라지지 않는다.
+    private StoredResponse promoteFromDisk(ProxyCacheKey key) {
+        DiskResponseCache.DiskEntry diskEntry = diskCache.lookup(key);
+        if (diskEntry == null) {
+            return null;
+        }
+
+        CachePolicy policy = policyFor(key);
+        if (!policy.isCacheable() || diskEntry.age().compareTo(policy.retention()) >= 0) {
+            return null;
+        }
+
+        StoredResponse stored = new StoredResponse(diskEntry.response(), policy,
+                ticker.read() - diskEntry.age().toNanos());
+        return cache.asMap().merge(key, stored, (current, promoted) -> current);
+    }
+
+    public record CachePolicy(
+            Duration ttl,
+            Duration staleWhileRevalidate,
+            Duration staleIfError,
+            boolean passthrough
+    ) {
+
+        public boolean isCacheable() {
+            return !passthrough && ttl.isPositive();
+        }
+
+        Duration retention() {
+            Duration staleWindow = staleWhileRevalidate.compareTo(staleIfError) >= 0
+                    ? staleWhileRevalidate : staleIfError;
+            return ttl.plus(staleWindow);
+        }
+
+        CachePolicy overriddenBy(ExternalApiProperties.Route route) {
+            return new CachePolicy(
+                    route.ttl() != null ? route.ttl() : ttl,
+                    route.staleWhileRevalidate() != null ? route.staleWhileRevalidate() : staleWhileRevalidate,
+                    route.staleIfError() != null ? route.staleIfError() : staleIfError,
+                    route.stream() != null ? route.stream() : passthrough);
+        }
+    }
+
+    /**
+     * 조회 시점의 캐시 항목. age 는 저장 이후 경과 시간이다.
+     */
+    public record Entry(
+            BufferedResponse response,
+            CachePolicy policy,
+            Duration age
+    ) {
+
+        public boolean isFresh() {
+            return age.compareTo(policy.ttl()) < 0;
+        }
+
+        public boolean isWithinStaleWhileRevalidate() {
+            return age.compareTo(policy.ttl().plus(policy.staleWhileRevalidate())) < 0;
+        }
+
+        public boolean isWithinStaleIfError() {
+            return age.compareTo(policy.ttl().plus(policy.staleIfError())) < 0;
+        }
+
+        public ProxyResponse toResponse() {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.headers());
+            headers.set(HttpHeaders.AGE, String.valueOf(age.toSeconds()));
+
+            return ProxyResponse.buffered(response.status(), headers, response.body());
+        }
+    }
+
+    private record StoredResponse(
+            BufferedResponse response,
+            CachePolicy policy,
+            long storedAt
+    ) {
+    }
+
+    private static class RetentionExpiry implements Expiry<ProxyCacheKey, StoredResponse> {
+
+        @Override
+        public long expireAfterCreate(ProxyCacheKey key, StoredResponse value, long currentTime) {
+            return remaining(value, currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(ProxyCacheKey key, StoredResponse value,
+                                      long currentTime, long currentDuration) {
+            return remaining(value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ProxyCacheKey key, StoredResponse value,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private static long remaining(StoredResponse value, long currentTime) {
+            return Math.max(0, value.policy().retention().toNanos() - (currentTime - value.storedAt()));
+        }
+    }
+}
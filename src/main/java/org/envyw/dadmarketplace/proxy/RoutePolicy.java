@@ -0,0 +1,37 @@
+package org.envyw.dadmarketplace.proxy;
+
+import org.envyw.dadmarketplace.config.ExternalApiProperties;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * DarkerDB 경로 하나에 적용되는 프록시 정책. cache.passthrough 가 true 면 버퍼링하지 않고 스트리밍한다.
+ * lane 은 route 설정의 rate-limit-class(interactive / background)로 정한다.
+ */
+public record RoutePolicy(
+        boolean allowed,
+        Duration timeout,
+        ProxyResponseCache.CachePolicy cache,
+        UpstreamRateLimiter.Lane lane
+) {
+
+    static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
+    static RoutePolicy defaults(ExternalApiProperties.Cache cacheProperties) {
+        return new RoutePolicy(true, DEFAULT_TIMEOUT,
+                new ProxyResponseCache.CachePolicy(cacheProperties.defaultTtl(),
+                        cacheProperties.staleWhileRevalidate(), cacheProperties.staleIfError(), false),
+                UpstreamRateLimiter.Lane.INTERACTIVE);
+    }
+
+    RoutePolicy overriddenBy(ExternalApiProperties.Route route) {
+        return new RoutePolicy(
+                route.allowed() != null ? route.allowed() : allowed,
+                route.timeout() != null ? route.timeout() : timeout,
+                cache.overriddenBy(route),
+                route.rateLimitClass() != null
+                        ? UpstreamRateLimiter.Lane.valueOf(route.rateLimitClass().trim().toUpperCase(Locale.ROOT))
+                        : lane);
+    }
+}
@@ -0,0 +1,170 @@
+package org.envyw.dadmarketplace.proxy;
+
+import lombok.extern.slf4j.Slf4j;
+import org.envyw.dadmarketplace.config.ExternalApiProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 설정의 route 목록을 경로 segment 단위 트라이로 미리 만들어 두고, 요청 경로를 가장 깊게 일치하는 정책으로 해석한다.
+ * segment 가 "*" 이면 아무 segment 하나와 일치하며, 같은 깊이에서는 정확히 일치한 segment 가 우선한다.
+ * route 는 설정 경로상 가장 가까운 상위 route(없으면 기본 정책)에서 지정하지 않은 값을 물려받는다.
+ */
+@Component
+@Slf4j
+public class RoutePolicyTable {
+
+    static final String WILDCARD = "*";
+
+    private final Node root;
+    private final Duration maxTimeout;
+
+    public RoutePolicyTable(ExternalApiProperties properties) {
+        this.root = new Node(null, 0);
+        this.root.policy = RoutePolicy.defaults(properties.cache());
+
+        List<ExternalApiProperties.Route> routes = properties.routes().stream()
+                .sorted(Comparator.comparingInt(route -> segmentsOf(route.prefix()).length))
+                .toList();
+        List<String> configured = new ArrayList<>();
+        Duration longest = Duration.ZERO;
+
+        for (ExternalApiProperties.Route route : routes) {
+            Node node = root;
+            RoutePolicy inherited = root.policy;
+
+            for (String segment : segmentsOf(route.prefix())) {
+                node = node.childFor(segment);
+                if (node.policy != null) {
+                    inherited = node.policy;
+                }
+            }
+
+            if (configured.contains(route.prefix())) {
+                throw new IllegalArgumentException("중복된 프록시 route prefix: '" + route.prefix() + "'");
+            }
+            configured.add(route.prefix());
+            node.policy = inherited.overriddenBy(route);
+            if (node.policy.timeout().compareTo(longest) > 0) {
+                longest = node.policy.timeout();
+            }
+        }
+
+        // 일치하는 route 가 없는 경로는 루트(기본) 정책을 쓰므로 함께 비교한다.
+        this.maxTimeout = root.policy.timeout().compareTo(longest) > 0 ? root.policy.timeout() : longest;
+
+        log.info("프록시 route 정책 테이블 초기화: routes={}, default={}", configured.size(), root.policy);
+    }
+
+    /**
+     * 정규화된 경로({@link ProxyCacheKey#path()})를 정책으로 해석한다. 일치하는 route 가 없으면 기본 정책을 돌려준다.
+     * 경로는 인코딩된 그대로 segment 를 비교하므로, 호출자는 먼저 {@link #isSafePath} 로 걸러야 한다.
+     */
+    public RoutePolicy resolve(String path) {
+        return deepest(root, path, 0).policy;
+    }
+
+    /**
+     * 설정된 route 중 가장 긴 timeout. 공용 HttpClient 의 응답 타임아웃을 이보다 짧게 잡으면 route timeout 이 무시된다.
+     */
+    public Duration maxTimeout() {
+        return maxTimeout;
+    }
+
+    /**
+     * 트라이가 보는 segment 와 업스트림이 해석하는 경로가 같은지 확인한다. "." / ".." segment(인코딩된 %2e 포함),
+     * 인코딩된 구분자(%2f, %5c), 역슬래시, NUL 이 있으면 허용된 prefix 아래에서 다른 route 로 빠져나갈 수 있으므로 거절한다.
+     */
+    public static boolean isSafePath(String path) {
+        String lower = path.toLowerCase(Locale.ROOT);
+        if (lower.indexOf('\\') >= 0 || lower.contains("%2f") || lower.contains("%5c") || lower.contains("%00")) {
+            return false;
+        }
+
+        for (String segment : lower.split("/", -1)) {
+            String decoded = segment.replace("%2e", ".");
+            if (decoded.equals(".") || decoded.equals("..")) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    // 가장 깊게 일치한 정책 노드를 찾는다. 경로를 나누지 않고 인덱스로 segment 를 비교해 요청마다 할당하지 않는다.
+    private static Node deepest(Node node, String path, int start) {
+        Node best = node.policy != null ? node : null;
+        if (start >= path.length()) {
+            return best;
+        }
+
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+
+        Node exact = node.exactChild(path, start, end);
+        Node fromExact = exact != null ? deepest(exact, path, end + 1) : null;
+        Node fromWildcard = node.wildcard != null ? deepest(node.wildcard, path, end + 1) : null;
+
+        Node child = fromExact;
+        if (fromWildcard != null && (child == null || fromWildcard.depth > child.depth)) {
+            child = fromWildcard;
+        }
+
+        return child != null ? child : best;
+    }
+
+    private static String[] segmentsOf(String prefix) {
+        return prefix.isEmpty() ? new String[0] : prefix.split("/+");
+    }
+
+    private static final class Node {
+
+        private final String segment;
+        private final int depth;
+        private final List<Node> children = new ArrayList<>();
+        private Node wildcard;
+        private RoutePolicy policy;
+
+        private Node(String segment, int depth) {
+            this.segment = segment;
+            this.depth = depth;
+        }
+
+        private Node childFor(String segment) {
+            if (WILDCARD.equals(segment)) {
+                if (wildcard == null) {
+                    wildcard = new Node(segment, depth + 1);
+                }
+                return wildcard;
+            }
+
+            for (Node child : children) {
+                if (child.segment.equals(segment)) {
+                    return child;
+                }
+            }
+
+            Node child = new Node(segment, depth + 1);
+            children.add(child);
+            return child;
+        }
+
+        private Node exactChild(String path, int start, int end) {
+            int length = end - start;
+            for (Node child : children) {
+                if (child.segment.length() == length && path.regionMatches(start, child.segment, 0, length)) {
+                    return child;
+                }
+            }
+
+            return null;
+        }
+    }
+}
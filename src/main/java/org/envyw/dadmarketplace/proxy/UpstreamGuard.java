@@ -0,0 +1,133 @@
+package org.envyw.dadmarketplace.proxy;
+
+import com.fasterxml.jackson.core.exc.StreamConstraintsException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DarkerDB 업스트림 호출을 서킷 브레이커와 벌크헤드로 감싼다. 서킷이 열려 있거나 동시 호출 한도가 차면
+ * 커넥션을 열지 않고 즉시 거절하며, 거절 여부는 {@link #isRejection} 으로 구분한다.
+ */
+@Component
+@Slf4j
+public class UpstreamGuard {
+
+    public static final String INSTANCE = "darkerdb";
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    @Autowired
+    public UpstreamGuard(CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry) {
+        this(circuitBreakerRegistry.circuitBreaker(INSTANCE), bulkheadRegistry.bulkhead(INSTANCE));
+    }
+
+    public UpstreamGuard(CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+
+        circuitBreaker.getEventPublisher()
+                .onStateTransition(event -> log.warn("외부 API 서킷 상태 변경: {}", event.getStateTransition()));
+    }
+
+    public <T> Mono<T> protect(Mono<T> upstream) {
+        return upstream
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    /**
+     * 스트리밍 응답용 {@link #protect}. 벌크헤드 자리를 헤더가 도착할 때가 아니라 본문이 끝나거나 실패하거나 취소될 때
+     * 돌려줘 긴 본문 전송도 동시 호출 한도에 들어가게 한다. 스트리밍 본문은 커넥션을 돌려받으려면 어차피 끝까지 읽거나
+     * 취소해야 하므로 자리도 그 시점에 함께 반환된다.
+     */
+    public <T> Mono<ResponseEntity<Flux<T>>> protectStream(Mono<ResponseEntity<Flux<T>>> upstream) {
+        return Mono.defer(() -> {
+                    if (!bulkhead.tryAcquirePermission()) {
+                        return Mono.error(BulkheadFullException.createBulkheadFullException(bulkhead));
+                    }
+
+                    AtomicBoolean released = new AtomicBoolean();
+                    AtomicBoolean handedOver = new AtomicBoolean();
+                    Runnable release = () -> {
+                        if (released.compareAndSet(false, true)) {
+                            bulkhead.onComplete();
+                        }
+                    };
+
+                    return upstream
+                            .map(entity -> {
+                                handedOver.set(true);
+                                Flux<T> body = entity.getBody() != null ? entity.getBody() : Flux.empty();
+                                return new ResponseEntity<>(body.doFinally(signal -> release.run()),
+                                        entity.getHeaders(), entity.getStatusCode());
+                            })
+                            .doFinally(signal -> {
+                                if (!handedOver.get()) {
+                                    release.run();
+                                }
+                            });
+                })
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    /**
+     * 서킷이 열린 동안 다음 시도까지 남은 대략적인 시간. Retry-After 헤더 값으로 쓴다.
+     */
+    public Duration retryAfter() {
+        return Duration.ofMillis(circuitBreaker.getCircuitBreakerConfig()
+                .getWaitIntervalFunctionInOpenState().apply(1));
+    }
+
+    public CircuitBreaker.State state() {
+        return circuitBreaker.getState();
+    }
+
+    public static boolean isRejection(Throwable throwable) {
+        return throwable instanceof CallNotPermittedException || throwable instanceof BulkheadFullException;
+    }
+
+    /**
+     * 업스트림 장애로 볼 오류인지 판단한다. 4xx 처럼 요청 자체가 잘못된 응답이나 정상 응답이 우리 쪽 디코딩 한도를 넘은 경우는
+     * 서킷 실패율에 넣지 않는다.
+     */
+    public static boolean isUpstreamFailure(Throwable throwable) {
+        if (isDecodeLimit(throwable)) {
+            return false;
+        }
+
+        return !(throwable instanceof WebClientResponseException responseException)
+                || responseException.getStatusCode().is5xxServerError();
+    }
+
+    /**
+     * 본문 버퍼 크기나 JSON 파서 제약처럼 클라이언트 쪽 한도에 걸린 오류인지 판단한다. 업스트림은 정상 응답했으므로
+     * 서킷에서는 무시하고 만료된 캐시로 대신 답하지도 않는다.
+     */
+    public static boolean isDecodeLimit(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataBufferLimitException || cause instanceof StreamConstraintsException) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
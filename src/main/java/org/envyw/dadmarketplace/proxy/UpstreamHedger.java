@@ -0,0 +1,190 @@
+package org.envyw.dadmarketplace.proxy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.envyw.dadmarketplace.config.ExternalApiProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * 업스트림 꼬리 지연을 줄이기 위한 헤지 요청. 첫 요청이 최근 응답 시간의 percentile 안에 끝나지 않으면
+ * 같은 요청을 한 번 더 보내고 먼저 온 응답을 쓰며, 나머지 요청은 취소한다.
+ * 헤지는 멱등 메서드(GET, HEAD)에만 적용하고, 전체 요청 수에 비례해 쌓이는 예산 안에서만 보낸다.
+ * 헤지에 져서 취소된 첫 요청도 취소 시점까지의 시간을 표본으로 넣는다. 느린 요청이 표본에서 빠지면
+ * percentile 이 점점 낮아져 헤지가 갈수록 잦아지기 때문이다(실제 지연은 그보다 길므로 지연 기준에서 잘린 값이다).
+ */
+@Component
+@Slf4j
+public class UpstreamHedger {
+
+    private static final long MILLI_TOKENS = 1000;
+
+    private final ExternalApiProperties.Hedge settings;
+    private final Scheduler scheduler;
+
+    private final AtomicLongArray latencies;
+    private final AtomicLong recorded = new AtomicLong();
+    private final int recomputeInterval;
+    private volatile long hedgeDelayNanos;
+
+    // 예산은 토큰 1개 = 1000 으로 정수 적립한다.
+    private final AtomicLong budget;
+    private final long depositPerRequest;
+    private final long maxBudget;
+
+    private final Counter firedCounter;
+    private final Counter wonCounter;
+    private final Counter budgetExhaustedCounter;
+
+    @Autowired
+    public UpstreamHedger(ExternalApiProperties properties, MeterRegistry meterRegistry) {
+        this(properties.hedge(), meterRegistry, Schedulers.parallel());
+    }
+
+    public UpstreamHedger(ExternalApiProperties.Hedge settings, MeterRegistry meterRegistry, Scheduler scheduler) {
+        this.settings = settings;
+        this.scheduler = scheduler;
+        this.latencies = new AtomicLongArray(settings.windowSize());
+        this.recomputeInterval = Math.max(1, settings.windowSize() / 16);
+        this.hedgeDelayNanos = settings.maxDelay().toNanos();
+        this.depositPerRequest = Math.round(settings.budgetRatio() * MILLI_TOKENS);
+        this.maxBudget = settings.budgetBurst() * MILLI_TOKENS;
+        this.budget = new AtomicLong(maxBudget);
+
+        this.firedCounter = Counter.builder("darkerdb.upstream.hedge")
+                .description("지연 기준을 넘겨 추가로 보낸 헤지 요청 수")
+                .tag("result", "fired")
+                .register(meterRegistry);
+        this.wonCounter = Counter.builder("darkerdb.upstream.hedge")
+                .description("첫 요청보다 먼저 응답한 헤지 요청 수")
+                .tag("result", "won")
+                .register(meterRegistry);
+        this.budgetExhaustedCounter = Counter.builder("darkerdb.upstream.hedge")
+                .description("예산이 없어 보내지 못한 헤지 요청 수")
+                .tag("result", "budget-exhausted")
+                .register(meterRegistry);
+        Gauge.builder("darkerdb.upstream.hedge.delay", this, hedger -> hedger.hedgeDelay().toMillis())
+                .description("현재 헤지 요청을 보내기까지 기다리는 시간(ms)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+
+        log.info("업스트림 헤지 요청 초기화: {}", settings);
+    }
+
+    /**
+     * attempt 는 구독할 때마다 새 요청을 보내야 한다. 첫 요청의 오류는 그대로 전달하고,
+     * 헤지 요청의 오류는 무시한 채 첫 요청의 결과를 기다린다.
+     */
+    public <T> Mono<T> hedge(HttpMethod method, Supplier<Mono<T>> attempt) {
+        if (!settings.enabled() || !isIdempotent(method)) {
+            return Mono.defer(attempt);
+        }
+
+        return Mono.defer(() -> {
+            deposit();
+
+            Mono<T> primary = timed(attempt, true);
+            Mono<T> hedged = Mono.delay(hedgeDelay(), scheduler)
+                    .flatMap(tick -> {
+                        if (!tryWithdraw()) {
+                            budgetExhaustedCounter.increment();
+                            return Mono.never();
+                        }
+
+                        firedCounter.increment();
+                        return timed(attempt, false)
+                                .doOnNext(value -> wonCounter.increment())
+                                .onErrorResume(throwable -> {
+                                    log.debug("헤지 요청 실패, 첫 요청 결과를 기다림: {}", throwable.getMessage());
+                                    return Mono.never();
+                                });
+                    });
+
+            // 첫 요청은 타임아웃이 있어 언제나 끝나므로, never 로 바뀐 헤지 쪽 때문에 멈추지 않는다.
+            return Mono.firstWithSignal(primary, hedged);
+        });
+    }
+
+    Duration hedgeDelay() {
+        return Duration.ofNanos(hedgeDelayNanos);
+    }
+
+    long availableBudget() {
+        return budget.get() / MILLI_TOKENS;
+    }
+
+    // recordCancelled 면 응답 전에 취소돼도 지연 기준 이상 기다린 경우 그 시간을 기록한다.
+    // 지연 기준보다 일찍 취소된 것은 클라이언트가 끊은 경우라 표본에 넣지 않는다.
+    private <T> Mono<T> timed(Supplier<Mono<T>> attempt, boolean recordCancelled) {
+        return Mono.defer(() -> {
+            long startedAt = scheduler.now(TimeUnit.NANOSECONDS);
+            AtomicBoolean answered = new AtomicBoolean();
+            return attempt.get()
+                    .doOnNext(value -> {
+                        answered.set(true);
+                        record(scheduler.now(TimeUnit.NANOSECONDS) - startedAt);
+                    })
+                    .doOnCancel(() -> {
+                        long elapsed = scheduler.now(TimeUnit.NANOSECONDS) - startedAt;
+                        if (recordCancelled && !answered.get() && elapsed >= hedgeDelayNanos) {
+                            record(elapsed);
+                        }
+                    });
+        });
+    }
+
+    private void record(long latencyNanos) {
+        long count = recorded.getAndIncrement();
+        latencies.set((int) (count % latencies.length()), latencyNanos);
+
+        if ((count + 1) >= settings.minSamples() && (count + 1) % recomputeInterval == 0) {
+            recomputeDelay(Math.min(count + 1, latencies.length()));
+        }
+    }
+
+    private void recomputeDelay(long sampleCount) {
+        long[] samples = new long[(int) sampleCount];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = latencies.get(i);
+        }
+        Arrays.sort(samples);
+
+        int index = (int) Math.min(samples.length - 1, Math.ceil(settings.percentile() * samples.length) - 1);
+        long delay = samples[Math.max(0, index)];
+        hedgeDelayNanos = Math.min(settings.maxDelay().toNanos(), Math.max(settings.minDelay().toNanos(), delay));
+    }
+
+    private void deposit() {
+        budget.accumulateAndGet(depositPerRequest, (current, amount) -> Math.min(maxBudget, current + amount));
+    }
+
+    private boolean tryWithdraw() {
+        long current;
+        do {
+            current = budget.get();
+            if (current < MILLI_TOKENS) {
+                return false;
+            }
+        } while (!budget.compareAndSet(current, current - MILLI_TOKENS));
+
+        return true;
+    }
+
+    private static boolean isIdempotent(HttpMethod method) {
+        return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method);
+    }
+}
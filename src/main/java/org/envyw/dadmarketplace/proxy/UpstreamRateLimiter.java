@@ -0,0 +1,250 @@
+package org.envyw.dadmarketplace.proxy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.envyw.dadmarketplace.config.ExternalApiProperties;
+import org.envyw.dadmarketplace.proxy.exception.UpstreamRateLimitException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * DarkerDB 업스트림 요청 예산을 지키기 위한 토큰 버킷. 토큰이 없으면 lane 별 대기열에서 순서대로 기다리며,
+ * INTERACTIVE 대기열이 비어야 BACKGROUND 가 토큰을 가져간다. 대기열이 가득 찼거나 maxWait 안에 토큰을 받지 못하면
+ * {@link UpstreamRateLimitException} 으로 거절한다.
+ */
+@Component
+@Slf4j
+public class UpstreamRateLimiter {
+
+    public enum Lane {
+        INTERACTIVE, BACKGROUND
+    }
+
+    private final ExternalApiProperties.UpstreamRateLimit settings;
+    private final long nanosPerPermit;
+    private final long maxCredit;
+    private final LongSupplier nanoClock;
+    private final Scheduler scheduler;
+
+    private final Map<Lane, ArrayDeque<Waiter>> queues = new EnumMap<>(Lane.class);
+    private final Map<Lane, Counter> queueFullCounters = new EnumMap<>(Lane.class);
+    private final Map<Lane, Counter> timeoutCounters = new EnumMap<>(Lane.class);
+
+    // 토큰을 나노초 단위 적립금으로 들고 있어 부동소수점 오차 없이 충전/차감한다. 토큰 1개 = nanosPerPermit.
+    private long credit;
+    private long refilledAt;
+    private long drainAt = Long.MAX_VALUE;
+
+    @Autowired
+    public UpstreamRateLimiter(ExternalApiProperties properties, MeterRegistry meterRegistry) {
+        this(properties.upstreamRateLimit(), meterRegistry, System::nanoTime, Schedulers.parallel());
+    }
+
+    public UpstreamRateLimiter(ExternalApiProperties.UpstreamRateLimit settings, MeterRegistry meterRegistry,
+                               LongSupplier nanoClock, Scheduler scheduler) {
+        this.settings = settings;
+        this.nanosPerPermit = settings.isEnabled()
+                ? Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / settings.permitsPerSecond())) : 0;
+        this.maxCredit = settings.burst() * nanosPerPermit;
+        this.nanoClock = nanoClock;
+        this.scheduler = scheduler;
+        this.credit = maxCredit;
+        this.refilledAt = nanoClock.getAsLong();
+
+        Gauge.builder("darkerdb.upstream.ratelimit.tokens", this, UpstreamRateLimiter::availableTokens)
+                .description("업스트림 요청에 바로 쓸 수 있는 토큰 수")
+                .register(meterRegistry);
+
+        for (Lane lane : Lane.values()) {
+            String laneTag = lane.name().toLowerCase();
+            queues.put(lane, new ArrayDeque<>());
+            Gauge.builder("darkerdb.upstream.ratelimit.queue", this, limiter -> limiter.queueDepth(lane))
+                    .description("토큰을 기다리는 업스트림 요청 수")
+                    .tag("lane", laneTag)
+                    .register(meterRegistry);
+            queueFullCounters.put(lane, Counter.builder("darkerdb.upstream.ratelimit.rejected")
+                    .description("토큰 대기열이 가득 차 거절된 요청 수")
+                    .tags("lane", laneTag, "reason", "queue-full")
+                    .register(meterRegistry));
+            timeoutCounters.put(lane, Counter.builder("darkerdb.upstream.ratelimit.rejected")
+                    .description("대기 시간 안에 토큰을 받지 못해 거절된 요청 수")
+                    .tags("lane", laneTag, "reason", "timeout")
+                    .register(meterRegistry));
+        }
+
+        log.info("업스트림 요청 제한 초기화: {}", settings);
+    }
+
+    public Mono<Void> acquire(Lane lane) {
+        if (!settings.isEnabled()) {
+            return Mono.empty();
+        }
+
+        return Mono.create(sink -> {
+            Waiter waiter = new Waiter(lane, sink, nanoClock.getAsLong() + settings.maxWait().toNanos());
+            UpstreamRateLimitException rejection = null;
+            boolean granted = false;
+
+            synchronized (this) {
+                refill();
+                if (canBypassQueue(lane) && tryTake(lane)) {
+                    granted = true;
+                } else if (queues.get(lane).size() >= settings.queueCapacity()) {
+                    rejection = reject(lane, queueFullCounters, "queue full");
+                } else {
+                    queues.get(lane).addLast(waiter);
+                    scheduleDrain();
+                }
+            }
+
+            if (granted) {
+                sink.success();
+            } else if (rejection != null) {
+                sink.error(rejection);
+            } else {
+                sink.onCancel(() -> cancel(waiter));
+            }
+        });
+    }
+
+    synchronized double availableTokens() {
+        if (nanosPerPermit == 0) {
+            return 0;
+        }
+
+        refill();
+        return (double) credit / nanosPerPermit;
+    }
+
+    synchronized int queueDepth(Lane lane) {
+        return queues.get(lane).size();
+    }
+
+    private void drain() {
+        List<Waiter> granted = new ArrayList<>();
+        List<Map.Entry<Waiter, UpstreamRateLimitException>> expired = new ArrayList<>();
+
+        synchronized (this) {
+            drainAt = Long.MAX_VALUE;
+            refill();
+
+            long now = nanoClock.getAsLong();
+            for (Lane lane : Lane.values()) {
+                Iterator<Waiter> iterator = queues.get(lane).iterator();
+                while (iterator.hasNext()) {
+                    Waiter waiter = iterator.next();
+                    if (waiter.deadline() <= now) {
+                        iterator.remove();
+                        expired.add(Map.entry(waiter, reject(lane, timeoutCounters, "wait timeout")));
+                    }
+                }
+            }
+
+            for (Lane lane : Lane.values()) {
+                ArrayDeque<Waiter> queue = queues.get(lane);
+                while (!queue.isEmpty() && tryTake(lane)) {
+                    granted.add(queue.pollFirst());
+                }
+                if (!queue.isEmpty()) {
+                    break;
+                }
+            }
+
+            scheduleDrain();
+        }
+
+        granted.forEach(waiter -> waiter.sink().success());
+        expired.forEach(entry -> entry.getKey().sink().error(entry.getValue()));
+    }
+
+    private synchronized void cancel(Waiter waiter) {
+        queues.get(waiter.lane()).remove(waiter);
+    }
+
+    // 호출 전 lock 을 잡고 있어야 한다.
+    private void scheduleDrain() {
+        long now = nanoClock.getAsLong();
+        long next = Long.MAX_VALUE;
+
+        boolean headOfLineFound = false;
+
+        for (Lane lane : Lane.values()) {
+            Waiter head = queues.get(lane).peekFirst();
+            if (head == null) {
+                continue;
+            }
+
+            next = Math.min(next, head.deadline());
+            // 토큰은 우선순위가 가장 높은 대기열의 맨 앞 요청부터 받으므로 그 요청 기준으로만 깨어난다.
+            if (!headOfLineFound) {
+                next = Math.min(next, now + nanosUntilAvailable(lane, 0));
+                headOfLineFound = true;
+            }
+        }
+
+        if (next == Long.MAX_VALUE || next >= drainAt) {
+            return;
+        }
+
+        drainAt = next;
+        scheduler.schedule(this::drain, Math.max(0, next - now), TimeUnit.NANOSECONDS);
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        credit = Math.min(maxCredit, credit + (now - refilledAt));
+        refilledAt = now;
+    }
+
+    private boolean canBypassQueue(Lane lane) {
+        if (!queues.get(Lane.INTERACTIVE).isEmpty()) {
+            return false;
+        }
+
+        return lane == Lane.INTERACTIVE || queues.get(Lane.BACKGROUND).isEmpty();
+    }
+
+    private boolean tryTake(Lane lane) {
+        if (credit < required(lane) * nanosPerPermit) {
+            return false;
+        }
+
+        credit -= nanosPerPermit;
+        return true;
+    }
+
+    private long required(Lane lane) {
+        return lane == Lane.BACKGROUND ? 1L + settings.backgroundReserve() : 1L;
+    }
+
+    private long nanosUntilAvailable(Lane lane, int ahead) {
+        return Math.max(0, (required(lane) + ahead) * nanosPerPermit - credit);
+    }
+
+    private UpstreamRateLimitException reject(Lane lane, Map<Lane, Counter> counters, String reason) {
+        counters.get(lane).increment();
+        Duration retryAfter = Duration.ofNanos(nanosUntilAvailable(lane, queues.get(lane).size()));
+        log.warn("업스트림 요청 제한으로 거절: lane={}, reason={}, retryAfter={}", lane, reason, retryAfter);
+
+        return new UpstreamRateLimitException("Upstream request budget exceeded: " + reason, retryAfter);
+    }
+
+    private record Waiter(Lane lane, MonoSink<Void> sink, long deadline) {
+    }
+}
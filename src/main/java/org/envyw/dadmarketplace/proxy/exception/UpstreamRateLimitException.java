@@ -0,0 +1,16 @@
+package org.envyw.dadmarketplace.proxy.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class UpstreamRateLimitException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public UpstreamRateLimitException(String message, Duration retryAfter) {
+        super(message, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+}
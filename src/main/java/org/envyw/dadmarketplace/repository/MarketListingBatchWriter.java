@@ -0,0 +1,105 @@
+package org.envyw.dadmarketplace.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.envyw.dadmarketplace.entity.MarketListing;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * market_listings 에 여러 행을 INSERT ... ON DUPLICATE KEY UPDATE 한 문장으로 쓰고, 사라진 행도 한 문장으로 지운다.
+ * 행마다 왕복하지 않도록 ReactiveCrudRepository.saveAll / deleteAllById 대신 사용한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MarketListingBatchWriter {
+
+    private static final String[] COLUMNS = {"listing_id", "item_id", "item_name", "rarity", "price", "quantity",
+            "price_per_unit", "has_sold", "listed_at", "expires_at"};
+    private static final Class<?>[] COLUMN_TYPES = {Long.class, String.class, String.class, String.class,
+            Integer.class, Integer.class, Double.class, Boolean.class, LocalDateTime.class, LocalDateTime.class};
+
+    private static final String INSERT_PREFIX = "INSERT INTO market_listings (" + String.join(", ", COLUMNS)
+            + ") VALUES ";
+    private static final String ROW_PLACEHOLDER = "(" + "?, ".repeat(COLUMNS.length - 1) + "?)";
+    private static final String UPSERT_SUFFIX = buildUpsertSuffix();
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * 행 묶음을 한 문장으로 upsert 하고 영향을 받은 행 수를 돌려준다.
+     */
+    public Mono<Long> upsert(List<MarketListing> listings) {
+        if (listings.isEmpty()) {
+            return Mono.just(0L);
+        }
+
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + UPSERT_SUFFIX.length()
+                + listings.size() * (ROW_PLACEHOLDER.length() + 2));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < listings.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDER);
+        }
+        sql.append(UPSERT_SUFFIX);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        int index = 0;
+        for (MarketListing listing : listings) {
+            Object[] values = {listing.getListingId(), listing.getItemId(), listing.getItemName(),
+                    listing.getRarity(), listing.getPrice(), listing.getQuantity(), listing.getPricePerUnit(),
+                    listing.getHasSold(), listing.getListedAt(), listing.getExpiresAt()};
+            for (int column = 0; column < values.length; column++, index++) {
+                spec = values[column] != null
+                        ? spec.bind(index, values[column])
+                        : spec.bindNull(index, COLUMN_TYPES[column]);
+            }
+        }
+
+        return spec.fetch().rowsUpdated();
+    }
+
+    /**
+     * 테이블에 있는 모든 listing_id 를 돌려준다. 수집에서 사라진 목록을 가려내는 데 쓴다.
+     */
+    public Flux<Long> findListingIds() {
+        return databaseClient.sql("SELECT listing_id FROM market_listings")
+                .map(row -> row.get("listing_id", Long.class))
+                .all();
+    }
+
+    /**
+     * 주어진 listing_id 의 행을 한 문장으로 지우고 지운 행 수를 돌려준다.
+     */
+    public Mono<Long> deleteByListingIds(List<Long> listingIds) {
+        if (listingIds.isEmpty()) {
+            return Mono.just(0L);
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("DELETE FROM market_listings WHERE listing_id IN ("
+                + "?, ".repeat(listingIds.size() - 1) + "?)");
+        for (int i = 0; i < listingIds.size(); i++) {
+            spec = spec.bind(i, listingIds.get(i));
+        }
+
+        return spec.fetch().rowsUpdated();
+    }
+
+    private static String buildUpsertSuffix() {
+        StringBuilder suffix = new StringBuilder(" ON DUPLICATE KEY UPDATE ");
+        for (int i = 1; i < COLUMNS.length; i++) {
+            if (i > 1) {
+                suffix.append(", ");
+            }
+            suffix.append(COLUMNS[i]).append(" = VALUES(").append(COLUMNS[i]).append(')');
+        }
+
+        return suffix.toString();
+    }
+}
@@ -0,0 +1,14 @@
+package org.envyw.dadmarketplace.repository;
+
+import org.envyw.dadmarketplace.entity.MarketListing;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface MarketListingRepository extends ReactiveCrudRepository<MarketListing, Long> {
+    Flux<MarketListing> findByItemIdOrderByListedAtDesc(String itemId, Pageable pageable);
+
+    Flux<MarketListing> findAllByOrderByListedAtDesc(Pageable pageable);
+}
@@ -0,0 +1,184 @@
+package org.envyw.dadmarketplace.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.envyw.dadmarketplace.dto.response.PriceHistoryResDto;
+import org.envyw.dadmarketplace.entity.PriceResolution;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * price_points(원본 관측값)와 price_rollups(해상도별 집계)를 다룬다. 쓰기는 모두 여러 행을 한 문장으로 보낸다.
+ * 집계는 INSERT ... ON DUPLICATE KEY UPDATE 로 기존 구간에 min/max/합계/개수를 더해 가므로 다시 계산할 필요가 없다.
+ * 대신 같은 관측값을 두 번 더하면 안 되므로, 원본은 목록마다 가격이 바뀔 때 1씩 늘어나는 change_seq 와 함께
+ * (listing_id, change_seq) 유일 키에 INSERT IGNORE 로 넣고 실제로 새로 들어간 행만 집계한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PriceHistoryRepository {
+
+    private static final String INSERT_POINTS = "INSERT IGNORE INTO price_points "
+            + "(listing_id, change_seq, item_id, rarity_id, observed_at, price) VALUES ";
+    private static final String POINT_PLACEHOLDER = "(?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_LATEST = "SELECT p.listing_id, p.change_seq, p.price FROM price_points p "
+            + "JOIN (SELECT listing_id, MAX(change_seq) AS change_seq FROM price_points WHERE listing_id IN ";
+    private static final String SELECT_LATEST_JOIN = " GROUP BY listing_id) latest "
+            + "ON p.listing_id = latest.listing_id AND p.change_seq = latest.change_seq";
+
+    private static final String UPSERT_ROLLUPS = "INSERT INTO price_rollups (item_id, rarity_id, resolution_seconds, "
+            + "bucket_start, min_price, max_price, sum_price, sample_count) VALUES ";
+    private static final String ROLLUP_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String ROLLUP_MERGE = " ON DUPLICATE KEY UPDATE "
+            + "min_price = LEAST(min_price, VALUES(min_price)), "
+            + "max_price = GREATEST(max_price, VALUES(max_price)), "
+            + "sum_price = sum_price + VALUES(sum_price), "
+            + "sample_count = sample_count + VALUES(sample_count)";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * 목록마다 price_points 에 남아 있는 가장 최근 관측값(가장 큰 change_seq)을 돌려준다. 관측값이 없는 목록은 빠진다.
+     */
+    public Flux<LatestPoint> findLatest(List<Long> listingIds) {
+        if (listingIds.isEmpty()) {
+            return Flux.empty();
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+                multiRow(SELECT_LATEST + "(", "?", listingIds.size(), ")" + SELECT_LATEST_JOIN));
+        for (int index = 0; index < listingIds.size(); index++) {
+            spec = spec.bind(index, listingIds.get(index));
+        }
+
+        return spec.map((row, metadata) -> new LatestPoint(row.get("listing_id", Long.class),
+                        row.get("change_seq", Integer.class), row.get("price", Double.class)))
+                .all();
+    }
+
+    /**
+     * 이미 있는 (listing_id, change_seq) 는 건너뛰고, 새로 들어간 행 수를 돌려준다.
+     */
+    public Mono<Long> insertPoints(List<Observation> observations) {
+        if (observations.isEmpty()) {
+            return Mono.just(0L);
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+                multiRow(INSERT_POINTS, POINT_PLACEHOLDER, observations.size(), ""));
+        int index = 0;
+        for (Observation observation : observations) {
+            spec = spec.bind(index++, observation.listingId())
+                    .bind(index++, observation.changeSeq())
+                    .bind(index++, observation.itemId())
+                    .bind(index++, observation.rarityId())
+                    .bind(index++, observation.observedAt())
+                    .bind(index++, observation.price());
+        }
+
+        return spec.fetch().rowsUpdated();
+    }
+
+    public Mono<Long> upsertRollups(List<RollupDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return Mono.just(0L);
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+                multiRow(UPSERT_ROLLUPS, ROLLUP_PLACEHOLDER, deltas.size(), ROLLUP_MERGE));
+        int index = 0;
+        for (RollupDelta delta : deltas) {
+            spec = spec.bind(index++, delta.itemId())
+                    .bind(index++, delta.rarityId())
+                    .bind(index++, delta.resolution().bucketSeconds())
+                    .bind(index++, delta.bucketStart())
+                    .bind(index++, delta.min())
+                    .bind(index++, delta.max())
+                    .bind(index++, delta.sum())
+                    .bind(index++, delta.count());
+        }
+
+        return spec.fetch().rowsUpdated();
+    }
+
+    public Flux<PriceHistoryResDto.Point> findRollups(String itemId, int rarityId, PriceResolution resolution,
+                                                      LocalDateTime from, LocalDateTime to) {
+        return databaseClient.sql("SELECT bucket_start, min_price, max_price, sum_price / sample_count AS avg_price, "
+                        + "sample_count FROM price_rollups WHERE item_id = ? AND rarity_id = ? "
+                        + "AND resolution_seconds = ? AND bucket_start >= ? AND bucket_start < ? ORDER BY bucket_start")
+                .bind(0, itemId)
+                .bind(1, rarityId)
+                .bind(2, resolution.bucketSeconds())
+                .bind(3, resolution.bucketStart(from))
+                .bind(4, to)
+                .map((row, metadata) -> new PriceHistoryResDto.Point(
+                        row.get("bucket_start", LocalDateTime.class),
+                        row.get("min_price", Double.class),
+                        row.get("max_price", Double.class),
+                        row.get("avg_price", Double.class),
+                        row.get("sample_count", Long.class)))
+                .all();
+    }
+
+    public Flux<PriceHistoryResDto.Point> findPoints(String itemId, int rarityId, LocalDateTime from,
+                                                     LocalDateTime to) {
+        return databaseClient.sql("SELECT observed_at, price FROM price_points WHERE item_id = ? AND rarity_id = ? "
+                        + "AND observed_at >= ? AND observed_at < ? ORDER BY observed_at")
+                .bind(0, itemId)
+                .bind(1, rarityId)
+                .bind(2, from)
+                .bind(3, to)
+                .map((row, metadata) -> {
+                    double price = row.get("price", Double.class);
+                    return new PriceHistoryResDto.Point(row.get("observed_at", LocalDateTime.class),
+                            price, price, price, 1);
+                })
+                .all();
+    }
+
+    public Mono<Long> deletePointsBefore(LocalDateTime cutoff) {
+        return databaseClient.sql("DELETE FROM price_points WHERE observed_at < ?")
+                .bind(0, cutoff)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteRollupsBefore(PriceResolution resolution, LocalDateTime cutoff) {
+        return databaseClient.sql("DELETE FROM price_rollups WHERE resolution_seconds = ? AND bucket_start < ?")
+                .bind(0, resolution.bucketSeconds())
+                .bind(1, cutoff)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static String multiRow(String prefix, String placeholder, int rows, String suffix) {
+        StringBuilder sql = new StringBuilder(prefix.length() + suffix.length() + rows * (placeholder.length() + 2));
+        sql.append(prefix);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(placeholder);
+        }
+
+        return sql.append(suffix).toString();
+    }
+
+    public record Observation(long listingId, int changeSeq, String itemId, int rarityId, LocalDateTime observedAt,
+                              double price) {
+
+        public Observation after(LatestPoint previous) {
+            return new Observation(listingId, previous.changeSeq() + 1, itemId, rarityId, observedAt, price);
+        }
+    }
+
+    public record LatestPoint(long listingId, int changeSeq, double price) {
+    }
+
+    public record RollupDelta(String itemId, int rarityId, PriceResolution resolution, LocalDateTime bucketStart,
+                              double min, double max, double sum, long count) {
+    }
+}
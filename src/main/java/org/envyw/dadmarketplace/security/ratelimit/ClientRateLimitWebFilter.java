@@ -0,0 +1,177 @@
+package org.envyw.dadmarketplace.security.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 시큐리티 체인의 인증 단계 뒤에서 동작하며, JWT 로 인증된 요청은 subject 기준으로, 그 외에는 클라이언트 IP 기준으로 제한한다.
+ * 클라이언트 IP 는 직접 연결한 주소가 신뢰하는 프록시일 때만 X-Forwarded-For 에서 꺼낸다.
+ * 전역 WebFilter 로 한 번 더 실행되지 않도록 빈으로 등록하지 않고 SecurityConfig 에서 체인에 직접 추가한다.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ClientRateLimitWebFilter implements WebFilter {
+
+    static final String RATE_LIMIT_LIMIT = "RateLimit-Limit";
+    static final String RATE_LIMIT_REMAINING = "RateLimit-Remaining";
+    static final String RATE_LIMIT_RESET = "RateLimit-Reset";
+    static final String X_FORWARDED_FOR = "X-Forwarded-For";
+    static final String ADDITIONAL_COST_ATTRIBUTE = ClientRateLimitWebFilter.class.getName() + ".additionalCost";
+
+    private static final Pattern IPV4 = Pattern.compile("(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})");
+    private static final Pattern IPV6 = Pattern.compile("[0-9a-fA-F:.]*:[0-9a-fA-F:.]*");
+
+    private static final byte[] TOO_MANY_REQUESTS_BODY =
+            "{\"error\":\"Too many requests\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final ClientRateLimiter clientRateLimiter;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ClientRateLimiter.RouteLimit routeLimit = clientRateLimiter.routeFor(exchange.getRequest().getPath().value());
+        if (routeLimit == null) {
+            return chain.filter(exchange);
+        }
+
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(authentication -> authentication.isAuthenticated()
+                        && !(authentication instanceof AnonymousAuthenticationToken))
+                .map(authentication -> "user:" + authentication.getName())
+                .switchIfEmpty(Mono.fromSupplier(() -> "ip:" + clientIp(exchange)))
+                .flatMap(clientKey -> {
+                    ClientRateLimiter.Decision decision = clientRateLimiter.tryAcquire(routeLimit, clientKey);
+                    ServerHttpResponse response = exchange.getResponse();
+                    writeHeaders(response.getHeaders(), decision);
+
+                    if (decision.allowed()) {
+                        exchange.getAttributes().put(ADDITIONAL_COST_ATTRIBUTE,
+                                (IntPredicate) cost -> tryAcquireAdditional(exchange, routeLimit, clientKey, cost));
+                        return chain.filter(exchange);
+                    }
+
+                    log.warn("클라이언트 요청 제한 초과: client={}, path={}", clientKey,
+                            exchange.getRequest().getPath().value());
+
+                    response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                    response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+                    return response.writeWith(Mono.just(response.bufferFactory().wrap(TOO_MANY_REQUESTS_BODY)));
+                });
+    }
+
+    /**
+     * 본문을 읽어야 실제 작업량을 알 수 있는 요청(배치 등)에, 필터가 이미 차감한 1 건 외의 비용을 더 청구한다.
+     * 요청 제한 대상이 아닌 경로면 항상 허용한다. 거절하면 응답의 RateLimit 헤더와 Retry-After 를 갱신한다.
+     */
+    public static boolean tryAcquireAdditional(ServerWebExchange exchange, int cost) {
+        IntPredicate additionalCost = exchange.getAttribute(ADDITIONAL_COST_ATTRIBUTE);
+        return cost <= 0 || additionalCost == null || additionalCost.test(cost);
+    }
+
+    // burst 를 넘는 비용은 영원히 허용될 수 없으므로, 필터가 차감한 1 건을 빼고 버킷 전체까지만 청구한다.
+    private boolean tryAcquireAdditional(ServerWebExchange exchange, ClientRateLimiter.RouteLimit routeLimit,
+                                         String clientKey, int cost) {
+        int charged = Math.min(cost, routeLimit.route().burst() - 1);
+        if (charged <= 0) {
+            return true;
+        }
+
+        ClientRateLimiter.Decision decision = clientRateLimiter.tryAcquire(routeLimit, clientKey, charged);
+        writeHeaders(exchange.getResponse().getHeaders(), decision);
+        if (!decision.allowed()) {
+            log.warn("클라이언트 요청 제한 초과: client={}, path={}, cost={}", clientKey,
+                    exchange.getRequest().getPath().value(), cost + 1);
+        }
+
+        return decision.allowed();
+    }
+
+    private static void writeHeaders(HttpHeaders headers, ClientRateLimiter.Decision decision) {
+        headers.set(RATE_LIMIT_LIMIT, String.valueOf(decision.limit()));
+        headers.set(RATE_LIMIT_REMAINING, String.valueOf(decision.remaining()));
+        headers.set(RATE_LIMIT_RESET, String.valueOf(toSeconds(decision.resetAfter())));
+        if (!decision.allowed()) {
+            headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(toSeconds(decision.retryAfter())));
+        }
+    }
+
+    // 신뢰하는 프록시가 붙인 X-Forwarded-For 만 오른쪽(가까운 홉)부터 따라가 신뢰하지 않는 첫 주소를 클라이언트로 본다.
+    // IP 가 아닌 값을 만나면 그보다 왼쪽은 누가 썼는지 알 수 없으므로 거기서 멈춘다.
+    private String clientIp(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        String client = peerAddress(request);
+        if (client == null || !isIpLiteral(client) || !clientRateLimiter.isTrustedProxy(client)) {
+            return client != null ? client : "unknown";
+        }
+
+        List<String> forwardedFor = request.getHeaders().getOrEmpty(X_FORWARDED_FOR);
+        for (int i = forwardedFor.size() - 1; i >= 0; i--) {
+            String[] hops = forwardedFor.get(i).split(",");
+            for (int j = hops.length - 1; j >= 0; j--) {
+                String hop = hops[j].trim();
+                if (!isIpLiteral(hop)) {
+                    return client;
+                }
+
+                client = hop;
+                if (!clientRateLimiter.isTrustedProxy(hop)) {
+                    return client;
+                }
+            }
+        }
+
+        return client;
+    }
+
+    private static String peerAddress(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null) {
+            return null;
+        }
+
+        return remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress()
+                : remoteAddress.getHostString();
+    }
+
+    // 헤더 값으로 DNS 조회가 일어나지 않도록 IP 리터럴만 받아들인다.
+    static boolean isIpLiteral(String value) {
+        Matcher ipv4 = IPV4.matcher(value);
+        if (ipv4.matches()) {
+            for (int group = 1; group <= 4; group++) {
+                if (Integer.parseInt(ipv4.group(group)) > 255) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        return IPV6.matcher(value).matches();
+    }
+
+    private static long toSeconds(Duration duration) {
+        return Math.max(0, (duration.toMillis() + 999) / 1000);
+    }
+}
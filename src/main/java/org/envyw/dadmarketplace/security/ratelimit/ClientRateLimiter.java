@@ -0,0 +1,150 @@
+package org.envyw.dadmarketplace.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.envyw.dadmarketplace.config.ClientRateLimitProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 클라이언트별 요청 제한. 버킷마다 GCRA 의 이론적 도착 시각(TAT) 하나만 AtomicLong 으로 들고 CAS 로 갱신하므로
+ * 락 없이 동작한다. 버킷은 Caffeine 에 보관해 오래 쓰지 않은 클라이언트는 자동으로 정리된다.
+ */
+@Component
+@Slf4j
+public class ClientRateLimiter {
+
+    private final boolean enabled;
+    private final List<RouteLimit> routes;
+    private final List<IpAddressMatcher> trustedProxies;
+    private final Cache<String, AtomicLong> buckets;
+    private final Ticker ticker;
+
+    @Autowired
+    public ClientRateLimiter(ClientRateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    public ClientRateLimiter(ClientRateLimitProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        this.enabled = properties.enabled();
+        this.routes = properties.routes().stream()
+                .sorted(Comparator.comparingInt((ClientRateLimitProperties.Route route) -> route.pathPrefix().length())
+                        .reversed())
+                .map(route -> new RouteLimit(route, Counter.builder("darkerdb.ratelimit.client.rejected")
+                        .description("클라이언트 요청 제한으로 거절된 요청 수")
+                        .tag("route", route.pathPrefix())
+                        .register(meterRegistry)))
+                .toList();
+        this.trustedProxies = properties.trustedProxies().stream()
+                .map(IpAddressMatcher::new)
+                .toList();
+        this.ticker = ticker;
+
+        Duration longestPeriod = routes.stream()
+                .map(route -> route.route().period())
+                .max(Comparator.naturalOrder())
+                .orElse(Duration.ofMinutes(1));
+        // 마지막 요청 후 가장 긴 period 가 지나면 버킷은 가득 찬 상태와 같으므로 지워도 된다.
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maximumClients())
+                .expireAfterAccess(longestPeriod)
+                .ticker(ticker)
+                .build();
+
+        Gauge.builder("darkerdb.ratelimit.client.tracked", buckets, Cache::estimatedSize)
+                .description("요청 제한 상태를 보관 중인 클라이언트 버킷 수")
+                .register(meterRegistry);
+
+        log.info("클라이언트 요청 제한 초기화: enabled={}, routes={}, trustedProxies={}", enabled, properties.routes(),
+                properties.trustedProxies());
+    }
+
+    public RouteLimit routeFor(String path) {
+        if (!enabled) {
+            return null;
+        }
+
+        for (RouteLimit routeLimit : routes) {
+            String prefix = routeLimit.route().pathPrefix();
+            if (prefix.equals("/") || path.startsWith(prefix)
+                    && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/')) {
+                return routeLimit;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * X-Forwarded-For 를 믿어도 되는 프록시 주소인지. address 는 IP 리터럴이어야 한다(호스트 이름을 넘기면 DNS 를 조회한다).
+     */
+    public boolean isTrustedProxy(String address) {
+        for (IpAddressMatcher trustedProxy : trustedProxies) {
+            if (trustedProxy.matches(address)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public Decision tryAcquire(RouteLimit routeLimit, String clientKey) {
+        return tryAcquire(routeLimit, clientKey, 1);
+    }
+
+    /**
+     * 요청 cost 건만큼 한 번에 차감한다. 일부만 허용하지 않으므로 거절되면 버킷은 그대로다.
+     */
+    public Decision tryAcquire(RouteLimit routeLimit, String clientKey, int cost) {
+        ClientRateLimitProperties.Route route = routeLimit.route();
+        long interval = Math.max(1, route.period().toNanos() / route.requests());
+        long capacity = interval * route.burst();
+        long increment = interval * Math.max(1, cost);
+        long now = ticker.read();
+
+        AtomicLong tat = buckets.get(route.pathPrefix() + "|" + clientKey, key -> new AtomicLong(now));
+
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + increment;
+            long allowAt = next - capacity;
+
+            if (allowAt > now) {
+                routeLimit.rejected().increment();
+                return new Decision(false, route.burst(), 0,
+                        Duration.ofNanos(Math.max(0, current - now)), Duration.ofNanos(allowAt - now));
+            }
+
+            if (tat.compareAndSet(current, next)) {
+                int remaining = (int) ((now - allowAt) / interval);
+                return new Decision(true, route.burst(), remaining, Duration.ofNanos(next - now), Duration.ZERO);
+            }
+        }
+    }
+
+    public record RouteLimit(ClientRateLimitProperties.Route route, Counter rejected) {
+    }
+
+    /**
+     * resetAfter 는 버킷이 다시 가득 찰 때까지 남은 시간, retryAfter 는 거절된 경우 다음 요청이 허용되기까지의 시간이다.
+     */
+    public record Decision(
+            boolean allowed,
+            int limit,
+            int remaining,
+            Duration resetAfter,
+            Duration retryAfter
+    ) {
+    }
+}
@@ -0,0 +1,141 @@
+package org.envyw.dadmarketplace.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import lombok.extern.slf4j.Slf4j;
+import org.envyw.dadmarketplace.config.ExternalApiProperties;
+import org.envyw.dadmarketplace.dto.request.DarkerDBBatchReqDto;
+import org.envyw.dadmarketplace.dto.response.DarkerDBBatchItemResDto;
+import org.envyw.dadmarketplace.proxy.ProxyResponse;
+import org.envyw.dadmarketplace.service.exception.BatchRejectedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * 여러 DarkerDB 경로를 한 번의 클라이언트 왕복으로 처리한다. 하위 요청은 일반 프록시와 같은 캐시/병합 규칙을 거치며,
+ * 최대 concurrency 개씩 동시에 처리해 끝나는 순서대로 내보내므로 느린 요청 하나가 나머지를 막지 않는다.
+ * JSON 하위 응답은 트리로 다시 만들지 않고 토큰만 훑어 검증한 뒤 원문 그대로 넣는다.
+ */
+@Service
+@Slf4j
+public class DarkerDBBatchService {
+
+    private final ExternalApiService externalApiService;
+    private final ExternalApiProperties.Batch settings;
+    private final int maxBodyBytes;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public DarkerDBBatchService(ExternalApiService externalApiService, ExternalApiProperties properties,
+                                ObjectMapper objectMapper) {
+        this(externalApiService, properties.batch(), (int) properties.maxBufferedSize().toBytes(), objectMapper);
+    }
+
+    public DarkerDBBatchService(ExternalApiService externalApiService, ExternalApiProperties.Batch settings,
+                                int maxBodyBytes, ObjectMapper objectMapper) {
+        this.externalApiService = externalApiService;
+        this.settings = settings;
+        this.maxBodyBytes = maxBodyBytes;
+        this.objectMapper = objectMapper;
+    }
+
+    public Flux<DarkerDBBatchItemResDto> execute(DarkerDBBatchReqDto reqDto) {
+        return execute(reqDto, cost -> true);
+    }
+
+    /**
+     * admission 은 하위 요청 수를 받아 클라이언트 요청 제한에 그만큼 청구하고, 거절되면 false 를 돌려준다.
+     */
+    public Flux<DarkerDBBatchItemResDto> execute(DarkerDBBatchReqDto reqDto, IntPredicate admission) {
+        List<DarkerDBBatchReqDto.Item> requests = reqDto != null && reqDto.requests() != null
+                ? reqDto.requests() : List.of();
+
+        if (requests.isEmpty()) {
+            return Flux.error(new BatchRejectedException(HttpStatus.BAD_REQUEST, "Batch requests cannot be empty"));
+        }
+        if (requests.size() > settings.maxRequests()) {
+            return Flux.error(new BatchRejectedException(HttpStatus.BAD_REQUEST,
+                    "Batch requests cannot exceed " + settings.maxRequests()));
+        }
+
+        if (!admission.test(requests.size())) {
+            return Flux.error(new BatchRejectedException(HttpStatus.TOO_MANY_REQUESTS, "Too many requests"));
+        }
+
+        log.info("배치 프록시 요청 수신: size={}", requests.size());
+
+        return Flux.range(0, requests.size())
+                .flatMap(index -> resolve(index, requests.get(index)), settings.concurrency());
+    }
+
+    private Mono<DarkerDBBatchItemResDto> resolve(int index, DarkerDBBatchReqDto.Item item) {
+        if (item == null) {
+            return Mono.just(failed(index, null, HttpStatus.BAD_REQUEST, "Batch item cannot be null"));
+        }
+
+        return externalApiService.proxyGetRequest(item.path(), item.query())
+                .flatMap(response -> response.readBody(maxBodyBytes)
+                        .map(body -> new DarkerDBBatchItemResDto(index, item.id(), item.path(),
+                                response.status().value(), decodeBody(response, body))))
+                .onErrorResume(throwable -> {
+                    log.warn("배치 하위 요청 실패: index={}, path={}", index, item.path(), throwable);
+                    return Mono.just(throwable instanceof DataBufferLimitException
+                            ? failed(index, item, HttpStatus.BAD_GATEWAY, "Response too large for batch")
+                            : failed(index, item, HttpStatus.BAD_GATEWAY, "Batch item failed"));
+                });
+    }
+
+    private Object decodeBody(ProxyResponse response, byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+
+        MediaType contentType = response.headers().getContentType();
+        if (contentType != null && (MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                || contentType.getSubtype().endsWith("+json"))) {
+            try {
+                return rawJson(body);
+            } catch (IOException e) {
+                log.debug("배치 하위 응답 JSON 파싱 실패, 문자열로 전달: {}", e.getMessage());
+            }
+        }
+
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    // 값 하나로 끝나는 올바른 JSON 인지만 확인한다. 줄바꿈은 문자열 밖의 공백일 수밖에 없으므로 NDJSON 한 줄이 되도록 공백으로 바꾼다.
+    private RawValue rawJson(byte[] body) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() == null) {
+                throw new IOException("Empty JSON body");
+            }
+            parser.skipChildren();
+            if (parser.nextToken() != null) {
+                throw new IOException("Trailing content after JSON value");
+            }
+        }
+
+        String json = new String(body, StandardCharsets.UTF_8);
+        return new RawValue(json.indexOf('\n') >= 0 || json.indexOf('\r') >= 0
+                ? json.replace('\n', ' ').replace('\r', ' ')
+                : json);
+    }
+
+    private static DarkerDBBatchItemResDto failed(int index, DarkerDBBatchReqDto.Item item, HttpStatus status,
+                                                  String message) {
+        return new DarkerDBBatchItemResDto(index, item != null ? item.id() : null, item != null ? item.path() : null,
+                status.value(), Map.of("error", message));
+    }
+}
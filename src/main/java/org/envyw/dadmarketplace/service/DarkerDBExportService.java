@@ -0,0 +1,186 @@
+package org.envyw.dadmarketplace.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.envyw.dadmarketplace.config.ExternalApiProperties;
+import org.envyw.dadmarketplace.decode.DarkerDBPageFormat;
+import org.envyw.dadmarketplace.decode.DarkerDBRecordDecoder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 업스트림 페이지 커서를 서버에서 따라가며 모든 페이지의 레코드를 하나의 스트림으로 이어 보낸다.
+ * 다음 페이지는 클라이언트가 소비한 만큼만 요청하고 미리 받아 두는 페이지는 prefetchPages 개로 제한하므로,
+ * 페이지 수와 관계없이 메모리 사용량이 일정하다. 각 페이지는 경로 정책과 업스트림 보호를 그대로 거치지만, 한 요청이 수백 페이지로
+ * 불어날 수 있으므로 캐시는 쓰지 않고 BACKGROUND lane 의 토큰으로만 요청한다({@link ExternalApiService#scanGetRequest}).
+ * 페이지 본문은 트리로 만들지 않는다. 커서를 찾는 훑기 한 번 뒤에, 레코드는 구독자가 요청할 때마다 디코더로 하나씩 읽는다.
+ */
+@Service
+@Slf4j
+public class DarkerDBExportService {
+
+    private final ExternalApiService externalApiService;
+    private final ExternalApiProperties.Export settings;
+    private final int maxPageBytes;
+    private final DarkerDBPageFormat pageFormat;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public DarkerDBExportService(ExternalApiService externalApiService, ExternalApiProperties properties,
+                                 ObjectMapper objectMapper) {
+        this(externalApiService, properties.export(), (int) properties.maxBufferedSize().toBytes(), objectMapper);
+    }
+
+    public DarkerDBExportService(ExternalApiService externalApiService, ExternalApiProperties.Export settings,
+                                 int maxPageBytes, ObjectMapper objectMapper) {
+        this.externalApiService = externalApiService;
+        this.settings = settings;
+        this.maxPageBytes = maxPageBytes;
+        this.objectMapper = objectMapper;
+        this.pageFormat = new DarkerDBPageFormat(settings.recordsPointer(), settings.cursorPointer());
+    }
+
+    public Flux<JsonNode> export(String path, String query) {
+        return export(path, query, JsonParser::readValueAsTree);
+    }
+
+    /**
+     * 레코드를 decoder 로 바로 읽어 내보낸다. 후처리하는 엔드포인트는 필요한 필드만 읽는 디코더를 넘긴다.
+     * query 는 인코딩된 원문 쿼리(요청 URI 의 raw query)다.
+     */
+    public <T> Flux<T> export(String path, String query, DarkerDBRecordDecoder<T> decoder) {
+        return export(path, query, decoder, () -> {
+        });
+    }
+
+    /**
+     * onTruncated 는 maxPages 에 걸려 뒤 페이지를 받지 않고 끝낼 때 한 번 불린다. 전체 목록이 필요한 호출자가
+     * 잘린 결과를 전체로 오인하지 않도록 쓴다.
+     */
+    public <T> Flux<T> export(String path, String query, DarkerDBRecordDecoder<T> decoder, Runnable onTruncated) {
+        log.info("페이지 내보내기 시작: path={}, query={}", path, query);
+
+        return fetchPage(path, query, null, 1)
+                .expand(page -> hasNextPage(page, onTruncated)
+                        ? fetchPage(path, query, page.nextCursor(), page.number() + 1)
+                        : Mono.empty())
+                .concatMap(page -> records(page, decoder), settings.prefetchPages())
+                .doOnComplete(() -> log.info("페이지 내보내기 완료: path={}", path))
+                .doOnError(throwable -> log.warn("페이지 내보내기 실패: path={}", path, throwable));
+    }
+
+    private boolean hasNextPage(Page page, Runnable onTruncated) {
+        if (page.nextCursor() == null || page.recordCount() == 0) {
+            return false;
+        }
+        if (page.nextCursor().equals(page.cursor())) {
+            log.warn("다음 커서가 현재 커서와 같아 내보내기를 멈춤: page={}, cursor={}", page.number(), page.cursor());
+            return false;
+        }
+        if (page.number() >= settings.maxPages()) {
+            log.warn("최대 페이지 수에 도달해 내보내기를 멈춤: maxPages={}", settings.maxPages());
+            onTruncated.run();
+            return false;
+        }
+
+        return true;
+    }
+
+    private Mono<Page> fetchPage(String path, String query, String cursor, int number) {
+        return Mono.defer(() -> externalApiService.scanGetRequest(path, withCursor(query, cursor)))
+                .flatMap(response -> {
+                    if (!response.status().is2xxSuccessful()) {
+                        return Mono.error(new ResponseStatusException(response.status(),
+                                "Upstream page " + number + " failed"));
+                    }
+
+                    return response.readBody(maxPageBytes).map(body -> parsePage(body, cursor, number));
+                });
+    }
+
+    // 다음 페이지 요청에 필요한 커서와 레코드 수만 먼저 훑는다. 레코드는 건너뛰므로 디코딩 비용이 없다.
+    private Page parsePage(byte[] body, String cursor, int number) {
+        DarkerDBPageFormat.Summary summary;
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            summary = pageFormat.summarize(parser);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Upstream page " + number + " is not JSON", e);
+        }
+
+        if (!summary.hasRecords()) {
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY,
+                    "Upstream page " + number + " has no records at " + settings.recordsPointer());
+        }
+
+        log.debug("내보내기 페이지 수신: page={}, records={}, nextCursor={}",
+                number, summary.recordCount(), summary.nextCursor());
+
+        return new Page(number, cursor, body, summary.recordCount(), summary.nextCursor());
+    }
+
+    private <T> Flux<T> records(Page page, DarkerDBRecordDecoder<T> decoder) {
+        return pageFormat.records(() -> objectMapper.createParser(page.body()), decoder)
+                .onErrorMap(UncheckedIOException.class, e -> new ResponseStatusException(HttpStatus.BAD_GATEWAY,
+                        "Upstream page " + page.number() + " has an unreadable record", e.getCause()));
+    }
+
+    // 첫 페이지는 클라이언트가 준 파라미터를 그대로 쓰고, 다음 페이지부터는 커서 파라미터만 바꿔 끼운다.
+    // 이름과 값을 모두 URI 변수로 넣어 엄격하게 인코딩하므로 커서에 든 + & = { 같은 문자도 값으로만 전달된다.
+    private String withCursor(String query, String cursor) {
+        MultiValueMap<String, String> parameters = UriComponentsBuilder.newInstance().query(query).build()
+                .getQueryParams();
+        UriComponentsBuilder builder = UriComponentsBuilder.newInstance();
+        Map<String, String> variables = new HashMap<>();
+
+        try {
+            parameters.forEach((name, values) -> {
+                String decodedName = URLDecoder.decode(name, StandardCharsets.UTF_8);
+                if (cursor != null && decodedName.equals(settings.cursorParam())) {
+                    return;
+                }
+
+                for (String value : values) {
+                    String nameVariable = variable(variables, decodedName);
+                    if (value == null) {
+                        builder.queryParam(nameVariable);
+                    } else {
+                        builder.queryParam(nameVariable,
+                                variable(variables, URLDecoder.decode(value, StandardCharsets.UTF_8)));
+                    }
+                }
+            });
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed query string", e);
+        }
+
+        if (cursor != null) {
+            builder.queryParam(variable(variables, settings.cursorParam()), variable(variables, cursor));
+        }
+
+        return builder.encode().buildAndExpand(variables).getQuery();
+    }
+
+    private static String variable(Map<String, String> variables, String value) {
+        String name = "v" + variables.size();
+        variables.put(name, value);
+        return "{" + name + "}";
+    }
+
+    private record Page(int number, String cursor, byte[] body, int recordCount, String nextCursor) {
+    }
+}
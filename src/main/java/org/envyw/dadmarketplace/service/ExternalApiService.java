@@ -1,8 +1,25 @@
 package org.envyw.dadmarketplace.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.envyw.dadmarketplace.proxy.AccessFrequencyTracker;
+import org.envyw.dadmarketplace.proxy.BufferedResponse;
+import org.envyw.dadmarketplace.proxy.ProxyCacheKey;
+import org.envyw.dadmarketplace.proxy.ProxyRequestCoalescer;
+import org.envyw.dadmarketplace.proxy.ProxyResponse;
+import org.envyw.dadmarketplace.proxy.ProxyResponseCache;
+import org.envyw.dadmarketplace.proxy.RoutePolicy;
+import org.envyw.dadmarketplace.proxy.RoutePolicyTable;
+import org.envyw.dadmarketplace.proxy.UpstreamGuard;
+import org.envyw.dadmarketplace.proxy.UpstreamHedger;
+import org.envyw.dadmarketplace.proxy.UpstreamRateLimiter;
+import org.envyw.dadmarketplace.proxy.exception.UpstreamRateLimitException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -12,8 +29,11 @@ import org.springframework.web.reactive.function.client.WebClientException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
+import java.net.URI;
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -23,58 +43,323 @@ public class ExternalApiService {
     @Value("${app.external-api.darkerdb-base-url}")
     private String EXTERNAL_API_BASE_URL;
 
-    private final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final String GZIP = "gzip";
+
+    private static final List<String> STREAMING_FORWARDED_HEADERS = List.of(
+            HttpHeaders.IF_NONE_MATCH,
+            HttpHeaders.IF_MODIFIED_SINCE,
+            HttpHeaders.ACCEPT_ENCODING
+    );
 
     private final WebClient webClient;
+    private final ProxyResponseCache proxyResponseCache;
+    private final ProxyRequestCoalescer proxyRequestCoalescer;
+    private final UpstreamGuard upstreamGuard;
+    private final UpstreamRateLimiter upstreamRateLimiter;
+    private final UpstreamHedger upstreamHedger;
+    private final AccessFrequencyTracker accessFrequencyTracker;
+    private final RoutePolicyTable routePolicyTable;
+    private final ObjectMapper objectMapper;
 
-    public Mono<ResponseEntity<Object>> proxyGetRequest(String path, String queryParams) {
-        if (!StringUtils.hasText(path)) {
-            log.warn("빈 경로로 외부 API 요청 시도");
-            return Mono.just(ResponseEntity.badRequest()
-                    .body(Map.of("error", "Path cannot be empty")));
+    public Mono<ProxyResponse> proxyGetRequest(String path, String queryParams) {
+        return proxyGetRequest(path, queryParams, HttpHeaders.EMPTY);
+    }
+
+    public Mono<ProxyResponse> proxyGetRequest(String path, String queryParams, HttpHeaders requestHeaders) {
+        ProxyCacheKey cacheKey = ProxyCacheKey.of(path, queryParams);
+        ProxyResponse unsafe = rejectUnsafePath(cacheKey);
+        if (unsafe != null) {
+            return Mono.just(unsafe);
+        }
+
+        RoutePolicy routePolicy = routePolicyTable.resolve(cacheKey.path());
+        ProxyResponse rejected = rejectPath(path, cacheKey, routePolicy);
+        if (rejected != null) {
+            return Mono.just(rejected);
+        }
+
+        if (!routePolicy.cache().isCacheable()) {
+            return streamFromUpstream(cacheKey, path, queryParams, requestHeaders, routePolicy);
+        }
+
+        accessFrequencyTracker.record(cacheKey);
+        ProxyResponseCache.Entry cached = proxyResponseCache.lookup(cacheKey);
+        if (cached != null) {
+            if (cached.isFresh()) {
+                log.debug("외부 API 캐시 응답: {}", cacheKey);
+                return Mono.just(cached.toResponse());
+            }
+
+            if (cached.isWithinStaleWhileRevalidate()) {
+                log.debug("외부 API 캐시 만료 응답 후 백그라운드 갱신: {}, age={}", cacheKey, cached.age());
+                revalidateInBackground(cacheKey, path, queryParams, cached, routePolicy);
+                return Mono.just(cached.toResponse());
+            }
+        }
+
+        return proxyRequestCoalescer.execute(cacheKey,
+                        () -> fetchFromUpstream(cacheKey, path, queryParams, cached, routePolicy, routePolicy.lane()))
+                .onErrorResume(ExternalApiService::isBufferLimitExceeded, throwable -> {
+                    log.warn("외부 API 응답이 버퍼 한도를 넘어 스트리밍으로 전환: {}", cacheKey);
+                    return streamFromUpstream(cacheKey, path, queryParams, requestHeaders, routePolicy);
+                });
+    }
+
+    /**
+     * 페이지를 끝까지 훑는 내보내기/수집용 요청. 경로 정책은 일반 프록시와 같지만, 한 번 읽고 버릴 페이지가 인기 항목을
+     * 밀어내지 않도록 캐시를 읽거나 채우지 않고, 사용자 요청의 토큰을 빼앗지 않도록 BACKGROUND lane 의 토큰을 쓴다.
+     * encodedQuery 는 이미 인코딩된 쿼리로 보고 다시 인코딩하지 않는다.
+     */
+    public Mono<ProxyResponse> scanGetRequest(String path, String encodedQuery) {
+        ProxyCacheKey cacheKey = ProxyCacheKey.of(path, encodedQuery);
+        ProxyResponse unsafe = rejectUnsafePath(cacheKey);
+        if (unsafe != null) {
+            return Mono.just(unsafe);
+        }
+
+        RoutePolicy routePolicy = routePolicyTable.resolve(cacheKey.path());
+        ProxyResponse rejected = rejectPath(path, cacheKey, routePolicy);
+        if (rejected != null) {
+            return Mono.just(rejected);
+        }
+
+        URI uri;
+        try {
+            uri = URI.create(buildFullUrl(path, encodedQuery));
+        } catch (IllegalArgumentException e) {
+            log.warn("잘못 인코딩된 외부 API 요청: path={}, query={}", path, encodedQuery);
+            return Mono.just(errorResponse(HttpStatus.BAD_REQUEST,
+                    Map.of("error", "Invalid path or query")));
         }
 
+        log.info("외부 API 페이지 요청 시작: {}", uri);
+
+        return requestBuffered(() -> webClient.get().uri(uri), null, routePolicy,
+                        UpstreamRateLimiter.Lane.BACKGROUND)
+                .map(BufferedResponse::from)
+                .doOnSuccess(response -> log.info("외부 API 페이지 요청 성공: {} - Status: {}", uri, response.status()))
+                .map(BufferedResponse::toProxyResponse)
+                .onErrorResume(throwable -> !isBufferLimitExceeded(throwable),
+                        throwable -> handleError(cacheKey, throwable));
+    }
+
+    /**
+     * 캐시 항목을 만료 전에 미리 갱신한다. 사용자 요청과 같은 키로 병합되며 BACKGROUND lane 의 토큰을 쓴다.
+     * route 정책에서 허용하지 않는 경로는 요청하지 않는다.
+     */
+    public Mono<Void> prefetch(ProxyCacheKey cacheKey) {
+        RoutePolicy routePolicy = routePolicyTable.resolve(cacheKey.path());
+        if (!routePolicy.allowed()) {
+            log.debug("허용되지 않은 경로의 선제 갱신 생략: {}", cacheKey);
+            return Mono.empty();
+        }
+
+        ProxyResponseCache.Entry cached = proxyResponseCache.peek(cacheKey);
+        log.debug("외부 API 선제 갱신: {}", cacheKey);
+
+        return proxyRequestCoalescer.execute(cacheKey,
+                        () -> fetchFromUpstream(cacheKey, cacheKey.path(), cacheKey.query(), cached, routePolicy,
+                                UpstreamRateLimiter.Lane.BACKGROUND))
+                .then();
+    }
+
+    private void revalidateInBackground(ProxyCacheKey cacheKey, String path, String queryParams,
+                                        ProxyResponseCache.Entry cached, RoutePolicy routePolicy) {
+        proxyRequestCoalescer.execute(cacheKey,
+                        () -> fetchFromUpstream(cacheKey, path, queryParams, cached, routePolicy,
+                                UpstreamRateLimiter.Lane.BACKGROUND))
+                .subscribe(response -> {
+                }, throwable -> log.warn("외부 API 백그라운드 갱신 실패: {}", cacheKey, throwable));
+    }
+
+    private Mono<ProxyResponse> fetchFromUpstream(ProxyCacheKey cacheKey, String path, String queryParams,
+                                                  ProxyResponseCache.Entry cached, RoutePolicy routePolicy,
+                                                  UpstreamRateLimiter.Lane lane) {
         String fullUrl = buildFullUrl(path, queryParams);
         log.info("외부 API 요청 시작: {}", fullUrl);
 
-        return webClient.get()
-                .uri(fullUrl)
-                .retrieve()
-                .toEntity(Object.class)
-                .timeout(REQUEST_TIMEOUT)
-                .doOnSuccess(response -> log.info("외부 API 요청 성공: {} - Status: {}",
-                        fullUrl, response.getStatusCode()))
-                .onErrorResume(this::handleError);
+        return requestBuffered(() -> webClient.get().uri(fullUrl), cached, routePolicy, lane)
+                .map(entity -> {
+                    if (cached != null && entity.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                        log.debug("외부 API 캐시 재검증 성공(304): {}", cacheKey);
+                        return cached.response();
+                    }
+                    return BufferedResponse.from(entity);
+                })
+                .doOnSuccess(response -> {
+                    log.info("외부 API 요청 성공: {} - Status: {}", fullUrl, response.status());
+                    proxyResponseCache.put(cacheKey, response);
+                })
+                .map(BufferedResponse::toProxyResponse)
+                .onErrorResume(throwable -> !isBufferLimitExceeded(throwable),
+                        throwable -> handleError(cacheKey, throwable));
     }
 
+    // 헤지 요청은 토큰 버킷 대신 UpstreamHedger 의 헤지 예산으로 제한한다.
+    private Mono<ResponseEntity<byte[]>> requestBuffered(Supplier<WebClient.RequestHeadersSpec<?>> request,
+                                                         ProxyResponseCache.Entry cached, RoutePolicy routePolicy,
+                                                         UpstreamRateLimiter.Lane lane) {
+        return upstreamRateLimiter.acquire(lane)
+                .then(upstreamHedger.hedge(HttpMethod.GET, () -> upstreamGuard.protect(request.get()
+                        .headers(headers -> {
+                            headers.set(HttpHeaders.ACCEPT_ENCODING, GZIP);
+                            applyCacheValidators(headers, cached);
+                        })
+                        .retrieve()
+                        .toEntity(byte[].class)
+                        .timeout(routePolicy.timeout()))));
+    }
+
+    private Mono<ProxyResponse> streamFromUpstream(ProxyCacheKey cacheKey, String path, String queryParams,
+                                                   HttpHeaders requestHeaders, RoutePolicy routePolicy) {
+        String fullUrl = buildFullUrl(path, queryParams);
+        log.info("외부 API 스트리밍 요청 시작: {}", fullUrl);
+
+        return upstreamRateLimiter.acquire(routePolicy.lane())
+                .then(upstreamGuard.protectStream(webClient.get()
+                        .uri(fullUrl)
+                        .headers(headers -> forwardClientHeaders(requestHeaders, headers))
+                        .retrieve()
+                        .toEntityFlux(DataBuffer.class)
+                        .timeout(routePolicy.timeout())))
+                .map(entity -> ProxyResponse.streaming(entity.getStatusCode(),
+                        ProxyResponse.forwardedHeaders(entity.getHeaders()), entity.getBody()))
+                .doOnSuccess(response -> log.info("외부 API 스트리밍 응답 수신: {} - Status: {}",
+                        fullUrl, response.status()))
+                .onErrorResume(throwable -> handleError(cacheKey, throwable));
+    }
+
+    // 정책은 인코딩된 경로의 segment 로 고르는데 업스트림은 dot segment 와 인코딩된 구분자를 풀어 해석하므로,
+    // 그런 경로는 정책을 고르기 전에 거절해 허용된 prefix 를 거쳐 막힌 route 로 가지 못하게 한다.
+    private ProxyResponse rejectUnsafePath(ProxyCacheKey cacheKey) {
+        if (RoutePolicyTable.isSafePath(cacheKey.path())) {
+            return null;
+        }
+
+        log.warn("dot segment 나 인코딩된 구분자가 있는 외부 API 경로 요청: {}", cacheKey.path());
+        return errorResponse(HttpStatus.BAD_REQUEST, Map.of("error", "Invalid path"));
+    }
+
+    private ProxyResponse rejectPath(String path, ProxyCacheKey cacheKey, RoutePolicy routePolicy) {
+        if (!StringUtils.hasText(path) || cacheKey.path().isEmpty()) {
+            log.warn("빈 경로로 외부 API 요청 시도");
+            return errorResponse(HttpStatus.BAD_REQUEST, Map.of("error", "Path cannot be empty"));
+        }
+
+        if (!routePolicy.allowed()) {
+            log.warn("허용되지 않은 외부 API 경로 요청: {}", cacheKey.path());
+            return errorResponse(HttpStatus.FORBIDDEN, Map.of("error", "Path is not allowed"));
+        }
+
+        return null;
+    }
+
+    private ProxyResponse errorResponse(HttpStatus status, Map<String, ?> body) {
+        return ProxyResponse.error(status, body, objectMapper);
+    }
+
+    // 요청마다 정규식을 돌리지 않도록 앞쪽 슬래시만 건너뛰고 필요한 크기로 한 번에 만든다.
     private String buildFullUrl(String path, String queryParams) {
-        StringBuilder urlBuilder = new StringBuilder(EXTERNAL_API_BASE_URL);
-        urlBuilder.append("/").append(path.replaceAll("^/+", ""));
+        int start = 0;
+        while (start < path.length() && path.charAt(start) == '/') {
+            start++;
+        }
+
+        boolean hasQuery = StringUtils.hasText(queryParams);
+        StringBuilder urlBuilder = new StringBuilder(EXTERNAL_API_BASE_URL.length() + path.length() - start + 2
+                + (hasQuery ? queryParams.length() : 0));
+        urlBuilder.append(EXTERNAL_API_BASE_URL).append('/').append(path, start, path.length());
 
-        if (StringUtils.hasText(queryParams)) {
-            urlBuilder.append("?").append(queryParams);
+        if (hasQuery) {
+            urlBuilder.append('?').append(queryParams);
         }
 
         return urlBuilder.toString();
     }
 
-    private Mono<ResponseEntity<Object>> handleError(Throwable throwable) {
-        log.error("외부 API 요청 중 오류 발생", throwable);
+    private static void applyCacheValidators(HttpHeaders headers, ProxyResponseCache.Entry cached) {
+        if (cached == null) {
+            return;
+        }
+
+        HttpHeaders cachedHeaders = cached.response().headers();
+        String etag = cachedHeaders.getETag();
+        if (etag != null) {
+            headers.setIfNoneMatch(etag);
+        }
+
+        long lastModified = cachedHeaders.getLastModified();
+        if (lastModified >= 0) {
+            headers.setIfModifiedSince(lastModified);
+        }
+    }
+
+    // 스트리밍 응답은 본문을 건드리지 않으므로 클라이언트가 받을 수 있는 인코딩을 그대로 업스트림에 요청한다.
+    private static void forwardClientHeaders(HttpHeaders requestHeaders, HttpHeaders headers) {
+        for (String name : STREAMING_FORWARDED_HEADERS) {
+            String value = requestHeaders.getFirst(name);
+            if (value != null) {
+                headers.set(name, value);
+            }
+        }
+    }
+
+    private static boolean isBufferLimitExceeded(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataBufferLimitException) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private Mono<ProxyResponse> handleError(ProxyCacheKey cacheKey, Throwable throwable) {
+        if (UpstreamGuard.isRejection(throwable) || throwable instanceof UpstreamRateLimitException) {
+            log.warn("외부 API 호출 거절: {} - {}", cacheKey, throwable.getMessage());
+        } else {
+            log.error("외부 API 요청 중 오류 발생", throwable);
+        }
+
+        if (UpstreamGuard.isUpstreamFailure(throwable)) {
+            ProxyResponseCache.Entry stale = proxyResponseCache.lookup(cacheKey);
+            if (stale != null && stale.isWithinStaleIfError()) {
+                log.warn("외부 API 오류로 만료된 캐시 응답 사용: {}, age={}", cacheKey, stale.age());
+                return Mono.just(stale.toResponse());
+            }
+        }
+
+        if (throwable instanceof UpstreamRateLimitException rateLimitException) {
+            return Mono.just(unavailable("External API request budget exceeded",
+                    rateLimitException.getRetryAfter()));
+        }
+
+        if (UpstreamGuard.isRejection(throwable)) {
+            return Mono.just(unavailable("External API temporarily unavailable", upstreamGuard.retryAfter()));
+        }
 
         if (throwable instanceof WebClientResponseException responseException) {
             return handleWebClientResponseException(responseException);
         }
 
         if (throwable instanceof WebClientException) {
-            return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-                    .body(Map.of("error", "External API connection error: " + throwable.getMessage())));
+            return Mono.just(errorResponse(HttpStatus.SERVICE_UNAVAILABLE,
+                    Map.of("error", "External API connection error: " + throwable.getMessage())));
         }
 
-        return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(Map.of("error", "Unexpected error occurred: " + throwable.getMessage())));
+        return Mono.just(errorResponse(HttpStatus.INTERNAL_SERVER_ERROR,
+                Map.of("error", "Unexpected error occurred: " + throwable.getMessage())));
+    }
+
+    private ProxyResponse unavailable(String message, Duration retryAfter) {
+        ProxyResponse response = errorResponse(HttpStatus.SERVICE_UNAVAILABLE, Map.of("error", message));
+        long retryAfterSeconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        response.headers().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+
+        return response;
     }
 
-    private Mono<ResponseEntity<Object>> handleWebClientResponseException(WebClientResponseException ex) {
+    private Mono<ProxyResponse> handleWebClientResponseException(WebClientResponseException ex) {
         HttpStatus status = (HttpStatus) ex.getStatusCode();
         String errorMessage;
         HttpStatus responseStatus;
@@ -90,8 +375,8 @@ public class ExternalApiService {
             responseStatus = HttpStatus.INTERNAL_SERVER_ERROR;
         }
 
-        return Mono.just(ResponseEntity.status(responseStatus)
-                .body(Map.of(
+        return Mono.just(errorResponse(responseStatus,
+                Map.of(
                         "error", errorMessage,
                         "originalStatus", status.value(),
                         "originalMessage", ex.getStatusText()
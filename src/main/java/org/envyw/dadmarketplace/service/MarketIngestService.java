@@ -0,0 +1,253 @@
+package org.envyw.dadmarketplace.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.envyw.dadmarketplace.config.MarketIngestProperties;
+import org.envyw.dadmarketplace.entity.MarketListing;
+import org.envyw.dadmarketplace.index.ItemPriceIndex;
+import org.envyw.dadmarketplace.repository.MarketListingBatchWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DarkerDB 마켓 목록을 주기적으로 내려받아 market_listings 테이블에 반영한다. 페이지는 {@link DarkerDBExportService} 로
+ * 받고, 직전에 쓴 내용과 해시가 같은 행은 건너뛰며, 바뀐 행만 batchSize 개씩 묶어 maxInFlight 개 문장까지 동시에 쓴다.
+ * 쓰기가 밀리면 flatMap 의 요청량이 줄어 페이지 수신도 함께 늦춰진다.
+ */
+@Service
+@Slf4j
+public class MarketIngestService {
+
+    private final MarketIngestProperties settings;
+    private final DarkerDBExportService darkerDBExportService;
+    private final MarketListingBatchWriter marketListingBatchWriter;
+    private final PriceHistoryService priceHistoryService;
+    private final ItemPriceIndex itemPriceIndex;
+    private final Scheduler scheduler;
+    private final boolean ownsScheduler;
+    private final Clock clock;
+
+    private final Cache<Long, Long> writtenHashes;
+    private final Counter writtenRows;
+    private final Counter unchangedRows;
+    private final Counter invalidRows;
+    private final Counter removedRows;
+    private final Timer runTimer;
+    private final AtomicLong lastSuccessStartedAtMillis = new AtomicLong(-1);
+    private volatile double lastThroughput;
+
+    private Disposable ticker;
+
+    @Autowired
+    public MarketIngestService(MarketIngestProperties settings, DarkerDBExportService darkerDBExportService,
+                               MarketListingBatchWriter marketListingBatchWriter,
+                               PriceHistoryService priceHistoryService, ItemPriceIndex itemPriceIndex,
+                               MeterRegistry meterRegistry) {
+        this(settings, darkerDBExportService, marketListingBatchWriter, priceHistoryService, itemPriceIndex,
+                meterRegistry, Schedulers.newSingle("market-ingest", true), true, Clock.systemUTC());
+    }
+
+    public MarketIngestService(MarketIngestProperties settings, DarkerDBExportService darkerDBExportService,
+                               MarketListingBatchWriter marketListingBatchWriter,
+                               PriceHistoryService priceHistoryService, ItemPriceIndex itemPriceIndex,
+                               MeterRegistry meterRegistry, Scheduler scheduler, Clock clock) {
+        this(settings, darkerDBExportService, marketListingBatchWriter, priceHistoryService, itemPriceIndex,
+                meterRegistry, scheduler, false, clock);
+    }
+
+    private MarketIngestService(MarketIngestProperties settings, DarkerDBExportService darkerDBExportService,
+                                MarketListingBatchWriter marketListingBatchWriter,
+                                PriceHistoryService priceHistoryService, ItemPriceIndex itemPriceIndex,
+                                MeterRegistry meterRegistry, Scheduler scheduler, boolean ownsScheduler, Clock clock) {
+        this.settings = settings;
+        this.darkerDBExportService = darkerDBExportService;
+        this.marketListingBatchWriter = marketListingBatchWriter;
+        this.priceHistoryService = priceHistoryService;
+        this.itemPriceIndex = itemPriceIndex;
+        this.scheduler = scheduler;
+        this.ownsScheduler = ownsScheduler;
+        this.clock = clock;
+        this.writtenHashes = Caffeine.newBuilder()
+                .maximumSize(settings.maxTrackedListings())
+                .build();
+
+        this.writtenRows = rowCounter(meterRegistry, "written");
+        this.unchangedRows = rowCounter(meterRegistry, "unchanged");
+        this.invalidRows = rowCounter(meterRegistry, "invalid");
+        this.removedRows = rowCounter(meterRegistry, "removed");
+        this.runTimer = Timer.builder("market.ingest.duration")
+                .description("마켓 목록 수집 1회에 걸린 시간")
+                .register(meterRegistry);
+
+        Gauge.builder("market.ingest.throughput", this, service -> service.lastThroughput)
+                .description("직전 수집의 초당 처리 행 수")
+                .baseUnit("rows/s")
+                .register(meterRegistry);
+        Gauge.builder("market.ingest.lag", this, MarketIngestService::lagSeconds)
+                .description("마지막으로 성공한 수집이 시작된 뒤 지난 시간")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!settings.enabled()) {
+            log.info("마켓 목록 수집 비활성화");
+            return;
+        }
+
+        // 이전 수집이 끝나지 않았으면 그 틱은 건너뛰어 실행이 겹치지 않게 한다.
+        ticker = Flux.interval(Duration.ZERO, settings.interval(), scheduler)
+                .onBackpressureDrop(tick -> log.debug("이전 마켓 목록 수집이 진행 중이라 건너뜀"))
+                .concatMap(tick -> ingestOnce()
+                        .onErrorResume(throwable -> {
+                            log.warn("마켓 목록 수집 실패", throwable);
+                            return Mono.empty();
+                        }), 0)
+                .subscribe();
+        log.info("마켓 목록 수집 시작: {}", settings);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.dispose();
+        }
+        if (ownsScheduler) {
+            scheduler.dispose();
+        }
+    }
+
+    /**
+     * 한 번 수집한다. 받은 행 수, 쓴 행 수, 걸린 시간을 돌려준다.
+     * 끝까지 받은 수집이면 이번에 보이지 않은 목록을 테이블과 가격 인덱스에서 빼고, 다시 나타나면 새로 반영되도록 해시도 잊는다.
+     */
+    Mono<IngestRun> ingestOnce() {
+        return Mono.defer(() -> {
+            long startedAtMillis = clock.millis();
+            AtomicLong fetched = new AtomicLong();
+            Set<Long> seen = new HashSet<>();
+            AtomicBoolean truncated = new AtomicBoolean();
+
+            // 쓰지 않는 필드는 트리로 만들지 않고 파서에서 바로 건너뛴다. 쓸 수 없는 레코드는 디코더가 걸러낸다.
+            return darkerDBExportService.export(settings.path(), settings.query(), parser -> {
+                        fetched.incrementAndGet();
+                        MarketListing listing = MarketListing.fromDarkerDB(parser);
+                        if (listing == null) {
+                            invalidRows.increment();
+                        } else {
+                            seen.add(listing.getListingId());
+                        }
+                        return listing;
+                    }, () -> truncated.set(true))
+                    .filter(this::hasChanged)
+                    .buffer(settings.batchSize())
+                    .flatMap(this::write, settings.maxInFlight())
+                    .reduce(0L, Long::sum)
+                    .flatMap(written -> removeUnseen(seen, truncated.get()).thenReturn(written))
+                    .map(written -> {
+                        Duration elapsed = Duration.ofMillis(clock.millis() - startedAtMillis);
+                        IngestRun run = new IngestRun(fetched.get(), written, elapsed);
+
+                        itemPriceIndex.evictExpired(LocalDateTime.now(clock));
+                        runTimer.record(elapsed);
+                        lastThroughput = elapsed.isZero() ? fetched.get() : fetched.get() * 1000.0 / elapsed.toMillis();
+                        lastSuccessStartedAtMillis.set(startedAtMillis);
+                        log.info("마켓 목록 수집 완료: {}", run);
+                        return run;
+                    });
+        });
+    }
+
+    private boolean hasChanged(MarketListing listing) {
+        Long previous = writtenHashes.getIfPresent(listing.getListingId());
+        if (previous != null && previous == listing.contentHash()) {
+            unchangedRows.increment();
+            return false;
+        }
+
+        return true;
+    }
+
+    // 목록 쓰기와 가격 이력 기록이 모두 성공한 뒤에만 해시를 기억해, 둘 중 하나라도 실패한 묶음은 다음 수집에서 다시 쓴다.
+    // 가격 이력 기록은 같은 관측값을 두 번 세지 않으므로 다시 보내도 된다. 이력 실패는 이번 수집을 실패시키지 않는다.
+    private Mono<Long> write(List<MarketListing> batch) {
+        return marketListingBatchWriter.upsert(batch)
+                .doOnSuccess(rows -> {
+                    writtenRows.increment(batch.size());
+                    itemPriceIndex.apply(batch, LocalDateTime.now(clock));
+                })
+                .then(priceHistoryService.record(batch)
+                        .then(Mono.fromRunnable(() -> {
+                            for (MarketListing listing : batch) {
+                                writtenHashes.put(listing.getListingId(), listing.contentHash());
+                            }
+                        }))
+                        .onErrorResume(throwable -> {
+                            log.warn("가격 이력 기록 실패, 다음 수집에서 다시 기록: rows={}", batch.size(), throwable);
+                            return Mono.empty();
+                        }))
+                .thenReturn((long) batch.size());
+    }
+
+    // 잘린 수집이나 한 건도 받지 못한 수집은 팔린 목록과 아직 못 받은 목록을 구분할 수 없으므로 아무것도 지우지 않는다.
+    // 지우기에 실패한 행은 테이블에 남으므로 다음 수집에서 다시 가려내 지운다. 정리 실패는 이번 수집을 실패시키지 않는다.
+    private Mono<Long> removeUnseen(Set<Long> seen, boolean truncated) {
+        if (truncated || seen.isEmpty()) {
+            log.warn("마켓 목록 수집이 잘렸거나 비어 있어 사라진 목록 정리를 건너뜀: truncated={}", truncated);
+            return Mono.just(0L);
+        }
+
+        writtenHashes.invalidateAll(itemPriceIndex.retainSeen(seen));
+        return marketListingBatchWriter.findListingIds()
+                .filter(listingId -> !seen.contains(listingId))
+                .collectList()
+                .flatMapMany(unseen -> Flux.fromIterable(unseen).buffer(settings.batchSize()))
+                .concatMap(listingIds -> marketListingBatchWriter.deleteByListingIds(listingIds)
+                        .doOnSuccess(rows -> {
+                            writtenHashes.invalidateAll(listingIds);
+                            removedRows.increment(listingIds.size());
+                        }))
+                .reduce(0L, Long::sum)
+                .onErrorResume(throwable -> {
+                    log.warn("사라진 마켓 목록 정리 실패, 다음 수집에서 다시 정리", throwable);
+                    return Mono.just(0L);
+                });
+    }
+
+    private double lagSeconds() {
+        long startedAt = lastSuccessStartedAtMillis.get();
+        return startedAt < 0 ? Double.NaN : (clock.millis() - startedAt) / 1000.0;
+    }
+
+    private static Counter rowCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("market.ingest.rows")
+                .description("마켓 목록 수집에서 처리한 행 수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    record IngestRun(long fetched, long written, Duration elapsed) {
+    }
+}
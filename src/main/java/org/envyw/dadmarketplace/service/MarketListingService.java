@@ -0,0 +1,51 @@
+package org.envyw.dadmarketplace.service;
+
+import lombok.RequiredArgsConstructor;
+import org.envyw.dadmarketplace.dto.response.MarketListingResDto;
+import org.envyw.dadmarketplace.dto.response.PriceStatsResDto;
+import org.envyw.dadmarketplace.index.ItemPriceIndex;
+import org.envyw.dadmarketplace.index.PriceColumn;
+import org.envyw.dadmarketplace.repository.MarketListingRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+/**
+ * 수집해 둔 market_listings 에서 최근 목록을 조회하고, 메모리 가격 인덱스로 현재 시세 통계를 낸다. DarkerDB 를 거치지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MarketListingService {
+
+    static final int MAX_LIMIT = 200;
+
+    private final MarketListingRepository marketListingRepository;
+    private final ItemPriceIndex itemPriceIndex;
+
+    public Flux<MarketListingResDto> getRecentListings(String itemId, int limit) {
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_LIMIT)));
+
+        return (itemId != null && !itemId.isBlank()
+                ? marketListingRepository.findByItemIdOrderByListedAtDesc(itemId, page)
+                : marketListingRepository.findAllByOrderByListedAtDesc(page))
+                .map(MarketListingResDto::from);
+    }
+
+    /**
+     * 판매 중인 목록의 단가 분포. rarity 를 주지 않으면 아이템의 모든 등급을 합쳐 낸다.
+     * min / max 를 모두 주면 그 사이(양 끝 포함) 목록 수도 함께 돌려준다.
+     */
+    public PriceStatsResDto getPriceStats(String itemId, String rarity, Integer min, Integer max) {
+        PriceColumn column = rarity != null && !rarity.isBlank()
+                ? itemPriceIndex.column(itemId, rarity)
+                : itemPriceIndex.columnForItem(itemId);
+        Integer countInRange = min != null && max != null ? column.countInRange(min, max) : null;
+
+        if (column.isEmpty()) {
+            return new PriceStatsResDto(itemId, rarity, 0, null, null, null, null, null, countInRange);
+        }
+
+        return new PriceStatsResDto(itemId, rarity, column.size(), column.min(), column.percentile(0.1),
+                column.median(), column.percentile(0.9), column.max(), countInRange);
+    }
+}
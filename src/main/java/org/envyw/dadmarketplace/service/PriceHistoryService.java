@@ -0,0 +1,370 @@
+package org.envyw.dadmarketplace.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.envyw.dadmarketplace.config.PriceHistoryProperties;
+import org.envyw.dadmarketplace.dto.EquipmentDto;
+import org.envyw.dadmarketplace.dto.RarityDto;
+import org.envyw.dadmarketplace.dto.response.PriceHistoryResDto;
+import org.envyw.dadmarketplace.entity.MarketListing;
+import org.envyw.dadmarketplace.entity.PriceResolution;
+import org.envyw.dadmarketplace.repository.PriceHistoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 수집한 마켓 목록에서 아이템(equipments.json id)·등급(rarities.json id)별 가격을 기록하고 범위 조회에 답한다.
+ * 관측값은 원본과 함께 1분/1시간/1일 집계에 바로 더해 두므로, 긴 범위 조회는 미리 집계된 행만 읽는다.
+ */
+@Service
+@Slf4j
+public class PriceHistoryService {
+
+    private static final List<PriceResolution> ROLLUPS = List.of(PriceResolution.MINUTE, PriceResolution.HOUR,
+            PriceResolution.DAY);
+
+    private final PriceHistoryProperties settings;
+    private final PriceHistoryRepository priceHistoryRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final Scheduler scheduler;
+    private final boolean ownsScheduler;
+    private final Clock clock;
+    private final Mono<Catalog> catalog;
+
+    private final Cache<Long, Double> recordedPrices;
+    private final Counter recordedCounter;
+    private final Counter unchangedCounter;
+    private final Counter unmatchedCounter;
+
+    private Disposable pruner;
+
+    @Autowired
+    public PriceHistoryService(PriceHistoryProperties settings, PriceHistoryRepository priceHistoryRepository,
+                               TransactionalOperator transactionalOperator, SearchKeywordService searchKeywordService,
+                               MeterRegistry meterRegistry) {
+        this(settings, priceHistoryRepository, transactionalOperator, searchKeywordService, meterRegistry,
+                Schedulers.newSingle("price-history-prune", true), true, Clock.systemUTC());
+    }
+
+    public PriceHistoryService(PriceHistoryProperties settings, PriceHistoryRepository priceHistoryRepository,
+                               TransactionalOperator transactionalOperator, SearchKeywordService searchKeywordService,
+                               MeterRegistry meterRegistry, Scheduler scheduler, Clock clock) {
+        this(settings, priceHistoryRepository, transactionalOperator, searchKeywordService, meterRegistry,
+                scheduler, false, clock);
+    }
+
+    private PriceHistoryService(PriceHistoryProperties settings, PriceHistoryRepository priceHistoryRepository,
+                                TransactionalOperator transactionalOperator, SearchKeywordService searchKeywordService,
+                                MeterRegistry meterRegistry, Scheduler scheduler, boolean ownsScheduler, Clock clock) {
+        this.settings = settings;
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.scheduler = scheduler;
+        this.ownsScheduler = ownsScheduler;
+        this.clock = clock;
+        this.catalog = Mono.zip(searchKeywordService.getEquipments(), searchKeywordService.getRarities())
+                .map(tuple -> new Catalog(tuple.getT1().body(), tuple.getT2().body()))
+                .cache();
+        this.recordedPrices = Caffeine.newBuilder()
+                .maximumSize(settings.maxTrackedListings())
+                .build();
+
+        this.recordedCounter = observationCounter(meterRegistry, "recorded");
+        this.unchangedCounter = observationCounter(meterRegistry, "unchanged");
+        this.unmatchedCounter = observationCounter(meterRegistry, "unmatched");
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!settings.enabled()) {
+            log.info("가격 이력 비활성화");
+            return;
+        }
+
+        pruner = Flux.interval(settings.pruneInterval(), settings.pruneInterval(), scheduler)
+                .onBackpressureDrop()
+                .concatMap(tick -> prune()
+                        .onErrorResume(throwable -> {
+                            log.warn("가격 이력 정리 실패", throwable);
+                            return Mono.empty();
+                        }), 0)
+                .subscribe();
+        log.info("가격 이력 정리 시작: {}", settings);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (pruner != null) {
+            pruner.dispose();
+        }
+        if (ownsScheduler) {
+            scheduler.dispose();
+        }
+    }
+
+    /**
+     * 목록의 가격을 수집 시각의 관측값으로 기록한다. 목록의 가장 최근 관측값과 가격이 같으면 기록하지 않으므로
+     * 가격이 바뀔 때만 새 관측값이 생기며, 예전 가격으로 되돌아간 것(A→B→A)도 새 관측값이다.
+     * 메모리의 recordedPrices 는 DB 왕복을 줄이는 용도일 뿐이고, 중복 판단은 price_points 의 최근 관측값과
+     * (listing_id, change_seq) 유일 키가 한다. 원본 관측값과 집계는 한 트랜잭션으로 쓰며 집계에는 실제로 새로 들어간 관측값만 더한다.
+     */
+    public Mono<Void> record(List<MarketListing> listings) {
+        if (!settings.enabled() || listings.isEmpty()) {
+            return Mono.empty();
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        return catalog.flatMap(current -> {
+            // 한 묶음에 같은 목록이 두 번 있으면 같은 change_seq 를 받게 되므로 마지막 것만 남긴다.
+            Map<Long, PriceHistoryRepository.Observation> observations = new LinkedHashMap<>();
+
+            for (MarketListing listing : listings) {
+                Double price = unitPrice(listing);
+                String itemId = current.resolveItemId(listing.getItemId());
+                Integer rarityId = current.resolveRarityId(listing.getRarity());
+                if (listing.getListingId() == null || price == null || itemId == null || rarityId == null) {
+                    unmatchedCounter.increment();
+                    continue;
+                }
+                if (price.equals(recordedPrices.getIfPresent(listing.getListingId()))) {
+                    unchangedCounter.increment();
+                    continue;
+                }
+
+                PriceHistoryRepository.Observation replaced = observations.put(listing.getListingId(),
+                        new PriceHistoryRepository.Observation(listing.getListingId(), 1, itemId, rarityId, now,
+                                price));
+                if (replaced != null) {
+                    unchangedCounter.increment();
+                }
+            }
+
+            if (observations.isEmpty()) {
+                return Mono.empty();
+            }
+
+            List<PriceHistoryRepository.Observation> candidates = List.copyOf(observations.values());
+            return transactionalOperator.transactional(priceHistoryRepository.findLatest(
+                                    List.copyOf(observations.keySet()))
+                            .collectMap(PriceHistoryRepository.LatestPoint::listingId)
+                            .flatMap(latest -> insertChanged(candidates, latest)))
+                    .doOnSuccess(inserted -> {
+                        candidates.forEach(observation ->
+                                recordedPrices.put(observation.listingId(), observation.price()));
+                        recordedCounter.increment(inserted);
+                        unchangedCounter.increment(candidates.size() - inserted);
+                    })
+                    .then();
+        });
+    }
+
+    // 먼저 읽은 뒤에 다른 트랜잭션이 같은 목록의 다음 change_seq 를 넣었다면 INSERT IGNORE 가 건너뛴 행이 어느 것인지 알 수 없다.
+    // 그때는 집계를 더하지 않고 트랜잭션 전체를 되돌려 두 번 세는 일이 없게 한다.
+    private Mono<Integer> insertChanged(List<PriceHistoryRepository.Observation> candidates,
+                                        Map<Long, PriceHistoryRepository.LatestPoint> latest) {
+        List<PriceHistoryRepository.Observation> changed = new ArrayList<>(candidates.size());
+        for (PriceHistoryRepository.Observation observation : candidates) {
+            PriceHistoryRepository.LatestPoint previous = latest.get(observation.listingId());
+            if (previous == null) {
+                changed.add(observation);
+            } else if (previous.price() != observation.price()) {
+                changed.add(observation.after(previous));
+            }
+        }
+        if (changed.isEmpty()) {
+            return Mono.just(0);
+        }
+
+        return priceHistoryRepository.insertPoints(changed)
+                .flatMap(inserted -> inserted == changed.size()
+                        ? priceHistoryRepository.upsertRollups(rollupDeltas(changed)).thenReturn(changed.size())
+                        : Mono.error(new IllegalStateException("가격 관측값이 동시에 기록됨: expected="
+                                + changed.size() + ", inserted=" + inserted)));
+    }
+
+    /**
+     * itemId / rarityId 의 [from, to) 가격 이력을 points 개 이상을 채우는 가장 거친 해상도로 돌려준다.
+     */
+    public Mono<PriceHistoryResDto> getHistory(String itemId, int rarityId, LocalDateTime from, LocalDateTime to,
+                                               Integer points) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now(clock);
+        LocalDateTime start = from != null ? from : end.minusDays(7);
+        int requestedPoints = Math.max(1, Math.min(points != null ? points : settings.defaultPoints(),
+                settings.maxPoints()));
+
+        if (!start.isBefore(end)) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to"));
+        }
+
+        return catalog.flatMap(current -> {
+            if (!current.equipmentIds().contains(itemId)) {
+                return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown item id: " + itemId));
+            }
+            if (!current.rarityIds().contains(rarityId)) {
+                return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown rarity id: " + rarityId));
+            }
+
+            PriceResolution resolution = chooseResolution(start, end, requestedPoints, LocalDateTime.now(clock));
+            Flux<PriceHistoryResDto.Point> rows = resolution == PriceResolution.RAW
+                    ? priceHistoryRepository.findPoints(itemId, rarityId, start, end)
+                    : priceHistoryRepository.findRollups(itemId, rarityId, resolution, start, end);
+
+            return rows.collectList()
+                    .map(result -> new PriceHistoryResDto(itemId, rarityId, resolution.label(), result));
+        });
+    }
+
+    /**
+     * 보관 기간 안에 있으면서 범위를 points 개 이상의 구간으로 나누는 가장 거친 집계를 고른다.
+     * 그런 집계가 없으면 원본을 쓰고, 원본도 지워진 범위면 남아 있는 가장 촘촘한 집계를 쓴다.
+     */
+    PriceResolution chooseResolution(LocalDateTime from, LocalDateTime to, int points, LocalDateTime now) {
+        long rangeSeconds = Duration.between(from, to).toSeconds();
+
+        for (PriceResolution resolution : List.of(PriceResolution.DAY, PriceResolution.HOUR, PriceResolution.MINUTE)) {
+            if (isRetained(resolution, from, now) && rangeSeconds / resolution.bucketSeconds() >= points) {
+                return resolution;
+            }
+        }
+
+        if (isRetained(PriceResolution.RAW, from, now)) {
+            return PriceResolution.RAW;
+        }
+
+        return isRetained(PriceResolution.MINUTE, from, now) ? PriceResolution.MINUTE
+                : isRetained(PriceResolution.HOUR, from, now) ? PriceResolution.HOUR
+                : PriceResolution.DAY;
+    }
+
+    Mono<Void> prune() {
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        return priceHistoryRepository.deletePointsBefore(now.minus(settings.rawRetention()))
+                .then(priceHistoryRepository.deleteRollupsBefore(PriceResolution.MINUTE,
+                        now.minus(settings.minuteRetention())))
+                .then(priceHistoryRepository.deleteRollupsBefore(PriceResolution.HOUR,
+                        now.minus(settings.hourRetention())))
+                .doOnSuccess(rows -> log.debug("가격 이력 정리 완료"))
+                .then();
+    }
+
+    private boolean isRetained(PriceResolution resolution, LocalDateTime from, LocalDateTime now) {
+        return switch (resolution) {
+            case RAW -> !from.isBefore(now.minus(settings.rawRetention()));
+            case MINUTE -> !from.isBefore(now.minus(settings.minuteRetention()));
+            case HOUR -> !from.isBefore(now.minus(settings.hourRetention()));
+            case DAY -> true;
+        };
+    }
+
+    // 같은 구간에 들어가는 관측값은 미리 합쳐 구간당 한 행만 보낸다.
+    private static List<PriceHistoryRepository.RollupDelta> rollupDeltas(
+            List<PriceHistoryRepository.Observation> observations) {
+        Map<RollupKey, double[]> buckets = new LinkedHashMap<>();
+
+        for (PriceHistoryRepository.Observation observation : observations) {
+            for (PriceResolution resolution : ROLLUPS) {
+                RollupKey key = new RollupKey(observation.itemId(), observation.rarityId(), resolution,
+                        resolution.bucketStart(observation.observedAt()));
+                double[] aggregate = buckets.computeIfAbsent(key, ignored ->
+                        new double[]{Double.MAX_VALUE, -Double.MAX_VALUE, 0, 0});
+                aggregate[0] = Math.min(aggregate[0], observation.price());
+                aggregate[1] = Math.max(aggregate[1], observation.price());
+                aggregate[2] += observation.price();
+                aggregate[3]++;
+            }
+        }
+
+        List<PriceHistoryRepository.RollupDelta> deltas = new ArrayList<>(buckets.size());
+        buckets.forEach((key, aggregate) -> deltas.add(new PriceHistoryRepository.RollupDelta(key.itemId(),
+                key.rarityId(), key.resolution(), key.bucketStart(), aggregate[0], aggregate[1], aggregate[2],
+                (long) aggregate[3])));
+        return deltas;
+    }
+
+    private static Double unitPrice(MarketListing listing) {
+        if (listing.getPricePerUnit() != null) {
+            return listing.getPricePerUnit();
+        }
+        if (listing.getPrice() == null) {
+            return null;
+        }
+
+        int quantity = listing.getQuantity() != null && listing.getQuantity() > 1 ? listing.getQuantity() : 1;
+        return (double) listing.getPrice() / quantity;
+    }
+
+    private static Counter observationCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("price.history.observations")
+                .description("가격 이력으로 넘어온 목록 수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record RollupKey(String itemId, int rarityId, PriceResolution resolution, LocalDateTime bucketStart) {
+    }
+
+    /**
+     * 마켓의 item_id / rarity 를 equipments.json, rarities.json 의 id 로 맞춘다.
+     * item_id 가 그대로 없으면 끝의 숫자 접미사를 떼어 낸 archetype 으로 찾는다(예: "ArcaneHood_4001" → "ArcaneHood_1001").
+     */
+    private record Catalog(Set<String> equipmentIds, Map<String, String> idsByArchetype,
+                           Map<String, Integer> rarityIdsByName, Set<Integer> rarityIds) {
+
+        private Catalog(List<EquipmentDto> equipments, List<RarityDto> rarities) {
+            this(new HashSet<>(), new HashMap<>(), new HashMap<>(), new HashSet<>());
+            for (EquipmentDto equipment : equipments) {
+                equipmentIds.add(equipment.id());
+                idsByArchetype.putIfAbsent(equipment.archetype(), equipment.id());
+            }
+            for (RarityDto rarity : rarities) {
+                rarityIdsByName.put(rarity.name().toLowerCase(Locale.ROOT), rarity.id());
+                rarityIds.add(rarity.id());
+            }
+        }
+
+        private String resolveItemId(String marketItemId) {
+            if (marketItemId == null) {
+                return null;
+            }
+            if (equipmentIds.contains(marketItemId)) {
+                return marketItemId;
+            }
+
+            String archetype = marketItemId.replaceFirst("_\\d+$", "");
+            archetype = archetype.substring(archetype.lastIndexOf('_') + 1);
+            return idsByArchetype.get(archetype);
+        }
+
+        private Integer resolveRarityId(String rarity) {
+            return rarity != null ? rarityIdsByName.get(rarity.trim().toLowerCase(Locale.ROOT)) : null;
+        }
+    }
+}
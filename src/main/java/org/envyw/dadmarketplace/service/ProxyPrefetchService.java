@@ -0,0 +1,174 @@
+package org.envyw.dadmarketplace.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.envyw.dadmarketplace.config.ExternalApiProperties;
+import org.envyw.dadmarketplace.proxy.AccessFrequencyTracker;
+import org.envyw.dadmarketplace.proxy.ProxyCacheKey;
+import org.envyw.dadmarketplace.proxy.ProxyResponseCache;
+import org.envyw.dadmarketplace.proxy.RoutePolicyTable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 자주 조회되는 DarkerDB 키를 TTL 만료 직전에 미리 갱신해 사용자가 업스트림 지연을 겪지 않게 한다.
+ * 단일 스레드 스케줄러에서 interval 마다 상위 키를 고르고, 동시에 진행 중인 갱신은 maxConcurrency 개로 제한한다.
+ */
+@Service
+@Slf4j
+public class ProxyPrefetchService {
+
+    private final ExternalApiProperties.Prefetch settings;
+    private final ExternalApiService externalApiService;
+    private final ProxyResponseCache proxyResponseCache;
+    private final AccessFrequencyTracker accessFrequencyTracker;
+    private final RoutePolicyTable routePolicyTable;
+    private final Scheduler scheduler;
+    private final boolean ownsScheduler;
+
+    private final Set<ProxyCacheKey> inFlight = ConcurrentHashMap.newKeySet();
+    private final Counter refreshCounter;
+
+    private Disposable ticker;
+
+    @Autowired
+    public ProxyPrefetchService(ExternalApiProperties properties, ExternalApiService externalApiService,
+                                ProxyResponseCache proxyResponseCache, AccessFrequencyTracker accessFrequencyTracker,
+                                RoutePolicyTable routePolicyTable, MeterRegistry meterRegistry) {
+        this(properties.prefetch(), externalApiService, proxyResponseCache, accessFrequencyTracker, routePolicyTable,
+                meterRegistry, Schedulers.newSingle("darkerdb-prefetch", true), true);
+    }
+
+    public ProxyPrefetchService(ExternalApiProperties.Prefetch settings, ExternalApiService externalApiService,
+                                ProxyResponseCache proxyResponseCache, AccessFrequencyTracker accessFrequencyTracker,
+                                RoutePolicyTable routePolicyTable, MeterRegistry meterRegistry, Scheduler scheduler) {
+        this(settings, externalApiService, proxyResponseCache, accessFrequencyTracker, routePolicyTable,
+                meterRegistry, scheduler, false);
+    }
+
+    private ProxyPrefetchService(ExternalApiProperties.Prefetch settings, ExternalApiService externalApiService,
+                                 ProxyResponseCache proxyResponseCache, AccessFrequencyTracker accessFrequencyTracker,
+                                 RoutePolicyTable routePolicyTable, MeterRegistry meterRegistry, Scheduler scheduler,
+                                 boolean ownsScheduler) {
+        this.settings = settings;
+        this.externalApiService = externalApiService;
+        this.proxyResponseCache = proxyResponseCache;
+        this.accessFrequencyTracker = accessFrequencyTracker;
+        this.routePolicyTable = routePolicyTable;
+        this.scheduler = scheduler;
+        this.ownsScheduler = ownsScheduler;
+        this.refreshCounter = Counter.builder("darkerdb.proxy.prefetch.started")
+                .description("선제 갱신을 시작한 횟수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!settings.enabled()) {
+            log.info("인기 키 선제 갱신 비활성화");
+            return;
+        }
+
+        ticker = Flux.interval(settings.interval(), settings.interval(), scheduler)
+                .subscribe(tick -> refreshDueKeys(),
+                        throwable -> log.error("인기 키 선제 갱신 스케줄 중단", throwable));
+        log.info("인기 키 선제 갱신 시작: {}", settings);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.dispose();
+        }
+        if (ownsScheduler) {
+            scheduler.dispose();
+        }
+    }
+
+    /**
+     * 감쇠 점수가 minScore 이상인 상위 키 중 TTL 이 0 초과 lead 이하로 남은 항목을 갱신한다. 갱신을 시작한 키 목록을 돌려준다.
+     * 이미 만료된 항목은 만료 뒤로 아무도 조회하지 않았다는 뜻이므로 갱신하지 않는다. 다음 사용자 요청이 다시 채운다.
+     * route 정책에서 허용하지 않는 경로는 캐시에 남아 있더라도 갱신하지 않는다.
+     */
+    List<ProxyCacheKey> refreshDueKeys() {
+        List<ProxyCacheKey> started = new ArrayList<>();
+
+        for (AccessFrequencyTracker.HotKey hotKey : accessFrequencyTracker.topK(settings.topK(), settings.minScore())) {
+            if (inFlight.size() >= settings.maxConcurrency()) {
+                break;
+            }
+
+            ProxyCacheKey key = hotKey.key();
+            if (!routePolicyTable.resolve(key.path()).allowed()) {
+                continue;
+            }
+
+            ProxyResponseCache.Entry entry = proxyResponseCache.peek(key);
+            if (entry == null || !isDue(remainingTtl(entry)) || !inFlight.add(key)) {
+                continue;
+            }
+
+            accessFrequencyTracker.markRefreshed(key);
+            refreshCounter.increment();
+            started.add(key);
+            externalApiService.prefetch(key)
+                    .doFinally(signal -> inFlight.remove(key))
+                    .subscribe(null, throwable -> log.warn("인기 키 선제 갱신 실패: {}", key, throwable));
+        }
+
+        return started;
+    }
+
+    /**
+     * actuator 에 노출할 현재 상위 키와 갱신 적중률.
+     */
+    public Map<String, Object> snapshot() {
+        List<Map<String, Object>> hotKeys = new ArrayList<>();
+        for (AccessFrequencyTracker.HotKey hotKey : accessFrequencyTracker.topK(settings.topK(), settings.minScore())) {
+            ProxyResponseCache.Entry entry = proxyResponseCache.peek(hotKey.key());
+
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("key", hotKey.key().toString());
+            item.put("score", Math.round(hotKey.score() * 100) / 100.0);
+            item.put("ttlRemainingMillis", entry != null ? remainingTtl(entry).toMillis() : null);
+            hotKeys.add(item);
+        }
+
+        double hits = accessFrequencyTracker.refreshHits();
+        double wasted = accessFrequencyTracker.refreshWasted();
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", settings.enabled());
+        snapshot.put("trackedKeys", accessFrequencyTracker.trackedKeys());
+        snapshot.put("inFlight", inFlight.size());
+        snapshot.put("refreshes", (long) refreshCounter.count());
+        snapshot.put("refreshHits", (long) hits);
+        snapshot.put("refreshWasted", (long) wasted);
+        snapshot.put("refreshHitRate", hits + wasted > 0 ? hits / (hits + wasted) : null);
+        snapshot.put("hotKeys", hotKeys);
+        return snapshot;
+    }
+
+    private boolean isDue(Duration remaining) {
+        return remaining.isPositive() && remaining.compareTo(settings.lead()) <= 0;
+    }
+
+    private static Duration remainingTtl(ProxyResponseCache.Entry entry) {
+        return entry.policy().ttl().minus(entry.age());
+    }
+}
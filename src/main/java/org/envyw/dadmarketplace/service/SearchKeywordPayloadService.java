@@ -0,0 +1,82 @@
+package org.envyw.dadmarketplace.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 검색 키워드 응답(속성, 등급, 장비)을 시작할 때 한 번 JSON 으로 인코딩해 불변 바이트로 들고 있는다.
+ * 키워드 파일은 실행 중에 바뀌지 않으므로 요청마다 DTO 를 만들고 직렬화할 필요가 없다.
+ * ETag 는 본문의 SHA-256 앞 16바이트로 만든 강한 검증자이다.
+ */
+@Service
+@Slf4j
+public class SearchKeywordPayloadService {
+
+    private final Payload attributes;
+    private final Payload rarities;
+    private final Payload equipments;
+
+    public SearchKeywordPayloadService(SearchKeywordService searchKeywordService, ObjectMapper objectMapper) {
+        this.attributes = encode("attributes", searchKeywordService.getAttributes(), objectMapper);
+        this.rarities = encode("rarities", searchKeywordService.getRarities(), objectMapper);
+        this.equipments = encode("equipments", searchKeywordService.getEquipments(), objectMapper);
+    }
+
+    public Payload attributes() {
+        return attributes;
+    }
+
+    public Payload rarities() {
+        return rarities;
+    }
+
+    public Payload equipments() {
+        return equipments;
+    }
+
+    // SearchKeywordService 가 생성 시점에 이미 읽어 둔 값이라 block 은 바로 끝난다. 실패하면 애플리케이션이 뜨지 않는다.
+    private static Payload encode(String name, Mono<?> response, ObjectMapper objectMapper) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(response.block());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("검색 키워드 응답 인코딩 실패: " + name, e);
+        }
+
+        Payload payload = new Payload(ByteBuffer.wrap(body).asReadOnlyBuffer(), etag(body));
+        log.info("검색 키워드 응답 인코딩 완료: {} - {} bytes, ETag={}", name, body.length, payload.etag());
+        return payload;
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다", e);
+        }
+    }
+
+    /**
+     * 인코딩된 응답. body() 는 공유 버퍼를 복사하지 않고 위치만 따로 갖는 읽기 전용 뷰를 돌려준다.
+     */
+    public record Payload(ByteBuffer body, String etag) {
+
+        @Override
+        public ByteBuffer body() {
+            return body.duplicate();
+        }
+
+        public int size() {
+            return body.remaining();
+        }
+    }
+}
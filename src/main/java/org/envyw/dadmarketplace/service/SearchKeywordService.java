@@ -1,132 +1,249 @@
 package org.envyw.dadmarketplace.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.envyw.dadmarketplace.dto.AttributeDto;
 import org.envyw.dadmarketplace.dto.EquipmentDto;
+import org.envyw.dadmarketplace.dto.LocalizedNameDto;
 import org.envyw.dadmarketplace.dto.RarityDto;
+import org.envyw.dadmarketplace.dto.response.KeywordSuggestionResDto;
 import org.envyw.dadmarketplace.dto.response.SearchKeywordResDto;
-import org.springframework.cache.annotation.Cacheable;
+import org.envyw.dadmarketplace.index.HangulKeywordIndex;
+import org.envyw.dadmarketplace.index.KeywordFuzzyIndex;
+import org.envyw.dadmarketplace.index.KeywordSuggestIndex;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple4;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * 검색 키워드 데이터(속성, 등급, 장비)를 빈 생성 시점에 세 파일 동시에 타입으로 읽어 불변 목록과 id 색인으로 들고 있는다.
+ * 파일이 없거나 형식이 틀리거나 id 가 비었거나 겹치면 생성이 실패해 애플리케이션이 뜨지 않으며,
+ * 로딩이 끝나기 전에는 컨텍스트가 올라오지 않으므로 readiness 도 그때까지 열리지 않는다.
+ * 장비·속성의 한글 이름은 localized-names.json 이 있을 때만 읽어 자모·초성 검색에 쓴다.
+ */
 @Service
 @Slf4j
 public class SearchKeywordService {
 
-    private final ObjectMapper objectMapper;
-    private final Map<String, Object> fileCache = new ConcurrentHashMap<>();
+    static final int DEFAULT_SUGGEST_LIMIT = 10;
+    static final int MAX_SUGGEST_LIMIT = 50;
+    static final int MAX_SUGGEST_QUERY_LENGTH = 64;
+
+    private static final String DEFAULT_RESOURCE_DIRECTORY = "json/";
+
+    private static final TypeReference<KeywordFile<AttributeDto>> ATTRIBUTE_FILE = new TypeReference<>() {
+    };
+    private static final TypeReference<KeywordFile<RarityDto>> RARITY_FILE = new TypeReference<>() {
+    };
+    private static final TypeReference<KeywordFile<EquipmentDto>> EQUIPMENT_FILE = new TypeReference<>() {
+    };
+    private static final TypeReference<KeywordFile<LocalizedNameDto>> LOCALIZED_NAME_FILE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .enable(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES)
+            .enable(DeserializationFeature.FAIL_ON_MISSING_CREATOR_PROPERTIES);
+
+    private final SearchKeywordResDto<AttributeDto> attributes;
+    private final SearchKeywordResDto<RarityDto> rarities;
+    private final SearchKeywordResDto<EquipmentDto> equipments;
+    private final Map<String, AttributeDto> attributesById;
+    private final Map<Integer, RarityDto> raritiesById;
+    private final Map<String, EquipmentDto> equipmentsById;
+    private final KeywordSuggestIndex suggestIndex;
+    private final KeywordFuzzyIndex fuzzyIndex;
+    private final HangulKeywordIndex hangulIndex;
 
     public SearchKeywordService() {
-        this.objectMapper = new ObjectMapper();
+        this(DEFAULT_RESOURCE_DIRECTORY);
+    }
+
+    SearchKeywordService(String resourceDirectory) {
+        long startedAt = System.nanoTime();
+
+        Tuple4<List<AttributeDto>, List<RarityDto>, List<EquipmentDto>, List<LocalizedNameDto>> loaded = Mono.zip(
+                        load(resourceDirectory + "attributes.json", ATTRIBUTE_FILE),
+                        load(resourceDirectory + "rarities.json", RARITY_FILE),
+                        load(resourceDirectory + "equipments.json", EQUIPMENT_FILE),
+                        loadOptional(resourceDirectory + "localized-names.json", LOCALIZED_NAME_FILE))
+                .block();
+
+        this.attributes = new SearchKeywordResDto<>(loaded.getT1());
+        this.rarities = new SearchKeywordResDto<>(loaded.getT2());
+        this.equipments = new SearchKeywordResDto<>(loaded.getT3());
+        this.attributesById = index("attributes.json", loaded.getT1(), AttributeDto::id);
+        this.raritiesById = index("rarities.json", loaded.getT2(), RarityDto::id);
+        this.equipmentsById = index("equipments.json", loaded.getT3(), EquipmentDto::id);
+        this.suggestIndex = new KeywordSuggestIndex(loaded.getT3(), loaded.getT1());
+        this.fuzzyIndex = new KeywordFuzzyIndex(loaded.getT3(), loaded.getT1());
+        this.hangulIndex = new HangulKeywordIndex(localizedEntries(loaded.getT4()));
+
+        log.info("검색 키워드 로딩 완료: attributes={}, rarities={}, equipments={}, elapsed={}ms",
+                attributes.body().size(), rarities.body().size(), equipments.body().size(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+        log.info("검색 키워드 퍼지 색인: names={}, trigrams={}, 약 {} KB",
+                fuzzyIndex.size(), fuzzyIndex.gramCount(), fuzzyIndex.estimatedBytes() / 1024);
+        log.info("검색 키워드 한글 색인: names={}, suffixes={}", hangulIndex.size(), hangulIndex.suffixCount());
     }
 
     public Mono<SearchKeywordResDto<AttributeDto>> getAttributes() {
-        return loadJsonFile("attributes.json")
-                .map(this::mapBodyFromJsonMap)
-                .map(this::mapToAttributes);
+        return Mono.just(attributes);
     }
 
     public Mono<SearchKeywordResDto<RarityDto>> getRarities() {
-        return loadJsonFile("rarities.json")
-                .map(this::mapBodyFromJsonMap)
-                .map(this::mapToRarities);
+        return Mono.just(rarities);
     }
 
     public Mono<SearchKeywordResDto<EquipmentDto>> getEquipments() {
-        return loadJsonFile("equipments.json")
-                .map(this::mapBodyFromJsonMap)
-                .map(this::mapToEquipments);
+        return Mono.just(equipments);
     }
 
-    @SuppressWarnings("unchecked")
-    @Cacheable(value = "jsonFiles", key = "#fileName")
-    public Mono<Map<String, Object>> loadJsonFile(String fileName) {
-        return Mono.fromCallable(() -> {
-            if (fileCache.containsKey(fileName)) {
-
-                return (Map<String, Object>) fileCache.get(fileName);
+    /**
+     * 장비·속성 이름 접두어 자동완성. type 은 equipment 또는 attribute 이며 비우면 둘 다 찾는다.
+     * 질의에 한글이 있으면 한글 이름에서 초성("ㅂㅈ")이나 조합 중인 글자("비저")로 접두어·중간 일치를 찾는다.
+     */
+    public Mono<SearchKeywordResDto<KeywordSuggestionResDto>> suggest(String query, String type, Integer limit) {
+        return Mono.fromSupplier(() -> {
+            KeywordSuggestIndex.Type keywordType = keywordType(type);
+            List<KeywordSuggestionResDto> results;
+            if (!isSearchable(query)) {
+                results = List.of();
+            } else if (HangulKeywordIndex.containsHangul(query)) {
+                results = hangulIndex.suggest(query, keywordType, boundedLimit(limit));
+            } else {
+                results = suggestIndex.suggest(query, keywordType, boundedLimit(limit));
             }
+            return new SearchKeywordResDto<>(results);
+        });
+    }
 
-            try {
-                InputStream inputStream = new ClassPathResource("json/" + fileName).getInputStream();
-                Map<String, Object> jsonMap = objectMapper.readValue(inputStream, Map.class);
+    /**
+     * 오타를 허용하는 장비·속성 이름 검색. 편집 거리가 가까운 순으로 돌려주며 type, limit 는 자동완성과 같다.
+     */
+    public Mono<SearchKeywordResDto<KeywordSuggestionResDto>> search(String query, String type, Integer limit) {
+        return Mono.fromSupplier(() -> {
+            KeywordSuggestIndex.Type keywordType = keywordType(type);
+            List<KeywordSuggestionResDto> results = isSearchable(query)
+                    ? fuzzyIndex.search(query, keywordType, boundedLimit(limit)) : List.of();
+            return new SearchKeywordResDto<>(results);
+        });
+    }
 
-                fileCache.put(fileName, jsonMap);
+    public Optional<AttributeDto> findAttribute(String id) {
+        return Optional.ofNullable(attributesById.get(id));
+    }
 
-                return jsonMap;
+    public Optional<RarityDto> findRarity(int id) {
+        return Optional.ofNullable(raritiesById.get(id));
+    }
 
-            } catch (IOException e) {
-                log.error("JSON 파일 로딩 실패: {}", fileName, e);
-                throw new RuntimeException("JSON 파일을 로딩하는데 실패했습니다: " + fileName, e);
-            }
-        });
+    public Optional<EquipmentDto> findEquipment(String id) {
+        return Optional.ofNullable(equipmentsById.get(id));
     }
 
-    private SearchKeywordResDto<AttributeDto> mapToAttributes(List<Map<String, Object>> body) {
-        List<AttributeDto> attributes = new ArrayList<>();
+    // 타입을 비우면 모든 종류를 찾는다. 모르는 타입은 400 으로 거절한다.
+    private static KeywordSuggestIndex.Type keywordType(String type) {
+        if (!StringUtils.hasText(type)) {
+            return null;
+        }
 
-        for (Map<String, Object> item : body) {
-            AttributeDto attribute = new AttributeDto(
-                    (String) item.get("id"),
-                    (String) item.get("display"),
-                    (String) item.get("field"),
-                    (Boolean) item.get("is_percentage")
-            );
-            attributes.add(attribute);
+        KeywordSuggestIndex.Type keywordType = KeywordSuggestIndex.Type.fromLabel(type);
+        if (keywordType == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown keyword type: " + type);
         }
+        return keywordType;
+    }
 
-        return new SearchKeywordResDto<>(attributes);
+    private static boolean isSearchable(String query) {
+        return query != null && query.length() <= MAX_SUGGEST_QUERY_LENGTH;
     }
 
-    private SearchKeywordResDto<RarityDto> mapToRarities(List<Map<String, Object>> body) {
-        List<RarityDto> rarities = new ArrayList<>();
+    private static int boundedLimit(Integer limit) {
+        return limit != null ? Math.max(1, Math.min(limit, MAX_SUGGEST_LIMIT)) : DEFAULT_SUGGEST_LIMIT;
+    }
 
-        for (Map<String, Object> item : body) {
-            RarityDto rarity = new RarityDto(
-                    (Integer) item.get("id"),
-                    (String) item.get("name")
-            );
-            rarities.add(rarity);
+    private <T> Mono<List<T>> load(String path, TypeReference<KeywordFile<T>> type) {
+        return Mono.fromCallable(() -> {
+                    try (InputStream inputStream = new ClassPathResource(path).getInputStream()) {
+                        KeywordFile<T> file = objectMapper.readValue(inputStream, type);
+                        if (file.body() == null) {
+                            throw new IllegalStateException("body 가 없습니다");
+                        }
+                        return List.copyOf(file.body());
+                    } catch (IOException | RuntimeException e) {
+                        log.error("JSON 파일 로딩 실패: {}", path, e);
+                        throw new IllegalStateException("JSON 파일을 로딩하는데 실패했습니다: " + path, e);
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // 없어도 되는 파일. 없으면 빈 목록이고, 있는데 읽지 못하면 필수 파일과 똑같이 실패한다.
+    private <T> Mono<List<T>> loadOptional(String path, TypeReference<KeywordFile<T>> type) {
+        if (!new ClassPathResource(path).exists()) {
+            log.info("선택 키워드 파일 없음: {}", path);
+            return Mono.just(List.of());
         }
 
-        return new SearchKeywordResDto<>(rarities);
+        return load(path, type);
     }
 
-    private SearchKeywordResDto<EquipmentDto> mapToEquipments(List<Map<String, Object>> body) {
-        List<EquipmentDto> equipments = new ArrayList<>();
+    // 한글 이름의 id 는 장비나 속성 id 중 하나여야 하며 이름이 비거나 id 가 겹치면 실패한다.
+    private List<HangulKeywordIndex.Entry> localizedEntries(List<LocalizedNameDto> names) {
+        index("localized-names.json", names, LocalizedNameDto::id);
 
-        for (Map<String, Object> item : body) {
-            EquipmentDto equipment = new EquipmentDto(
-                    (String) item.get("name"),
-                    (String) item.get("archetype"),
-                    (String) item.get("id")
-            );
-            equipments.add(equipment);
+        List<HangulKeywordIndex.Entry> entries = new ArrayList<>(names.size());
+        for (LocalizedNameDto name : names) {
+            if (!StringUtils.hasText(name.name())) {
+                throw new IllegalStateException("localized-names.json 에 이름이 없습니다: " + name.id());
+            }
+
+            KeywordSuggestIndex.Type type;
+            if (equipmentsById.containsKey(name.id())) {
+                type = KeywordSuggestIndex.Type.EQUIPMENT;
+            } else if (attributesById.containsKey(name.id())) {
+                type = KeywordSuggestIndex.Type.ATTRIBUTE;
+            } else {
+                throw new IllegalStateException("localized-names.json 에 알 수 없는 id 가 있습니다: " + name.id());
+            }
+            entries.add(new HangulKeywordIndex.Entry(type, name.id(), name.name()));
         }
 
-        return new SearchKeywordResDto<>(equipments);
+        return entries;
     }
 
-    @SuppressWarnings("unchecked")
-    private List<Map<String, Object>> mapBodyFromJsonMap(Map<String, Object> jsonMap) {
-        return (List<Map<String, Object>>) jsonMap.get("body");
-    }
+    private static <K, T> Map<K, T> index(String fileName, List<T> items, Function<T, K> idOf) {
+        Map<K, T> byId = new HashMap<>(items.size() * 2);
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            K id = idOf.apply(item);
+            if (id == null || (id instanceof String text && !StringUtils.hasText(text))) {
+                throw new IllegalStateException(fileName + " 의 " + i + "번째 항목에 id 가 없습니다");
+            }
+            if (byId.putIfAbsent(id, item) != null) {
+                throw new IllegalStateException(fileName + " 에 id 가 중복됩니다: " + id);
+            }
+        }
 
-    public void clearCache() {
-        fileCache.clear();
-        log.info("파일 캐시 클리어 완료");
+        return Map.copyOf(byId);
     }
 
-    protected boolean isCached(String fileName) {
-        return fileCache.containsKey(fileName);
+    record KeywordFile<T>(List<T> body) {
     }
 }
@@ -0,0 +1,14 @@
+package org.envyw.dadmarketplace.service.exception;
+
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 배치 요청을 하위 요청을 보내기 전에 거절할 때 쓴다. 전역 오류 처리기는 이 예외만 지정한 상태 코드로 응답한다.
+ */
+public class BatchRejectedException extends ResponseStatusException {
+
+    public BatchRejectedException(HttpStatusCode status, String reason) {
+        super(status, reason);
+    }
+}
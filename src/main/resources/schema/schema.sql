@@ -10,3 +10,48 @@ CREATE TABLE IF NOT EXISTS users
     updated_at   TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     INDEX idx_discord_id (discord_id)
 );
+
+CREATE TABLE IF NOT EXISTS market_listings
+(
+    listing_id     BIGINT PRIMARY KEY,
+    item_id        VARCHAR(100) NOT NULL,
+    item_name      VARCHAR(100),
+    rarity         VARCHAR(32),
+    price          INT,
+    quantity       INT,
+    price_per_unit DOUBLE,
+    has_sold       BOOLEAN,
+    listed_at      TIMESTAMP NULL,
+    expires_at     TIMESTAMP NULL,
+    ingested_at    TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_item_listed_at (item_id, listed_at),
+    INDEX idx_listed_at (listed_at)
+);
+
+CREATE TABLE IF NOT EXISTS price_points
+(
+    id          BIGINT AUTO_INCREMENT PRIMARY KEY,
+    listing_id  BIGINT       NOT NULL,
+    change_seq  INT          NOT NULL,
+    item_id     VARCHAR(100) NOT NULL,
+    rarity_id   INT          NOT NULL,
+    observed_at TIMESTAMP    NOT NULL,
+    price       DOUBLE       NOT NULL,
+    UNIQUE KEY uk_listing_change (listing_id, change_seq),
+    INDEX idx_item_rarity_observed_at (item_id, rarity_id, observed_at),
+    INDEX idx_observed_at (observed_at)
+);
+
+CREATE TABLE IF NOT EXISTS price_rollups
+(
+    item_id            VARCHAR(100) NOT NULL,
+    rarity_id          INT          NOT NULL,
+    resolution_seconds INT          NOT NULL,
+    bucket_start       TIMESTAMP    NOT NULL,
+    min_price          DOUBLE       NOT NULL,
+    max_price          DOUBLE       NOT NULL,
+    sum_price          DOUBLE       NOT NULL,
+    sample_count       BIGINT       NOT NULL,
+    PRIMARY KEY (item_id, rarity_id, resolution_seconds, bucket_start),
+    INDEX idx_resolution_bucket_start (resolution_seconds, bucket_start)
+);
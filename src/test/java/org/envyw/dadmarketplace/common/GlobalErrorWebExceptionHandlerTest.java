@@ -0,0 +1,47 @@
+package org.envyw.dadmarketplace.common;
+
+import org.envyw.dadmarketplace.service.exception.BatchRejectedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("GlobalErrorWebExceptionHandler 테스트")
+class GlobalErrorWebExceptionHandlerTest {
+
+    private final GlobalErrorWebExceptionHandler handler = new GlobalErrorWebExceptionHandler();
+
+    @Test
+    @DisplayName("배치 거절은 지정한 상태 코드로 응답해야 한다")
+    void shouldUseBatchRejectionStatus() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/darkerdb/batch"));
+
+        // When
+        handler.handle(exchange, new BatchRejectedException(HttpStatus.TOO_MANY_REQUESTS, "Too many requests"))
+                .block();
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    @DisplayName("다른 예외는 기존처럼 INTERNAL_SERVER_ERROR 로 응답해야 한다")
+    void shouldKeepInternalServerErrorForOtherExceptions() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/search/keywords"));
+
+        // When
+        handler.handle(exchange, new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown keyword type"))
+                .block();
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+}
@@ -0,0 +1,118 @@
+package org.envyw.dadmarketplace.decode;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.envyw.dadmarketplace.entity.MarketListing;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DarkerDBPageFormat 테스트")
+class DarkerDBPageFormatTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String PAGE = "{\"status\":\"ok\","
+            + "\"meta\":{\"body\":[{\"id\":999}],\"cursor\":\"wrong\"},"
+            + "\"body\":[{\"id\":1,\"item_id\":\"Sword_1\",\"rarity\":\"Rare\",\"price\":300,\"quantity\":3,"
+            + "\"seller\":{\"name\":\"someone\",\"tags\":[1,2]},\"attributes\":[{\"a\":1}],"
+            + "\"created_at\":\"2025-06-01T21:00:00+09:00\"},"
+            + "{\"item_id\":\"NoId\"},"
+            + "7,"
+            + "{\"id\":2,\"item_id\":\"Sword_2\",\"price\":null,\"has_sold\":true}],"
+            + "\"pagination\":{\"count\":3,\"cursor\":42}}";
+
+    private final DarkerDBPageFormat pageFormat = new DarkerDBPageFormat("/body", "/pagination/cursor");
+
+    @Test
+    @DisplayName("레코드를 디코딩하지 않고 레코드 수와 다음 커서를 찾아야 한다")
+    void shouldSummarizePage() throws Exception {
+        // When
+        DarkerDBPageFormat.Summary summary;
+        try (JsonParser parser = OBJECT_MAPPER.createParser(PAGE)) {
+            summary = pageFormat.summarize(parser);
+        }
+
+        // Then
+        assertThat(summary.recordCount()).isEqualTo(4);
+        assertThat(summary.nextCursor()).isEqualTo("42");
+    }
+
+    @Test
+    @DisplayName("레코드 배열이 없으면 레코드 수를 -1 로 알려야 한다")
+    void shouldReportMissingRecords() throws Exception {
+        // When
+        DarkerDBPageFormat.Summary summary;
+        try (JsonParser parser = OBJECT_MAPPER.createParser("{\"body\":{\"id\":1},\"pagination\":{}}")) {
+            summary = pageFormat.summarize(parser);
+        }
+
+        // Then
+        assertThat(summary.hasRecords()).isFalse();
+        assertThat(summary.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("필요한 필드만 읽어 타입 레코드로 내보내고 쓸 수 없는 레코드는 건너뛰어야 한다")
+    void shouldDecodeTypedRecords() {
+        // When & Then
+        StepVerifier.create(pageFormat.records(() -> OBJECT_MAPPER.createParser(PAGE), MarketListing::fromDarkerDB))
+                .assertNext(listing -> {
+                    assertThat(listing.getListingId()).isEqualTo(1L);
+                    assertThat(listing.getItemId()).isEqualTo("Sword_1");
+                    assertThat(listing.getPrice()).isEqualTo(300);
+                    assertThat(listing.getQuantity()).isEqualTo(3);
+                    assertThat(listing.getListedAt()).isEqualTo(LocalDateTime.of(2025, 6, 1, 12, 0));
+                })
+                .assertNext(listing -> {
+                    assertThat(listing.getListingId()).isEqualTo(2L);
+                    assertThat(listing.getPrice()).isNull();
+                    assertThat(listing.getHasSold()).isTrue();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("루트가 배열이면 루트를 레코드 배열로 읽어야 한다")
+    void shouldReadRootArray() {
+        // When & Then
+        StepVerifier.create(pageFormat.records(() -> OBJECT_MAPPER.createParser("[{\"id\":1},[2],{\"id\":3}]"),
+                        JsonParser::readValueAsTree))
+                .expectNextCount(3)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("문자열 숫자와 오프셋 없는 시각도 매핑 규칙대로 읽어야 한다")
+    void shouldDecodeAllMappedFields() throws Exception {
+        // Given
+        String record = "{\"id\":5,\"item_id\":\"Bow_5\",\"item\":\"Bow\",\"rarity\":\"Epic\",\"price\":\"120\","
+                + "\"quantity\":2,\"price_per_unit\":60.5,\"has_sold\":false,"
+                + "\"created_at\":\"2025-06-01 10:00:00\",\"expires_at\":\"2025-06-02T10:00:00Z\"}";
+
+        // When
+        MarketListing listing;
+        try (JsonParser parser = OBJECT_MAPPER.createParser(record)) {
+            parser.nextToken();
+            listing = MarketListing.fromDarkerDB(parser);
+        }
+
+        // Then
+        assertThat(listing).usingRecursiveComparison().isEqualTo(MarketListing.builder()
+                .listingId(5L)
+                .itemId("Bow_5")
+                .itemName("Bow")
+                .rarity("Epic")
+                .price(120)
+                .quantity(2)
+                .pricePerUnit(60.5)
+                .hasSold(false)
+                .listedAt(LocalDateTime.of(2025, 6, 1, 10, 0))
+                .expiresAt(LocalDateTime.of(2025, 6, 2, 10, 0))
+                .build());
+    }
+}
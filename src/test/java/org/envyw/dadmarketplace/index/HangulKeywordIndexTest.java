@@ -0,0 +1,74 @@
+package org.envyw.dadmarketplace.index;
+
+import org.envyw.dadmarketplace.dto.response.KeywordSuggestionResDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HangulKeywordIndex 테스트")
+class HangulKeywordIndexTest {
+
+    private final HangulKeywordIndex hangulKeywordIndex = new HangulKeywordIndex(List.of(
+            new HangulKeywordIndex.Entry(KeywordSuggestIndex.Type.EQUIPMENT, "ArcaneHood_1001", "비전 두건"),
+            new HangulKeywordIndex.Entry(KeywordSuggestIndex.Type.EQUIPMENT, "ArmingSword_1001", "아밍 소드"),
+            new HangulKeywordIndex.Entry(KeywordSuggestIndex.Type.EQUIPMENT, "ShortSword_1001", "숏소드"),
+            new HangulKeywordIndex.Entry(KeywordSuggestIndex.Type.ATTRIBUTE, "ActionSpeed", "행동 속도")));
+
+    @Test
+    @DisplayName("음절을 겹모음과 겹받침까지 호환 자모로 풀어야 한다")
+    void shouldDecomposeSyllables() {
+        // When & Then
+        assertThat(HangulKeywordIndex.jamoKey("비전 두건")).isEqualTo("ㅂㅣㅈㅓㄴㄷㅜㄱㅓㄴ");
+        assertThat(HangulKeywordIndex.jamoKey("왧")).isEqualTo("ㅇㅗㅐㄹㅂ");
+        assertThat(HangulKeywordIndex.jamoKey("ㅘ Sword")).isEqualTo("ㅗㅏsword");
+        assertThat(HangulKeywordIndex.chosungKey("행동 속도")).isEqualTo("ㅎㄷㅅㄷ");
+    }
+
+    @Test
+    @DisplayName("조합 중인 글자로도 접두어를 찾아야 한다")
+    void shouldMatchPartiallyComposedQuery() {
+        // When & Then
+        assertThat(hangulKeywordIndex.suggest("빚", null, 10))
+                .extracting(KeywordSuggestionResDto::id)
+                .containsExactly("ArcaneHood_1001");
+        assertThat(hangulKeywordIndex.suggest("비저", null, 10))
+                .extracting(KeywordSuggestionResDto::id)
+                .containsExactly("ArcaneHood_1001");
+    }
+
+    @Test
+    @DisplayName("초성만 입력하면 초성 키로 접두어를 먼저, 중간 일치를 그다음에 돌려줘야 한다")
+    void shouldMatchChosungPrefixBeforeInfix() {
+        // When
+        List<KeywordSuggestionResDto> suggestions = hangulKeywordIndex.suggest("ㅅ", null, 10);
+
+        // Then
+        assertThat(suggestions).extracting(KeywordSuggestionResDto::label)
+                .containsExactly("숏소드", "아밍 소드", "행동 속도");
+    }
+
+    @Test
+    @DisplayName("공백을 무시하고 이름 중간의 글자로도 찾아야 한다")
+    void shouldMatchInfixIgnoringSpaces() {
+        // When & Then
+        assertThat(hangulKeywordIndex.suggest("밍소", null, 10))
+                .extracting(KeywordSuggestionResDto::id)
+                .containsExactly("ArmingSword_1001");
+    }
+
+    @Test
+    @DisplayName("종류와 개수 제한을 지키고 한 항목은 한 번만 돌려줘야 한다")
+    void shouldFilterByTypeAndLimit() {
+        // When & Then
+        assertThat(hangulKeywordIndex.suggest("ㅅ", KeywordSuggestIndex.Type.ATTRIBUTE, 10))
+                .extracting(KeywordSuggestionResDto::type)
+                .containsExactly("attribute");
+        assertThat(hangulKeywordIndex.suggest("ㅅ", null, 2)).hasSize(2);
+        assertThat(hangulKeywordIndex.suggest("ㄷ", null, 10))
+                .extracting(KeywordSuggestionResDto::id)
+                .doesNotHaveDuplicates();
+    }
+}
@@ -0,0 +1,134 @@
+package org.envyw.dadmarketplace.index;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.envyw.dadmarketplace.entity.MarketListing;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ItemPriceIndex 테스트")
+class ItemPriceIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    private ItemPriceIndex itemPriceIndex;
+
+    @BeforeEach
+    void setUp() {
+        itemPriceIndex = new ItemPriceIndex(new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("아이템·등급별로 단가 컬럼을 만들어야 한다")
+    void shouldIndexUnitPricesPerItemAndRarity() {
+        // When
+        itemPriceIndex.apply(List.of(
+                listing(1L, "Sword", "Rare", 100, 1, null),
+                listing(2L, "Sword", "Rare", 300, 3, null),
+                listing(3L, "Sword", "Epic", 500, 1, null)), NOW);
+
+        // Then
+        PriceColumn rare = itemPriceIndex.column("Sword", "Rare");
+        assertThat(rare.size()).isEqualTo(2);
+        assertThat(rare.countInRange(100, 100)).isEqualTo(2);
+        assertThat(itemPriceIndex.column("Sword", "Epic").median()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("등급을 지정하지 않으면 아이템의 모든 등급 컬럼을 합쳐야 한다")
+    void shouldMergeAllRaritiesOfItem() {
+        // Given
+        itemPriceIndex.apply(List.of(
+                listing(1L, "Sword", "Rare", 100, 1, null),
+                listing(2L, "Sword", "Epic", 500, 1, null),
+                listing(3L, "Sword", null, 300, 1, null),
+                listing(4L, "Axe", "Rare", 50, 1, null)), NOW);
+
+        // When
+        PriceColumn sword = itemPriceIndex.columnForItem("Sword");
+
+        // Then
+        assertThat(sword.size()).isEqualTo(3);
+        assertThat(sword.min()).isEqualTo(100);
+        assertThat(sword.median()).isEqualTo(300);
+        assertThat(sword.max()).isEqualTo(500);
+
+        itemPriceIndex.retainSeen(Set.of(1L, 4L));
+        assertThat(itemPriceIndex.columnForItem("Sword").size()).isEqualTo(1);
+        assertThat(itemPriceIndex.columnForItem("Unknown").isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("가격이 바뀐 목록은 이전 가격을 빼고 새 가격을 넣어야 한다")
+    void shouldReplacePreviousPrice() {
+        // Given
+        itemPriceIndex.apply(List.of(listing(1L, "Sword", "Rare", 100, 1, null)), NOW);
+
+        // When
+        itemPriceIndex.apply(List.of(listing(1L, "Sword", "Rare", 150, 1, null)), NOW);
+
+        // Then
+        PriceColumn column = itemPriceIndex.column("Sword", "Rare");
+        assertThat(column.size()).isEqualTo(1);
+        assertThat(column.median()).isEqualTo(150);
+    }
+
+    @Test
+    @DisplayName("팔렸거나 만료된 목록은 인덱스에서 빠져야 한다")
+    void shouldDropSoldAndExpiredListings() {
+        // Given
+        MarketListing expiring = listing(2L, "Sword", "Rare", 200, 1, NOW.plusMinutes(5));
+        itemPriceIndex.apply(List.of(listing(1L, "Sword", "Rare", 100, 1, null), expiring), NOW);
+
+        // When
+        MarketListing sold = MarketListing.builder().listingId(1L).itemId("Sword").rarity("Rare").price(100)
+                .hasSold(true).build();
+        itemPriceIndex.apply(List.of(sold), NOW);
+        int evicted = itemPriceIndex.evictExpired(NOW.plusMinutes(10));
+
+        // Then
+        assertThat(evicted).isEqualTo(1);
+        assertThat(itemPriceIndex.column("Sword", "Rare").isEmpty()).isTrue();
+        assertThat(itemPriceIndex.listingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("전체 수집에서 보이지 않은 목록은 만료 시각이 없어도 빠져야 한다")
+    void shouldDropListingsMissingFromFullRun() {
+        // Given
+        itemPriceIndex.apply(List.of(
+                listing(1L, "Sword", "Rare", 100, 1, null),
+                listing(2L, "Sword", "Rare", 200, 1, NOW.plusDays(1)),
+                listing(3L, "Sword", "Rare", 300, 1, null)), NOW);
+
+        // When
+        int evicted = itemPriceIndex.evictExpired(NOW.plusYears(10));
+        List<Long> removed = itemPriceIndex.retainSeen(Set.of(1L));
+
+        // Then
+        assertThat(evicted).isEqualTo(1);
+        assertThat(removed).containsExactly(3L);
+        PriceColumn column = itemPriceIndex.column("Sword", "Rare");
+        assertThat(column.size()).isEqualTo(1);
+        assertThat(column.median()).isEqualTo(100);
+    }
+
+    private static MarketListing listing(Long id, String itemId, String rarity, int price, int quantity,
+                                         LocalDateTime expiresAt) {
+        return MarketListing.builder()
+                .listingId(id)
+                .itemId(itemId)
+                .rarity(rarity)
+                .price(price)
+                .quantity(quantity)
+                .hasSold(false)
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package org.envyw.dadmarketplace.index;
+
+import org.envyw.dadmarketplace.dto.AttributeDto;
+import org.envyw.dadmarketplace.dto.EquipmentDto;
+import org.envyw.dadmarketplace.dto.response.KeywordSuggestionResDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("KeywordFuzzyIndex 테스트")
+class KeywordFuzzyIndexTest {
+
+    private final KeywordFuzzyIndex keywordFuzzyIndex = new KeywordFuzzyIndex(
+            List.of(
+                    new EquipmentDto("Barbuta Helm", "BarbutaHelm", "BarbutaHelm_1001"),
+                    new EquipmentDto("Visored Barbuta Helm", "VisoredBarbutaHelm", "VisoredBarbutaHelm_1001"),
+                    new EquipmentDto("Chapel De Fer", "ChapelDeFer", "ChapelDeFer_1001"),
+                    new EquipmentDto("Longsword", "Longsword", "Longsword_1001"),
+                    new EquipmentDto("Great Helm", "GreatHelm", "GreatHelm_1001"),
+                    new EquipmentDto("Lantern", "Lantern", "Lantern_1001")),
+            List.of(
+                    new AttributeDto("ArmorRating", "Armor Rating", "armor_rating", false)));
+
+    @Test
+    @DisplayName("철자가 틀린 이름도 가까운 순으로 찾아야 한다")
+    void shouldFindMisspelledNames() {
+        // When & Then
+        assertThat(keywordFuzzyIndex.search("Barbutta", null, 10))
+                .extracting(KeywordSuggestionResDto::id)
+                .containsExactly("BarbutaHelm_1001", "VisoredBarbutaHelm_1001");
+        assertThat(keywordFuzzyIndex.search("Chapel de ferr", null, 10))
+                .extracting(KeywordSuggestionResDto::id)
+                .containsExactly("ChapelDeFer_1001");
+    }
+
+    @Test
+    @DisplayName("인접 문자 자리바꿈은 편집 한 번으로 봐야 한다")
+    void shouldTreatTranspositionAsSingleEdit() {
+        // When & Then
+        assertThat(keywordFuzzyIndex.search("longsowrd", null, 10))
+                .extracting(KeywordSuggestionResDto::id)
+                .containsExactly("Longsword_1001");
+    }
+
+    @Test
+    @DisplayName("단어 가운데의 자리바꿈으로 3-gram 이 네 개 깨져도 후보에서 빠지지 않아야 한다")
+    void shouldKeepCandidatesWithMidWordTransposition() {
+        // When & Then
+        assertThat(keywordFuzzyIndex.search("barubta", null, 10))
+                .extracting(KeywordSuggestionResDto::id)
+                .contains("BarbutaHelm_1001");
+        assertThat(keywordFuzzyIndex.search("lanetrn", null, 10))
+                .extracting(KeywordSuggestionResDto::id)
+                .containsExactly("Lantern_1001");
+    }
+
+    @Test
+    @DisplayName("허용 거리를 넘는 이름과 다른 종류는 돌려주지 않아야 한다")
+    void shouldRespectDistanceAndType() {
+        // When & Then
+        assertThat(keywordFuzzyIndex.search("helm", null, 10))
+                .extracting(KeywordSuggestionResDto::id)
+                .containsExactly("GreatHelm_1001", "BarbutaHelm_1001", "VisoredBarbutaHelm_1001");
+        assertThat(keywordFuzzyIndex.search("hxlq", null, 10)).isEmpty();
+        assertThat(keywordFuzzyIndex.search("armor ratng", KeywordSuggestIndex.Type.EQUIPMENT, 10)).isEmpty();
+        assertThat(keywordFuzzyIndex.search("armor ratng", KeywordSuggestIndex.Type.ATTRIBUTE, 10))
+                .extracting(KeywordSuggestionResDto::id)
+                .containsExactly("ArmorRating");
+    }
+
+    @Test
+    @DisplayName("질의 길이에 따라 허용 거리가 늘어나야 한다")
+    void shouldScaleMaxDistanceWithQueryLength() {
+        // When & Then
+        assertThat(KeywordFuzzyIndex.maxDistance(3)).isZero();
+        assertThat(KeywordFuzzyIndex.maxDistance(5)).isEqualTo(1);
+        assertThat(KeywordFuzzyIndex.maxDistance(9)).isEqualTo(2);
+        assertThat(KeywordFuzzyIndex.maxDistance(20)).isEqualTo(3);
+        assertThat(keywordFuzzyIndex.estimatedBytes()).isPositive();
+    }
+}
@@ -0,0 +1,68 @@
+package org.envyw.dadmarketplace.index;
+
+import org.envyw.dadmarketplace.dto.AttributeDto;
+import org.envyw.dadmarketplace.dto.EquipmentDto;
+import org.envyw.dadmarketplace.dto.response.KeywordSuggestionResDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("KeywordSuggestIndex 테스트")
+class KeywordSuggestIndexTest {
+
+    private final KeywordSuggestIndex keywordSuggestIndex = new KeywordSuggestIndex(
+            List.of(
+                    new EquipmentDto("Arming Sword", "ArmingSword", "ArmingSword_1001"),
+                    new EquipmentDto("Arcane Hood", "ArcaneHood", "ArcaneHood_1001"),
+                    new EquipmentDto("Armet", "Armet", "Armet_1001"),
+                    new EquipmentDto("Short Sword", "ShortSword", "ShortSword_1001")),
+            List.of(
+                    new AttributeDto("ArmorRating", "Armor Rating", "armor_rating", false),
+                    new AttributeDto("ActionSpeed", "Action Speed", "action_speed", true)));
+
+    @Test
+    @DisplayName("대소문자와 앞쪽 공백을 무시하고 접두어로 찾아 사전순으로 돌려줘야 한다")
+    void shouldMatchPrefixIgnoringCase() {
+        // When
+        List<KeywordSuggestionResDto> suggestions = keywordSuggestIndex.suggest("  ARM", null, 10);
+
+        // Then
+        assertThat(suggestions).extracting(KeywordSuggestionResDto::label)
+                .containsExactly("Armet", "Arming Sword", "Armor Rating");
+    }
+
+    @Test
+    @DisplayName("이름 맨 앞 일치를 먼저, 둘째 단어부터의 일치를 그다음에 돌려줘야 한다")
+    void shouldRankLeadingMatchesFirst() {
+        // When
+        List<KeywordSuggestionResDto> suggestions = keywordSuggestIndex.suggest("s", null, 10);
+
+        // Then
+        assertThat(suggestions).extracting(KeywordSuggestionResDto::label)
+                .containsExactly("Short Sword", "Action Speed", "Arming Sword");
+    }
+
+    @Test
+    @DisplayName("종류와 개수 제한을 지켜야 한다")
+    void shouldFilterByTypeAndLimit() {
+        // When & Then
+        assertThat(keywordSuggestIndex.suggest("ar", KeywordSuggestIndex.Type.ATTRIBUTE, 10))
+                .extracting(KeywordSuggestionResDto::id)
+                .containsExactly("ArmorRating");
+        assertThat(keywordSuggestIndex.suggest("ar", KeywordSuggestIndex.Type.EQUIPMENT, 2))
+                .extracting(KeywordSuggestionResDto::type)
+                .containsExactly("equipment", "equipment");
+    }
+
+    @Test
+    @DisplayName("일치하는 이름이 없거나 질의가 비면 빈 목록이어야 한다")
+    void shouldReturnEmptyWithoutMatches() {
+        // When & Then
+        assertThat(keywordSuggestIndex.suggest("zzz", null, 10)).isEmpty();
+        assertThat(keywordSuggestIndex.suggest("   ", null, 10)).isEmpty();
+        assertThat(keywordSuggestIndex.suggest("arming sword plus", null, 10)).isEmpty();
+    }
+}
@@ -0,0 +1,61 @@
+package org.envyw.dadmarketplace.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PriceColumn 테스트")
+class PriceColumnTest {
+
+    @Test
+    @DisplayName("nearest-rank 방식으로 백분위를 구해야 한다")
+    void shouldComputeNearestRankPercentiles() {
+        // Given
+        PriceColumn column = PriceColumn.of(new int[]{50, 10, 40, 20, 30, 60, 70, 80, 90, 100});
+
+        // When & Then
+        assertThat(column.percentile(0.1)).isEqualTo(10);
+        assertThat(column.median()).isEqualTo(50);
+        assertThat(column.percentile(0.9)).isEqualTo(90);
+        assertThat(column.min()).isEqualTo(10);
+        assertThat(column.max()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("범위 개수는 양 끝을 포함하고 중복 가격도 세야 한다")
+    void shouldCountPricesInRange() {
+        // Given
+        PriceColumn column = PriceColumn.of(new int[]{5, 10, 10, 10, 20, Integer.MAX_VALUE});
+
+        // When & Then
+        assertThat(column.countInRange(10, 20)).isEqualTo(4);
+        assertThat(column.countInRange(11, 19)).isZero();
+        assertThat(column.countInRange(0, Integer.MAX_VALUE)).isEqualTo(6);
+        assertThat(column.countInRange(20, 10)).isZero();
+    }
+
+    @Test
+    @DisplayName("병합하면 뺄 가격은 하나씩만 빼고 더할 가격은 정렬 순서를 지켜야 한다")
+    void shouldMergeRemovalsAndAdditions() {
+        // Given
+        PriceColumn column = PriceColumn.of(new int[]{10, 20, 20, 30});
+
+        // When
+        PriceColumn merged = column.merge(new int[]{20, 99}, new int[]{5, 25});
+
+        // Then
+        assertThat(merged.size()).isEqualTo(5);
+        assertThat(merged.min()).isEqualTo(5);
+        assertThat(merged.countInRange(20, 20)).isEqualTo(1);
+        assertThat(merged.countInRange(25, 30)).isEqualTo(2);
+        assertThat(column.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("빈 컬럼의 백분위는 예외를 던져야 한다")
+    void shouldRejectPercentileOfEmptyColumn() {
+        assertThatThrownBy(() -> PriceColumn.EMPTY.median()).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,84 @@
+package org.envyw.dadmarketplace.proxy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.envyw.dadmarketplace.config.ExternalApiProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("AccessFrequencyTracker 테스트")
+class AccessFrequencyTrackerTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private AccessFrequencyTracker accessFrequencyTracker;
+
+    @BeforeEach
+    void setUp() {
+        accessFrequencyTracker = new AccessFrequencyTracker(new ExternalApiProperties.Prefetch(true, null,
+                Duration.ofMinutes(1), null, null, null, null, 100L), new SimpleMeterRegistry(), nanoTime::get);
+    }
+
+    @Test
+    @DisplayName("점수 내림차순으로 상위 키를 돌려줘야 한다")
+    void shouldReturnTopKeysByScore() {
+        // Given
+        ProxyCacheKey market = ProxyCacheKey.of("market", null);
+        ProxyCacheKey items = ProxyCacheKey.of("items", null);
+        ProxyCacheKey rare = ProxyCacheKey.of("rare", null);
+        record(market, 5);
+        record(items, 3);
+        record(rare, 1);
+
+        // When
+        List<AccessFrequencyTracker.HotKey> hotKeys = accessFrequencyTracker.topK(2, 2.0);
+
+        // Then
+        assertThat(hotKeys).extracting(AccessFrequencyTracker.HotKey::key).containsExactly(market, items);
+    }
+
+    @Test
+    @DisplayName("반감기가 지나면 점수가 절반으로 줄어야 한다")
+    void shouldDecayScoreByHalfLife() {
+        // Given
+        ProxyCacheKey key = ProxyCacheKey.of("market", null);
+        record(key, 4);
+
+        // When
+        nanoTime.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        // Then
+        assertThat(accessFrequencyTracker.topK(1, 0).get(0).score()).isCloseTo(2.0, within(1e-9));
+        assertThat(accessFrequencyTracker.topK(1, 2.5)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("선제 갱신 후 조회되면 적중, 조회 없이 다시 갱신되면 낭비로 세어야 한다")
+    void shouldCountRefreshHitsAndWaste() {
+        // Given
+        ProxyCacheKey key = ProxyCacheKey.of("market", null);
+        record(key, 1);
+
+        // When
+        accessFrequencyTracker.markRefreshed(key);
+        record(key, 2);
+        accessFrequencyTracker.markRefreshed(key);
+        accessFrequencyTracker.markRefreshed(key);
+
+        // Then
+        assertThat(accessFrequencyTracker.refreshHits()).isEqualTo(1);
+        assertThat(accessFrequencyTracker.refreshWasted()).isEqualTo(1);
+    }
+
+    private void record(ProxyCacheKey key, int times) {
+        for (int i = 0; i < times; i++) {
+            accessFrequencyTracker.record(key);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package org.envyw.dadmarketplace.proxy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.envyw.dadmarketplace.config.ExternalApiProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DiskResponseCache 테스트")
+class DiskResponseCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("재시작 후에도 저장한 응답과 경과 시간을 복구해야 한다")
+    void shouldRestoreEntriesAfterReopen() {
+        // Given
+        ProxyCacheKey key = ProxyCacheKey.of("items", "name=sword");
+        BufferedResponse response = jsonResponse("{\"name\":\"sword\"}");
+        open(NOW, DataSize.ofKilobytes(64)).put(key, response, Duration.ofMinutes(1));
+
+        // When
+        DiskResponseCache.DiskEntry entry = open(NOW.plusSeconds(10), DataSize.ofKilobytes(64)).lookup(key);
+
+        // Then
+        assertThat(entry.response().status()).isEqualTo(HttpStatus.OK);
+        assertThat(entry.response().headers().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(entry.response().body()).isEqualTo(response.body());
+        assertThat(entry.age()).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    @DisplayName("보존 기간이 지난 항목은 돌려주지 않아야 한다")
+    void shouldNotReturnExpiredEntry() {
+        // Given
+        ProxyCacheKey key = ProxyCacheKey.of("items", null);
+        open(NOW, DataSize.ofKilobytes(64)).put(key, jsonResponse("{}"), Duration.ofMinutes(1));
+
+        // When & Then
+        assertThat(open(NOW.plusSeconds(61), DataSize.ofKilobytes(64)).lookup(key)).isNull();
+    }
+
+    @Test
+    @DisplayName("같은 키를 다시 쓰면 재시작 후 최신 값을 돌려줘야 한다")
+    void shouldKeepLatestRecordForSameKey() {
+        // Given
+        ProxyCacheKey key = ProxyCacheKey.of("items", null);
+        DiskResponseCache diskCache = open(NOW, DataSize.ofKilobytes(64));
+        diskCache.put(key, jsonResponse("{\"v\":1}"), Duration.ofMinutes(1));
+        diskCache.put(key, jsonResponse("{\"v\":2}"), Duration.ofMinutes(1));
+
+        // When
+        DiskResponseCache.DiskEntry entry = open(NOW, DataSize.ofKilobytes(64)).lookup(key);
+
+        // Then
+        assertThat(new String(entry.response().body(), StandardCharsets.UTF_8)).isEqualTo("{\"v\":2}");
+    }
+
+    @Test
+    @DisplayName("세그먼트 수가 한도를 넘으면 오래된 세그먼트를 압축해 지워야 한다")
+    void shouldCompactOldestSegment() throws IOException {
+        // Given
+        DiskResponseCache diskCache = open(NOW, DataSize.ofKilobytes(1));
+
+        // When
+        for (int i = 0; i < 40; i++) {
+            diskCache.put(ProxyCacheKey.of("items/" + i, null), jsonResponse("{\"id\":" + i + "}"),
+                    Duration.ofMinutes(1));
+        }
+
+        // Then
+        assertThat(diskCache.segmentCount()).isLessThanOrEqualTo(2);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(diskCache.segmentCount());
+        }
+        assertThat(diskCache.lookup(ProxyCacheKey.of("items/39", null))).isNotNull();
+        assertThat(open(NOW, DataSize.ofKilobytes(1)).lookup(ProxyCacheKey.of("items/39", null))).isNotNull();
+    }
+
+    @Test
+    @DisplayName("CRC 가 맞지 않는 레코드부터는 무시해야 한다")
+    void shouldIgnoreCorruptedTail() throws IOException {
+        // Given
+        ProxyCacheKey first = ProxyCacheKey.of("items/1", null);
+        ProxyCacheKey second = ProxyCacheKey.of("items/2", null);
+        DiskResponseCache diskCache = open(NOW, DataSize.ofKilobytes(64));
+        diskCache.put(first, jsonResponse("{\"first\":true}"), Duration.ofMinutes(1));
+        diskCache.put(second, jsonResponse("{\"second\":true}"), Duration.ofMinutes(1));
+        diskCache.flush();
+
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        int offset = indexOf(Files.readAllBytes(segment), "second".getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), offset);
+        }
+
+        // When
+        DiskResponseCache reopened = open(NOW, DataSize.ofKilobytes(64));
+
+        // Then
+        assertThat(reopened.lookup(first)).isNotNull();
+        assertThat(reopened.lookup(second)).isNull();
+    }
+
+    @Test
+    @DisplayName("쓰기는 writer 에 넘기고 호출한 스레드에서는 파일을 건드리지 않아야 한다")
+    void shouldWriteOnWriterScheduler() throws IOException {
+        // Given
+        VirtualTimeScheduler writer = VirtualTimeScheduler.create();
+        DiskResponseCache diskCache = new DiskResponseCache(
+                new ExternalApiProperties.DiskCache(true, directory.toString(), DataSize.ofKilobytes(64),
+                        DataSize.ofKilobytes(128)),
+                new SimpleMeterRegistry(), Clock.fixed(NOW, ZoneOffset.UTC), writer);
+        ProxyCacheKey key = ProxyCacheKey.of("items", null);
+
+        // When
+        diskCache.put(key, jsonResponse("{}"), Duration.ofMinutes(1));
+
+        // Then
+        assertThat(diskCache.lookup(key)).isNull();
+        writer.advanceTime();
+        assertThat(diskCache.lookup(key)).isNotNull();
+        writer.dispose();
+    }
+
+    @Test
+    @DisplayName("비활성화하면 아무것도 저장하지 않아야 한다")
+    void shouldDoNothingWhenDisabled() throws IOException {
+        // Given
+        DiskResponseCache diskCache = new DiskResponseCache(
+                new ExternalApiProperties.DiskCache(false, directory.toString(), null, null),
+                new SimpleMeterRegistry(), Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // When
+        diskCache.put(ProxyCacheKey.of("items", null), jsonResponse("{}"), Duration.ofMinutes(1));
+
+        // Then
+        assertThat(diskCache.lookup(ProxyCacheKey.of("items", null))).isNull();
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isZero();
+        }
+    }
+
+    private DiskResponseCache open(Instant now, DataSize segmentSize) {
+        return new DiskResponseCache(
+                new ExternalApiProperties.DiskCache(true, directory.toString(), segmentSize,
+                        DataSize.ofBytes(segmentSize.toBytes() * 2)),
+                new SimpleMeterRegistry(), Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private BufferedResponse jsonResponse(String json) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        return new BufferedResponse(HttpStatus.OK, headers, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int indexOf(byte[] bytes, byte[] target) {
+        for (int i = 0; i + target.length <= bytes.length; i++) {
+            int j = 0;
+            while (j < target.length && bytes[i + j] == target[j]) {
+                j++;
+            }
+            if (j == target.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
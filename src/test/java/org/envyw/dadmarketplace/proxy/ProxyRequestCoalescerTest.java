@@ -0,0 +1,75 @@
+package org.envyw.dadmarketplace.proxy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ProxyRequestCoalescer 테스트")
+class ProxyRequestCoalescerTest {
+
+    private ProxyRequestCoalescer proxyRequestCoalescer;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        proxyRequestCoalescer = new ProxyRequestCoalescer(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("진행 중인 동일 키 요청은 업스트림을 한 번만 구독해야 한다")
+    void shouldShareInFlightUpstream() {
+        // Given
+        ProxyCacheKey key = ProxyCacheKey.of("items", "a=1");
+        Sinks.One<String> upstream = Sinks.one();
+        AtomicInteger subscriptions = new AtomicInteger();
+
+        // When
+        Mono<String> first = proxyRequestCoalescer.execute(key,
+                () -> upstream.asMono().doOnSubscribe(s -> subscriptions.incrementAndGet()));
+        Mono<String> second = proxyRequestCoalescer.execute(key,
+                () -> upstream.asMono().doOnSubscribe(s -> subscriptions.incrementAndGet()));
+
+        // Then
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> upstream.tryEmitValue("result"))
+                .assertNext(results -> {
+                    assertThat(results.getT1()).isEqualTo("result");
+                    assertThat(results.getT2()).isEqualTo("result");
+                })
+                .verifyComplete();
+
+        assertThat(subscriptions.get()).isEqualTo(1);
+        assertThat(proxyRequestCoalescer.coalescedCount()).isEqualTo(1);
+        assertThat(proxyRequestCoalescer.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("완료된 요청 이후의 요청은 새로운 업스트림 요청을 보내야 한다")
+    void shouldStartNewUpstreamAfterCompletion() {
+        // Given
+        ProxyCacheKey key = ProxyCacheKey.of("items", null);
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        StepVerifier.create(proxyRequestCoalescer.execute(key, () -> Mono.fromCallable(calls::incrementAndGet)))
+                .expectNext(1)
+                .verifyComplete();
+        StepVerifier.create(proxyRequestCoalescer.execute(key, () -> Mono.fromCallable(calls::incrementAndGet)))
+                .expectNext(2)
+                .verifyComplete();
+
+        // Then
+        assertThat(proxyRequestCoalescer.coalescedCount()).isZero();
+        assertThat(meterRegistry.get("darkerdb.proxy.coalescing.requests").tag("role", "leader")
+                .counter().count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,167 @@
+package org.envyw.dadmarketplace.proxy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.envyw.dadmarketplace.config.ExternalApiProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ProxyResponseCache 테스트")
+class ProxyResponseCacheTest {
+
+    private ProxyResponseCache proxyResponseCache;
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        ExternalApiProperties properties = new ExternalApiProperties(null, null,
+                new ExternalApiProperties.Cache(DataSize.ofMegabytes(1), Duration.ofSeconds(30),
+                        Duration.ofSeconds(30), Duration.ofMinutes(5)),
+                List.of(new ExternalApiProperties.Route("/market/", Duration.ofSeconds(10),
+                                Duration.ofSeconds(5), null, null, null, null, null),
+                        new ExternalApiProperties.Route("market/live", Duration.ZERO, null, null, null,
+                                null, null, null)),
+                null, null, null, null, null, null, null);
+
+        proxyResponseCache = new ProxyResponseCache(properties, new SimpleMeterRegistry(), nanoTime::get);
+    }
+
+    @Test
+    @DisplayName("경로와 쿼리 파라미터를 정규화한 키를 생성해야 한다")
+    void shouldNormalizeCacheKey() {
+        // When
+        ProxyCacheKey first = ProxyCacheKey.of("///items//search/", "rarity=epic&name=sword&");
+        ProxyCacheKey second = ProxyCacheKey.of("items/search", "name=sword&rarity=epic");
+
+        // Then
+        assertThat(first).isEqualTo(second);
+        assertThat(first.toString()).isEqualTo("items/search?name=sword&rarity=epic");
+    }
+
+    @Test
+    @DisplayName("같은 이름의 쿼리 파라미터는 원래 순서를 유지해야 한다")
+    void shouldKeepOrderOfRepeatedQueryParams() {
+        // When
+        ProxyCacheKey key = ProxyCacheKey.of("items", "tag=b&id=1&tag=a");
+
+        // Then
+        assertThat(key.query()).isEqualTo("id=1&tag=b&tag=a");
+    }
+
+    @Test
+    @DisplayName("가장 긴 prefix 의 TTL 을 적용해야 한다")
+    void shouldResolveTtlByLongestPrefix() {
+        assertThat(proxyResponseCache.ttlFor(ProxyCacheKey.of("market", null))).isEqualTo(Duration.ofSeconds(10));
+        assertThat(proxyResponseCache.ttlFor(ProxyCacheKey.of("market/items", null))).isEqualTo(Duration.ofSeconds(10));
+        assertThat(proxyResponseCache.ttlFor(ProxyCacheKey.of("market/live", null))).isEqualTo(Duration.ZERO);
+        assertThat(proxyResponseCache.ttlFor(ProxyCacheKey.of("marketplace", null))).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("성공 응답만 캐시해야 한다")
+    void shouldCacheOnlySuccessfulResponses() {
+        // Given
+        ProxyCacheKey okKey = ProxyCacheKey.of("items", null);
+        ProxyCacheKey errorKey = ProxyCacheKey.of("items/missing", null);
+        BufferedResponse ok = jsonResponse(HttpStatus.OK, "{\"items\":[\"a\",\"b\"]}");
+        BufferedResponse error = jsonResponse(HttpStatus.NOT_FOUND, "{\"error\":\"x\"}");
+
+        // When
+        proxyResponseCache.put(okKey, ok);
+        proxyResponseCache.put(errorKey, error);
+
+        // Then
+        assertThat(proxyResponseCache.lookup(okKey).response()).isEqualTo(ok);
+        assertThat(proxyResponseCache.lookup(errorKey)).isNull();
+    }
+
+    @Test
+    @DisplayName("TTL 이 0인 경로는 캐시하지 않아야 한다")
+    void shouldNotCacheRouteWithZeroTtl() {
+        // Given
+        ProxyCacheKey key = ProxyCacheKey.of("market/live", "page=1");
+
+        // When
+        proxyResponseCache.put(key, jsonResponse(HttpStatus.OK, "{\"live\":true}"));
+
+        // Then
+        assertThat(proxyResponseCache.lookup(key)).isNull();
+    }
+
+    @Test
+    @DisplayName("경로별 stale 기간을 기본값과 병합해야 한다")
+    void shouldMergeRoutePolicyWithDefaults() {
+        // When
+        ProxyResponseCache.CachePolicy policy = proxyResponseCache.policyFor(ProxyCacheKey.of("market/items", null));
+
+        // Then
+        assertThat(policy.ttl()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(policy.staleWhileRevalidate()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(policy.staleIfError()).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("TTL 경과 후에도 stale 기간 동안은 항목을 유지해야 한다")
+    void shouldKeepEntryDuringStaleWindows() {
+        // Given
+        ProxyCacheKey key = ProxyCacheKey.of("market/items", null);
+        proxyResponseCache.put(key, jsonResponse(HttpStatus.OK, "{\"items\":[]}"));
+
+        // When & Then - TTL 이내
+        nanoTime.addAndGet(Duration.ofSeconds(9).toNanos());
+        ProxyResponseCache.Entry fresh = proxyResponseCache.lookup(key);
+        assertThat(fresh.isFresh()).isTrue();
+        assertThat(fresh.toResponse().headers().getFirst(HttpHeaders.AGE)).isEqualTo("9");
+
+        // When & Then - stale-while-revalidate 기간
+        nanoTime.addAndGet(Duration.ofSeconds(3).toNanos());
+        ProxyResponseCache.Entry revalidating = proxyResponseCache.lookup(key);
+        assertThat(revalidating.isFresh()).isFalse();
+        assertThat(revalidating.isWithinStaleWhileRevalidate()).isTrue();
+
+        // When & Then - stale-if-error 기간
+        nanoTime.addAndGet(Duration.ofMinutes(1).toNanos());
+        ProxyResponseCache.Entry staleOnError = proxyResponseCache.lookup(key);
+        assertThat(staleOnError.isWithinStaleWhileRevalidate()).isFalse();
+        assertThat(staleOnError.isWithinStaleIfError()).isTrue();
+
+        // When & Then - 보존 기간 경과
+        nanoTime.addAndGet(Duration.ofMinutes(5).toNanos());
+        assertThat(proxyResponseCache.lookup(key)).isNull();
+    }
+
+    @Test
+    @DisplayName("stream 으로 지정된 경로는 캐시 대상이 아니어야 한다")
+    void shouldNotCacheStreamingRoute() {
+        // Given
+        ExternalApiProperties properties = new ExternalApiProperties(null, null,
+                new ExternalApiProperties.Cache(DataSize.ofMegabytes(1), Duration.ofSeconds(30), null, null),
+                List.of(new ExternalApiProperties.Route("export", null, null, null, true, null, null, null)),
+                null, null, null, null, null, null, null);
+        ProxyResponseCache cache = new ProxyResponseCache(properties, new SimpleMeterRegistry(), nanoTime::get);
+
+        // When
+        ProxyResponseCache.CachePolicy policy = cache.policyFor(ProxyCacheKey.of("export/all", null));
+
+        // Then
+        assertThat(policy.isCacheable()).isFalse();
+    }
+
+    private BufferedResponse jsonResponse(HttpStatus status, String json) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        return new BufferedResponse(status, headers, json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,193 @@
+package org.envyw.dadmarketplace.proxy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ProxyResponse 테스트")
+class ProxyResponseTest {
+
+    private static final byte[] BODY = "{\"items\":[]}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    @DisplayName("ETag 가 없는 업스트림 응답에는 본문 기반 강한 ETag 를 붙여야 한다")
+    void shouldComputeStrongEtagWhenMissing() {
+        // When
+        BufferedResponse response = BufferedResponse.from(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BODY));
+
+        // Then
+        assertThat(response.headers().getETag()).isEqualTo(BufferedResponse.computeEtag(BODY));
+        assertThat(response.headers().getETag()).startsWith("\"").endsWith("\"");
+    }
+
+    @Test
+    @DisplayName("업스트림이 보낸 ETag 는 그대로 유지해야 한다")
+    void shouldKeepUpstreamEtag() {
+        // When
+        BufferedResponse response = BufferedResponse.from(ResponseEntity.ok()
+                .eTag("\"upstream-v1\"")
+                .body(BODY));
+
+        // Then
+        assertThat(response.headers().getETag()).isEqualTo("\"upstream-v1\"");
+    }
+
+    @Test
+    @DisplayName("If-None-Match 가 일치하면 본문 없이 304 를 응답해야 한다")
+    void shouldWriteNotModifiedWhenEtagMatches() {
+        // Given
+        ProxyResponse proxyResponse = bufferedResponse("\"v1\"");
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/darkerdb/items")
+                .ifNoneMatch("\"v1\""));
+
+        // When
+        StepVerifier.create(proxyResponse.writeTo(exchange))
+                .verifyComplete();
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(exchange.getResponse().getHeaders().getETag()).isEqualTo("\"v1\"");
+        StepVerifier.create(exchange.getResponse().getBody())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("If-None-Match 가 다르면 전체 본문을 응답해야 한다")
+    void shouldWriteFullBodyWhenEtagDiffers() {
+        // Given
+        ProxyResponse proxyResponse = bufferedResponse("\"v2\"");
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/darkerdb/items")
+                .ifNoneMatch("\"v1\""));
+
+        // When
+        StepVerifier.create(proxyResponse.writeTo(exchange))
+                .verifyComplete();
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getHeaders().getETag()).isEqualTo("\"v2\"");
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(new String(BODY, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("스트리밍 응답은 조건부 요청이어도 업스트림 상태를 그대로 전달해야 한다")
+    void shouldNotShortCircuitStreamingResponse() {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"v1\"");
+        Flux<DataBuffer> body = Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(BODY));
+        ProxyResponse proxyResponse = ProxyResponse.streaming(HttpStatus.OK, headers, body);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/darkerdb/live")
+                .ifNoneMatch("\"v1\""));
+
+        // When
+        StepVerifier.create(proxyResponse.writeTo(exchange))
+                .verifyComplete();
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(new String(BODY, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("압축 가능한 큰 본문은 gzip 으로 보관해야 한다")
+    void shouldStoreLargeJsonBodyCompressed() {
+        // Given
+        byte[] largeBody = largeJson();
+
+        // When
+        BufferedResponse response = BufferedResponse.from(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(largeBody));
+
+        // Then
+        assertThat(response.headers().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.body().length).isLessThan(largeBody.length);
+        assertThat(GzipCodec.decompress(response.body())).isEqualTo(largeBody);
+        assertThat(response.headers().getETag()).isEqualTo(BufferedResponse.computeEtag(largeBody));
+    }
+
+    @Test
+    @DisplayName("gzip 을 받는 클라이언트에는 압축된 본문을 그대로 보내야 한다")
+    void shouldServeGzipToAcceptingClient() {
+        // Given
+        byte[] largeBody = largeJson();
+        ProxyResponse proxyResponse = BufferedResponse.from(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(largeBody)).toProxyResponse();
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/darkerdb/market")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"));
+
+        // When
+        StepVerifier.create(proxyResponse.writeTo(exchange))
+                .verifyComplete();
+
+        // Then
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(headers.getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(headers.getETag()).endsWith("-gzip\"");
+
+        byte[] written = DataBufferUtils.join(exchange.getResponse().getBody())
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    return bytes;
+                })
+                .block();
+        assertThat(GzipCodec.decompress(written)).isEqualTo(largeBody);
+    }
+
+    @Test
+    @DisplayName("gzip 을 받지 않는 클라이언트에는 압축을 풀어서 보내야 한다")
+    void shouldDecompressForNonAcceptingClient() {
+        // Given
+        byte[] largeBody = largeJson();
+        ProxyResponse proxyResponse = BufferedResponse.from(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(largeBody)).toProxyResponse();
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/darkerdb/market")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"));
+
+        // When
+        StepVerifier.create(proxyResponse.writeTo(exchange))
+                .verifyComplete();
+
+        // Then
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertThat(headers.containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(headers.getContentLength()).isEqualTo(largeBody.length);
+        assertThat(headers.getETag()).isEqualTo(BufferedResponse.computeEtag(largeBody));
+        assertThat(exchange.getResponse().getBodyAsString().block())
+                .isEqualTo(new String(largeBody, StandardCharsets.UTF_8));
+    }
+
+    private byte[] largeJson() {
+        return ("[" + "{\"name\":\"Longsword\",\"rarity\":\"Epic\"},".repeat(100) + "{}]")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private ProxyResponse bufferedResponse(String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setETag(etag);
+
+        return ProxyResponse.buffered(HttpStatus.OK, headers, BODY);
+    }
+}
@@ -0,0 +1,125 @@
+package org.envyw.dadmarketplace.proxy;
+
+import org.envyw.dadmarketplace.config.ExternalApiProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RoutePolicyTable 테스트")
+class RoutePolicyTableTest {
+
+    private RoutePolicyTable routePolicyTable;
+
+    @BeforeEach
+    void setUp() {
+        routePolicyTable = new RoutePolicyTable(properties(List.of(
+                route("", null, null, null, Duration.ofSeconds(8), null),
+                route("market", Duration.ofSeconds(10), null, null, Duration.ofSeconds(5), null),
+                route("market/live", null, true, null, null, null),
+                route("items/*/prices", Duration.ofSeconds(60), null, null, null, "background"),
+                route("items/special/prices", Duration.ofSeconds(1), null, null, null, null),
+                route("internal", null, null, false, null, null))));
+    }
+
+    @Test
+    @DisplayName("segment 단위로 가장 깊게 일치한 route 를 적용해야 한다")
+    void shouldResolveDeepestSegmentMatch() {
+        // When & Then
+        assertThat(routePolicyTable.resolve("market/items").cache().ttl()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(routePolicyTable.resolve("market").timeout()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(routePolicyTable.resolve("marketplace").cache().ttl()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(routePolicyTable.resolve("marketplace").timeout()).isEqualTo(Duration.ofSeconds(8));
+    }
+
+    @Test
+    @DisplayName("dot segment 와 인코딩된 구분자가 있는 경로는 안전하지 않다고 판단해야 한다")
+    void shouldDetectUnsafePaths() {
+        // When & Then
+        assertThat(RoutePolicyTable.isSafePath("market/../internal")).isFalse();
+        assertThat(RoutePolicyTable.isSafePath("market/%2e%2e/internal")).isFalse();
+        assertThat(RoutePolicyTable.isSafePath("market/.%2E/internal")).isFalse();
+        assertThat(RoutePolicyTable.isSafePath("market/./live")).isFalse();
+        assertThat(RoutePolicyTable.isSafePath("..")).isFalse();
+        assertThat(RoutePolicyTable.isSafePath("market%2Finternal")).isFalse();
+        assertThat(RoutePolicyTable.isSafePath("market%5Cinternal")).isFalse();
+        assertThat(RoutePolicyTable.isSafePath("market\\internal")).isFalse();
+        assertThat(RoutePolicyTable.isSafePath("market/items/Sword_1.5")).isTrue();
+        assertThat(RoutePolicyTable.isSafePath("market/...")).isTrue();
+        assertThat(RoutePolicyTable.isSafePath("market/a%20b")).isTrue();
+    }
+
+    @Test
+    @DisplayName("가장 긴 route timeout 을 알려줘야 한다")
+    void shouldReportMaxTimeout() {
+        // Given
+        RoutePolicyTable slowExport = new RoutePolicyTable(properties(List.of(
+                route("market", null, null, null, Duration.ofSeconds(5), null),
+                route("export", null, true, null, Duration.ofMinutes(2), null))));
+
+        // When & Then
+        assertThat(routePolicyTable.maxTimeout()).isEqualTo(Duration.ofSeconds(8));
+        assertThat(slowExport.maxTimeout()).isEqualTo(Duration.ofMinutes(2));
+    }
+
+    @Test
+    @DisplayName("하위 route 는 지정하지 않은 값을 상위 route 에서 물려받아야 한다")
+    void shouldInheritFromParentRoute() {
+        // When
+        RoutePolicy live = routePolicyTable.resolve("market/live/feed");
+
+        // Then
+        assertThat(live.cache().passthrough()).isTrue();
+        assertThat(live.cache().isCacheable()).isFalse();
+        assertThat(live.timeout()).isEqualTo(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("와일드카드 segment 와 일치하되 정확한 segment 를 우선해야 한다")
+    void shouldMatchWildcardWithExactPreferred() {
+        // When
+        RoutePolicy sword = routePolicyTable.resolve("items/sword/prices");
+        RoutePolicy special = routePolicyTable.resolve("items/special/prices");
+
+        // Then
+        assertThat(sword.cache().ttl()).isEqualTo(Duration.ofSeconds(60));
+        assertThat(sword.lane()).isEqualTo(UpstreamRateLimiter.Lane.BACKGROUND);
+        assertThat(special.cache().ttl()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(routePolicyTable.resolve("items/sword").cache().ttl()).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("allowed 가 false 인 route 는 거절 정책이어야 한다")
+    void shouldResolveDeniedRoute() {
+        // When & Then
+        assertThat(routePolicyTable.resolve("internal/metrics").allowed()).isFalse();
+        assertThat(routePolicyTable.resolve("market").allowed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("같은 prefix 가 두 번 설정되면 기동을 실패시켜야 한다")
+    void shouldRejectDuplicatePrefix() {
+        // When & Then
+        assertThatThrownBy(() -> new RoutePolicyTable(properties(List.of(
+                route("market", Duration.ofSeconds(10), null, null, null, null),
+                route("/market/", Duration.ofSeconds(20), null, null, null, null)))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ExternalApiProperties properties(List<ExternalApiProperties.Route> routes) {
+        return new ExternalApiProperties(null, null,
+                new ExternalApiProperties.Cache(DataSize.ofMegabytes(1), Duration.ofSeconds(30), null, null),
+                routes, null, null, null, null, null, null, null);
+    }
+
+    private ExternalApiProperties.Route route(String prefix, Duration ttl, Boolean stream, Boolean allowed,
+                                              Duration timeout, String rateLimitClass) {
+        return new ExternalApiProperties.Route(prefix, ttl, null, null, stream, allowed, timeout, rateLimitClass);
+    }
+}
@@ -0,0 +1,156 @@
+package org.envyw.dadmarketplace.proxy;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UpstreamGuard 테스트")
+class UpstreamGuardTest {
+
+    private CircuitBreaker circuitBreaker;
+    private Bulkhead bulkhead;
+    private UpstreamGuard upstreamGuard;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = CircuitBreaker.of(UpstreamGuard.INSTANCE, CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofSeconds(15))
+                .recordException(UpstreamGuard::isUpstreamFailure)
+                .ignoreException(UpstreamGuard::isDecodeLimit)
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+        bulkhead = Bulkhead.of(UpstreamGuard.INSTANCE, BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        upstreamGuard = new UpstreamGuard(circuitBreaker, bulkhead);
+    }
+
+    @Test
+    @DisplayName("업스트림 5xx 가 실패율을 넘으면 서킷이 열리고 이후 호출은 즉시 거절해야 한다")
+    void shouldOpenCircuitOnServerErrors() {
+        // Given
+        WebClientResponseException serverError = WebClientResponseException.create(
+                503, "Service Unavailable", null, null, null);
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(upstreamGuard.protect(Mono.error(serverError)))
+                    .expectError(WebClientResponseException.class)
+                    .verify();
+        }
+
+        // Then
+        assertThat(upstreamGuard.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        StepVerifier.create(upstreamGuard.protect(Mono.just("ok")))
+                .expectErrorSatisfies(throwable -> {
+                    assertThat(throwable).isInstanceOf(CallNotPermittedException.class);
+                    assertThat(UpstreamGuard.isRejection(throwable)).isTrue();
+                })
+                .verify();
+        assertThat(upstreamGuard.retryAfter()).isEqualTo(Duration.ofSeconds(15));
+    }
+
+    @Test
+    @DisplayName("업스트림 4xx 는 서킷 실패로 기록하지 않아야 한다")
+    void shouldNotRecordClientErrorsAsFailures() {
+        // Given
+        WebClientResponseException notFound = WebClientResponseException.create(
+                404, "Not Found", null, null, null);
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(upstreamGuard.protect(Mono.error(notFound)))
+                    .expectError(WebClientResponseException.class)
+                    .verify();
+        }
+
+        // Then
+        assertThat(upstreamGuard.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isZero();
+    }
+
+    @Test
+    @DisplayName("정상 응답 본문이 버퍼 한도를 넘은 것은 서킷 실패로 기록하지 않아야 한다")
+    void shouldIgnoreOversizedBodies() {
+        // Given
+        DecodingException oversized = new DecodingException("body too large",
+                new DataBufferLimitException("Exceeded limit on max bytes to buffer : 262144"));
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(upstreamGuard.protect(Mono.error(oversized)))
+                    .expectError(DecodingException.class)
+                    .verify();
+        }
+
+        // Then
+        assertThat(upstreamGuard.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isZero();
+        assertThat(UpstreamGuard.isUpstreamFailure(oversized)).isFalse();
+    }
+
+    @Test
+    @DisplayName("동시 호출 한도를 넘으면 벌크헤드가 즉시 거절해야 한다")
+    void shouldRejectWhenBulkheadFull() {
+        // Given
+        Sinks.One<String> slowUpstream = Sinks.one();
+        upstreamGuard.protect(slowUpstream.asMono()).subscribe();
+
+        // When & Then
+        StepVerifier.create(upstreamGuard.protect(Mono.just("ok")))
+                .expectErrorSatisfies(throwable -> {
+                    assertThat(throwable).isInstanceOf(BulkheadFullException.class);
+                    assertThat(UpstreamGuard.isRejection(throwable)).isTrue();
+                })
+                .verify();
+
+        slowUpstream.tryEmitValue("done");
+        StepVerifier.create(upstreamGuard.protect(Mono.just("ok")))
+                .expectNext("ok")
+                .verifyComplete();
+        assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isZero();
+    }
+
+    @Test
+    @DisplayName("스트리밍 응답은 본문이 끝날 때까지 벌크헤드 자리를 잡고 있어야 한다")
+    void shouldHoldBulkheadUntilStreamBodyTerminates() {
+        // Given
+        Sinks.Many<String> body = Sinks.many().unicast().onBackpressureBuffer();
+        ResponseEntity<Flux<String>> entity = upstreamGuard.protectStream(
+                Mono.just(ResponseEntity.ok(body.asFlux()))).block();
+
+        // When & Then
+        StepVerifier.create(upstreamGuard.protect(Mono.just("ok")))
+                .expectError(BulkheadFullException.class)
+                .verify();
+
+        body.tryEmitNext("chunk");
+        body.tryEmitComplete();
+        StepVerifier.create(entity.getBody())
+                .expectNext("chunk")
+                .verifyComplete();
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,154 @@
+package org.envyw.dadmarketplace.proxy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.envyw.dadmarketplace.config.ExternalApiProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UpstreamHedger 테스트")
+class UpstreamHedgerTest {
+
+    private VirtualTimeScheduler scheduler;
+    private SimpleMeterRegistry meterRegistry;
+    private UpstreamHedger upstreamHedger;
+
+    private final AtomicInteger attempts = new AtomicInteger();
+    private final AtomicBoolean primaryCancelled = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        scheduler = VirtualTimeScheduler.create();
+        meterRegistry = new SimpleMeterRegistry();
+        upstreamHedger = new UpstreamHedger(new ExternalApiProperties.Hedge(true, 0.5,
+                Duration.ofMillis(10), Duration.ofMillis(100), 8, 4, 0.5, 1), meterRegistry, scheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Test
+    @DisplayName("첫 요청이 지연 기준을 넘기면 헤지 요청의 응답을 쓰고 첫 요청은 취소해야 한다")
+    void shouldUseHedgedResponseWhenPrimaryIsSlow() {
+        // When & Then
+        StepVerifier.create(upstreamHedger.hedge(HttpMethod.GET, attempt(500, 10)))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofMillis(110)))
+                .expectNext("attempt-2")
+                .verifyComplete();
+
+        assertThat(attempts).hasValue(2);
+        assertThat(primaryCancelled).isTrue();
+        assertThat(meterRegistry.get("darkerdb.upstream.hedge").tag("result", "won").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("첫 요청이 지연 기준 안에 응답하면 헤지 요청을 보내지 않아야 한다")
+    void shouldNotHedgeFastResponse() {
+        // When & Then
+        StepVerifier.create(upstreamHedger.hedge(HttpMethod.GET, attempt(50, 10)))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofSeconds(1)))
+                .expectNext("attempt-1")
+                .verifyComplete();
+
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("헤지 예산을 다 쓰면 첫 요청만 기다려야 한다")
+    void shouldStopHedgingWhenBudgetExhausted() {
+        // Given
+        StepVerifier.create(upstreamHedger.hedge(HttpMethod.GET, attempt(500, 10)))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofMillis(110)))
+                .expectNext("attempt-2")
+                .verifyComplete();
+        attempts.set(0);
+
+        // When & Then
+        StepVerifier.create(upstreamHedger.hedge(HttpMethod.GET, attempt(500, 10)))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofMillis(500)))
+                .expectNext("attempt-1")
+                .verifyComplete();
+
+        assertThat(attempts).hasValue(1);
+        assertThat(upstreamHedger.availableBudget()).isZero();
+        assertThat(meterRegistry.get("darkerdb.upstream.hedge").tag("result", "budget-exhausted").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("멱등하지 않은 메서드는 헤지하지 않아야 한다")
+    void shouldNotHedgeNonIdempotentMethod() {
+        // When & Then
+        StepVerifier.create(upstreamHedger.hedge(HttpMethod.POST, attempt(500, 10)))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofMillis(500)))
+                .expectNext("attempt-1")
+                .verifyComplete();
+
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("표본이 쌓이면 지연 기준을 최근 응답 시간의 percentile 로 바꿔야 한다")
+    void shouldAdaptDelayToLatencyPercentile() {
+        // Given
+        assertThat(upstreamHedger.hedgeDelay()).isEqualTo(Duration.ofMillis(100));
+
+        // When
+        for (long latency : List.of(20L, 30L, 40L, 60L)) {
+            StepVerifier.create(upstreamHedger.hedge(HttpMethod.GET, attempt(latency, latency)))
+                    .then(() -> scheduler.advanceTimeBy(Duration.ofMillis(latency)))
+                    .expectNextCount(1)
+                    .verifyComplete();
+            attempts.set(0);
+        }
+
+        // Then
+        assertThat(upstreamHedger.hedgeDelay()).isEqualTo(Duration.ofMillis(30));
+    }
+
+    @Test
+    @DisplayName("헤지에 져서 취소된 첫 요청의 대기 시간도 표본에 넣어 지연 기준이 낮아지지 않아야 한다")
+    void shouldSampleCancelledPrimaries() {
+        // Given
+        UpstreamHedger hedger = new UpstreamHedger(new ExternalApiProperties.Hedge(true, 0.9,
+                Duration.ofMillis(10), Duration.ofMillis(100), 8, 4, 1.0, 10), meterRegistry, scheduler);
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(hedger.hedge(HttpMethod.GET, attempt(500, 10)))
+                    .then(() -> scheduler.advanceTimeBy(Duration.ofMillis(110)))
+                    .expectNext("attempt-2")
+                    .verifyComplete();
+            attempts.set(0);
+        }
+
+        // Then
+        assertThat(hedger.hedgeDelay()).isEqualTo(Duration.ofMillis(100));
+    }
+
+    private Supplier<Mono<String>> attempt(long primaryMillis, long hedgeMillis) {
+        return () -> {
+            int attempt = attempts.incrementAndGet();
+            Mono<String> response = Mono.delay(Duration.ofMillis(attempt == 1 ? primaryMillis : hedgeMillis), scheduler)
+                    .thenReturn("attempt-" + attempt);
+
+            return attempt == 1 ? response.doOnCancel(() -> primaryCancelled.set(true)) : response;
+        };
+    }
+}
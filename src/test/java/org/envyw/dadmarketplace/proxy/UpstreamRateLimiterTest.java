@@ -0,0 +1,163 @@
+package org.envyw.dadmarketplace.proxy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.envyw.dadmarketplace.config.ExternalApiProperties;
+import org.envyw.dadmarketplace.proxy.UpstreamRateLimiter.Lane;
+import org.envyw.dadmarketplace.proxy.exception.UpstreamRateLimitException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("UpstreamRateLimiter 테스트")
+class UpstreamRateLimiterTest {
+
+    private VirtualTimeScheduler scheduler;
+    private SimpleMeterRegistry meterRegistry;
+    private UpstreamRateLimiter upstreamRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = VirtualTimeScheduler.create();
+        meterRegistry = new SimpleMeterRegistry();
+        upstreamRateLimiter = new UpstreamRateLimiter(
+                new ExternalApiProperties.UpstreamRateLimit(10d, 2, 1, 2, Duration.ofSeconds(1)),
+                meterRegistry, () -> scheduler.now(TimeUnit.NANOSECONDS), scheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Test
+    @DisplayName("버킷에 토큰이 있으면 즉시 통과시켜야 한다")
+    void shouldGrantImmediatelyWithinBurst() {
+        // When & Then
+        StepVerifier.create(upstreamRateLimiter.acquire(Lane.INTERACTIVE)).verifyComplete();
+        StepVerifier.create(upstreamRateLimiter.acquire(Lane.INTERACTIVE)).verifyComplete();
+
+        assertThat(upstreamRateLimiter.availableTokens()).isLessThan(1);
+    }
+
+    @Test
+    @DisplayName("토큰이 없으면 대기열에서 기다렸다가 충전되면 통과해야 한다")
+    void shouldQueueUntilTokenRefilled() {
+        // Given
+        drainBurst();
+        List<String> completed = new ArrayList<>();
+
+        // When
+        upstreamRateLimiter.acquire(Lane.INTERACTIVE).subscribe(null, null, () -> completed.add("first"));
+        upstreamRateLimiter.acquire(Lane.INTERACTIVE).subscribe(null, null, () -> completed.add("second"));
+
+        // Then
+        assertThat(completed).isEmpty();
+        assertThat(meterRegistry.get("darkerdb.upstream.ratelimit.queue").tag("lane", "interactive")
+                .gauge().value()).isEqualTo(2);
+
+        scheduler.advanceTimeBy(Duration.ofMillis(100));
+        assertThat(completed).containsExactly("first");
+
+        scheduler.advanceTimeBy(Duration.ofMillis(100));
+        assertThat(completed).containsExactly("first", "second");
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 즉시 거절해야 한다")
+    void shouldRejectWhenQueueFull() {
+        // Given
+        drainBurst();
+        upstreamRateLimiter.acquire(Lane.INTERACTIVE).subscribe();
+        upstreamRateLimiter.acquire(Lane.INTERACTIVE).subscribe();
+
+        // When & Then
+        StepVerifier.create(upstreamRateLimiter.acquire(Lane.INTERACTIVE))
+                .expectErrorSatisfies(throwable -> {
+                    assertThat(throwable).isInstanceOf(UpstreamRateLimitException.class);
+                    assertThat(((UpstreamRateLimitException) throwable).getRetryAfter())
+                            .isEqualTo(Duration.ofMillis(300));
+                })
+                .verify();
+
+        assertThat(meterRegistry.get("darkerdb.upstream.ratelimit.rejected")
+                .tags("lane", "interactive", "reason", "queue-full").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("최대 대기 시간 안에 토큰을 받지 못하면 거절해야 한다")
+    void shouldRejectAfterMaxWait() {
+        // Given
+        UpstreamRateLimiter slowLimiter = new UpstreamRateLimiter(
+                new ExternalApiProperties.UpstreamRateLimit(1d, 1, 0, 2, Duration.ofMillis(200)),
+                meterRegistry, () -> scheduler.now(TimeUnit.NANOSECONDS), scheduler);
+        StepVerifier.create(slowLimiter.acquire(Lane.INTERACTIVE)).verifyComplete();
+        List<Throwable> errors = new ArrayList<>();
+
+        // When
+        slowLimiter.acquire(Lane.INTERACTIVE).subscribe(null, errors::add);
+        scheduler.advanceTimeBy(Duration.ofMillis(250));
+
+        // Then
+        assertThat(errors).singleElement().isInstanceOf(UpstreamRateLimitException.class);
+        assertThat(slowLimiter.queueDepth(Lane.INTERACTIVE)).isZero();
+    }
+
+    @Test
+    @DisplayName("사용자 요청이 기다리는 동안 백그라운드 갱신은 토큰을 가져가지 못해야 한다")
+    void shouldPrioritizeInteractiveLane() {
+        // Given
+        drainBurst();
+        List<Lane> order = new ArrayList<>();
+
+        // When
+        upstreamRateLimiter.acquire(Lane.BACKGROUND).subscribe(null, null, () -> order.add(Lane.BACKGROUND));
+        upstreamRateLimiter.acquire(Lane.INTERACTIVE).subscribe(null, null, () -> order.add(Lane.INTERACTIVE));
+        upstreamRateLimiter.acquire(Lane.INTERACTIVE).subscribe(null, null, () -> order.add(Lane.INTERACTIVE));
+
+        scheduler.advanceTimeBy(Duration.ofMillis(400));
+
+        // Then
+        assertThat(order).containsExactly(Lane.INTERACTIVE, Lane.INTERACTIVE, Lane.BACKGROUND);
+    }
+
+    @Test
+    @DisplayName("permitsPerSecond 가 0 이면 제한하지 않아야 한다")
+    void shouldPassThroughWhenDisabled() {
+        // Given
+        UpstreamRateLimiter disabled = new UpstreamRateLimiter(
+                new ExternalApiProperties.UpstreamRateLimit(null, null, null, null, null),
+                new SimpleMeterRegistry(), () -> scheduler.now(TimeUnit.NANOSECONDS), scheduler);
+
+        // When & Then
+        for (int i = 0; i < 100; i++) {
+            StepVerifier.create(disabled.acquire(Lane.BACKGROUND)).verifyComplete();
+        }
+    }
+
+    @Test
+    @DisplayName("backgroundReserve 가 burst 이상이면 설정 단계에서 거절해야 한다")
+    void shouldRejectReserveNotBelowBurst() {
+        // When & Then
+        assertThatThrownBy(() -> new ExternalApiProperties.UpstreamRateLimit(10d, 5, 5, 0, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("background-reserve");
+        assertThatThrownBy(() -> new ExternalApiProperties.UpstreamRateLimit(10d, 5, -1, 0, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void drainBurst() {
+        StepVerifier.create(upstreamRateLimiter.acquire(Lane.INTERACTIVE)).verifyComplete();
+        StepVerifier.create(upstreamRateLimiter.acquire(Lane.INTERACTIVE)).verifyComplete();
+    }
+}
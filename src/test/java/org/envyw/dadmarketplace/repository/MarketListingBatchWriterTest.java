@@ -0,0 +1,120 @@
+package org.envyw.dadmarketplace.repository;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.envyw.dadmarketplace.config.R2dbcConfig;
+import org.envyw.dadmarketplace.entity.MarketListing;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.r2dbc.connection.init.ConnectionFactoryInitializer;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataR2dbcTest
+@Import({R2dbcConfig.class, MarketListingBatchWriter.class})
+@Testcontainers
+@DisplayName("MarketListingBatchWriter 테스트")
+class MarketListingBatchWriterTest {
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpassword")
+            .withCommand("--character-set-server=utf8mb4", "--collation-server=utf8mb4_unicode_ci");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.r2dbc.url", () ->
+                "r2dbc:mysql://" + mysql.getHost() + ":" + mysql.getFirstMappedPort() + "/testdb");
+        registry.add("spring.r2dbc.username", mysql::getUsername);
+        registry.add("spring.r2dbc.password", mysql::getPassword);
+    }
+
+    @Autowired
+    private MarketListingBatchWriter marketListingBatchWriter;
+
+    @Autowired
+    private MarketListingRepository marketListingRepository;
+
+    @BeforeAll
+    static void initSchema(@Autowired ConnectionFactory connectionFactory) {
+        // 스키마 초기화
+        ConnectionFactoryInitializer initializer = new ConnectionFactoryInitializer();
+        initializer.setConnectionFactory(connectionFactory);
+
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+        populator.addScript(new ClassPathResource("schema/schema.sql"));
+
+        initializer.setDatabasePopulator(populator);
+        initializer.afterPropertiesSet();
+    }
+
+    @Test
+    @DisplayName("여러 행을 한 문장으로 쓰고, 같은 listing_id 는 갱신해야 한다")
+    void shouldUpsertRowsInOneStatement() {
+        // Given
+        LocalDateTime listedAt = LocalDateTime.of(2025, 6, 1, 12, 0);
+        List<MarketListing> first = List.of(listing(1L, 100, listedAt), listing(2L, 200, listedAt.plusMinutes(1)));
+        List<MarketListing> second = List.of(listing(2L, 150, listedAt.plusMinutes(1)));
+
+        // When
+        StepVerifier.create(marketListingBatchWriter.upsert(first)
+                        .then(marketListingBatchWriter.upsert(second))
+                        .thenMany(marketListingRepository.findByItemIdOrderByListedAtDesc("Sword",
+                                PageRequest.of(0, 10))))
+                // Then
+                .assertNext(latest -> {
+                    assertThat(latest.getListingId()).isEqualTo(2L);
+                    assertThat(latest.getPrice()).isEqualTo(150);
+                    assertThat(latest.getQuantity()).isNull();
+                })
+                .assertNext(older -> assertThat(older.getListingId()).isEqualTo(1L))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("주어진 listing_id 의 행만 한 문장으로 지워야 한다")
+    void shouldDeleteRowsByListingIds() {
+        // Given
+        LocalDateTime listedAt = LocalDateTime.of(2025, 6, 1, 12, 0);
+        List<MarketListing> rows = List.of(listing(11L, 100, listedAt), listing(12L, 200, listedAt),
+                listing(13L, 300, listedAt));
+
+        // When
+        StepVerifier.create(marketListingBatchWriter.upsert(rows)
+                        .then(marketListingBatchWriter.deleteByListingIds(List.of(11L, 13L)))
+                        .doOnNext(deleted -> assertThat(deleted).isEqualTo(2L))
+                        .thenMany(marketListingBatchWriter.findListingIds()
+                                .filter(listingId -> listingId >= 11L && listingId <= 13L)))
+                // Then
+                .expectNext(12L)
+                .verifyComplete();
+    }
+
+    private static MarketListing listing(Long id, int price, LocalDateTime listedAt) {
+        return MarketListing.builder()
+                .listingId(id)
+                .itemId("Sword")
+                .itemName("Sword")
+                .rarity("Rare")
+                .price(price)
+                .hasSold(false)
+                .listedAt(listedAt)
+                .build();
+    }
+}
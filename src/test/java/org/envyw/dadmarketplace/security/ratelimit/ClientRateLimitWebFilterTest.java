@@ -0,0 +1,218 @@
+package org.envyw.dadmarketplace.security.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.envyw.dadmarketplace.config.ClientRateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("클라이언트 요청 제한 웹 필터 테스트")
+class ClientRateLimitWebFilterTest {
+
+    @Mock
+    private WebFilterChain filterChain;
+
+    private ClientRateLimitWebFilter clientRateLimitWebFilter;
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        ClientRateLimitProperties properties = new ClientRateLimitProperties(true, null, List.of(
+                new ClientRateLimitProperties.Route("/api/darkerdb", 60, Duration.ofMinutes(1), 2)),
+                List.of("192.168.0.0/16"));
+        clientRateLimitWebFilter = new ClientRateLimitWebFilter(
+                new ClientRateLimiter(properties, new SimpleMeterRegistry(), nanoTime::get));
+
+        lenient().when(filterChain.filter(any(ServerWebExchange.class))).thenReturn(Mono.empty());
+    }
+
+    @Test
+    @DisplayName("허용된 요청에는 RateLimit 헤더를 붙이고 다음 필터로 넘겨야 한다")
+    void shouldAddRateLimitHeadersWhenAllowed() {
+        // Given
+        MockServerWebExchange exchange = exchangeFrom("10.0.0.1");
+
+        // When
+        StepVerifier.create(clientRateLimitWebFilter.filter(exchange, filterChain))
+                .verifyComplete();
+
+        // Then
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertThat(headers.getFirst(ClientRateLimitWebFilter.RATE_LIMIT_LIMIT)).isEqualTo("2");
+        assertThat(headers.getFirst(ClientRateLimitWebFilter.RATE_LIMIT_REMAINING)).isEqualTo("1");
+        assertThat(headers.getFirst(ClientRateLimitWebFilter.RATE_LIMIT_RESET)).isEqualTo("1");
+        verify(filterChain).filter(exchange);
+    }
+
+    @Test
+    @DisplayName("IP 기준 한도를 넘으면 429 와 Retry-After 를 응답해야 한다")
+    void shouldRejectAnonymousClientOverLimit() {
+        // Given
+        clientRateLimitWebFilter.filter(exchangeFrom("10.0.0.1"), filterChain).block();
+        clientRateLimitWebFilter.filter(exchangeFrom("10.0.0.1"), filterChain).block();
+        MockServerWebExchange exchange = exchangeFrom("10.0.0.1");
+
+        // When
+        StepVerifier.create(clientRateLimitWebFilter.filter(exchange, filterChain))
+                .verifyComplete();
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(exchange.getResponse().getBodyAsString().block()).contains("Too many requests");
+        verify(filterChain, times(2)).filter(any(ServerWebExchange.class));
+
+        StepVerifier.create(clientRateLimitWebFilter.filter(exchangeFrom("10.0.0.2"), filterChain))
+                .verifyComplete();
+        verify(filterChain, times(3)).filter(any(ServerWebExchange.class));
+    }
+
+    @Test
+    @DisplayName("본문을 읽은 뒤 알게 된 추가 비용은 같은 버킷에 청구하고 넘치면 거절해야 한다")
+    void shouldChargeAdditionalCostToSameBucket() {
+        // Given
+        MockServerWebExchange exchange = exchangeFrom("10.0.0.1");
+        clientRateLimitWebFilter.filter(exchange, filterChain).block();
+
+        // When
+        boolean first = ClientRateLimitWebFilter.tryAcquireAdditional(exchange, 1);
+        boolean second = ClientRateLimitWebFilter.tryAcquireAdditional(exchange, 1);
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(exchange.getResponse().getHeaders().getFirst(ClientRateLimitWebFilter.RATE_LIMIT_REMAINING))
+                .isEqualTo("0");
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(ClientRateLimitWebFilter.tryAcquireAdditional(
+                MockServerWebExchange.from(MockServerHttpRequest.get("/api/search-keyword")), 10)).isTrue();
+    }
+
+    @Test
+    @DisplayName("burst 보다 큰 추가 비용은 버킷 전체까지만 청구해야 한다")
+    void shouldCapAdditionalCostAtBurst() {
+        // Given
+        MockServerWebExchange exchange = exchangeFrom("10.0.0.1");
+        clientRateLimitWebFilter.filter(exchange, filterChain).block();
+
+        // When
+        boolean admitted = ClientRateLimitWebFilter.tryAcquireAdditional(exchange, 50);
+        MockServerWebExchange next = exchangeFrom("10.0.0.1");
+        clientRateLimitWebFilter.filter(next, filterChain).block();
+
+        // Then
+        assertThat(admitted).isTrue();
+        assertThat(next.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    @DisplayName("인증된 요청은 IP 가 달라도 JWT subject 기준으로 제한해야 한다")
+    void shouldLimitAuthenticatedClientBySubject() {
+        // Given
+        TestingAuthenticationToken authentication = new TestingAuthenticationToken("discord-123", null, "ROLE_USER");
+        for (String ip : List.of("10.0.0.1", "10.0.0.2")) {
+            clientRateLimitWebFilter.filter(exchangeFrom(ip), filterChain)
+                    .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication))
+                    .block();
+        }
+        MockServerWebExchange exchange = exchangeFrom("10.0.0.3");
+
+        // When
+        StepVerifier.create(clientRateLimitWebFilter.filter(exchange, filterChain)
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication)))
+                .verifyComplete();
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    @DisplayName("신뢰하는 프록시를 거친 요청은 X-Forwarded-For 의 클라이언트 IP 로 제한해야 한다")
+    void shouldLimitByForwardedClientBehindTrustedProxy() {
+        // Given
+        for (int i = 0; i < 2; i++) {
+            clientRateLimitWebFilter.filter(proxiedExchange("192.168.0.10", "10.0.0.1, 192.168.0.11"), filterChain)
+                    .block();
+        }
+        MockServerWebExchange sameClient = proxiedExchange("192.168.0.10", "10.0.0.1");
+        MockServerWebExchange otherClient = proxiedExchange("192.168.0.10", "10.0.0.2");
+
+        // When
+        clientRateLimitWebFilter.filter(sameClient, filterChain).block();
+        clientRateLimitWebFilter.filter(otherClient, filterChain).block();
+
+        // Then
+        assertThat(sameClient.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(otherClient.getResponse().getStatusCode()).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    @DisplayName("신뢰하지 않는 연결이 보낸 X-Forwarded-For 는 무시해야 한다")
+    void shouldIgnoreForwardedForFromUntrustedPeer() {
+        // Given
+        for (String spoofed : List.of("10.0.0.1", "10.0.0.2")) {
+            clientRateLimitWebFilter.filter(proxiedExchange("10.9.9.9", spoofed), filterChain).block();
+        }
+        MockServerWebExchange exchange = proxiedExchange("10.9.9.9", "10.0.0.3");
+
+        // When
+        clientRateLimitWebFilter.filter(exchange, filterChain).block();
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(ClientRateLimitWebFilter.isIpLiteral("example.com")).isFalse();
+        assertThat(ClientRateLimitWebFilter.isIpLiteral("300.0.0.1")).isFalse();
+        assertThat(ClientRateLimitWebFilter.isIpLiteral("2001:db8::1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("제한 대상이 아닌 경로는 그대로 통과시켜야 한다")
+    void shouldSkipUnmatchedPath() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/search-keyword"));
+
+        // When
+        StepVerifier.create(clientRateLimitWebFilter.filter(exchange, filterChain))
+                .verifyComplete();
+
+        // Then
+        assertThat(exchange.getResponse().getHeaders().containsKey(ClientRateLimitWebFilter.RATE_LIMIT_LIMIT))
+                .isFalse();
+        verify(filterChain).filter(exchange);
+    }
+
+    private MockServerWebExchange proxiedExchange(String proxyIp, String forwardedFor) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/darkerdb/items")
+                .remoteAddress(new InetSocketAddress(proxyIp, 50000))
+                .header(ClientRateLimitWebFilter.X_FORWARDED_FOR, forwardedFor));
+    }
+
+    private MockServerWebExchange exchangeFrom(String ip) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/darkerdb/items")
+                .remoteAddress(new InetSocketAddress(ip, 50000)));
+    }
+}
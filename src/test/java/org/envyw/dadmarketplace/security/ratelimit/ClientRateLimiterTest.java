@@ -0,0 +1,127 @@
+package org.envyw.dadmarketplace.security.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.envyw.dadmarketplace.config.ClientRateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ClientRateLimiter 테스트")
+class ClientRateLimiterTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private ClientRateLimiter clientRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        ClientRateLimitProperties properties = new ClientRateLimitProperties(true, 1_000L, List.of(
+                new ClientRateLimitProperties.Route("/api/darkerdb/market/", 60, Duration.ofMinutes(1), 3),
+                new ClientRateLimitProperties.Route("/api/darkerdb", 120, Duration.ofMinutes(1), 5)), null);
+        clientRateLimiter = new ClientRateLimiter(properties, new SimpleMeterRegistry(), nanoTime::get);
+    }
+
+    @Test
+    @DisplayName("가장 긴 경로 prefix 의 한도를 적용해야 한다")
+    void shouldResolveLongestPrefixRoute() {
+        // When & Then
+        assertThat(clientRateLimiter.routeFor("/api/darkerdb/market/search").route().burst()).isEqualTo(3);
+        assertThat(clientRateLimiter.routeFor("/api/darkerdb/market").route().burst()).isEqualTo(3);
+        assertThat(clientRateLimiter.routeFor("/api/darkerdb/marketplace").route().burst()).isEqualTo(5);
+        assertThat(clientRateLimiter.routeFor("/api/search-keyword")).isNull();
+    }
+
+    @Test
+    @DisplayName("burst 만큼 허용한 뒤 초과 요청은 거절하고 Retry-After 를 계산해야 한다")
+    void shouldRejectAfterBurst() {
+        // Given
+        ClientRateLimiter.RouteLimit route = clientRateLimiter.routeFor("/api/darkerdb/market");
+
+        // When
+        List<ClientRateLimiter.Decision> decisions = List.of(
+                clientRateLimiter.tryAcquire(route, "ip:10.0.0.1"),
+                clientRateLimiter.tryAcquire(route, "ip:10.0.0.1"),
+                clientRateLimiter.tryAcquire(route, "ip:10.0.0.1"),
+                clientRateLimiter.tryAcquire(route, "ip:10.0.0.1"));
+
+        // Then
+        assertThat(decisions).extracting(ClientRateLimiter.Decision::allowed)
+                .containsExactly(true, true, true, false);
+        assertThat(decisions).extracting(ClientRateLimiter.Decision::remaining)
+                .containsExactly(2, 1, 0, 0);
+        assertThat(decisions.get(3).retryAfter()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(decisions.get(2).resetAfter()).isEqualTo(Duration.ofSeconds(3));
+        assertThat(route.rejected().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("비용이 큰 요청은 그만큼 한 번에 차감하고, 남은 한도를 넘으면 차감 없이 거절해야 한다")
+    void shouldChargeCostAtOnce() {
+        // Given
+        ClientRateLimiter.RouteLimit route = clientRateLimiter.routeFor("/api/darkerdb/batch");
+
+        // When
+        ClientRateLimiter.Decision first = clientRateLimiter.tryAcquire(route, "user:1", 4);
+        ClientRateLimiter.Decision second = clientRateLimiter.tryAcquire(route, "user:1", 2);
+        ClientRateLimiter.Decision third = clientRateLimiter.tryAcquire(route, "user:1", 1);
+
+        // Then
+        assertThat(first.allowed()).isTrue();
+        assertThat(first.remaining()).isEqualTo(1);
+        assertThat(second.allowed()).isFalse();
+        assertThat(second.retryAfter()).isEqualTo(Duration.ofMillis(500));
+        assertThat(third.allowed()).isTrue();
+        assertThat(third.remaining()).isZero();
+    }
+
+    @Test
+    @DisplayName("시간이 지나면 평균 속도만큼 다시 허용해야 한다")
+    void shouldRefillOverTime() {
+        // Given
+        ClientRateLimiter.RouteLimit route = clientRateLimiter.routeFor("/api/darkerdb/market");
+        for (int i = 0; i < 3; i++) {
+            clientRateLimiter.tryAcquire(route, "user:1");
+        }
+        assertThat(clientRateLimiter.tryAcquire(route, "user:1").allowed()).isFalse();
+
+        // When
+        nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        // Then
+        assertThat(clientRateLimiter.tryAcquire(route, "user:1").allowed()).isTrue();
+        assertThat(clientRateLimiter.tryAcquire(route, "user:1").allowed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("클라이언트와 route 별로 버킷을 따로 관리해야 한다")
+    void shouldIsolateBucketsPerClientAndRoute() {
+        // Given
+        ClientRateLimiter.RouteLimit market = clientRateLimiter.routeFor("/api/darkerdb/market");
+        ClientRateLimiter.RouteLimit items = clientRateLimiter.routeFor("/api/darkerdb/items");
+        for (int i = 0; i < 3; i++) {
+            clientRateLimiter.tryAcquire(market, "user:1");
+        }
+
+        // When & Then
+        assertThat(clientRateLimiter.tryAcquire(market, "user:1").allowed()).isFalse();
+        assertThat(clientRateLimiter.tryAcquire(market, "user:2").allowed()).isTrue();
+        assertThat(clientRateLimiter.tryAcquire(items, "user:1").allowed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("비활성화하면 어떤 경로도 제한하지 않아야 한다")
+    void shouldNotLimitWhenDisabled() {
+        // Given
+        ClientRateLimiter disabled = new ClientRateLimiter(new ClientRateLimitProperties(false, null,
+                List.of(new ClientRateLimitProperties.Route("/api/darkerdb", 1, Duration.ofMinutes(1), 1)), null),
+                new SimpleMeterRegistry(), nanoTime::get);
+
+        // When & Then
+        assertThat(disabled.routeFor("/api/darkerdb/items")).isNull();
+    }
+}
@@ -0,0 +1,183 @@
+package org.envyw.dadmarketplace.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.envyw.dadmarketplace.config.ExternalApiProperties;
+import org.envyw.dadmarketplace.dto.request.DarkerDBBatchReqDto;
+import org.envyw.dadmarketplace.dto.response.DarkerDBBatchItemResDto;
+import org.envyw.dadmarketplace.proxy.BufferedResponse;
+import org.envyw.dadmarketplace.proxy.ProxyResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DarkerDBBatchService 테스트")
+class DarkerDBBatchServiceTest {
+
+    @Mock
+    private ExternalApiService externalApiService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private DarkerDBBatchService darkerDBBatchService;
+
+    @BeforeEach
+    void setUp() {
+        darkerDBBatchService = new DarkerDBBatchService(externalApiService,
+                new ExternalApiProperties.Batch(3, 4), 1024 * 1024, objectMapper);
+    }
+
+    @Test
+    @DisplayName("먼저 끝난 하위 요청부터 내보내야 한다")
+    void shouldEmitItemsAsTheyComplete() {
+        // Given
+        when(externalApiService.proxyGetRequest("slow", null))
+                .thenReturn(Mono.delay(Duration.ofMillis(200)).map(tick -> json("{\"name\":\"slow\"}")));
+        when(externalApiService.proxyGetRequest("fast", null))
+                .thenReturn(Mono.just(json("{\"name\":\"fast\"}")));
+
+        // When & Then
+        StepVerifier.create(darkerDBBatchService.execute(new DarkerDBBatchReqDto(List.of(
+                        new DarkerDBBatchReqDto.Item("a", "slow", null),
+                        new DarkerDBBatchReqDto.Item("b", "fast", null)))))
+                .assertNext(item -> {
+                    assertThat(item.index()).isEqualTo(1);
+                    assertThat(item.id()).isEqualTo("b");
+                    assertThat(item.body()).isEqualTo(new RawValue("{\"name\":\"fast\"}"));
+                })
+                .assertNext(item -> assertThat(item.index()).isEqualTo(0))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("하위 요청 하나가 실패해도 나머지 결과는 내보내야 한다")
+    void shouldIsolateFailedItems() {
+        // Given
+        when(externalApiService.proxyGetRequest("broken", null))
+                .thenReturn(Mono.error(new IllegalStateException("boom")));
+        when(externalApiService.proxyGetRequest("market", "page=1"))
+                .thenReturn(Mono.just(json("{\"page\":1}")));
+
+        // When
+        List<DarkerDBBatchItemResDto> items = darkerDBBatchService.execute(new DarkerDBBatchReqDto(List.of(
+                        new DarkerDBBatchReqDto.Item(null, "broken", null),
+                        new DarkerDBBatchReqDto.Item(null, "market", "page=1"))))
+                .collectSortedList((left, right) -> Integer.compare(left.index(), right.index()))
+                .block();
+
+        // Then
+        assertThat(items).hasSize(2);
+        assertThat(items.get(0).status()).isEqualTo(HttpStatus.BAD_GATEWAY.value());
+        assertThat(items.get(0).body()).isEqualTo(Map.of("error", "Batch item failed"));
+        assertThat(items.get(1).status()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    @DisplayName("gzip 으로 보관된 응답은 풀어서 JSON 으로 넣어야 한다")
+    void shouldDecodeGzipBody() {
+        // Given
+        String payload = "{\"items\":\"" + "x".repeat(4096) + "\"}";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        BufferedResponse buffered = BufferedResponse.from(
+                new ResponseEntity<>(payload.getBytes(StandardCharsets.UTF_8), headers, HttpStatus.OK));
+        assertThat(buffered.headers().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+
+        when(externalApiService.proxyGetRequest("items", null)).thenReturn(Mono.just(buffered.toProxyResponse()));
+
+        // When & Then
+        StepVerifier.create(darkerDBBatchService.execute(new DarkerDBBatchReqDto(List.of(
+                        new DarkerDBBatchReqDto.Item(null, "items", null)))))
+                .assertNext(item -> assertThat(item.body()).isEqualTo(new RawValue(payload)))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("빈 배치나 최대 개수를 넘는 배치는 400 으로 거절해야 한다")
+    void shouldRejectInvalidBatch() {
+        // Given
+        List<DarkerDBBatchReqDto.Item> tooMany = new ArrayList<>(Collections.nCopies(4,
+                new DarkerDBBatchReqDto.Item(null, "market", null)));
+
+        // When & Then
+        StepVerifier.create(darkerDBBatchService.execute(new DarkerDBBatchReqDto(List.of())))
+                .expectErrorMatches(error -> error instanceof ResponseStatusException exception
+                        && exception.getStatusCode() == HttpStatus.BAD_REQUEST)
+                .verify();
+        StepVerifier.create(darkerDBBatchService.execute(new DarkerDBBatchReqDto(tooMany)))
+                .expectErrorMatches(error -> error instanceof ResponseStatusException exception
+                        && exception.getStatusCode() == HttpStatus.BAD_REQUEST)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("JSON 하위 응답은 원문 그대로 한 줄에 넣고, 깨진 JSON 은 문자열로 넣어야 한다")
+    void shouldEmbedRawJsonOnOneLine() throws Exception {
+        // Given
+        when(externalApiService.proxyGetRequest("pretty", null))
+                .thenReturn(Mono.just(json("{\n  \"name\" : \"a b\"\n}")));
+        when(externalApiService.proxyGetRequest("broken", null))
+                .thenReturn(Mono.just(json("{\"name\":")));
+
+        // When
+        List<DarkerDBBatchItemResDto> items = darkerDBBatchService.execute(new DarkerDBBatchReqDto(List.of(
+                        new DarkerDBBatchReqDto.Item(null, "pretty", null),
+                        new DarkerDBBatchReqDto.Item(null, "broken", null))))
+                .collectSortedList((left, right) -> Integer.compare(left.index(), right.index()))
+                .block();
+
+        // Then
+        String line = objectMapper.writeValueAsString(items.get(0));
+        assertThat(line).doesNotContain("\n")
+                .contains("\"body\":{   \"name\" : \"a b\" }");
+        assertThat(items.get(1).body()).isEqualTo("{\"name\":");
+    }
+
+    @Test
+    @DisplayName("클라이언트 요청 제한이 하위 요청 수만큼의 비용을 거절하면 429 로 거절해야 한다")
+    void shouldRejectBatchOverClientLimit() {
+        // Given
+        List<Integer> charged = new ArrayList<>();
+
+        // When & Then
+        StepVerifier.create(darkerDBBatchService.execute(new DarkerDBBatchReqDto(List.of(
+                        new DarkerDBBatchReqDto.Item(null, "market", null),
+                        new DarkerDBBatchReqDto.Item(null, "items", null))), cost -> {
+                    charged.add(cost);
+                    return false;
+                }))
+                .expectErrorMatches(error -> error instanceof ResponseStatusException exception
+                        && exception.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS)
+                .verify();
+        assertThat(charged).containsExactly(2);
+        verifyNoInteractions(externalApiService);
+    }
+
+    private static ProxyResponse json(String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return ProxyResponse.buffered(HttpStatus.OK, headers, body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,134 @@
+package org.envyw.dadmarketplace.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.envyw.dadmarketplace.config.ExternalApiProperties;
+import org.envyw.dadmarketplace.proxy.ProxyResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DarkerDBExportService 테스트")
+class DarkerDBExportServiceTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Mock
+    private ExternalApiService externalApiService;
+
+    private DarkerDBExportService darkerDBExportService;
+
+    @BeforeEach
+    void setUp() {
+        darkerDBExportService = new DarkerDBExportService(externalApiService,
+                new ExternalApiProperties.Export(null, null, null, 1, 5), 1024 * 1024, OBJECT_MAPPER);
+    }
+
+    @Test
+    @DisplayName("커서를 따라가며 모든 페이지의 레코드를 이어서 내보내야 한다")
+    void shouldFollowCursorsAcrossPages() {
+        // Given
+        when(externalApiService.scanGetRequest("market", "item=sword"))
+                .thenReturn(Mono.just(page("[{\"id\":1},{\"id\":2}]", "10")));
+        when(externalApiService.scanGetRequest("market", "item=sword&cursor=10"))
+                .thenReturn(Mono.just(page("[{\"id\":3}]", "20")));
+        when(externalApiService.scanGetRequest("market", "item=sword&cursor=20"))
+                .thenReturn(Mono.just(page("[{\"id\":4}]", null)));
+
+        // When & Then
+        StepVerifier.create(darkerDBExportService.export("market", "item=sword").map(node -> node.get("id").asInt()))
+                .expectNext(1, 2, 3, 4)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("커서와 쿼리 값에 든 예약 문자는 값으로만 전달되도록 인코딩해야 한다")
+    void shouldEncodeCursorAsQueryValue() {
+        // Given
+        when(externalApiService.scanGetRequest("market", "item=iron%20sword&cursor=old"))
+                .thenReturn(Mono.just(page("[{\"id\":1}]", "\"a+b&c=d{e}\"")));
+        when(externalApiService.scanGetRequest("market", "item=iron%20sword&cursor=a%2Bb%26c%3Dd%7Be%7D"))
+                .thenReturn(Mono.just(page("[{\"id\":2}]", null)));
+
+        // When & Then
+        StepVerifier.create(darkerDBExportService.export("market", "item=iron+sword&cursor=old")
+                        .map(node -> node.get("id").asInt()))
+                .expectNext(1, 2)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("클라이언트가 소비하지 않으면 prefetchPages 보다 많은 페이지를 미리 요청하지 않아야 한다")
+    void shouldPrefetchBoundedPages() {
+        // Given
+        when(externalApiService.scanGetRequest(eq("market"), any()))
+                .thenAnswer(invocation -> {
+                    String query = invocation.getArgument(1);
+                    int cursor = query == null ? 0 : Integer.parseInt(query.substring(query.indexOf('=') + 1));
+                    return Mono.just(page("[{\"id\":" + cursor + "}]", String.valueOf(cursor + 1)));
+                });
+
+        // When & Then
+        StepVerifier.create(darkerDBExportService.export("market", null), 1)
+                .expectNextCount(1)
+                .then(() -> verify(externalApiService, atMost(3)).scanGetRequest(eq("market"), any()))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @DisplayName("다음 커서가 현재 커서와 같으면 더 따라가지 않아야 한다")
+    void shouldStopOnRepeatedCursor() {
+        // Given
+        when(externalApiService.scanGetRequest("market", null))
+                .thenReturn(Mono.just(page("[{\"id\":1}]", "7")));
+        when(externalApiService.scanGetRequest("market", "cursor=7"))
+                .thenReturn(Mono.just(page("[{\"id\":2}]", "7")));
+
+        // When & Then
+        StepVerifier.create(darkerDBExportService.export("market", null))
+                .expectNextCount(2)
+                .verifyComplete();
+        verify(externalApiService, times(2)).scanGetRequest(eq("market"), any());
+    }
+
+    @Test
+    @DisplayName("업스트림 페이지가 실패하면 해당 상태로 스트림을 끝내야 한다")
+    void shouldFailOnUpstreamError() {
+        // Given
+        when(externalApiService.scanGetRequest(anyString(), any()))
+                .thenReturn(Mono.just(ProxyResponse.error(HttpStatus.SERVICE_UNAVAILABLE,
+                        Map.of("error", "Service temporarily unavailable"), OBJECT_MAPPER)));
+
+        // When & Then
+        StepVerifier.create(darkerDBExportService.export("market", null))
+                .expectErrorMatches(error -> error instanceof ResponseStatusException exception
+                        && exception.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE)
+                .verify();
+    }
+
+    private static ProxyResponse page(String records, String cursor) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String pagination = cursor != null ? "{\"cursor\":" + cursor + "}" : "{}";
+        String body = "{\"body\":" + records + ",\"pagination\":" + pagination + "}";
+
+        return ProxyResponse.buffered(HttpStatus.OK, headers, body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,26 +1,59 @@
 package org.envyw.dadmarketplace.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.envyw.dadmarketplace.config.ExternalApiProperties;
+import org.envyw.dadmarketplace.proxy.AccessFrequencyTracker;
+import org.envyw.dadmarketplace.proxy.ProxyCacheKey;
+import org.envyw.dadmarketplace.proxy.ProxyRequestCoalescer;
+import org.envyw.dadmarketplace.proxy.ProxyResponse;
+import org.envyw.dadmarketplace.proxy.ProxyResponseCache;
+import org.envyw.dadmarketplace.proxy.RoutePolicyTable;
+import org.envyw.dadmarketplace.proxy.UpstreamGuard;
+import org.envyw.dadmarketplace.proxy.UpstreamHedger;
+import org.envyw.dadmarketplace.proxy.UpstreamRateLimiter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -41,13 +74,36 @@ class ExternalApiServiceTest {
     @Mock
     private WebClient.ResponseSpec responseSpec;
 
-    @InjectMocks
     private ExternalApiService externalApiService;
 
+    private CircuitBreaker circuitBreaker;
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     private final String EXTERNAL_API_BASE_URL = "https://api.darkerdb.com/v1";
 
     @BeforeEach
     void setUp(TestInfo testInfo) {
+        ExternalApiProperties properties = new ExternalApiProperties(EXTERNAL_API_BASE_URL, DataSize.ofMegabytes(1),
+                new ExternalApiProperties.Cache(DataSize.ofMegabytes(1), Duration.ofSeconds(30),
+                        Duration.ofSeconds(30), Duration.ofMinutes(5)),
+                List.of(new ExternalApiProperties.Route("live", null, null, null, true, null, null, null),
+                        new ExternalApiProperties.Route("admin", null, null, null, null, false, null, null)),
+                new ExternalApiProperties.UpstreamRateLimit(10d, 2, 1, 0, Duration.ZERO), null, null, null, null,
+                null, null);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = CircuitBreaker.ofDefaults(UpstreamGuard.INSTANCE);
+        externalApiService = new ExternalApiService(webClient,
+                new ProxyResponseCache(properties, meterRegistry, nanoTime::get),
+                new ProxyRequestCoalescer(meterRegistry),
+                new UpstreamGuard(circuitBreaker, Bulkhead.ofDefaults(UpstreamGuard.INSTANCE)),
+                new UpstreamRateLimiter(properties.upstreamRateLimit(), meterRegistry, nanoTime::get,
+                        Schedulers.immediate()),
+                new UpstreamHedger(properties.hedge(), meterRegistry, Schedulers.immediate()),
+                new AccessFrequencyTracker(properties.prefetch(), meterRegistry, nanoTime::get),
+                new RoutePolicyTable(properties), objectMapper);
         ReflectionTestUtils.setField(externalApiService,
                 "EXTERNAL_API_BASE_URL", "https://api.darkerdb.com/v1");
 
@@ -57,6 +113,7 @@ class ExternalApiServiceTest {
 
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.headers(any())).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
     }
 
@@ -67,19 +124,19 @@ class ExternalApiServiceTest {
         String path = "items/search";
         String queryParams = "name=sword&rarity=epic";
         Map<String, Object> mockResponse = Map.of("items", "test data");
-        ResponseEntity<Object> expectedResponse = ResponseEntity.ok(mockResponse);
+        ResponseEntity<byte[]> expectedResponse = jsonEntity(mockResponse);
 
-        when(responseSpec.toEntity(Object.class))
+        when(responseSpec.toEntity(byte[].class))
                 .thenReturn(Mono.just(expectedResponse));
 
         // When
-        Mono<ResponseEntity<Object>> result = externalApiService.proxyGetRequest(path, queryParams);
+        Mono<ProxyResponse> result = externalApiService.proxyGetRequest(path, queryParams);
 
         // Then
         StepVerifier.create(result)
                 .assertNext(response -> {
-                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-                    assertThat(response.getBody()).isEqualTo(mockResponse);
+                    assertThat(response.status()).isEqualTo(HttpStatus.OK);
+                    assertThat(bodyOf(response)).isEqualTo(mockResponse);
                 })
                 .verifyComplete();
 
@@ -92,19 +149,19 @@ class ExternalApiServiceTest {
         // Given
         String path = "/items";
         Map<String, Object> mockResponse = Map.of("data", "all items");
-        ResponseEntity<Object> expectedResponse = ResponseEntity.ok(mockResponse);
+        ResponseEntity<byte[]> expectedResponse = jsonEntity(mockResponse);
 
-        when(responseSpec.toEntity(Object.class))
+        when(responseSpec.toEntity(byte[].class))
                 .thenReturn(Mono.just(expectedResponse));
 
         // When
-        Mono<ResponseEntity<Object>> result = externalApiService.proxyGetRequest(path, null);
+        Mono<ProxyResponse> result = externalApiService.proxyGetRequest(path, null);
 
         // Then
         StepVerifier.create(result)
                 .assertNext(response -> {
-                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-                    assertThat(response.getBody()).isEqualTo(mockResponse);
+                    assertThat(response.status()).isEqualTo(HttpStatus.OK);
+                    assertThat(bodyOf(response)).isEqualTo(mockResponse);
                 })
                 .verifyComplete();
 
@@ -115,16 +172,15 @@ class ExternalApiServiceTest {
     @DisplayName("빈 경로로 요청 시 BAD_REQUEST를 반환해야 한다 - skip setup")
     void shouldReturnBadRequestForEmptyPath() {
         // When
-        Mono<ResponseEntity<Object>> result = externalApiService.proxyGetRequest("", "query=test");
+        Mono<ProxyResponse> result = externalApiService.proxyGetRequest("", "query=test");
 
         // Then
         StepVerifier.create(result)
                 .assertNext(response -> {
-                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
-                    assertThat(response.getBody()).isInstanceOf(Map.class);
+                    assertThat(response.status()).isEqualTo(HttpStatus.BAD_REQUEST);
+                    assertThat(response.headers().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
 
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> body = (Map<String, Object>) response.getBody();
+                    Map<String, Object> body = bodyOf(response);
                     assertThat(body.get("error")).isEqualTo("Path cannot be empty");
                 })
                 .verifyComplete();
@@ -132,20 +188,67 @@ class ExternalApiServiceTest {
         verify(webClient, never()).get();
     }
 
+    @Test
+    @DisplayName("허용되지 않은 경로는 업스트림에 보내지 않고 FORBIDDEN 을 반환해야 한다 - skip setup")
+    void shouldRejectDeniedRoute() {
+        // When
+        Mono<ProxyResponse> result = externalApiService.proxyGetRequest("/admin/users", null);
+
+        // Then
+        StepVerifier.create(result)
+                .assertNext(response -> {
+                    assertThat(response.status()).isEqualTo(HttpStatus.FORBIDDEN);
+                    assertThat(bodyOf(response).get("error")).isEqualTo("Path is not allowed");
+                })
+                .verifyComplete();
+
+        verify(webClient, never()).get();
+    }
+
+    @Test
+    @DisplayName("dot segment 나 인코딩된 구분자로 막힌 경로에 닿으려는 요청은 BAD_REQUEST 를 반환해야 한다 - skip setup")
+    void shouldRejectTraversalPaths() {
+        // When & Then
+        for (String path : List.of("live/../admin/users", "live/%2e%2e/admin", "live/%2E./admin", "./admin",
+                "live%2Fadmin", "live%5c..%5cadmin")) {
+            StepVerifier.create(externalApiService.proxyGetRequest(path, null))
+                    .assertNext(response -> {
+                        assertThat(response.status()).isEqualTo(HttpStatus.BAD_REQUEST);
+                        assertThat(bodyOf(response).get("error")).isEqualTo("Invalid path");
+                    })
+                    .verifyComplete();
+        }
+        StepVerifier.create(externalApiService.scanGetRequest("market/../admin/users", "page=1"))
+                .assertNext(response -> assertThat(response.status()).isEqualTo(HttpStatus.BAD_REQUEST))
+                .verifyComplete();
+
+        verify(webClient, never()).get();
+    }
+
+    @Test
+    @DisplayName("허용되지 않은 경로는 선제 갱신하지 않아야 한다 - skip setup")
+    void shouldNotPrefetchDeniedRoute() {
+        // When
+        Mono<Void> result = externalApiService.prefetch(ProxyCacheKey.of("admin/users", null));
+
+        // Then
+        StepVerifier.create(result).verifyComplete();
+        verify(webClient, never()).get();
+    }
+
     @Test
     @DisplayName("null 경로로 요청 시 BAD_REQUEST를 반환해야 한다 - skip setup")
     void shouldReturnBadRequestForNullPath() {
         // When
-        Mono<ResponseEntity<Object>> result = externalApiService.proxyGetRequest(null, "query=test");
+        Mono<ProxyResponse> result = externalApiService.proxyGetRequest(null, "query=test");
 
         // Then
         StepVerifier.create(result)
                 .assertNext(response -> {
-                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
-                    assertThat(response.getBody()).isInstanceOf(Map.class);
+                    assertThat(response.status()).isEqualTo(HttpStatus.BAD_REQUEST);
+                    assertThat(response.headers().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
 
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> body = (Map<String, Object>) response.getBody();
+                    Map<String, Object> body = bodyOf(response);
                     assertThat(body.get("error")).isEqualTo("Path cannot be empty");
                 })
                 .verifyComplete();
@@ -157,17 +260,17 @@ class ExternalApiServiceTest {
         // Given
         String path = "/items/weapons";
         Map<String, Object> mockResponse = Map.of("weapons", "data");
-        ResponseEntity<Object> expectedResponse = ResponseEntity.ok(mockResponse);
+        ResponseEntity<byte[]> expectedResponse = jsonEntity(mockResponse);
 
-        when(responseSpec.toEntity(Object.class))
+        when(responseSpec.toEntity(byte[].class))
                 .thenReturn(Mono.just(expectedResponse));
 
         // When
-        Mono<ResponseEntity<Object>> result = externalApiService.proxyGetRequest(path, null);
+        Mono<ProxyResponse> result = externalApiService.proxyGetRequest(path, null);
 
         // Then
         StepVerifier.create(result)
-                .expectNext(expectedResponse)
+                .assertNext(response -> assertThat(bodyOf(response)).isEqualTo(mockResponse))
                 .verifyComplete();
 
         verify(requestHeadersUriSpec).uri(EXTERNAL_API_BASE_URL + "/items/weapons");
@@ -181,20 +284,19 @@ class ExternalApiServiceTest {
         WebClientResponseException exception = WebClientResponseException.create(
                 404, "Not Found", null, null, null);
 
-        when(responseSpec.toEntity(Object.class))
+        when(responseSpec.toEntity(byte[].class))
                 .thenReturn(Mono.error(exception));
 
         // When
-        Mono<ResponseEntity<Object>> result = externalApiService.proxyGetRequest(path, null);
+        Mono<ProxyResponse> result = externalApiService.proxyGetRequest(path, null);
 
         // Then
         StepVerifier.create(result)
                 .assertNext(response -> {
-                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
-                    assertThat(response.getBody()).isInstanceOf(Map.class);
+                    assertThat(response.status()).isEqualTo(HttpStatus.NOT_FOUND);
+                    assertThat(response.headers().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
 
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> body = (Map<String, Object>) response.getBody();
+                    Map<String, Object> body = bodyOf(response);
                     assertThat(body.get("error")).asString().contains("External API client error");
                     assertThat(body.get("originalStatus")).isEqualTo(404);
                 })
@@ -209,20 +311,19 @@ class ExternalApiServiceTest {
         WebClientResponseException exception = WebClientResponseException.create(
                 500, "Internal Server Error", null, null, null);
 
-        when(responseSpec.toEntity(Object.class))
+        when(responseSpec.toEntity(byte[].class))
                 .thenReturn(Mono.error(exception));
 
         // When
-        Mono<ResponseEntity<Object>> result = externalApiService.proxyGetRequest(path, null);
+        Mono<ProxyResponse> result = externalApiService.proxyGetRequest(path, null);
 
         // Then
         StepVerifier.create(result)
                 .assertNext(response -> {
-                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_GATEWAY);
-                    assertThat(response.getBody()).isInstanceOf(Map.class);
+                    assertThat(response.status()).isEqualTo(HttpStatus.BAD_GATEWAY);
+                    assertThat(response.headers().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
 
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> body = (Map<String, Object>) response.getBody();
+                    Map<String, Object> body = bodyOf(response);
                     assertThat(body.get("error")).asString().contains("External API server error");
                     assertThat(body.get("originalStatus")).isEqualTo(500);
                 })
@@ -236,20 +337,19 @@ class ExternalApiServiceTest {
         String path = "items/connection-error";
         WebClientException exception = mock(WebClientException.class);
 
-        when(responseSpec.toEntity(Object.class))
+        when(responseSpec.toEntity(byte[].class))
                 .thenReturn(Mono.error(exception));
 
         // When
-        Mono<ResponseEntity<Object>> result = externalApiService.proxyGetRequest(path, null);
+        Mono<ProxyResponse> result = externalApiService.proxyGetRequest(path, null);
 
         // Then
         StepVerifier.create(result)
                 .assertNext(response -> {
-                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
-                    assertThat(response.getBody()).isInstanceOf(Map.class);
+                    assertThat(response.status()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                    assertThat(response.headers().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
 
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> body = (Map<String, Object>) response.getBody();
+                    Map<String, Object> body = bodyOf(response);
                     assertThat(body.get("error")).asString().contains("External API connection error");
                 })
                 .verifyComplete();
@@ -262,20 +362,19 @@ class ExternalApiServiceTest {
         String path = "items/timeout";
         TimeoutException exception = new TimeoutException("Request timeout");
 
-        when(responseSpec.toEntity(Object.class))
+        when(responseSpec.toEntity(byte[].class))
                 .thenReturn(Mono.error(exception));
 
         // When
-        Mono<ResponseEntity<Object>> result = externalApiService.proxyGetRequest(path, null);
+        Mono<ProxyResponse> result = externalApiService.proxyGetRequest(path, null);
 
         // Then
         StepVerifier.create(result)
                 .assertNext(response -> {
-                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
-                    assertThat(response.getBody()).isInstanceOf(Map.class);
+                    assertThat(response.status()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+                    assertThat(response.headers().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
 
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> body = (Map<String, Object>) response.getBody();
+                    Map<String, Object> body = bodyOf(response);
                     assertThat(body.get("error")).asString().contains("Unexpected error occurred");
                 })
                 .verifyComplete();
@@ -288,20 +387,19 @@ class ExternalApiServiceTest {
         String path = "items/unexpected";
         RuntimeException exception = new RuntimeException("Unexpected error");
 
-        when(responseSpec.toEntity(Object.class))
+        when(responseSpec.toEntity(byte[].class))
                 .thenReturn(Mono.error(exception));
 
         // When
-        Mono<ResponseEntity<Object>> result = externalApiService.proxyGetRequest(path, null);
+        Mono<ProxyResponse> result = externalApiService.proxyGetRequest(path, null);
 
         // Then
         StepVerifier.create(result)
                 .assertNext(response -> {
-                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
-                    assertThat(response.getBody()).isInstanceOf(Map.class);
+                    assertThat(response.status()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+                    assertThat(response.headers().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
 
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> body = (Map<String, Object>) response.getBody();
+                    Map<String, Object> body = bodyOf(response);
                     assertThat(body.get("error")).asString().contains("Unexpected error occurred");
                 })
                 .verifyComplete();
@@ -314,17 +412,17 @@ class ExternalApiServiceTest {
         String path = "/items";
         String queryParams = "archetype=Longsword&order=desc&limit=10&offset=20";
         Map<String, Object> mockResponse = Map.of("results", "complex data");
-        ResponseEntity<Object> expectedResponse = ResponseEntity.ok(mockResponse);
+        ResponseEntity<byte[]> expectedResponse = jsonEntity(mockResponse);
 
-        when(responseSpec.toEntity(Object.class))
+        when(responseSpec.toEntity(byte[].class))
                 .thenReturn(Mono.just(expectedResponse));
 
         // When
-        Mono<ResponseEntity<Object>> result = externalApiService.proxyGetRequest(path, queryParams);
+        Mono<ProxyResponse> result = externalApiService.proxyGetRequest(path, queryParams);
 
         // Then
         StepVerifier.create(result)
-                .expectNext(expectedResponse)
+                .assertNext(response -> assertThat(bodyOf(response)).isEqualTo(mockResponse))
                 .verifyComplete();
 
         String expectedUrl = "https://api.darkerdb.com/v1/items?archetype=Longsword&order=desc&limit=10&offset=20";
@@ -337,17 +435,17 @@ class ExternalApiServiceTest {
         // Given
         String path = "///items///search///";
         Map<String, Object> mockResponse = Map.of("data", "cleaned path");
-        ResponseEntity<Object> expectedResponse = ResponseEntity.ok(mockResponse);
+        ResponseEntity<byte[]> expectedResponse = jsonEntity(mockResponse);
 
-        when(responseSpec.toEntity(Object.class))
+        when(responseSpec.toEntity(byte[].class))
                 .thenReturn(Mono.just(expectedResponse));
 
         // When
-        Mono<ResponseEntity<Object>> result = externalApiService.proxyGetRequest(path, null);
+        Mono<ProxyResponse> result = externalApiService.proxyGetRequest(path, null);
 
         // Then
         StepVerifier.create(result)
-                .expectNext(expectedResponse)
+                .assertNext(response -> assertThat(bodyOf(response)).isEqualTo(mockResponse))
                 .verifyComplete();
 
         verify(requestHeadersUriSpec).uri("https://api.darkerdb.com/v1/items///search///");
@@ -360,17 +458,17 @@ class ExternalApiServiceTest {
         String path = "items";
         String queryParams = "";
         Map<String, Object> mockResponse = Map.of("data", "no params");
-        ResponseEntity<Object> expectedResponse = ResponseEntity.ok(mockResponse);
+        ResponseEntity<byte[]> expectedResponse = jsonEntity(mockResponse);
 
-        when(responseSpec.toEntity(Object.class))
+        when(responseSpec.toEntity(byte[].class))
                 .thenReturn(Mono.just(expectedResponse));
 
         // When
-        Mono<ResponseEntity<Object>> result = externalApiService.proxyGetRequest(path, queryParams);
+        Mono<ProxyResponse> result = externalApiService.proxyGetRequest(path, queryParams);
 
         // Then
         StepVerifier.create(result)
-                .expectNext(expectedResponse)
+                .assertNext(response -> assertThat(bodyOf(response)).isEqualTo(mockResponse))
                 .verifyComplete();
 
         verify(requestHeadersUriSpec).uri("https://api.darkerdb.com/v1/items");
@@ -383,17 +481,17 @@ class ExternalApiServiceTest {
         String path = "items";
         String queryParams = "   ";
         Map<String, Object> mockResponse = Map.of("data", "whitespace params");
-        ResponseEntity<Object> expectedResponse = ResponseEntity.ok(mockResponse);
+        ResponseEntity<byte[]> expectedResponse = jsonEntity(mockResponse);
 
-        when(responseSpec.toEntity(Object.class))
+        when(responseSpec.toEntity(byte[].class))
                 .thenReturn(Mono.just(expectedResponse));
 
         // When
-        Mono<ResponseEntity<Object>> result = externalApiService.proxyGetRequest(path, queryParams);
+        Mono<ProxyResponse> result = externalApiService.proxyGetRequest(path, queryParams);
 
         // Then
         StepVerifier.create(result)
-                .expectNext(expectedResponse)
+                .assertNext(response -> assertThat(bodyOf(response)).isEqualTo(mockResponse))
                 .verifyComplete();
 
         verify(requestHeadersUriSpec).uri("https://api.darkerdb.com/v1/items");
@@ -407,24 +505,448 @@ class ExternalApiServiceTest {
         WebClientResponseException exception = WebClientResponseException.create(
                 403, "Forbidden", null, null, null);
 
-        when(responseSpec.toEntity(Object.class))
+        when(responseSpec.toEntity(byte[].class))
                 .thenReturn(Mono.error(exception));
 
         // When
-        Mono<ResponseEntity<Object>> result = externalApiService.proxyGetRequest(path, null);
+        Mono<ProxyResponse> result = externalApiService.proxyGetRequest(path, null);
 
         // Then
         StepVerifier.create(result)
                 .assertNext(response -> {
-                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
-                    assertThat(response.getBody()).isInstanceOf(Map.class);
+                    assertThat(response.status()).isEqualTo(HttpStatus.FORBIDDEN);
+                    assertThat(response.headers().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
 
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> body = (Map<String, Object>) response.getBody();
+                    Map<String, Object> body = bodyOf(response);
                     assertThat(body.get("error")).asString().contains("External API client error");
                     assertThat(body.get("originalStatus")).isEqualTo(403);
                     assertThat(body.get("originalMessage")).isEqualTo("Forbidden");
                 })
                 .verifyComplete();
     }
+
+    @Test
+    @DisplayName("동일한 요청은 캐시된 응답으로 처리해야 한다")
+    void shouldServeRepeatedRequestFromCache() {
+        // Given
+        Map<String, Object> mockResponse = Map.of("items", "cached data");
+        ResponseEntity<byte[]> expectedResponse = jsonEntity(mockResponse);
+
+        when(responseSpec.toEntity(byte[].class))
+                .thenReturn(Mono.just(expectedResponse));
+
+        // When
+        StepVerifier.create(externalApiService.proxyGetRequest("items", "b=2&a=1"))
+                .assertNext(response -> assertThat(bodyOf(response)).isEqualTo(mockResponse))
+                .verifyComplete();
+
+        Mono<ProxyResponse> result = externalApiService.proxyGetRequest("/items/", "a=1&b=2");
+
+        // Then
+        StepVerifier.create(result)
+                .assertNext(response -> {
+                    assertThat(response.status()).isEqualTo(HttpStatus.OK);
+                    assertThat(bodyOf(response)).isEqualTo(mockResponse);
+                    assertThat(response.headers().getFirst(HttpHeaders.AGE)).isEqualTo("0");
+                })
+                .verifyComplete();
+
+        verify(webClient, times(1)).get();
+    }
+
+    @Test
+    @DisplayName("오류 응답은 캐시하지 않아야 한다")
+    void shouldNotCacheErrorResponse() {
+        // Given
+        WebClientResponseException exception = WebClientResponseException.create(
+                500, "Internal Server Error", null, null, null);
+
+        when(responseSpec.toEntity(byte[].class))
+                .thenReturn(Mono.error(exception));
+
+        // When
+        StepVerifier.create(externalApiService.proxyGetRequest("items", null))
+                .assertNext(response -> assertThat(response.status()).isEqualTo(HttpStatus.BAD_GATEWAY))
+                .verifyComplete();
+
+        StepVerifier.create(externalApiService.proxyGetRequest("items", null))
+                .assertNext(response -> assertThat(response.status()).isEqualTo(HttpStatus.BAD_GATEWAY))
+                .verifyComplete();
+
+        // Then
+        verify(webClient, times(2)).get();
+    }
+
+    @Test
+    @DisplayName("진행 중인 동일 요청은 하나의 업스트림 요청을 공유해야 한다")
+    void shouldCoalesceConcurrentIdenticalRequests() {
+        // Given
+        Sinks.One<ResponseEntity<byte[]>> upstream = Sinks.one();
+        Map<String, Object> mockResponse = Map.of("items", "shared");
+        ResponseEntity<byte[]> expectedResponse = jsonEntity(mockResponse);
+
+        when(responseSpec.toEntity(byte[].class))
+                .thenReturn(upstream.asMono());
+
+        // When
+        Mono<ProxyResponse> first = externalApiService.proxyGetRequest("items", "a=1&b=2");
+        Mono<ProxyResponse> second = externalApiService.proxyGetRequest("items", "b=2&a=1");
+
+        // Then
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> upstream.tryEmitValue(expectedResponse))
+                .assertNext(responses -> {
+                    assertThat(bodyOf(responses.getT1())).isEqualTo(mockResponse);
+                    assertThat(bodyOf(responses.getT2())).isEqualTo(mockResponse);
+                })
+                .verifyComplete();
+
+        verify(webClient, times(1)).get();
+    }
+
+    @Test
+    @DisplayName("stale-while-revalidate 기간에는 만료된 응답을 즉시 반환하고 백그라운드로 갱신해야 한다")
+    void shouldServeStaleWhileRevalidating() {
+        // Given
+        Map<String, Object> staleBody = Map.of("items", "stale");
+        Map<String, Object> freshBody = Map.of("items", "fresh");
+
+        when(responseSpec.toEntity(byte[].class))
+                .thenReturn(Mono.just(jsonEntity(staleBody)), Mono.just(jsonEntity(freshBody)));
+
+        StepVerifier.create(externalApiService.proxyGetRequest("items", null))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        nanoTime.addAndGet(Duration.ofSeconds(40).toNanos());
+
+        // When
+        Mono<ProxyResponse> result = externalApiService.proxyGetRequest("items", null);
+
+        // Then
+        StepVerifier.create(result)
+                .assertNext(response -> {
+                    assertThat(bodyOf(response)).isEqualTo(staleBody);
+                    assertThat(response.headers().getFirst(HttpHeaders.AGE)).isEqualTo("40");
+                })
+                .verifyComplete();
+
+        StepVerifier.create(externalApiService.proxyGetRequest("items", null))
+                .assertNext(response -> assertThat(bodyOf(response)).isEqualTo(freshBody))
+                .verifyComplete();
+
+        verify(webClient, times(2)).get();
+    }
+
+    @Test
+    @DisplayName("stale-if-error 기간에 외부 API 가 실패하면 만료된 응답을 반환해야 한다")
+    void shouldServeStaleIfError() {
+        // Given
+        Map<String, Object> staleBody = Map.of("items", "stale");
+        WebClientResponseException exception = WebClientResponseException.create(
+                503, "Service Unavailable", null, null, null);
+
+        when(responseSpec.toEntity(byte[].class))
+                .thenReturn(Mono.just(jsonEntity(staleBody)), Mono.error(exception));
+
+        StepVerifier.create(externalApiService.proxyGetRequest("items", null))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        nanoTime.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        // When
+        Mono<ProxyResponse> result = externalApiService.proxyGetRequest("items", null);
+
+        // Then
+        StepVerifier.create(result)
+                .assertNext(response -> {
+                    assertThat(response.status()).isEqualTo(HttpStatus.OK);
+                    assertThat(bodyOf(response)).isEqualTo(staleBody);
+                    assertThat(response.headers().getFirst(HttpHeaders.AGE)).isEqualTo("120");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("만료된 캐시는 If-None-Match 로 재검증하고 304 응답이면 기존 본문을 재사용해야 한다")
+    void shouldRevalidateExpiredEntryWithEtag() {
+        // Given
+        Map<String, Object> cachedBody = Map.of("items", "cached");
+        ResponseEntity<byte[]> notModified = ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+
+        when(responseSpec.toEntity(byte[].class))
+                .thenReturn(Mono.just(jsonEntity(cachedBody)), Mono.just(notModified));
+
+        StepVerifier.create(externalApiService.proxyGetRequest("items", null))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        nanoTime.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        // When
+        Mono<ProxyResponse> result = externalApiService.proxyGetRequest("items", null);
+
+        // Then
+        StepVerifier.create(result)
+                .assertNext(response -> {
+                    assertThat(response.status()).isEqualTo(HttpStatus.OK);
+                    assertThat(bodyOf(response)).isEqualTo(cachedBody);
+                    assertThat(response.headers().getETag()).startsWith("\"");
+                })
+                .verifyComplete();
+
+        ArgumentCaptor<Consumer<HttpHeaders>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(requestHeadersSpec, times(2)).headers(captor.capture());
+
+        HttpHeaders firstRequest = new HttpHeaders();
+        captor.getAllValues().get(0).accept(firstRequest);
+        assertThat(firstRequest.getIfNoneMatch()).isEmpty();
+        assertThat(firstRequest.getFirst(HttpHeaders.ACCEPT_ENCODING)).isEqualTo("gzip");
+
+        HttpHeaders revalidation = new HttpHeaders();
+        captor.getAllValues().get(1).accept(revalidation);
+        assertThat(revalidation.getIfNoneMatch()).hasSize(1);
+
+        StepVerifier.create(externalApiService.proxyGetRequest("items", null))
+                .assertNext(response -> assertThat(response.headers().getFirst(HttpHeaders.AGE)).isEqualTo("0"))
+                .verifyComplete();
+        verify(webClient, times(2)).get();
+    }
+
+    @Test
+    @DisplayName("외부 API 의 4xx 응답에는 만료된 응답을 사용하지 않아야 한다")
+    void shouldNotServeStaleOnClientError() {
+        // Given
+        WebClientResponseException exception = WebClientResponseException.create(
+                404, "Not Found", null, null, null);
+
+        when(responseSpec.toEntity(byte[].class))
+                .thenReturn(Mono.just(jsonEntity(Map.of("items", "stale"))), Mono.error(exception));
+
+        StepVerifier.create(externalApiService.proxyGetRequest("items", null))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        nanoTime.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        // When & Then
+        StepVerifier.create(externalApiService.proxyGetRequest("items", null))
+                .assertNext(response -> assertThat(response.status()).isEqualTo(HttpStatus.NOT_FOUND))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("서킷이 열려 있으면 업스트림에 연결하지 않고 즉시 SERVICE_UNAVAILABLE 을 반환해야 한다")
+    void shouldFailFastWhenCircuitOpen() {
+        // Given
+        AtomicLong subscriptions = new AtomicLong();
+        when(responseSpec.toEntity(byte[].class))
+                .thenReturn(Mono.just(jsonEntity(Map.of("items", "data")))
+                        .doOnSubscribe(subscription -> subscriptions.incrementAndGet()));
+        circuitBreaker.transitionToOpenState();
+
+        // When
+        Mono<ProxyResponse> result = externalApiService.proxyGetRequest("items", null);
+
+        // Then
+        StepVerifier.create(result)
+                .assertNext(response -> {
+                    assertThat(response.status()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                    assertThat(response.headers().getFirst(HttpHeaders.RETRY_AFTER)).isNotBlank();
+                    assertThat(bodyOf(response).get("error")).isEqualTo("External API temporarily unavailable");
+                })
+                .verifyComplete();
+
+        assertThat(subscriptions.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("서킷이 열려 있어도 stale-if-error 기간의 캐시 응답은 반환해야 한다")
+    void shouldServeStaleWhenCircuitOpen() {
+        // Given
+        Map<String, Object> staleBody = Map.of("items", "stale");
+        when(responseSpec.toEntity(byte[].class))
+                .thenReturn(Mono.just(jsonEntity(staleBody)));
+
+        StepVerifier.create(externalApiService.proxyGetRequest("items", null))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        nanoTime.addAndGet(Duration.ofMinutes(2).toNanos());
+        circuitBreaker.transitionToOpenState();
+
+        // When & Then
+        StepVerifier.create(externalApiService.proxyGetRequest("items", null))
+                .assertNext(response -> {
+                    assertThat(response.status()).isEqualTo(HttpStatus.OK);
+                    assertThat(bodyOf(response)).isEqualTo(staleBody);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("업스트림 요청 예산을 넘으면 SERVICE_UNAVAILABLE 과 Retry-After 를 반환해야 한다")
+    void shouldRejectWhenUpstreamBudgetExhausted() {
+        // Given
+        when(responseSpec.toEntity(byte[].class))
+                .thenReturn(Mono.just(jsonEntity(Map.of("items", "data"))));
+
+        StepVerifier.create(externalApiService.proxyGetRequest("items/1", null))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(externalApiService.proxyGetRequest("items/2", null))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // When
+        Mono<ProxyResponse> result = externalApiService.proxyGetRequest("items/3", null);
+
+        // Then
+        StepVerifier.create(result)
+                .assertNext(response -> {
+                    assertThat(response.status()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                    assertThat(response.headers().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+                    assertThat(bodyOf(response).get("error")).isEqualTo("External API request budget exceeded");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("스트리밍 경로는 업스트림 본문을 디코딩하지 않고 그대로 전달해야 한다")
+    void shouldStreamPassthroughRouteWithoutBuffering() {
+        // Given
+        Flux<DataBuffer> upstreamBody = Flux.just(
+                DefaultDataBufferFactory.sharedInstance.wrap("[{\"id\":1},".getBytes(StandardCharsets.UTF_8)),
+                DefaultDataBufferFactory.sharedInstance.wrap("{\"id\":2}]".getBytes(StandardCharsets.UTF_8)));
+        ResponseEntity<Flux<DataBuffer>> upstreamResponse = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.SET_COOKIE, "session=upstream")
+                .body(upstreamBody);
+
+        when(responseSpec.toEntityFlux(DataBuffer.class))
+                .thenReturn(Mono.just(upstreamResponse));
+
+        // When
+        Mono<ProxyResponse> result = externalApiService.proxyGetRequest("live/market", "page=2");
+
+        // Then
+        StepVerifier.create(result)
+                .assertNext(response -> {
+                    assertThat(response.status()).isEqualTo(HttpStatus.OK);
+                    assertThat(textOf(response)).isEqualTo("[{\"id\":1},{\"id\":2}]");
+                    assertThat(response.headers().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+                    assertThat(response.headers().containsKey(HttpHeaders.SET_COOKIE)).isFalse();
+                })
+                .verifyComplete();
+
+        verify(responseSpec, never()).toEntity(byte[].class);
+        verify(requestHeadersUriSpec).uri(EXTERNAL_API_BASE_URL + "/live/market?page=2");
+    }
+
+    @Test
+    @DisplayName("버퍼 한도를 넘는 응답은 스트리밍으로 다시 요청해야 한다")
+    void shouldFallBackToStreamingWhenBufferLimitExceeded() {
+        // Given
+        WebClientResponseException exception = new WebClientResponseException(200, "OK", null, null, null);
+        exception.initCause(new DataBufferLimitException("Exceeded limit on max bytes to buffer"));
+        Flux<DataBuffer> upstreamBody = Flux.just(
+                DefaultDataBufferFactory.sharedInstance.wrap("{}".getBytes(StandardCharsets.UTF_8)));
+
+        when(responseSpec.toEntity(byte[].class))
+                .thenReturn(Mono.error(exception));
+        when(responseSpec.toEntityFlux(DataBuffer.class))
+                .thenReturn(Mono.just(ResponseEntity.ok(upstreamBody)));
+
+        // When
+        Mono<ProxyResponse> result = externalApiService.proxyGetRequest("market", null);
+
+        // Then
+        StepVerifier.create(result)
+                .assertNext(response -> {
+                    assertThat(response.status()).isEqualTo(HttpStatus.OK);
+                    assertThat(textOf(response)).isEqualTo("{}");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("페이지 훑기 요청은 인코딩된 쿼리를 다시 인코딩하지 않고 캐시도 채우지 않아야 한다 - skip setup")
+    void shouldScanWithoutReencodingOrCaching() {
+        // Given
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(any(URI.class))).thenReturn(requestHeadersSpec);
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.headers(any())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntity(byte[].class)).thenReturn(Mono.just(jsonEntity(Map.of("page", 1))));
+
+        // When
+        ProxyResponse scanned = externalApiService.scanGetRequest("market", "cursor=a%2Bb%26c").block();
+        ProxyResponse proxied = externalApiService.proxyGetRequest("market", "cursor=a%2Bb%26c").block();
+
+        // Then
+        assertThat(scanned.status()).isEqualTo(HttpStatus.OK);
+        assertThat(proxied.status()).isEqualTo(HttpStatus.OK);
+        verify(requestHeadersUriSpec).uri(URI.create(EXTERNAL_API_BASE_URL + "/market?cursor=a%2Bb%26c"));
+        verify(webClient, times(2)).get();
+    }
+
+    @Test
+    @DisplayName("페이지 훑기 요청은 BACKGROUND lane 으로 요청해 사용자 몫의 토큰을 남겨야 한다 - skip setup")
+    void shouldScanOnBackgroundLane() {
+        // Given
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(any(URI.class))).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.headers(any())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntity(byte[].class)).thenReturn(Mono.just(jsonEntity(Map.of("page", 1))));
+
+        // When
+        ProxyResponse first = externalApiService.scanGetRequest("market", "page=1").block();
+        ProxyResponse second = externalApiService.scanGetRequest("market", "page=2").block();
+
+        // Then
+        assertThat(first.status()).isEqualTo(HttpStatus.OK);
+        assertThat(second.status()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        verify(webClient, times(1)).get();
+    }
+
+    private ResponseEntity<byte[]> jsonEntity(Map<String, Object> body) {
+        try {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String textOf(ProxyResponse response) {
+        return DataBufferUtils.join(response.body())
+                .map(buffer -> {
+                    String text = buffer.toString(StandardCharsets.UTF_8);
+                    DataBufferUtils.release(buffer);
+                    return text;
+                })
+                .block();
+    }
+
+    private Map<String, Object> bodyOf(ProxyResponse response) {
+        byte[] bytes = DataBufferUtils.join(response.body())
+                .map(buffer -> {
+                    byte[] content = new byte[buffer.readableByteCount()];
+                    buffer.read(content);
+                    DataBufferUtils.release(buffer);
+                    return content;
+                })
+                .block();
+
+        try {
+            return objectMapper.readValue(bytes, new TypeReference<>() {
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
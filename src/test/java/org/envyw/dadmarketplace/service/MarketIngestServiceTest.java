@@ -0,0 +1,316 @@
+package org.envyw.dadmarketplace.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.envyw.dadmarketplace.config.ExternalApiProperties;
+import org.envyw.dadmarketplace.config.MarketIngestProperties;
+import org.envyw.dadmarketplace.decode.DarkerDBRecordDecoder;
+import org.envyw.dadmarketplace.entity.MarketListing;
+import org.envyw.dadmarketplace.index.ItemPriceIndex;
+import org.envyw.dadmarketplace.proxy.AccessFrequencyTracker;
+import org.envyw.dadmarketplace.proxy.ProxyRequestCoalescer;
+import org.envyw.dadmarketplace.proxy.ProxyResponseCache;
+import org.envyw.dadmarketplace.proxy.RoutePolicyTable;
+import org.envyw.dadmarketplace.proxy.UpstreamGuard;
+import org.envyw.dadmarketplace.proxy.UpstreamHedger;
+import org.envyw.dadmarketplace.proxy.UpstreamRateLimiter;
+import org.envyw.dadmarketplace.repository.MarketListingBatchWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MarketIngestService 테스트")
+class MarketIngestServiceTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String DARKERDB_BASE_URL = "https://api.darkerdb.com/v1";
+
+    @Mock
+    private DarkerDBExportService darkerDBExportService;
+
+    @Mock
+    private MarketListingBatchWriter marketListingBatchWriter;
+
+    @Mock
+    private PriceHistoryService priceHistoryService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ItemPriceIndex itemPriceIndex;
+    private MarketIngestService marketIngestService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        itemPriceIndex = new ItemPriceIndex(meterRegistry);
+        marketIngestService = new MarketIngestService(
+                new MarketIngestProperties(true, "market", null, Duration.ofMinutes(1), 2, 2, 100L),
+                darkerDBExportService, marketListingBatchWriter, priceHistoryService,
+                itemPriceIndex, meterRegistry, Schedulers.immediate(), Clock.systemUTC());
+        lenient().when(priceHistoryService.record(anyList())).thenReturn(Mono.empty());
+        lenient().when(marketListingBatchWriter.findListingIds()).thenReturn(Flux.empty());
+    }
+
+    @Test
+    @DisplayName("바뀐 행만 batchSize 개씩 묶어 써야 한다")
+    void shouldWriteChangedRowsInBatches() {
+        // Given
+        when(darkerDBExportService.export(eq("market"), isNull(), any(), any()))
+                .thenAnswer(invocation -> decode(invocation.getArgument(2),
+                        listing(1, 100), listing(2, 200), listing(3, 300)))
+                .thenAnswer(invocation -> decode(invocation.getArgument(2),
+                        listing(1, 100), listing(2, 250), listing(3, 300)));
+        when(marketListingBatchWriter.upsert(anyList()))
+                .thenAnswer(invocation -> Mono.just((long) invocation.<List<?>>getArgument(0).size()));
+
+        // When
+        MarketIngestService.IngestRun first = marketIngestService.ingestOnce().block();
+        MarketIngestService.IngestRun second = marketIngestService.ingestOnce().block();
+
+        // Then
+        assertThat(first.fetched()).isEqualTo(3);
+        assertThat(first.written()).isEqualTo(3);
+        assertThat(second.written()).isEqualTo(1);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MarketListing>> batches = ArgumentCaptor.forClass(List.class);
+        verify(marketListingBatchWriter, times(3)).upsert(batches.capture());
+        assertThat(batches.getAllValues()).extracting(List::size).containsExactly(2, 1, 1);
+        assertThat(batches.getAllValues().get(2).get(0).getPrice()).isEqualTo(250);
+        assertThat(meterRegistry.get("market.ingest.rows").tag("result", "unchanged").counter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("쓰기에 실패한 행은 다음 수집에서 다시 써야 한다")
+    void shouldRetryFailedBatchOnNextRun() {
+        // Given
+        when(darkerDBExportService.export(any(), any(), any(), any()))
+                .thenAnswer(invocation -> decode(invocation.getArgument(2), listing(1, 100)));
+        when(marketListingBatchWriter.upsert(anyList()))
+                .thenReturn(Mono.error(new IllegalStateException("db down")))
+                .thenReturn(Mono.just(1L));
+
+        // When & Then
+        StepVerifier.create(marketIngestService.ingestOnce())
+                .expectError(IllegalStateException.class)
+                .verify();
+        StepVerifier.create(marketIngestService.ingestOnce())
+                .assertNext(run -> assertThat(run.written()).isEqualTo(1))
+                .verifyComplete();
+        assertThat(meterRegistry.get("market.ingest.lag").gauge().value()).isGreaterThanOrEqualTo(0.0);
+    }
+
+    @Test
+    @DisplayName("가격 이력 기록에 실패한 행은 다음 수집에서 다시 기록해야 한다")
+    void shouldRetryPriceHistoryOnNextRun() {
+        // Given
+        when(darkerDBExportService.export(any(), any(), any(), any()))
+                .thenAnswer(invocation -> decode(invocation.getArgument(2), listing(1, 100)));
+        when(marketListingBatchWriter.upsert(anyList())).thenReturn(Mono.just(1L));
+        when(priceHistoryService.record(anyList()))
+                .thenReturn(Mono.error(new IllegalStateException("concurrent insert")))
+                .thenReturn(Mono.empty());
+
+        // When
+        MarketIngestService.IngestRun failed = marketIngestService.ingestOnce().block();
+        MarketIngestService.IngestRun retried = marketIngestService.ingestOnce().block();
+        MarketIngestService.IngestRun unchanged = marketIngestService.ingestOnce().block();
+
+        // Then
+        assertThat(failed.written()).isEqualTo(1);
+        assertThat(retried.written()).isEqualTo(1);
+        assertThat(unchanged.written()).isZero();
+        verify(priceHistoryService, times(2)).record(anyList());
+    }
+
+    @Test
+    @DisplayName("id 나 item_id 가 없는 레코드는 쓰지 않아야 한다")
+    void shouldSkipInvalidRecords() {
+        // Given
+        when(darkerDBExportService.export(any(), any(), any(), any()))
+                .thenAnswer(invocation -> decode(invocation.getArgument(2),
+                        "{\"item_id\":\"Sword\"}", listing(1, 100)));
+        when(marketListingBatchWriter.upsert(anyList())).thenReturn(Mono.just(1L));
+
+        // When
+        MarketIngestService.IngestRun run = marketIngestService.ingestOnce().block();
+
+        // Then
+        assertThat(run.fetched()).isEqualTo(2);
+        assertThat(run.written()).isEqualTo(1);
+        assertThat(meterRegistry.get("market.ingest.rows").tag("result", "invalid").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("끝까지 받은 수집에서 사라진 목록은 가격 인덱스에서 빼고, 다시 나타나면 반영해야 한다")
+    void shouldReconcilePriceIndexWithFullRun() {
+        // Given
+        when(darkerDBExportService.export(eq("market"), isNull(), any(), any()))
+                .thenAnswer(invocation -> decode(invocation.getArgument(2), listing(1, 100), listing(2, 200)))
+                .thenAnswer(invocation -> decode(invocation.getArgument(2), listing(1, 100)))
+                .thenAnswer(invocation -> decode(invocation.getArgument(2), listing(1, 100), listing(2, 200)));
+        when(marketListingBatchWriter.upsert(anyList()))
+                .thenAnswer(invocation -> Mono.just((long) invocation.<List<?>>getArgument(0).size()));
+
+        // When & Then
+        marketIngestService.ingestOnce().block();
+        assertThat(itemPriceIndex.listingCount()).isEqualTo(2);
+
+        marketIngestService.ingestOnce().block();
+        assertThat(itemPriceIndex.listingCount()).isEqualTo(1);
+
+        MarketIngestService.IngestRun reappeared = marketIngestService.ingestOnce().block();
+        assertThat(reappeared.written()).isEqualTo(1);
+        assertThat(itemPriceIndex.listingCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("최대 페이지에서 잘린 수집은 보이지 않은 목록을 빼지 않아야 한다")
+    void shouldNotReconcileTruncatedRun() {
+        // Given
+        when(darkerDBExportService.export(eq("market"), isNull(), any(), any()))
+                .thenAnswer(invocation -> decode(invocation.getArgument(2), listing(1, 100), listing(2, 200)))
+                .thenAnswer(invocation -> decode(invocation.getArgument(2), listing(1, 100))
+                        .doOnComplete(invocation.<Runnable>getArgument(3)));
+        when(marketListingBatchWriter.upsert(anyList()))
+                .thenAnswer(invocation -> Mono.just((long) invocation.<List<?>>getArgument(0).size()));
+
+        // When
+        marketIngestService.ingestOnce().block();
+        marketIngestService.ingestOnce().block();
+
+        // Then
+        assertThat(itemPriceIndex.listingCount()).isEqualTo(2);
+        verify(marketListingBatchWriter, never()).deleteByListingIds(anyList());
+    }
+
+    @Test
+    @DisplayName("끝까지 받은 수집에서 사라진 목록은 테이블에서 지우고, 다시 나타나면 새로 써야 한다")
+    void shouldRemoveUnseenListingsFromTable() {
+        // Given
+        when(darkerDBExportService.export(eq("market"), isNull(), any(), any()))
+                .thenAnswer(invocation -> decode(invocation.getArgument(2), listing(1, 100), listing(2, 200)))
+                .thenAnswer(invocation -> decode(invocation.getArgument(2), listing(1, 100)))
+                .thenAnswer(invocation -> decode(invocation.getArgument(2), listing(1, 100), listing(2, 200)));
+        when(marketListingBatchWriter.upsert(anyList()))
+                .thenAnswer(invocation -> Mono.just((long) invocation.<List<?>>getArgument(0).size()));
+        when(marketListingBatchWriter.findListingIds()).thenReturn(Flux.just(1L, 2L, 3L));
+        when(marketListingBatchWriter.deleteByListingIds(anyList()))
+                .thenAnswer(invocation -> Mono.just((long) invocation.<List<?>>getArgument(0).size()));
+
+        // When
+        marketIngestService.ingestOnce().block();
+        marketIngestService.ingestOnce().block();
+        MarketIngestService.IngestRun reappeared = marketIngestService.ingestOnce().block();
+
+        // Then
+        verify(marketListingBatchWriter, times(2)).deleteByListingIds(List.of(3L));
+        verify(marketListingBatchWriter).deleteByListingIds(List.of(2L, 3L));
+        assertThat(reappeared.written()).isEqualTo(1);
+        assertThat(meterRegistry.get("market.ingest.rows").tag("result", "removed").counter().count())
+                .isEqualTo(4.0);
+    }
+
+    @Test
+    @DisplayName("기본 설정으로 수집하면 base URL 뒤에 market 경로를 한 번만 붙여 요청해야 한다")
+    void shouldRequestMarketRouteUnderBaseUrl() {
+        // Given
+        WebClient webClient = mock(WebClient.class);
+        WebClient.RequestHeadersUriSpec requestHeadersUriSpec = mock(WebClient.RequestHeadersUriSpec.class);
+        WebClient.RequestHeadersSpec requestHeadersSpec = mock(WebClient.RequestHeadersSpec.class);
+        WebClient.ResponseSpec responseSpec = mock(WebClient.ResponseSpec.class);
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(any(URI.class))).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.headers(any())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntity(byte[].class)).thenReturn(Mono.just(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(("{\"body\":[" + listing(1, 100) + "],\"pagination\":{}}")
+                        .getBytes(StandardCharsets.UTF_8))));
+        when(marketListingBatchWriter.upsert(anyList())).thenReturn(Mono.just(1L));
+
+        MarketIngestService defaultIngest = new MarketIngestService(
+                new MarketIngestProperties(true, null, null, null, null, null, null),
+                exportServiceOver(webClient), marketListingBatchWriter, priceHistoryService,
+                new ItemPriceIndex(meterRegistry), meterRegistry, Schedulers.immediate(), Clock.systemUTC());
+
+        // When
+        MarketIngestService.IngestRun run = defaultIngest.ingestOnce().block();
+
+        // Then
+        assertThat(run.written()).isEqualTo(1);
+        verify(requestHeadersUriSpec).uri(URI.create(DARKERDB_BASE_URL + "/market"));
+    }
+
+    // application.yml 과 같은 base URL 과 market route 로 실제 프록시 계층을 만들고 WebClient 만 흉내 낸다.
+    private DarkerDBExportService exportServiceOver(WebClient webClient) {
+        ExternalApiProperties properties = new ExternalApiProperties(DARKERDB_BASE_URL, DataSize.ofMegabytes(1),
+                new ExternalApiProperties.Cache(DataSize.ofMegabytes(1), Duration.ofSeconds(10), null, null),
+                List.of(new ExternalApiProperties.Route("market", null, null, null, null, true, null, null)),
+                null, null, null, null, null, null, null);
+        ExternalApiService externalApiService = new ExternalApiService(webClient,
+                new ProxyResponseCache(properties, meterRegistry, System::nanoTime),
+                new ProxyRequestCoalescer(meterRegistry),
+                new UpstreamGuard(CircuitBreaker.ofDefaults(UpstreamGuard.INSTANCE),
+                        Bulkhead.ofDefaults(UpstreamGuard.INSTANCE)),
+                new UpstreamRateLimiter(properties.upstreamRateLimit(), meterRegistry, System::nanoTime,
+                        Schedulers.immediate()),
+                new UpstreamHedger(properties.hedge(), meterRegistry, Schedulers.immediate()),
+                new AccessFrequencyTracker(properties.prefetch(), meterRegistry, System::nanoTime),
+                new RoutePolicyTable(properties), OBJECT_MAPPER);
+        ReflectionTestUtils.setField(externalApiService, "EXTERNAL_API_BASE_URL", DARKERDB_BASE_URL);
+
+        return new DarkerDBExportService(externalApiService,
+                new ExternalApiProperties.Export(null, null, null, 1, 5), 1024 * 1024, OBJECT_MAPPER);
+    }
+
+    private static String listing(long id, int price) {
+        return ("{\"id\":" + id + ",\"item_id\":\"Sword_" + id + "\",\"item\":\"Sword\",\"rarity\":\"Rare\","
+                + "\"price\":" + price + ",\"quantity\":1,\"has_sold\":false,"
+                + "\"created_at\":\"2025-06-01T12:00:00+00:00\"}");
+    }
+
+    // DarkerDBExportService 처럼 레코드마다 파서를 첫 토큰에 두고 디코더를 부른다.
+    private static <T> Flux<T> decode(DarkerDBRecordDecoder<T> decoder, String... records) {
+        return Flux.fromArray(records)
+                .mapNotNull(record -> {
+                    try (JsonParser parser = OBJECT_MAPPER.createParser(record)) {
+                        parser.nextToken();
+                        return decoder.decode(parser);
+                    } catch (Exception e) {
+                        throw new IllegalArgumentException(e);
+                    }
+                });
+    }
+}
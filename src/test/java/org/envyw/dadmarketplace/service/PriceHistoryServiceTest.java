@@ -0,0 +1,240 @@
+package org.envyw.dadmarketplace.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.envyw.dadmarketplace.config.PriceHistoryProperties;
+import org.envyw.dadmarketplace.dto.response.PriceHistoryResDto;
+import org.envyw.dadmarketplace.entity.MarketListing;
+import org.envyw.dadmarketplace.entity.PriceResolution;
+import org.envyw.dadmarketplace.repository.PriceHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PriceHistoryService 테스트")
+class PriceHistoryServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 30, 0, 0);
+
+    @Mock
+    private PriceHistoryRepository priceHistoryRepository;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    private PriceHistoryService priceHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        PriceHistoryProperties settings = new PriceHistoryProperties(true, null, null, null, null, null, null, 100L);
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        priceHistoryService = new PriceHistoryService(settings, priceHistoryRepository, transactionalOperator,
+                new SearchKeywordService(), new SimpleMeterRegistry(), Schedulers.immediate(), clock);
+    }
+
+    @Test
+    @DisplayName("요청한 점 개수를 채우는 가장 거친 해상도를 골라야 한다")
+    void shouldChooseCoarsestResolutionSatisfyingPoints() {
+        // Given
+        LocalDateTime monthAgo = NOW.minusDays(30);
+        LocalDateTime hourAgo = NOW.minusHours(1);
+
+        // When & Then
+        assertThat(priceHistoryService.chooseResolution(monthAgo, NOW, 30, NOW)).isEqualTo(PriceResolution.DAY);
+        assertThat(priceHistoryService.chooseResolution(monthAgo, NOW, 500, NOW)).isEqualTo(PriceResolution.HOUR);
+        assertThat(priceHistoryService.chooseResolution(monthAgo, NOW, 2000, NOW)).isEqualTo(PriceResolution.HOUR);
+        assertThat(priceHistoryService.chooseResolution(hourAgo, NOW, 60, NOW)).isEqualTo(PriceResolution.MINUTE);
+        assertThat(priceHistoryService.chooseResolution(hourAgo, NOW, 200, NOW)).isEqualTo(PriceResolution.RAW);
+    }
+
+    @Test
+    @DisplayName("관측값을 해상도별 구간으로 합쳐 한 번에 집계해야 한다")
+    void shouldAggregateObservationsIntoRollups() {
+        // Given
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(priceHistoryRepository.findLatest(anyList())).thenReturn(Flux.empty());
+        when(priceHistoryRepository.insertPoints(anyList())).thenReturn(Mono.just(2L));
+        when(priceHistoryRepository.upsertRollups(anyList())).thenReturn(Mono.just(4L));
+
+        LocalDateTime listedAt = LocalDateTime.of(2025, 6, 29, 10, 15, 20);
+        List<MarketListing> listings = List.of(
+                listing(1L, "ArcaneHood_4001", "Rare", 100, listedAt),
+                listing(2L, "ArcaneHood_4001", "Rare", 300, listedAt.plusMinutes(1)));
+
+        // When
+        StepVerifier.create(priceHistoryService.record(listings)).verifyComplete();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PriceHistoryRepository.RollupDelta>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(priceHistoryRepository).upsertRollups(deltas.capture());
+
+        assertThat(deltas.getValue()).hasSize(3);
+        PriceHistoryRepository.RollupDelta day = deltas.getValue().stream()
+                .filter(delta -> delta.resolution() == PriceResolution.DAY)
+                .findFirst()
+                .orElseThrow();
+        assertThat(day.itemId()).isEqualTo("ArcaneHood_1001");
+        assertThat(day.rarityId()).isEqualTo(4);
+        assertThat(day.bucketStart()).isEqualTo(NOW);
+        assertThat(day.min()).isEqualTo(100.0);
+        assertThat(day.max()).isEqualTo(300.0);
+        assertThat(day.sum()).isEqualTo(400.0);
+        assertThat(day.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("같은 목록이 같은 가격으로 다시 들어오면 기록하지 않아야 한다")
+    void shouldNotRecordSamePriceTwice() {
+        // Given
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(priceHistoryRepository.findLatest(anyList())).thenReturn(Flux.empty());
+        when(priceHistoryRepository.insertPoints(anyList())).thenReturn(Mono.just(1L));
+        when(priceHistoryRepository.upsertRollups(anyList())).thenReturn(Mono.just(3L));
+        MarketListing listing = listing(1L, "ArcaneHood_1001", "Poor", 50, NOW.minusHours(1));
+
+        // When
+        priceHistoryService.record(List.of(listing)).block();
+        priceHistoryService.record(List.of(listing)).block();
+
+        // Then
+        verify(priceHistoryRepository, times(1)).insertPoints(anyList());
+    }
+
+    @Test
+    @DisplayName("재시작 후 DB 의 최근 관측값과 가격이 같은 목록은 다시 넣거나 집계하지 않아야 한다")
+    void shouldSkipObservationsAlreadyInDatabase() {
+        // Given
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(priceHistoryRepository.findLatest(List.of(1L, 2L)))
+                .thenReturn(Flux.just(new PriceHistoryRepository.LatestPoint(1L, 3, 100.0)));
+        when(priceHistoryRepository.insertPoints(anyList())).thenReturn(Mono.just(1L));
+        when(priceHistoryRepository.upsertRollups(anyList())).thenReturn(Mono.just(3L));
+
+        List<MarketListing> listings = List.of(
+                listing(1L, "ArcaneHood_4001", "Rare", 100, NOW.minusHours(2)),
+                listing(2L, "ArcaneHood_4001", "Rare", 300, NOW.minusHours(1)));
+
+        // When
+        StepVerifier.create(priceHistoryService.record(listings)).verifyComplete();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PriceHistoryRepository.Observation>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(priceHistoryRepository).insertPoints(inserted.capture());
+        assertThat(inserted.getValue()).extracting(PriceHistoryRepository.Observation::listingId)
+                .containsExactly(2L);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PriceHistoryRepository.RollupDelta>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(priceHistoryRepository).upsertRollups(deltas.capture());
+        assertThat(deltas.getValue()).allSatisfy(delta -> {
+            assertThat(delta.count()).isEqualTo(1);
+            assertThat(delta.sum()).isEqualTo(300.0);
+        });
+    }
+
+    @Test
+    @DisplayName("INSERT IGNORE 가 건너뛴 행이 있으면 집계하지 않고 실패해야 한다")
+    void shouldNotRollUpWhenInsertWasPartiallyIgnored() {
+        // Given
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(priceHistoryRepository.findLatest(anyList())).thenReturn(Flux.empty());
+        when(priceHistoryRepository.insertPoints(anyList())).thenReturn(Mono.just(1L));
+
+        List<MarketListing> listings = List.of(
+                listing(1L, "ArcaneHood_4001", "Rare", 100, NOW.minusHours(2)),
+                listing(2L, "ArcaneHood_4001", "Rare", 300, NOW.minusHours(1)));
+
+        // When & Then
+        StepVerifier.create(priceHistoryService.record(listings))
+                .expectError(IllegalStateException.class)
+                .verify();
+        verify(priceHistoryRepository, never()).upsertRollups(anyList());
+    }
+
+    @Test
+    @DisplayName("예전 가격으로 되돌아가면 다음 change_seq 의 새 관측값으로 기록해야 한다")
+    void shouldRecordPriceReturningToEarlierValue() {
+        // Given
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(priceHistoryRepository.findLatest(List.of(1L)))
+                .thenReturn(Flux.just(new PriceHistoryRepository.LatestPoint(1L, 2, 200.0)));
+        when(priceHistoryRepository.insertPoints(anyList())).thenReturn(Mono.just(1L));
+        when(priceHistoryRepository.upsertRollups(anyList())).thenReturn(Mono.just(3L));
+        MarketListing listing = listing(1L, "ArcaneHood_1001", "Poor", 100, NOW.minusDays(3));
+
+        // When
+        StepVerifier.create(priceHistoryService.record(List.of(listing))).verifyComplete();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PriceHistoryRepository.Observation>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(priceHistoryRepository).insertPoints(inserted.capture());
+        assertThat(inserted.getValue()).singleElement().satisfies(observation -> {
+            assertThat(observation.changeSeq()).isEqualTo(3);
+            assertThat(observation.price()).isEqualTo(100.0);
+            assertThat(observation.observedAt()).isEqualTo(NOW);
+        });
+    }
+
+    @Test
+    @DisplayName("한 달 범위 조회는 집계 행만 읽어야 한다")
+    void shouldReadOnlyRollupsForMonthRange() {
+        // Given
+        when(priceHistoryRepository.findRollups(eq("ArcaneHood_1001"), eq(4), eq(PriceResolution.DAY), any(), any()))
+                .thenReturn(Flux.just(new PriceHistoryResDto.Point(NOW.minusDays(1), 10, 20, 15, 3)));
+
+        // When & Then
+        StepVerifier.create(priceHistoryService.getHistory("ArcaneHood_1001", 4, NOW.minusDays(30), NOW, 30))
+                .assertNext(history -> {
+                    assertThat(history.resolution()).isEqualTo("1d");
+                    assertThat(history.points()).hasSize(1);
+                })
+                .verifyComplete();
+        verify(priceHistoryRepository, never()).findPoints(any(), anyInt(), any(), any());
+    }
+
+    @Test
+    @DisplayName("알 수 없는 아이템 id 는 400 으로 거절해야 한다")
+    void shouldRejectUnknownItem() {
+        // When & Then
+        StepVerifier.create(priceHistoryService.getHistory("Unknown_9999", 4, null, null, null))
+                .expectErrorMatches(error -> error instanceof ResponseStatusException exception
+                        && exception.getStatusCode() == HttpStatus.BAD_REQUEST)
+                .verify();
+    }
+
+    private static MarketListing listing(Long id, String itemId, String rarity, int price, LocalDateTime listedAt) {
+        return MarketListing.builder()
+                .listingId(id)
+                .itemId(itemId)
+                .rarity(rarity)
+                .price(price)
+                .quantity(1)
+                .listedAt(listedAt)
+                .build();
+    }
+}
@@ -0,0 +1,189 @@
+package org.envyw.dadmarketplace.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.envyw.dadmarketplace.config.ExternalApiProperties;
+import org.envyw.dadmarketplace.proxy.AccessFrequencyTracker;
+import org.envyw.dadmarketplace.proxy.BufferedResponse;
+import org.envyw.dadmarketplace.proxy.ProxyCacheKey;
+import org.envyw.dadmarketplace.proxy.ProxyResponseCache;
+import org.envyw.dadmarketplace.proxy.RoutePolicyTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProxyPrefetchService 테스트")
+class ProxyPrefetchServiceTest {
+
+    @Mock
+    private ExternalApiService externalApiService;
+
+    private VirtualTimeScheduler scheduler;
+    private ProxyResponseCache proxyResponseCache;
+    private AccessFrequencyTracker accessFrequencyTracker;
+    private ProxyPrefetchService proxyPrefetchService;
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ExternalApiProperties.Prefetch settings = new ExternalApiProperties.Prefetch(true, 10,
+                Duration.ofMinutes(10), Duration.ofSeconds(1), Duration.ofSeconds(3), 2.0, 1, 100L);
+        ExternalApiProperties properties = new ExternalApiProperties(null, null,
+                new ExternalApiProperties.Cache(DataSize.ofMegabytes(1), Duration.ofSeconds(30), null,
+                        Duration.ofMinutes(5)),
+                List.of(new ExternalApiProperties.Route("admin", null, null, null, null, false, null, null)),
+                null, null, null, null, settings, null, null);
+
+        scheduler = VirtualTimeScheduler.create();
+        proxyResponseCache = new ProxyResponseCache(properties, meterRegistry, nanoTime::get);
+        accessFrequencyTracker = new AccessFrequencyTracker(settings, meterRegistry, nanoTime::get);
+        proxyPrefetchService = new ProxyPrefetchService(settings, externalApiService, proxyResponseCache,
+                accessFrequencyTracker, new RoutePolicyTable(properties), meterRegistry, scheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        proxyPrefetchService.stop();
+        scheduler.dispose();
+    }
+
+    @Test
+    @DisplayName("TTL 이 곧 끝나는 인기 키만 갱신해야 한다")
+    void shouldRefreshOnlyHotKeysNearExpiry() {
+        // Given
+        ProxyCacheKey hot = ProxyCacheKey.of("market", "page=1");
+        ProxyCacheKey cold = ProxyCacheKey.of("items", null);
+        cacheWithAccesses(hot, 3);
+        cacheWithAccesses(cold, 1);
+        nanoTime.addAndGet(Duration.ofSeconds(27).toNanos());
+
+        ProxyCacheKey fresh = ProxyCacheKey.of("market", "page=2");
+        cacheWithAccesses(fresh, 3);
+
+        when(externalApiService.prefetch(any())).thenReturn(Mono.empty());
+
+        // When
+        proxyPrefetchService.start();
+        scheduler.advanceTimeBy(Duration.ofSeconds(1));
+
+        // Then
+        verify(externalApiService).prefetch(hot);
+        verifyNoMoreInteractions(externalApiService);
+    }
+
+    @Test
+    @DisplayName("이미 만료됐거나 감쇠 점수가 minScore 아래로 떨어진 키는 갱신하지 않아야 한다")
+    void shouldSkipExpiredAndCooledKeys() {
+        // Given
+        ProxyCacheKey expired = ProxyCacheKey.of("market", "page=1");
+        cacheWithAccesses(expired, 4);
+        nanoTime.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        // When & Then
+        assertThat(proxyResponseCache.peek(expired)).isNotNull();
+        assertThat(proxyPrefetchService.refreshDueKeys()).isEmpty();
+
+        // Given
+        ProxyCacheKey cooled = ProxyCacheKey.of("market", "page=2");
+        cacheWithAccesses(cooled, 3);
+        nanoTime.addAndGet(Duration.ofMinutes(10).toNanos());
+        proxyResponseCache.put(cooled, new BufferedResponse(HttpStatus.OK, new HttpHeaders(),
+                "{}".getBytes(StandardCharsets.UTF_8)));
+        nanoTime.addAndGet(Duration.ofSeconds(28).toNanos());
+
+        // When & Then
+        assertThat(proxyPrefetchService.refreshDueKeys()).isEmpty();
+        verifyNoInteractions(externalApiService);
+    }
+
+    @Test
+    @DisplayName("진행 중인 갱신이 maxConcurrency 에 도달하면 더 시작하지 않아야 한다")
+    void shouldBoundConcurrentRefreshes() {
+        // Given
+        ProxyCacheKey first = ProxyCacheKey.of("market", "page=1");
+        ProxyCacheKey second = ProxyCacheKey.of("market", "page=2");
+        cacheWithAccesses(first, 4);
+        cacheWithAccesses(second, 3);
+        nanoTime.addAndGet(Duration.ofSeconds(28).toNanos());
+
+        when(externalApiService.prefetch(any())).thenReturn(Mono.never());
+
+        // When
+        List<ProxyCacheKey> started = proxyPrefetchService.refreshDueKeys();
+        List<ProxyCacheKey> startedAgain = proxyPrefetchService.refreshDueKeys();
+
+        // Then
+        assertThat(started).containsExactly(first);
+        assertThat(startedAgain).isEmpty();
+        assertThat(proxyPrefetchService.snapshot()).containsEntry("inFlight", 1);
+    }
+
+    @Test
+    @DisplayName("route 정책에서 허용하지 않는 키는 갱신하지 않아야 한다")
+    void shouldSkipDeniedRoutes() {
+        // Given
+        ProxyCacheKey denied = ProxyCacheKey.of("admin/users", null);
+        ProxyCacheKey allowed = ProxyCacheKey.of("market", null);
+        cacheWithAccesses(denied, 4);
+        cacheWithAccesses(allowed, 3);
+        nanoTime.addAndGet(Duration.ofSeconds(28).toNanos());
+        when(externalApiService.prefetch(any())).thenReturn(Mono.empty());
+
+        // When
+        List<ProxyCacheKey> started = proxyPrefetchService.refreshDueKeys();
+
+        // Then
+        assertThat(started).containsExactly(allowed);
+        verify(externalApiService, never()).prefetch(denied);
+    }
+
+    @Test
+    @DisplayName("갱신된 키가 다시 조회되면 적중률에 반영해야 한다")
+    void shouldReportRefreshHitRate() {
+        // Given
+        ProxyCacheKey key = ProxyCacheKey.of("market", null);
+        cacheWithAccesses(key, 3);
+        nanoTime.addAndGet(Duration.ofSeconds(28).toNanos());
+        when(externalApiService.prefetch(any())).thenReturn(Mono.empty());
+
+        // When
+        proxyPrefetchService.refreshDueKeys();
+        accessFrequencyTracker.record(key);
+
+        // Then
+        Map<String, Object> snapshot = proxyPrefetchService.snapshot();
+        assertThat(snapshot).containsEntry("refreshes", 1L)
+                .containsEntry("refreshHits", 1L)
+                .containsEntry("refreshHitRate", 1.0);
+        assertThat((List<?>) snapshot.get("hotKeys")).hasSize(1);
+    }
+
+    private void cacheWithAccesses(ProxyCacheKey key, int accesses) {
+        proxyResponseCache.put(key, new BufferedResponse(HttpStatus.OK, new HttpHeaders(),
+                "{}".getBytes(StandardCharsets.UTF_8)));
+        for (int i = 0; i < accesses; i++) {
+            accessFrequencyTracker.record(key);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.envyw.dadmarketplace.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SearchKeywordPayloadService 테스트")
+class SearchKeywordPayloadServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private SearchKeywordService searchKeywordService;
+    private SearchKeywordPayloadService searchKeywordPayloadService;
+
+    @BeforeEach
+    void setUp() {
+        searchKeywordService = new SearchKeywordService();
+        searchKeywordPayloadService = new SearchKeywordPayloadService(searchKeywordService, objectMapper);
+    }
+
+    @Test
+    @DisplayName("미리 인코딩한 본문은 DTO 를 직렬화한 결과와 같아야 한다")
+    void shouldEncodeSameJsonAsDto() throws Exception {
+        // When
+        JsonNode encoded = objectMapper.readTree(bytes(searchKeywordPayloadService.equipments().body()));
+        JsonNode expected = objectMapper.valueToTree(searchKeywordService.getEquipments().block());
+
+        // Then
+        assertThat(encoded).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("ETag 는 내용이 같으면 같고 응답마다 달라야 한다")
+    void shouldUseContentHashAsStrongEtag() {
+        // Given
+        SearchKeywordPayloadService other = new SearchKeywordPayloadService(new SearchKeywordService(), objectMapper);
+
+        // When & Then
+        assertThat(searchKeywordPayloadService.rarities().etag())
+                .isEqualTo(other.rarities().etag())
+                .startsWith("\"")
+                .doesNotStartWith("W/")
+                .hasSize(34);
+        assertThat(searchKeywordPayloadService.rarities().etag())
+                .isNotEqualTo(searchKeywordPayloadService.attributes().etag());
+    }
+
+    @Test
+    @DisplayName("본문을 읽어도 공유 버퍼는 그대로여야 한다")
+    void shouldServeIndependentReadOnlyViews() {
+        // Given
+        SearchKeywordPayloadService.Payload payload = searchKeywordPayloadService.attributes();
+
+        // When
+        ByteBuffer first = payload.body();
+        first.get(new byte[first.remaining()]);
+
+        // Then
+        ByteBuffer second = payload.body();
+        assertThat(second.isReadOnly()).isTrue();
+        assertThat(second.remaining()).isEqualTo(payload.size()).isPositive();
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
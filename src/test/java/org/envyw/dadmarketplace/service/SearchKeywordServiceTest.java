@@ -3,19 +3,20 @@ package org.envyw.dadmarketplace.service;
 import org.envyw.dadmarketplace.dto.AttributeDto;
 import org.envyw.dadmarketplace.dto.EquipmentDto;
 import org.envyw.dadmarketplace.dto.RarityDto;
+import org.envyw.dadmarketplace.dto.response.KeywordSuggestionResDto;
 import org.envyw.dadmarketplace.dto.response.SearchKeywordResDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
-import java.util.ArrayList;
-import java.util.Map;
-
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("SearchKeywordService 테스트")
@@ -104,67 +105,92 @@ class SearchKeywordServiceTest {
     }
 
     @Test
-    @DisplayName("캐싱이 정상적으로 동작해야 한다")
-    void shouldCacheJsonFiles() {
-        // Given
-        searchKeywordService.clearCache();
-        assertThat(searchKeywordService.isCached("attributes.json")).isFalse();
+    @DisplayName("id 로 키워드를 바로 찾을 수 있어야 한다")
+    void shouldLookUpKeywordsById() {
+        // When & Then
+        assertThat(searchKeywordService.findAttribute("ActionSpeed"))
+                .hasValueSatisfying(attribute -> assertThat(attribute.field()).isEqualTo("action_speed"));
+        assertThat(searchKeywordService.findRarity(1))
+                .hasValueSatisfying(rarity -> assertThat(rarity.name()).isEqualTo("Poor"));
+        assertThat(searchKeywordService.findEquipment("ArcaneHood_1001"))
+                .hasValueSatisfying(equipment -> assertThat(equipment.name()).isEqualTo("Arcane Hood"));
+        assertThat(searchKeywordService.findEquipment("Unknown_9999")).isEmpty();
+    }
 
-        // When - 첫 번째 호출
-        StepVerifier.create(searchKeywordService.getAttributes())
-                .assertNext(response -> assertThat(response.body()).isNotEmpty())
-                .verifyComplete();
+    @Test
+    @DisplayName("로딩한 목록은 수정할 수 없고 호출마다 같은 인스턴스여야 한다")
+    void shouldKeepImmutableDatasets() {
+        // When
+        SearchKeywordResDto<RarityDto> first = searchKeywordService.getRarities().block();
+        SearchKeywordResDto<RarityDto> second = searchKeywordService.getRarities().block();
 
-        // Then - 캐시에 저장되었는지 확인
-        assertThat(searchKeywordService.isCached("attributes.json")).isTrue();
+        // Then
+        assertThat(first).isSameAs(second);
+        assertThatThrownBy(() -> first.body().add(new RarityDto(99, "Mythic")))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
 
-        // When - 두 번째 호출 (캐시에서 로드)
-        StepVerifier.create(searchKeywordService.getAttributes())
-                .assertNext(response -> assertThat(response.body()).isNotEmpty())
+    @Test
+    @DisplayName("자동완성은 limit 를 상한으로 묶고 모르는 종류는 400 으로 거절해야 한다")
+    void shouldSuggestKeywords() {
+        // When & Then
+        StepVerifier.create(searchKeywordService.suggest("arcane", "equipment", 1000))
+                .assertNext(response -> {
+                    assertThat(response.body()).isNotEmpty().hasSizeLessThanOrEqualTo(50);
+                    assertThat(response.body().getFirst().label()).isEqualTo("Arcane Hood");
+                })
                 .verifyComplete();
+        StepVerifier.create(searchKeywordService.suggest("arcane", "weapon", null))
+                .expectErrorMatches(error -> error instanceof ResponseStatusException exception
+                        && exception.getStatusCode() == HttpStatus.BAD_REQUEST)
+                .verify();
     }
 
     @Test
-    @DisplayName("캐시 클리어가 정상적으로 동작해야 한다")
-    void shouldClearCacheCorrectly() {
-        // Given - 데이터를 로드하여 캐시에 저장
-        StepVerifier.create(searchKeywordService.getAttributes())
-                .assertNext(response -> assertThat(response.body()).isNotEmpty())
+    @DisplayName("철자가 틀린 장비 이름도 검색할 수 있어야 한다")
+    void shouldSearchMisspelledKeywords() {
+        // When & Then
+        StepVerifier.create(searchKeywordService.search("Chapel de ferr", null, null))
+                .assertNext(response -> assertThat(response.body().getFirst().id()).isEqualTo("ChapelDeFer_1001"))
                 .verifyComplete();
+    }
 
-        assertThat(searchKeywordService.isCached("attributes.json")).isTrue();
-
-        // When
-        searchKeywordService.clearCache();
+    @Test
+    @DisplayName("한글 질의는 한글 이름 색인에서 초성과 조합 중인 글자로 찾아야 한다")
+    void shouldSuggestLocalizedKeywords() {
+        // Given
+        SearchKeywordService localized = new SearchKeywordService("json-localized/");
 
-        // Then
-        assertThat(searchKeywordService.isCached("attributes.json")).isFalse();
+        // When & Then
+        StepVerifier.create(localized.suggest("ㅂㅈ", null, null))
+                .assertNext(response -> assertThat(response.body()).extracting(KeywordSuggestionResDto::id)
+                        .containsExactly("ArcaneHood_1001"))
+                .verifyComplete();
+        StepVerifier.create(localized.suggest("속", "attribute", null))
+                .assertNext(response -> assertThat(response.body()).extracting(KeywordSuggestionResDto::label)
+                        .containsExactly("행동 속도"))
+                .verifyComplete();
+        StepVerifier.create(searchKeywordService.suggest("ㅂㅈ", null, null))
+                .assertNext(response -> assertThat(response.body()).isEmpty())
+                .verifyComplete();
     }
 
     @Test
-    @DisplayName("존재하지 않는 파일 로딩 시 예외를 발생시켜야 한다")
-    void shouldThrowExceptionWhenFileNotExists() {
-        // Given - 존재하지 않는 파일명으로 테스트하기 위해 리플렉션 사용
-        SearchKeywordService testService = new SearchKeywordService() {
-            @Override
-            public Mono<SearchKeywordResDto<AttributeDto>> getAttributes() {
-                return loadJsonFile("non-existent-file.json")
-                        .map(this::mapToAttributes);
-            }
-
-            // private 메서드를 테스트하기 위해 public으로 오버라이드
-            public Mono<Map<String, Object>> loadJsonFile(String fileName) {
-                return super.loadJsonFile(fileName);
-            }
-
-            private SearchKeywordResDto<AttributeDto> mapToAttributes(Map<String, Object> jsonMap) {
-                return new SearchKeywordResDto<>(new ArrayList<>());
-            }
-        };
+    @DisplayName("키워드 파일이 없으면 생성 시점에 실패해야 한다")
+    void shouldFailFastWhenFileNotExists() {
+        // When & Then
+        assertThatThrownBy(() -> new SearchKeywordService("non-existent-directory/"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("non-existent-directory/");
+    }
 
+    @Test
+    @DisplayName("id 가 중복되면 생성 시점에 실패해야 한다")
+    void shouldFailFastOnDuplicateIds() {
         // When & Then
-        StepVerifier.create(testService.getAttributes())
-                .expectError(RuntimeException.class)
-                .verify();
+        assertThatThrownBy(() -> new SearchKeywordService("json-duplicate-id/"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("equipments.json")
+                .hasMessageContaining("ArcaneHood_1001");
     }
 }